@@ -0,0 +1,357 @@
+package com.aerospike.mapper.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor which generates a <code>GeneratedMapper</code> subclass for each class annotated with
+ * <code>@AerospikeRecord</code>. The generated class contains plain Java accessors for every field and accessor
+ * method the mapper may use which the generated code can see, so the object mapper does not need reflection to read
+ * and write them. The generated classes are registered in
+ * <code>META-INF/services/com.aerospike.mapper.tools.GeneratedMapper</code> which is how the <code>ClassCache</code>
+ * finds them at runtime.
+ * <p/>
+ * Private members cannot be reached from generated code. These are left to the runtime accessors, so making mapped
+ * fields package visible (or giving them non-private accessors) is needed to get the full benefit of this processor.
+ * <p/>
+ * The processor also rejects some mistakes at compile time which would otherwise only be found when the class is
+ * first used by the mapper.
+ *
+ * @author timfaulkes
+ */
+public class AerospikeRecordProcessor extends AbstractProcessor {
+    private static final String ANNOTATION_PACKAGE = "com.aerospike.mapper.annotations.";
+    static final String AEROSPIKE_RECORD = ANNOTATION_PACKAGE + "AerospikeRecord";
+    private static final String AEROSPIKE_BIN = ANNOTATION_PACKAGE + "AerospikeBin";
+    private static final String AEROSPIKE_KEY = ANNOTATION_PACKAGE + "AerospikeKey";
+    private static final String AEROSPIKE_EMBED = ANNOTATION_PACKAGE + "AerospikeEmbed";
+    private static final String AEROSPIKE_REFERENCE = ANNOTATION_PACKAGE + "AerospikeReference";
+    private static final String AEROSPIKE_GETTER = ANNOTATION_PACKAGE + "AerospikeGetter";
+    private static final String AEROSPIKE_SETTER = ANNOTATION_PACKAGE + "AerospikeSetter";
+
+    static final String GENERATED_SUFFIX = "_AerospikeMapper";
+    private static final String SERVICE_FILE = "META-INF/services/com.aerospike.mapper.tools.GeneratedMapper";
+
+    private final Set<String> generatedClasses = new TreeSet<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(AEROSPIKE_RECORD);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeServiceFile();
+            return false;
+        }
+        TypeElement recordAnnotation = processingEnv.getElementUtils().getTypeElement(AEROSPIKE_RECORD);
+        if (recordAnnotation == null) {
+            return false;
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(recordAnnotation)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                continue;
+            }
+            TypeElement typeElement = (TypeElement) element;
+            if (validate(typeElement) && isAccessible(typeElement)) {
+                generate(typeElement);
+            }
+        }
+        return false;
+    }
+
+    private boolean validate(TypeElement typeElement) {
+        boolean valid = true;
+        int keyCount = 0;
+        for (Element member : typeElement.getEnclosedElements()) {
+            if (member.getKind() != ElementKind.FIELD && member.getKind() != ElementKind.METHOD) {
+                continue;
+            }
+            if (findAnnotation(member, AEROSPIKE_KEY) != null && member.getKind() == ElementKind.FIELD) {
+                keyCount++;
+            }
+            if (findAnnotation(member, AEROSPIKE_EMBED) != null && findAnnotation(member, AEROSPIKE_REFERENCE) != null) {
+                error(member, "%s cannot be both @AerospikeEmbed and @AerospikeReference", member.getSimpleName());
+                valid = false;
+            }
+        }
+        if (keyCount > 1) {
+            error(typeElement, "Class %s has more than one field marked with @AerospikeKey", typeElement.getQualifiedName());
+            valid = false;
+        }
+        return valid;
+    }
+
+    /**
+     * Generated code lives in the same package as the class, so the class and all the classes enclosing it must not
+     * be private, and nested classes must be static to be referenced without an enclosing instance.
+     */
+    private boolean isAccessible(TypeElement typeElement) {
+        Element current = typeElement;
+        while (current instanceof TypeElement) {
+            if (current.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            TypeElement currentType = (TypeElement) current;
+            if (currentType.getNestingKind() == NestingKind.LOCAL || currentType.getNestingKind() == NestingKind.ANONYMOUS) {
+                return false;
+            }
+            current = current.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private void generate(TypeElement typeElement) {
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(typeElement);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String className = typeElement.getQualifiedName().toString();
+        String generatedName = generatedSimpleName(typeElement);
+        String generatedQualifiedName = packageName.isEmpty() ? generatedName : packageName + "." + generatedName;
+
+        try {
+            JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(generatedQualifiedName, typeElement);
+            try (PrintWriter out = new PrintWriter(sourceFile.openWriter())) {
+                if (!packageName.isEmpty()) {
+                    out.printf("package %s;%n%n", packageName);
+                }
+                out.printf("/**%n * Generated by %s for {@link %s}. Do not edit.%n */%n", getClass().getName(), className);
+                out.printf("@SuppressWarnings({\"unchecked\", \"rawtypes\"})%n");
+                out.printf("public final class %s extends com.aerospike.mapper.tools.GeneratedMapper<%s> {%n%n",
+                        generatedName, className);
+                out.printf("    public %s() {%n", generatedName);
+                out.printf("        super(%s.class, %s);%n", className, canInstantiate(typeElement) ? className + "::new" : "null");
+                for (VariableElement field : ElementFilter.fieldsIn(typeElement.getEnclosedElements())) {
+                    if (!field.getModifiers().contains(Modifier.PRIVATE)) {
+                        writeField(out, className, field);
+                    }
+                }
+                for (ExecutableElement method : accessorMethods(typeElement)) {
+                    writeMethod(out, className, method);
+                }
+                out.printf("    }%n}%n");
+            }
+            generatedClasses.add(binaryName(packageName, generatedName));
+        } catch (IOException e) {
+            error(typeElement, "Unable to generate mapper for %s: %s", className, e.getMessage());
+        }
+    }
+
+    private void writeField(PrintWriter out, String className, VariableElement field) {
+        String name = field.getSimpleName().toString();
+        boolean isStatic = field.getModifiers().contains(Modifier.STATIC);
+        String target = isStatic ? className : "((" + className + ") instance)";
+        String setter = "null";
+        if (!field.getModifiers().contains(Modifier.FINAL)) {
+            setter = String.format("(instance, value) -> %s.%s = %s", target, name, cast(field.asType(), "value"));
+        }
+        out.printf("        addField(\"%s\", instance -> %s.%s, %s);%n", name, target, name, setter);
+    }
+
+    private void writeMethod(PrintWriter out, String className, ExecutableElement method) {
+        String name = method.getSimpleName().toString();
+        String target = "((" + className + ") instance)";
+        if (method.getParameters().isEmpty()) {
+            out.printf("        addMethodGetter(\"%s\", instance -> %s.%s());%n", name, target, name);
+        } else {
+            TypeMirror paramType = method.getParameters().get(0).asType();
+            String signature = name + "(" + canonicalName(paramType) + ")";
+            out.printf("        addMethodSetter(\"%s\", (instance, value) -> %s.%s(%s));%n",
+                    signature, target, name, cast(paramType, "value"));
+        }
+    }
+
+    /**
+     * The methods the mapper may invoke as getters or setters: those marked with <code>@AerospikeGetter</code>,
+     * <code>@AerospikeSetter</code> or <code>@AerospikeKey</code>, and the get/set pairs of fields whose
+     * <code>@AerospikeBin</code> has <code>useAccessors = true</code>. Setters which also take the key are not
+     * included as the mapper resolves their second argument at call time.
+     */
+    private List<ExecutableElement> accessorMethods(TypeElement typeElement) {
+        Set<String> accessorNames = new TreeSet<>();
+        for (VariableElement field : ElementFilter.fieldsIn(typeElement.getEnclosedElements())) {
+            AnnotationMirror bin = findAnnotation(field, AEROSPIKE_BIN);
+            if (bin != null && Boolean.TRUE.equals(annotationValue(bin, "useAccessors"))) {
+                String fieldName = field.getSimpleName().toString();
+                String methodNameBase = fieldName.substring(0, 1).toUpperCase() + fieldName.substring(1);
+                accessorNames.add("get" + methodNameBase);
+                accessorNames.add("set" + methodNameBase);
+            }
+        }
+        List<ExecutableElement> results = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(typeElement.getEnclosedElements())) {
+            Set<Modifier> modifiers = method.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC) || !method.getTypeParameters().isEmpty()) {
+                continue;
+            }
+            boolean isGetter = method.getParameters().isEmpty() && method.getReturnType().getKind() != TypeKind.VOID;
+            boolean isSetter = method.getParameters().size() == 1;
+            boolean annotated = findAnnotation(method, AEROSPIKE_GETTER) != null || findAnnotation(method, AEROSPIKE_SETTER) != null
+                    || findAnnotation(method, AEROSPIKE_KEY) != null;
+            if ((isGetter || isSetter) && (annotated || accessorNames.contains(method.getSimpleName().toString()))) {
+                results.add(method);
+            }
+        }
+        return results;
+    }
+
+    private boolean canInstantiate(TypeElement typeElement) {
+        if (typeElement.getModifiers().contains(Modifier.ABSTRACT)) {
+            return false;
+        }
+        if (typeElement.getNestingKind() == NestingKind.MEMBER && !typeElement.getModifiers().contains(Modifier.STATIC)) {
+            return false;
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(typeElement.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty()) {
+                return !constructor.getModifiers().contains(Modifier.PRIVATE);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Convert an <code>Object</code> expression to the passed type. Primitives are cast to their boxed type and
+     * unboxed, mirroring the conversions done by <code>Field.set</code> for the values the mapper passes.
+     */
+    private String cast(TypeMirror type, String expression) {
+        if (type.getKind().isPrimitive()) {
+            TypeElement boxed = processingEnv.getTypeUtils().boxedClass(processingEnv.getTypeUtils().getPrimitiveType(type.getKind()));
+            return "(" + boxed.getQualifiedName() + ") " + expression;
+        }
+        return "(" + canonicalName(type) + ") " + expression;
+    }
+
+    /**
+     * Return the name of the class the passed type erases to, as given by <code>Class.getCanonicalName</code> at runtime.
+     * The string form of a type mirror cannot be used as it keeps any type annotations on the type.
+     */
+    private String canonicalName(TypeMirror type) {
+        TypeMirror erased = processingEnv.getTypeUtils().erasure(type);
+        if (erased.getKind() == TypeKind.ARRAY) {
+            return canonicalName(((ArrayType) erased).getComponentType()) + "[]";
+        } else if (erased.getKind() == TypeKind.DECLARED) {
+            return ((TypeElement) ((DeclaredType) erased).asElement()).getQualifiedName().toString();
+        } else if (erased.getKind().isPrimitive()) {
+            return erased.getKind().name().toLowerCase(Locale.ROOT);
+        }
+        return erased.toString();
+    }
+
+    /**
+     * Write the service file listing the generated mappers. An incremental build only compiles some of the classes, so
+     * the mappers listed by the file of an earlier build are kept, unless the class can no longer be found.
+     */
+    private void writeServiceFile() {
+        if (generatedClasses.isEmpty()) {
+            return;
+        }
+        Set<String> services = new TreeSet<>(generatedClasses);
+        services.addAll(readServiceFile());
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer writer = file.openWriter()) {
+                for (String service : services) {
+                    writer.write(service);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write " + SERVICE_FILE + ": " + e.getMessage());
+        }
+    }
+
+    private Set<String> readServiceFile() {
+        Set<String> services = new TreeSet<>();
+        try {
+            FileObject file = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (BufferedReader reader = new BufferedReader(file.openReader(true))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int comment = line.indexOf('#');
+                    String service = (comment < 0 ? line : line.substring(0, comment)).trim();
+                    if (!service.isEmpty() && processingEnv.getElementUtils().getTypeElement(service.replace('$', '.')) != null) {
+                        services.add(service);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // There is no service file from an earlier build
+        }
+        return services;
+    }
+
+    static String generatedSimpleName(TypeElement typeElement) {
+        StringBuilder name = new StringBuilder(typeElement.getSimpleName());
+        Element enclosing = typeElement.getEnclosingElement();
+        while (enclosing instanceof TypeElement) {
+            name.insert(0, enclosing.getSimpleName() + "_");
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return name.append(GENERATED_SUFFIX).toString();
+    }
+
+    private static String binaryName(String packageName, String simpleName) {
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    private static AnnotationMirror findAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(annotationName)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private static Object annotationValue(AnnotationMirror mirror, String name) {
+        for (ExecutableElement key : mirror.getElementValues().keySet()) {
+            if (key.getSimpleName().contentEquals(name)) {
+                AnnotationValue value = mirror.getElementValues().get(key);
+                return value.getValue();
+            }
+        }
+        return null;
+    }
+
+    private void error(Element element, String format, Object... args) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, String.format(format, args), element);
+    }
+}
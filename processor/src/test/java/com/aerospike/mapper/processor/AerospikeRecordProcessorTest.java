@@ -0,0 +1,266 @@
+package com.aerospike.mapper.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.aerospike.mapper.annotations.AerospikeRecord;
+import com.aerospike.mapper.tools.GeneratedMapper;
+
+/**
+ * Runs the processor over sample sources with the system Java compiler, then checks the generated source, the service
+ * registration and the behaviour of the compiled mappers.
+ */
+public class AerospikeRecordProcessorTest {
+
+    private static final String PERSON_SOURCE = String.join("\n",
+            "package sample;",
+            "import com.aerospike.mapper.annotations.*;",
+            "@AerospikeRecord(namespace = \"test\", set = \"person\")",
+            "public class Person {",
+            "    @AerospikeKey int id;",
+            "    String name;",
+            "    final String region = \"us\";",
+            "    private String secret;",
+            "    @AerospikeBin(useAccessors = true) private long age;",
+            "    public long getAge() { return age; }",
+            "    public void setAge(long age) { this.age = age; }",
+            "    @AerospikeRecord(namespace = \"test\", set = \"address\")",
+            "    public static class Address {",
+            "        String city;",
+            "    }",
+            "    @AerospikeRecord(namespace = \"test\", set = \"hidden\")",
+            "    private static class Hidden {",
+            "        String value;",
+            "    }",
+            "}");
+
+    private static class Compilation {
+        private final boolean success;
+        private final List<Diagnostic<? extends JavaFileObject>> diagnostics;
+        private final Path sourceOutput;
+        private final Path classOutput;
+
+        Compilation(boolean success, List<Diagnostic<? extends JavaFileObject>> diagnostics, Path sourceOutput, Path classOutput) {
+            this.success = success;
+            this.diagnostics = diagnostics;
+            this.sourceOutput = sourceOutput;
+            this.classOutput = classOutput;
+        }
+
+        String generatedSource(String path) throws IOException {
+            return new String(Files.readAllBytes(sourceOutput.resolve(path)), StandardCharsets.UTF_8);
+        }
+
+        String errors() {
+            StringBuilder sb = new StringBuilder();
+            for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics) {
+                if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                    sb.append(diagnostic.getMessage(null)).append('\n');
+                }
+            }
+            return sb.toString();
+        }
+    }
+
+    private static String classpathOf(Class<?> clazz) throws Exception {
+        return new File(clazz.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+    }
+
+    private static Compilation compile(Path root, String className, String source) throws Exception {
+        Path sourceInput = root.resolve("in");
+        Path sourceOutput = root.resolve("generated");
+        Path classOutput = root.resolve("classes");
+        Path sourceFile = sourceInput.resolve(className.replace('.', '/') + ".java");
+        Files.createDirectories(sourceFile.getParent());
+        Files.createDirectories(sourceOutput);
+        Files.createDirectories(classOutput);
+        Files.write(sourceFile, source.getBytes(StandardCharsets.UTF_8));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            // The generated code only needs the mapper's own classes, and those of earlier compilations to the same output
+            List<String> options = new ArrayList<>(Arrays.asList(
+                    "-classpath", classpathOf(GeneratedMapper.class) + File.pathSeparator + classpathOf(AerospikeRecord.class)
+                            + File.pathSeparator + classOutput,
+                    "-s", sourceOutput.toString(),
+                    "-d", classOutput.toString()));
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null,
+                    fileManager.getJavaFileObjects(sourceFile.toFile()));
+            task.setProcessors(Collections.singletonList(new AerospikeRecordProcessor()));
+            boolean success = task.call();
+            return new Compilation(success, diagnostics.getDiagnostics(), sourceOutput, classOutput);
+        }
+    }
+
+    @Test
+    public void testGeneratedSource(@TempDir Path root) throws Exception {
+        Compilation compilation = compile(root, "sample.Person", PERSON_SOURCE);
+        assertTrue(compilation.success, compilation.errors());
+
+        String source = compilation.generatedSource("sample/Person_AerospikeMapper.java");
+        assertTrue(source.contains("public final class Person_AerospikeMapper extends com.aerospike.mapper.tools.GeneratedMapper<sample.Person>"));
+        assertTrue(source.contains("super(sample.Person.class, sample.Person::new);"));
+        assertTrue(source.contains("addField(\"id\", instance -> ((sample.Person) instance).id, (instance, value) -> ((sample.Person) instance).id = (java.lang.Integer) value);"));
+        assertTrue(source.contains("addField(\"name\", "));
+        // Final fields get no setter, private fields are left to the runtime accessors
+        assertTrue(source.contains("addField(\"region\", instance -> ((sample.Person) instance).region, null);"));
+        assertFalse(source.contains("secret"));
+        assertFalse(source.contains("addField(\"age\""));
+        // useAccessors pulls in the get/set pair of the private field
+        assertTrue(source.contains("addMethodGetter(\"getAge\", instance -> ((sample.Person) instance).getAge());"));
+        assertTrue(source.contains("addMethodSetter(\"setAge(long)\", (instance, value) -> ((sample.Person) instance).setAge((java.lang.Long) value));"));
+
+        assertTrue(Files.exists(compilation.sourceOutput.resolve("sample/Person_Address_AerospikeMapper.java")));
+        // Private classes cannot be reached from generated code
+        assertFalse(Files.exists(compilation.sourceOutput.resolve("sample/Person_Hidden_AerospikeMapper.java")));
+
+        List<String> services = Files.readAllLines(
+                compilation.classOutput.resolve("META-INF/services/com.aerospike.mapper.tools.GeneratedMapper"), StandardCharsets.UTF_8);
+        assertEquals(Arrays.asList("sample.Person_Address_AerospikeMapper", "sample.Person_AerospikeMapper"), services);
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void testGeneratedMappersAreDiscovered(@TempDir Path root) throws Exception {
+        Compilation compilation = compile(root, "sample.Person", PERSON_SOURCE);
+        assertTrue(compilation.success, compilation.errors());
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {compilation.classOutput.toUri().toURL()}, getClass().getClassLoader())) {
+            GeneratedMapper<Object> personMapper = null;
+            GeneratedMapper<Object> addressMapper = null;
+            for (GeneratedMapper generatedMapper : ServiceLoader.load(GeneratedMapper.class, loader)) {
+                String mappedClass = generatedMapper.getMappedClass().getName();
+                if ("sample.Person".equals(mappedClass)) {
+                    personMapper = generatedMapper;
+                } else if ("sample.Person$Address".equals(mappedClass)) {
+                    addressMapper = generatedMapper;
+                }
+            }
+            assertNotNull(personMapper);
+            assertNotNull(addressMapper);
+
+            Class<?> personClass = loader.loadClass("sample.Person");
+            Object person = personMapper.getInstantiator().get();
+            assertEquals(personClass, person.getClass());
+
+            personMapper.getSetter(personClass.getDeclaredField("id")).set(person, 17);
+            assertEquals(17, personMapper.getGetter(personClass.getDeclaredField("id")).get(person));
+            assertEquals("us", personMapper.getGetter(personClass.getDeclaredField("region")).get(person));
+            assertNull(personMapper.getSetter(personClass.getDeclaredField("region")));
+            assertNull(personMapper.getGetter(personClass.getDeclaredField("secret")));
+
+            personMapper.getSetter(personClass.getMethod("setAge", long.class)).set(person, 42L);
+            assertEquals(42L, personMapper.getGetter(personClass.getMethod("getAge")).get(person));
+        }
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void testSettersWithGenericAndAnnotatedParameters(@TempDir Path root) throws Exception {
+        Compilation compilation = compile(root, "sample.Tagged", String.join("\n",
+                "package sample;",
+                "import java.lang.annotation.ElementType;",
+                "import java.lang.annotation.Target;",
+                "import java.util.List;",
+                "import com.aerospike.mapper.annotations.*;",
+                "@AerospikeRecord(namespace = \"test\", set = \"tagged\")",
+                "public class Tagged {",
+                "    @Target(ElementType.TYPE_USE) @interface Checked {}",
+                "    @AerospikeKey int id;",
+                "    @AerospikeBin(useAccessors = true) private List<String> tags;",
+                "    @AerospikeBin(useAccessors = true) private String label;",
+                "    public List<String> getTags() { return tags; }",
+                "    public void setTags(List<String> tags) { this.tags = tags; }",
+                "    public String getLabel() { return label; }",
+                "    public void setLabel(@Checked String label) { this.label = label; }",
+                "}"));
+        assertTrue(compilation.success, compilation.errors());
+        String source = compilation.generatedSource("sample/Tagged_AerospikeMapper.java");
+        assertTrue(source.contains("addMethodSetter(\"setTags(java.util.List)\", (instance, value) -> ((sample.Tagged) instance).setTags((java.util.List) value));"));
+        assertTrue(source.contains("addMethodSetter(\"setLabel(java.lang.String)\", (instance, value) -> ((sample.Tagged) instance).setLabel((java.lang.String) value));"));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {compilation.classOutput.toUri().toURL()}, getClass().getClassLoader())) {
+            Class<?> taggedClass = loader.loadClass("sample.Tagged");
+            GeneratedMapper generatedMapper = (GeneratedMapper) loader.loadClass("sample.Tagged_AerospikeMapper").getConstructor().newInstance();
+            Object tagged = generatedMapper.getInstantiator().get();
+            generatedMapper.getSetter(taggedClass.getMethod("setTags", List.class)).set(tagged, Arrays.asList("a", "b"));
+            generatedMapper.getSetter(taggedClass.getMethod("setLabel", String.class)).set(tagged, "label");
+            assertEquals(Arrays.asList("a", "b"), generatedMapper.getGetter(taggedClass.getMethod("getTags")).get(tagged));
+            assertEquals("label", generatedMapper.getGetter(taggedClass.getMethod("getLabel")).get(tagged));
+        }
+    }
+
+    @Test
+    public void testIncrementalBuildKeepsServices(@TempDir Path root) throws Exception {
+        Compilation first = compile(root, "sample.Person", PERSON_SOURCE);
+        assertTrue(first.success, first.errors());
+        // Compile only a new class to the same output, as an incremental build would
+        Compilation second = compile(root, "sample.Other", String.join("\n",
+                "package sample;",
+                "import com.aerospike.mapper.annotations.*;",
+                "@AerospikeRecord(namespace = \"test\", set = \"other\")",
+                "public class Other {",
+                "    @AerospikeKey int id;",
+                "}"));
+        assertTrue(second.success, second.errors());
+
+        List<String> services = Files.readAllLines(
+                second.classOutput.resolve("META-INF/services/com.aerospike.mapper.tools.GeneratedMapper"), StandardCharsets.UTF_8);
+        assertEquals(Arrays.asList("sample.Other_AerospikeMapper", "sample.Person_Address_AerospikeMapper", "sample.Person_AerospikeMapper"), services);
+    }
+
+    @Test
+    public void testRejectsMultipleKeys(@TempDir Path root) throws Exception {
+        Compilation compilation = compile(root, "sample.TwoKeys", String.join("\n",
+                "package sample;",
+                "import com.aerospike.mapper.annotations.*;",
+                "@AerospikeRecord(namespace = \"test\", set = \"twoKeys\")",
+                "public class TwoKeys {",
+                "    @AerospikeKey int id;",
+                "    @AerospikeKey int otherId;",
+                "}"));
+        assertFalse(compilation.success);
+        assertTrue(compilation.errors().contains("Class sample.TwoKeys has more than one field marked with @AerospikeKey"), compilation.errors());
+    }
+
+    @Test
+    public void testRejectsEmbeddedReference(@TempDir Path root) throws Exception {
+        Compilation compilation = compile(root, "sample.Both", String.join("\n",
+                "package sample;",
+                "import com.aerospike.mapper.annotations.*;",
+                "@AerospikeRecord(namespace = \"test\", set = \"both\")",
+                "public class Both {",
+                "    @AerospikeKey int id;",
+                "    @AerospikeEmbed @AerospikeReference Both other;",
+                "}"));
+        assertFalse(compilation.success);
+        assertTrue(compilation.errors().contains("other cannot be both @AerospikeEmbed and @AerospikeReference"), compilation.errors());
+    }
+}
@@ -0,0 +1,29 @@
+package com.aerospike.mapper.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sets how a BigDecimal or BigInteger field is stored in the Aerospike database, overriding the encoding set on the
+ * builder (which defaults to <code>STRING</code>). Values in either encoding can always be read.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface AerospikeBigNumber {
+
+    enum Encoding {
+        /**
+         * Store the value as its string representation, for example <code>"12345.67"</code>.
+         */
+        STRING,
+        /**
+         * Store values which fit in a long (with a scale of 0 for BigDecimals) as an integer, and other values as a
+         * blob holding the scale followed by the two's-complement bytes of the unscaled value.
+         */
+        COMPACT
+    }
+
+    Encoding encoding();
+}
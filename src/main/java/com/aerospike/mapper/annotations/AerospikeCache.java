@@ -0,0 +1,42 @@
+package com.aerospike.mapper.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Classes marked with AerospikeCache keep the records read by <code>AeroMapper.read</code> in a bounded cache, so
+ * reading the same object again does not go to the database. Writes and deletes of the class through the mapper remove
+ * the records they change from the cache.
+ * <p/>
+ * Only use this for classes which are written through the mapper, or which can be read slightly stale: writes made
+ * by other applications are not seen until the cached record expires.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface AerospikeCache {
+    /**
+     * The most records to keep. Once the cache is full the least recently read record is removed.
+     */
+    int maxSize() default 1000;
+
+    /**
+     * How long a record is kept in milliseconds, or 0 to keep it until it is removed or expires in the database.
+     */
+    long ttlMillis() default 60_000;
+
+    enum AdmissionPolicy {
+        /**
+         * Cache every record read.
+         */
+        ALWAYS,
+        /**
+         * Cache a record only when it is read a second time while its key is still remembered, so records read only
+         * once (for example by a report over many objects) do not push out the frequently read ones.
+         */
+        SECOND_READ
+    }
+
+    AdmissionPolicy admission() default AdmissionPolicy.ALWAYS;
+}
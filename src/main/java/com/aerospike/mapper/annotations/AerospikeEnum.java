@@ -13,5 +13,29 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.FIELD)
 public @interface AerospikeEnum {
+
+    enum EnumType {
+        /**
+         * Store the name of the constant, or the value of the <code>enumField</code> as a string if one is given.
+         */
+        STRING,
+        /**
+         * Store the ordinal of the constant. This is the most compact form, but constants must never be reordered or
+         * removed once data has been stored.
+         */
+        ORDINAL,
+        /**
+         * Store the value of the <code>enumField</code>, which must be an integer field with a different value for
+         * each constant.
+         */
+        CODE
+    }
+
     String enumField() default "";
+
+    /**
+     * How the enum is stored in the database. Values stored as strings can still be read after changing this to
+     * <code>ORDINAL</code> or <code>CODE</code>, so existing data does not have to be converted, but not vice versa.
+     */
+    EnumType type() default EnumType.STRING;
 }
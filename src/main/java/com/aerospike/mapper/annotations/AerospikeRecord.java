@@ -14,6 +14,14 @@ public @interface AerospikeRecord {
 
     String shortName() default "";
 
+    /**
+     * A small positive number which identifies this class when the type of an object must be stored with it, as
+     * happens when a subclass is stored in place of its declared type. If set, this number is stored instead of the
+     * short name of the class. It must be unique amongst all classes, must not change once data has been written with
+     * it and must be between 1 and <code>ClassCache.MAX_TYPE_ID</code>. 0 means the class has no type id.
+     */
+    int typeId() default 0;
+
     /**
      * The TTL for the record. As this must be a primitive value <code>Integer.MIN_VALUE</code> is used to indicate that the 
      * value has not been explicitly set.
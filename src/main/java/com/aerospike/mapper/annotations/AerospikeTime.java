@@ -0,0 +1,40 @@
+package com.aerospike.mapper.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sets how a LocalDateTime, LocalDate, LocalTime or Instant field is stored in the Aerospike database, overriding the
+ * encoding set for the type on the builder.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface AerospikeTime {
+
+    enum Encoding {
+        /**
+         * The original format of the type: a list of the epoch day and nano of day for a LocalDateTime, the epoch day
+         * for a LocalDate, the nano of day for a LocalTime and nanoseconds since the epoch for an Instant.
+         */
+        DEFAULT,
+        /**
+         * A single integer of nanoseconds since 1970-01-01T00:00 (since midnight for a LocalTime). LocalDateTimes
+         * and Instants must be between the years 1677 and 2262.
+         */
+        NANOS,
+        /**
+         * A single integer of microseconds since 1970-01-01T00:00 (since midnight for a LocalTime). Any nanoseconds
+         * are truncated.
+         */
+        MICROS,
+        /**
+         * A single integer of milliseconds since 1970-01-01T00:00 (since midnight for a LocalTime). Any micro- and
+         * nanoseconds are truncated.
+         */
+        MILLIS
+    }
+
+    Encoding encoding();
+}
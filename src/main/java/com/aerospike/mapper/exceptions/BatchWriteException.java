@@ -0,0 +1,28 @@
+package com.aerospike.mapper.exceptions;
+
+import com.aerospike.client.AerospikeException;
+
+/**
+ * Thrown when a batch call made to save or update a collection of objects fails as a whole, for example on a timeout.
+ * No further batch calls are made after the failed one. The result code of each object is available from
+ * {@link #getResultCodes()}, with <code>ResultCode.NO_RESPONSE</code> for the objects which were not written.
+ */
+public class BatchWriteException extends AerospikeException {
+
+    private static final long serialVersionUID = 3618476235398470271L;
+
+    private final int[] resultCodes;
+
+    public BatchWriteException(AerospikeException cause, int[] resultCodes) {
+        super(cause.getResultCode(), cause.getBaseMessage(), cause);
+        setInDoubt(cause.getInDoubt());
+        this.resultCodes = resultCodes;
+    }
+
+    /**
+     * The result code of each object, in the iteration order of the collection passed to the batch write.
+     */
+    public int[] getResultCodes() {
+        return resultCodes;
+    }
+}
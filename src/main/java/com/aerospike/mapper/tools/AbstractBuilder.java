@@ -9,6 +9,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import javax.validation.constraints.NotNull;
@@ -21,8 +22,13 @@ import com.aerospike.client.policy.BatchPolicy;
 import com.aerospike.client.policy.Policy;
 import com.aerospike.client.policy.QueryPolicy;
 import com.aerospike.client.policy.ScanPolicy;
+import com.aerospike.mapper.annotations.AerospikeBigNumber;
+import com.aerospike.mapper.annotations.AerospikeCache;
 import com.aerospike.mapper.annotations.AerospikeRecord;
+import com.aerospike.mapper.annotations.AerospikeTime;
 import com.aerospike.mapper.tools.ClassCache.PolicyType;
+import com.aerospike.mapper.tools.cache.EntityCache;
+import com.aerospike.mapper.tools.cache.LruEntityCache;
 import com.aerospike.mapper.tools.configuration.ClassConfig;
 import com.aerospike.mapper.tools.configuration.Configuration;
 import com.aerospike.mapper.tools.utils.TypeUtils;
@@ -213,6 +219,107 @@ public abstract class AbstractBuilder<T extends IBaseAeroMapper> {
         }
     }
 
+    /**
+     * Set how the type of subclasses with a type id is stored. Records written with either format can always be read,
+     * so use {@link ClassCache.TypeIdMode#NAMES} until every application reading the data knows the type ids.
+     */
+    public AbstractBuilder<T> withTypeIdMode(@NotNull ClassCache.TypeIdMode typeIdMode) {
+        ClassCache.getInstance().setTypeIdMode(typeIdMode);
+        return this;
+    }
+
+    /**
+     * Set how BigDecimal and BigInteger values are stored, unless overridden on the field with
+     * <code>@AerospikeBigNumber</code>. Values in either encoding can always be read, so this can be changed on
+     * existing data. Keys, and so references to records, are not affected: they are stored as strings unless the key
+     * field itself is annotated, as the stored key determines the digest of the record.
+     */
+    public AbstractBuilder<T> withBigNumberEncoding(@NotNull AerospikeBigNumber.Encoding encoding) {
+        ClassCache.getInstance().setBigNumberEncoding(encoding);
+        return this;
+    }
+
+    /**
+     * Set how values of a java.time type (LocalDateTime, LocalDate, LocalTime or Instant) are stored, unless
+     * overridden on the field with <code>@AerospikeTime</code>. Stored integers do not record their unit, so they are
+     * always read in the unit of the current encoding, with <code>DEFAULT</code> read as nanoseconds: once data has
+     * been stored as integers the unit must not change, or the values read are silently wrong. The only change which
+     * existing data allows is from the <code>DEFAULT</code> list form of a LocalDateTime to an integer encoding. Keys,
+     * and so references to records, are not affected: they keep the <code>DEFAULT</code> encoding unless the key field
+     * itself is annotated, as the stored key determines the digest of the record.
+     */
+    public AbstractBuilder<T> withTimeEncoding(@NotNull Class<?> type, @NotNull AerospikeTime.Encoding encoding) {
+        ClassCache.getInstance().setTimeEncoding(type, encoding);
+        return this;
+    }
+
+    /**
+     * Set the most records written by a single batch call of <code>saveAll</code> and <code>updateAll</code>. Larger
+     * collections are split into chunks of this size, written one after another. The default is
+     * {@link ClassCache#DEFAULT_BATCH_WRITE_SIZE}.
+     */
+    public AbstractBuilder<T> withBatchWriteSize(int batchWriteSize) {
+        ClassCache.getInstance().setBatchWriteSize(batchWriteSize);
+        return this;
+    }
+
+    /**
+     * Set the most keys read by a single batch call when loading references. Larger levels of references are split into
+     * chunks of this size which are read concurrently. The default is {@link ClassCache#DEFAULT_REFERENCE_BATCH_SIZE}.
+     */
+    public AbstractBuilder<T> withReferenceBatchSize(int referenceBatchSize) {
+        ClassCache.getInstance().setReferenceBatchSize(referenceBatchSize);
+        return this;
+    }
+
+    /**
+     * Set the most levels of references loaded in batches when an object is read: 1 loads the objects the read objects
+     * refer to, 2 also loads the objects those refer to, and so on. References below this depth are left null. By
+     * default every level is loaded.
+     */
+    public AbstractBuilder<T> withMaxReferenceDepth(int maxReferenceDepth) {
+        ClassCache.getInstance().setMaxReferenceDepth(maxReferenceDepth);
+        return this;
+    }
+
+    /**
+     * Set the executor which reads the extra chunks of a level of references larger than the reference batch size. The
+     * default is a pool of the mapper with one thread per processor, which is shut down by
+     * {@link ClassCache#shutdownReferenceLoadExecutor()}. An executor set here is not shut down by the mapper. The chunks
+     * are read with blocking calls, so the executor should not be one shared with non-blocking work, such as the common
+     * fork join pool.
+     */
+    public AbstractBuilder<T> withReferenceLoadExecutor(@NotNull Executor executor) {
+        ClassCache.getInstance().setReferenceLoadExecutor(executor);
+        return this;
+    }
+
+    /**
+     * Set whether scans and queries which are not passed bin names read only the bins mapped by the class (and its
+     * loaded subclasses) rather than every bin of the record. This is on by default; turning it off reads every bin.
+     */
+    public AbstractBuilder<T> withBinProjection(boolean enabled) {
+        ClassCache.getInstance().setBinProjectionEnabled(enabled);
+        return this;
+    }
+
+    /**
+     * Cache the records read for the passed class in the passed cache, overriding any <code>@AerospikeCache</code>
+     * annotation on the class. Reads are served from the cache, and the records are invalidated when this mapper
+     * writes or deletes them. Writes made by other mappers or applications are only seen once a cached record expires.
+     */
+    public AbstractBuilder<T> withEntityCache(@NotNull Class<?> clazz, @NotNull EntityCache entityCache) {
+        ClassCache.getInstance().setEntityCache(clazz, entityCache);
+        return this;
+    }
+
+    /**
+     * Cache the records read for the passed class in an LRU cache, as the <code>@AerospikeCache</code> annotation would.
+     */
+    public AbstractBuilder<T> withEntityCache(@NotNull Class<?> clazz, int maxSize, long ttlMillis, @NotNull AerospikeCache.AdmissionPolicy admission) {
+        return withEntityCache(clazz, new LruEntityCache(maxSize, ttlMillis, admission));
+    }
+
     public AeroPolicyMapper<T> withReadPolicy(Policy policy) {
         return new AeroPolicyMapper<>(this, PolicyType.READ, policy);
     }
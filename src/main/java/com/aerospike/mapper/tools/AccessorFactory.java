@@ -0,0 +1,163 @@
+package com.aerospike.mapper.tools;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Creates the functions used by {@link ValueType} to read and write values on mapped objects.
+ * <p/>
+ * Accessors are built once, when the owning class is loaded into the {@link ClassCache}. Getter and setter methods
+ * are bound through the {@link LambdaMetafactory}, so the per-call access checks and argument arrays of
+ * <code>Method.invoke</code> are not paid on every save and read. If a lambda cannot be generated on this JVM (for
+ * example, the method is not visible to the mapper on Java 8) <code>Method.invoke</code> is used instead.
+ * <p/>
+ * Fields are read and written with <code>Field.get</code> and <code>Field.set</code>. Method handles bound to fields
+ * at runtime are not constants the JIT can inline through, and measured no faster than reflection (see
+ * <code>ValueTypeAccessBenchmark</code>), while they would not widen values or reject nulls for primitive fields the way
+ * <code>Field.set</code> does.
+ *
+ * @author timfaulkes
+ */
+public final class AccessorFactory {
+
+    @FunctionalInterface
+    public interface Getter {
+        Object get(Object instance) throws ReflectiveOperationException;
+    }
+
+    @FunctionalInterface
+    public interface Setter {
+        void set(Object instance, Object value) throws ReflectiveOperationException;
+    }
+
+    private static final Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * <code>MethodHandles.privateLookupIn</code> exists from Java 9 onwards. When present it allows lambdas to be
+     * generated for non-public members, otherwise only public members of visible classes can be bound.
+     */
+    private static final Method PRIVATE_LOOKUP_IN = findPrivateLookupIn();
+
+    private AccessorFactory() {
+    }
+
+    private static Method findPrivateLookupIn() {
+        try {
+            return MethodHandles.class.getMethod("privateLookupIn", Class.class, Lookup.class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Create a getter for the passed field. The field must already have been made accessible.
+     */
+    public static Getter getter(Field field) {
+        return reflectiveGetter(field);
+    }
+
+    /**
+     * Create a setter for the passed field. The field must already have been made accessible.
+     */
+    public static Setter setter(Field field) {
+        return reflectiveSetter(field);
+    }
+
+    /**
+     * Create a getter which invokes the passed no-argument method. The method must already have been made accessible.
+     */
+    @SuppressWarnings("unchecked")
+    public static Getter getter(Method method) {
+        if (!Modifier.isStatic(method.getModifiers()) && method.getParameterCount() == 0) {
+            Lookup lookup = lookupFor(method.getDeclaringClass(), method.getModifiers());
+            if (lookup != null) {
+                try {
+                    MethodHandle target = lookup.unreflect(method);
+                    CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+                            MethodType.methodType(Function.class), GETTER_TYPE, target, target.type().wrap());
+                    Function<Object, Object> function = (Function<Object, Object>) site.getTarget().invoke();
+                    return function::apply;
+                } catch (Throwable ignored) {
+                    // Fall through to the reflective implementation
+                }
+            }
+        }
+        return reflectiveGetter(method);
+    }
+
+    /**
+     * Create a setter which invokes the passed single argument method. The method must already have been made accessible.
+     */
+    @SuppressWarnings("unchecked")
+    public static Setter setter(Method method) {
+        if (!Modifier.isStatic(method.getModifiers()) && method.getParameterCount() == 1) {
+            Lookup lookup = lookupFor(method.getDeclaringClass(), method.getModifiers());
+            if (lookup != null) {
+                try {
+                    MethodHandle target = lookup.unreflect(method);
+                    CallSite site = LambdaMetafactory.metafactory(lookup, "accept", MethodType.methodType(BiConsumer.class),
+                            SETTER_TYPE, target, target.type().wrap().changeReturnType(void.class));
+                    BiConsumer<Object, Object> consumer = (BiConsumer<Object, Object>) site.getTarget().invoke();
+                    return consumer::accept;
+                } catch (Throwable ignored) {
+                    // Fall through to the reflective implementation
+                }
+            }
+        }
+        return reflectiveSetter(method);
+    }
+
+    public static Getter reflectiveGetter(Field field) {
+        return field::get;
+    }
+
+    public static Setter reflectiveSetter(Field field) {
+        return field::set;
+    }
+
+    public static Getter reflectiveGetter(Method method) {
+        return method::invoke;
+    }
+
+    public static Setter reflectiveSetter(Method method) {
+        return method::invoke;
+    }
+
+    /**
+     * Determine the lookup to use to generate a lambda against a member of the passed class. On Java 9+ this is a
+     * private lookup in the class itself. On Java 8 only public members of public classes which are visible to the
+     * mapper's class loader can be bound, otherwise null is returned.
+     */
+    private static Lookup lookupFor(Class<?> clazz, int memberModifiers) {
+        if (PRIVATE_LOOKUP_IN != null) {
+            try {
+                return (Lookup) PRIVATE_LOOKUP_IN.invoke(null, clazz, LOOKUP);
+            } catch (ReflectiveOperationException | RuntimeException ignored) {
+                // Fall back to the public lookup below
+            }
+        }
+        if (Modifier.isPublic(memberModifiers) && Modifier.isPublic(clazz.getModifiers()) && isVisible(clazz)) {
+            return LOOKUP;
+        }
+        return null;
+    }
+
+    private static boolean isVisible(Class<?> clazz) {
+        try {
+            return Class.forName(clazz.getName(), false, AccessorFactory.class.getClassLoader()) == clazz;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -1,21 +1,34 @@
 package com.aerospike.mapper.tools;
 
 import java.lang.reflect.Array;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.validation.constraints.NotNull;
 
 import com.aerospike.client.AerospikeException;
 import com.aerospike.client.AerospikeException.ScanTerminated;
+import com.aerospike.client.BatchRecord;
+import com.aerospike.client.BatchResults;
 import com.aerospike.client.Bin;
 import com.aerospike.client.IAerospikeClient;
 import com.aerospike.client.Key;
 import com.aerospike.client.Operation;
 import com.aerospike.client.Record;
+import com.aerospike.client.ResultCode;
 import com.aerospike.client.Value;
+import com.aerospike.client.exp.Expression;
 import com.aerospike.client.policy.BatchPolicy;
 import com.aerospike.client.policy.Policy;
 import com.aerospike.client.policy.QueryPolicy;
@@ -23,10 +36,20 @@ import com.aerospike.client.policy.RecordExistsAction;
 import com.aerospike.client.policy.ScanPolicy;
 import com.aerospike.client.policy.WritePolicy;
 import com.aerospike.client.query.Filter;
+import com.aerospike.client.query.KeyRecord;
+import com.aerospike.client.query.PartitionFilter;
 import com.aerospike.client.query.RecordSet;
 import com.aerospike.client.query.Statement;
+import com.aerospike.mapper.exceptions.BatchWriteException;
 import com.aerospike.mapper.tools.ClassCache.PolicyType;
+import com.aerospike.mapper.tools.cache.CacheStats;
+import com.aerospike.mapper.tools.cache.EntityCache;
 import com.aerospike.mapper.tools.converters.MappingConverter;
+import com.aerospike.mapper.tools.query.IndexCatalog;
+import com.aerospike.mapper.tools.query.Predicate;
+import com.aerospike.mapper.tools.query.QueryPlan;
+import com.aerospike.mapper.tools.query.QueryPlanner;
+import com.aerospike.mapper.tools.scan.ParallelScan;
 import com.aerospike.mapper.tools.utils.MapperUtils;
 import com.aerospike.mapper.tools.virtuallist.VirtualList;
 
@@ -34,10 +57,12 @@ public class AeroMapper implements IAeroMapper {
 
     private final IAerospikeClient mClient;
     private final MappingConverter mappingConverter;
+    private final IndexCatalog indexCatalog;
 
     private AeroMapper(@NotNull IAerospikeClient client) {
         this.mClient = client;
         this.mappingConverter = new MappingConverter(this, mClient);
+        this.indexCatalog = new IndexCatalog(client);
     }
 
     /**
@@ -77,23 +102,7 @@ public class AeroMapper implements IAeroMapper {
         Class<T> clazz = (Class<T>) object.getClass();
         ClassCacheEntry<T> entry = MapperUtils.getEntryAndValidateNamespace(clazz, this);
         if (writePolicy == null) {
-            writePolicy = new WritePolicy(entry.getWritePolicy());
-            if (recordExistsAction != null) {
-                writePolicy.recordExistsAction = recordExistsAction;
-            }
-
-            // #132 -- Ensure that if an overriding TTL / sendkey is passed in the policy it
-            // is NOT overwritten. Hence
-            // only if the policy is null do we override these settings.
-            Integer ttl = entry.getTtl();
-            Boolean sendKey = entry.getSendKey();
-
-            if (ttl != null) {
-                writePolicy.expiration = ttl;
-            }
-            if (sendKey != null) {
-                writePolicy.sendKey = sendKey;
-            }
+            writePolicy = entry.getEffectiveWritePolicy(recordExistsAction);
         }
 
         String set = entry.getSetName();
@@ -105,7 +114,11 @@ public class AeroMapper implements IAeroMapper {
 
         Bin[] bins = entry.getBins(object, writePolicy.recordExistsAction != RecordExistsAction.REPLACE, binNames);
 
-        mClient.put(writePolicy, key, bins);
+        try {
+            mClient.put(writePolicy, key, bins);
+        } finally {
+            entry.invalidateCachedRecord(key);
+        }
     }
 
     @Override
@@ -113,6 +126,73 @@ public class AeroMapper implements IAeroMapper {
         save(null, object, RecordExistsAction.UPDATE, binNames);
     }
 
+    @Override
+    public int[] saveAll(@NotNull Collection<?> objects) {
+        return saveAll(null, objects);
+    }
+
+    @Override
+    public int[] saveAll(BatchPolicy batchPolicy, @NotNull Collection<?> objects) {
+        return writeAll(batchPolicy, objects, RecordExistsAction.REPLACE);
+    }
+
+    @Override
+    public int[] updateAll(@NotNull Collection<?> objects) {
+        return updateAll(null, objects);
+    }
+
+    @Override
+    public int[] updateAll(BatchPolicy batchPolicy, @NotNull Collection<?> objects) {
+        return writeAll(batchPolicy, objects, RecordExistsAction.UPDATE);
+    }
+
+    private int[] writeAll(BatchPolicy batchPolicy, @NotNull Collection<?> objects, RecordExistsAction recordExistsAction) {
+        if (batchPolicy == null) {
+            batchPolicy = mClient.getBatchParentPolicyWriteDefault();
+        }
+        int batchSize = ClassCache.getInstance().getBatchWriteSize();
+        int[] resultCodes = new int[objects.size()];
+        List<BatchRecord> batch = new ArrayList<>(Math.min(batchSize, resultCodes.length));
+        List<ClassCacheEntry<?>> entries = new ArrayList<>(Math.min(batchSize, resultCodes.length));
+        int offset = 0;
+        for (Object object : objects) {
+            ClassCacheEntry<?> entry = MapperUtils.getEntryAndValidateNamespace(object.getClass(), this);
+            batch.add(entry.getBatchWrite(object, recordExistsAction));
+            entries.add(entry);
+            if (batch.size() == batchSize) {
+                offset = writeBatch(batchPolicy, batch, entries, resultCodes, offset);
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batchPolicy, batch, entries, resultCodes, offset);
+        }
+        return resultCodes;
+    }
+
+    private int writeBatch(BatchPolicy batchPolicy, List<BatchRecord> batch, List<ClassCacheEntry<?>> entries,
+            int[] resultCodes, int offset) {
+        AerospikeException failure = null;
+        try {
+            mClient.operate(batchPolicy, batch);
+        } catch (AerospikeException e) {
+            failure = e;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            BatchRecord batchRecord = batch.get(i);
+            // A record whose write was sent may have been written even if no result came back
+            entries.get(i).invalidateCachedRecord(batchRecord.key);
+            resultCodes[offset++] = batchRecord.resultCode;
+        }
+        if (failure != null) {
+            // Do not send the remaining batches: the whole call failed, so later calls would most likely fail too
+            Arrays.fill(resultCodes, offset, resultCodes.length, ResultCode.NO_RESPONSE);
+            throw new BatchWriteException(failure, resultCodes);
+        }
+        batch.clear();
+        entries.clear();
+        return offset;
+    }
+
     @Override
     public <T> T readFromDigest(@NotNull Class<T> clazz, @NotNull byte[] digest) throws AerospikeException {
         return this.readFromDigest(clazz, digest, true);
@@ -123,7 +203,7 @@ public class AeroMapper implements IAeroMapper {
             throws AerospikeException {
         ClassCacheEntry<T> entry = MapperUtils.getEntryAndValidateNamespace(clazz, this);
         Key key = new Key(entry.getNamespace(), digest, entry.getSetName(), null);
-        return this.read(null, clazz, key, entry, resolveDependencies);
+        return this.read(null, clazz, key, entry, resolveDependencies, null, new MappingContext());
     }
 
     @Override
@@ -137,7 +217,7 @@ public class AeroMapper implements IAeroMapper {
             boolean resolveDependencies) throws AerospikeException {
         ClassCacheEntry<T> entry = MapperUtils.getEntryAndValidateNamespace(clazz, this);
         Key key = new Key(entry.getNamespace(), digest, entry.getSetName(), null);
-        return this.read(readPolicy, clazz, key, entry, resolveDependencies);
+        return this.read(readPolicy, clazz, key, entry, resolveDependencies, null, new MappingContext());
     }
 
     @Override
@@ -151,7 +231,7 @@ public class AeroMapper implements IAeroMapper {
         ClassCacheEntry<T> entry = MapperUtils.getEntryAndValidateNamespace(clazz, this);
         String set = entry.getSetName();
         Key key = new Key(entry.getNamespace(), set, Value.get(entry.translateKeyToAerospikeKey(userKey)));
-        return read(null, clazz, key, entry, resolveDependencies);
+        return read(null, clazz, key, entry, resolveDependencies, null, new MappingContext());
     }
 
     @Override
@@ -165,7 +245,30 @@ public class AeroMapper implements IAeroMapper {
         ClassCacheEntry<T> entry = MapperUtils.getEntryAndValidateNamespace(clazz, this);
         String set = entry.getSetName();
         Key key = new Key(entry.getNamespace(), set, Value.get(entry.translateKeyToAerospikeKey(userKey)));
-        return read(readPolicy, clazz, key, entry, resolveDependencies);
+        return read(readPolicy, clazz, key, entry, resolveDependencies, null, new MappingContext());
+    }
+
+    @Override
+    public <T> T read(@NotNull Class<T> clazz, @NotNull Object userKey, String... binNames) throws AerospikeException {
+        return this.read(null, clazz, userKey, binNames);
+    }
+
+    @Override
+    public <T> T read(Policy readPolicy, @NotNull Class<T> clazz, @NotNull Object userKey, String... binNames)
+            throws AerospikeException {
+        ClassCacheEntry<T> entry = MapperUtils.getEntryAndValidateNamespace(clazz, this);
+        String set = entry.getSetName();
+        Key key = new Key(entry.getNamespace(), set, Value.get(entry.translateKeyToAerospikeKey(userKey)));
+        return read(readPolicy, clazz, key, entry, true, entry.toBinNames(binNames), new MappingContext());
+    }
+
+    @Override
+    public <T> T read(Policy readPolicy, @NotNull Class<T> clazz, @NotNull Object userKey, @NotNull MappingContext context)
+            throws AerospikeException {
+        ClassCacheEntry<T> entry = MapperUtils.getEntryAndValidateNamespace(clazz, this);
+        String set = entry.getSetName();
+        Key key = new Key(entry.getNamespace(), set, Value.get(entry.translateKeyToAerospikeKey(userKey)));
+        return read(readPolicy, clazz, key, entry, true, null, context);
     }
 
     @Override
@@ -198,73 +301,143 @@ public class AeroMapper implements IAeroMapper {
             }
         }
 
-        return readBatch(batchPolicy, clazz, keys, entry, operations);
+        return readBatch(batchPolicy, clazz, keys, entry, null, new MappingContext(), operations);
     }
 
-    @SuppressWarnings({ "unchecked" })
-    private <T> T read(Policy readPolicy, @NotNull Class<T> clazz, @NotNull Key key, @NotNull ClassCacheEntry<T> entry,
-            boolean resolveDependencies) {
-        if (readPolicy == null || readPolicy.filterExp == null) {
-            Object objectForKey = LoadedObjectResolver.get(key);
-            if (objectForKey != null) {
-                return (T) objectForKey;
+    @Override
+    public <T> T[] read(@NotNull Class<T> clazz, @NotNull Object[] userKeys, String... binNames) {
+        return read(null, clazz, userKeys, binNames);
+    }
+
+    @Override
+    public <T> T[] read(BatchPolicy batchPolicy, @NotNull Class<T> clazz, @NotNull Object[] userKeys,
+            String... binNames) {
+        ClassCacheEntry<T> entry = MapperUtils.getEntryAndValidateNamespace(clazz, this);
+        String set = entry.getSetName();
+        Key[] keys = new Key[userKeys.length];
+        for (int i = 0; i < userKeys.length; i++) {
+            if (userKeys[i] == null) {
+                throw new AerospikeException("Cannot pass null to object " + i + " in multi-read call");
+            } else {
+                keys[i] = new Key(entry.getNamespace(), set, Value.get(entry.translateKeyToAerospikeKey(userKeys[i])));
             }
         }
+
+        return readBatch(batchPolicy, clazz, keys, entry, entry.toBinNames(binNames), new MappingContext());
+    }
+
+    @Override
+    public <T> T[] read(BatchPolicy batchPolicy, @NotNull Class<T> clazz, @NotNull Object[] userKeys,
+            @NotNull MappingContext context) {
+        ClassCacheEntry<T> entry = MapperUtils.getEntryAndValidateNamespace(clazz, this);
+        String set = entry.getSetName();
+        Key[] keys = new Key[userKeys.length];
+        for (int i = 0; i < userKeys.length; i++) {
+            if (userKeys[i] == null) {
+                throw new AerospikeException("Cannot pass null to object " + i + " in multi-read call");
+            } else {
+                keys[i] = new Key(entry.getNamespace(), set, Value.get(entry.translateKeyToAerospikeKey(userKeys[i])));
+            }
+        }
+
+        return readBatch(batchPolicy, clazz, keys, entry, null, context);
+    }
+
+    /**
+     * Read a single record and convert it with the passed context. If binNames are passed, only these bins are read and
+     * hydrated. They must already be translated to bin names by the entry.
+     */
+    private <T> T read(Policy readPolicy, @NotNull Class<T> clazz, @NotNull Key key, @NotNull ClassCacheEntry<T> entry,
+            boolean resolveDependencies, String[] binNames, MappingContext context) {
         if (readPolicy == null) {
             readPolicy = entry.getReadPolicy();
         }
-        Record record = mClient.get(readPolicy, key);
-
-        if (record == null) {
-            return null;
+        boolean allBins = binNames == null || binNames.length == 0;
+        // A filter expression can reject a record the cache would return, so such reads always go to the database
+        EntityCache cache = readPolicy.filterExp == null ? entry.getEntityCache() : null;
+        Record record = cache == null ? null : cache.get(key);
+        if (record != null) {
+            record = EntityCache.copyOf(record);
         } else {
-            try {
-                ThreadLocalKeySaver.save(key);
-                LoadedObjectResolver.begin();
-                return mappingConverter.convertToObject(clazz, record, entry, resolveDependencies);
-            } catch (ReflectiveOperationException e) {
-                throw new AerospikeException(e);
-            } finally {
-                LoadedObjectResolver.end();
-                ThreadLocalKeySaver.clear();
+            long version = cache == null ? 0 : cache.getVersion();
+            record = allBins ? mClient.get(readPolicy, key) : mClient.get(readPolicy, key, binNames);
+            if (record == null) {
+                return null;
+            }
+            if (cache != null && allBins) {
+                cache.put(key, EntityCache.copyOf(record), version);
             }
         }
+        T result = mappingConverter.convertToObject(clazz, key, record, entry, binNames, context);
+        if (resolveDependencies) {
+            mappingConverter.resolveDependencies(entry, context);
+        }
+        return result;
     }
 
     @SuppressWarnings("unchecked")
     private <T> T[] readBatch(BatchPolicy batchPolicy, @NotNull Class<T> clazz, @NotNull Key[] keys,
-            @NotNull ClassCacheEntry<T> entry, Operation... operations) {
+            @NotNull ClassCacheEntry<T> entry, String[] binNames, MappingContext context, Operation... operations) {
         if (batchPolicy == null) {
             batchPolicy = entry.getBatchPolicy();
         }
 
         Record[] records;
+        EntityCache cache = entry.getEntityCache();
         if (operations != null && operations.length > 0) {
             records = mClient.get(batchPolicy, keys, operations);
+        } else if (cache != null && batchPolicy.filterExp == null) {
+            records = readBatchThroughCache(batchPolicy, keys, binNames, cache);
+        } else if (binNames != null && binNames.length > 0) {
+            records = mClient.get(batchPolicy, keys, binNames);
         } else {
             records = mClient.get(batchPolicy, keys);
         }
 
         T[] results = (T[]) Array.newInstance(clazz, records.length);
         for (int i = 0; i < records.length; i++) {
-            if (records[i] == null) {
-                results[i] = null;
-            } else {
-                try {
-                    ThreadLocalKeySaver.save(keys[i]);
-                    T result = mappingConverter.convertToObject(clazz, records[i], entry, false);
-                    results[i] = result;
-                } catch (ReflectiveOperationException e) {
-                    throw new AerospikeException(e);
-                } finally {
-                    ThreadLocalKeySaver.clear();
-                }
+            if (records[i] != null) {
+                results[i] = mappingConverter.convertToObject(clazz, keys[i], records[i], entry, binNames, context);
             }
         }
-        mappingConverter.resolveDependencies(entry);
+        mappingConverter.resolveDependencies(entry, context);
         return results;
     }
 
+    /**
+     * Read a batch of records, taking those it holds from the cache and reading only the others from the database.
+     * Records read with all their bins are offered to the cache.
+     */
+    private Record[] readBatchThroughCache(BatchPolicy batchPolicy, Key[] keys, String[] binNames, EntityCache cache) {
+        Record[] records = new Record[keys.length];
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < keys.length; i++) {
+            Record record = cache.get(keys[i]);
+            if (record == null) {
+                missing.add(i);
+            } else {
+                records[i] = EntityCache.copyOf(record);
+            }
+        }
+        if (missing.isEmpty()) {
+            return records;
+        }
+        Key[] missingKeys = new Key[missing.size()];
+        for (int i = 0; i < missingKeys.length; i++) {
+            missingKeys[i] = keys[missing.get(i)];
+        }
+        boolean allBins = binNames == null || binNames.length == 0;
+        long version = cache.getVersion();
+        Record[] readRecords = allBins ? mClient.get(batchPolicy, missingKeys) : mClient.get(batchPolicy, missingKeys, binNames);
+        for (int i = 0; i < readRecords.length; i++) {
+            records[missing.get(i)] = readRecords[i];
+            if (allBins && readRecords[i] != null) {
+                cache.put(missingKeys[i], EntityCache.copyOf(readRecords[i]), version);
+            }
+        }
+        return records;
+    }
+
     @Override
     public <T> boolean delete(@NotNull Class<T> clazz, @NotNull Object userKey) throws AerospikeException {
         return this.delete(null, clazz, userKey);
@@ -277,16 +450,15 @@ public class AeroMapper implements IAeroMapper {
         Object asKey = entry.translateKeyToAerospikeKey(userKey);
 
         if (writePolicy == null) {
-            writePolicy = entry.getWritePolicy();
-            if (entry.getDurableDelete() != null) {
-                // Clone the write policy so we're not changing the original one
-                writePolicy = new WritePolicy(writePolicy);
-                writePolicy.durableDelete = entry.getDurableDelete();
-            }
+            writePolicy = entry.getEffectiveDeletePolicy();
         }
         Key key = new Key(entry.getNamespace(), entry.getSetName(), Value.get(asKey));
 
-        return mClient.delete(writePolicy, key);
+        try {
+            return mClient.delete(writePolicy, key);
+        } finally {
+            entry.invalidateCachedRecord(key);
+        }
     }
 
     @Override
@@ -300,13 +472,92 @@ public class AeroMapper implements IAeroMapper {
         Key key = new Key(entry.getNamespace(), entry.getSetName(), Value.get(entry.getKey(object)));
 
         if (writePolicy == null) {
-            writePolicy = entry.getWritePolicy();
-            if (entry.getDurableDelete() != null) {
-                writePolicy = new WritePolicy(writePolicy);
-                writePolicy.durableDelete = entry.getDurableDelete();
+            writePolicy = entry.getEffectiveDeletePolicy();
+        }
+        try {
+            return mClient.delete(writePolicy, key);
+        } finally {
+            entry.invalidateCachedRecord(key);
+        }
+    }
+
+    @Override
+    public <T> boolean[] deleteAll(@NotNull Class<T> clazz, @NotNull Object[] userKeys) throws AerospikeException {
+        return deleteAll(null, clazz, userKeys);
+    }
+
+    @Override
+    public <T> boolean[] deleteAll(BatchPolicy batchPolicy, @NotNull Class<T> clazz, @NotNull Object[] userKeys)
+            throws AerospikeException {
+        ClassCacheEntry<T> entry = MapperUtils.getEntryAndValidateNamespace(clazz, this);
+        Key[] keys = new Key[userKeys.length];
+        for (int i = 0; i < userKeys.length; i++) {
+            if (userKeys[i] == null) {
+                throw new AerospikeException("Null key specified at index " + i);
+            }
+            keys[i] = new Key(entry.getNamespace(), entry.getSetName(), Value.get(entry.translateKeyToAerospikeKey(userKeys[i])));
+        }
+        if (batchPolicy == null) {
+            batchPolicy = mClient.getBatchParentPolicyWriteDefault();
+        }
+        BatchResults results;
+        try {
+            results = mClient.delete(batchPolicy, entry.getEffectiveBatchDeletePolicy(), keys);
+        } finally {
+            for (Key key : keys) {
+                entry.invalidateCachedRecord(key);
             }
         }
-        return mClient.delete(writePolicy, key);
+        return existed(results.records);
+    }
+
+    @Override
+    public boolean[] deleteAll(@NotNull Object... objects) throws AerospikeException {
+        return deleteAll((BatchPolicy) null, objects);
+    }
+
+    @Override
+    public boolean[] deleteAll(BatchPolicy batchPolicy, @NotNull Object... objects) throws AerospikeException {
+        List<BatchRecord> batch = new ArrayList<>(objects.length);
+        List<ClassCacheEntry<?>> entries = new ArrayList<>(objects.length);
+        for (Object object : objects) {
+            ClassCacheEntry<?> entry = MapperUtils.getEntryAndValidateNamespace(object.getClass(), this);
+            batch.add(entry.getBatchDelete(object));
+            entries.add(entry);
+        }
+        if (batchPolicy == null) {
+            batchPolicy = mClient.getBatchParentPolicyWriteDefault();
+        }
+        try {
+            mClient.operate(batchPolicy, batch);
+        } finally {
+            for (int i = 0; i < batch.size(); i++) {
+                entries.get(i).invalidateCachedRecord(batch.get(i).key);
+            }
+        }
+        return existed(batch.toArray(new BatchRecord[0]));
+    }
+
+    /**
+     * Return whether each record of a batch delete existed before the delete, as a single delete would.
+     *
+     * @throws AerospikeException if a record could not be deleted.
+     */
+    static boolean[] existed(BatchRecord[] records) {
+        boolean[] results = new boolean[records.length];
+        for (int i = 0; i < records.length; i++) {
+            switch (records[i].resultCode) {
+                case ResultCode.OK:
+                    results[i] = true;
+                    break;
+                case ResultCode.KEY_NOT_FOUND_ERROR:
+                    results[i] = false;
+                    break;
+                default:
+                    throw new AerospikeException(records[i].resultCode, "Failed to delete " + records[i].key);
+            }
+        }
+        return results;
     }
 
     @Override
@@ -325,7 +576,9 @@ public class AeroMapper implements IAeroMapper {
             T result;
             while (recordSet.next()) {
                 result = clazz.getConstructor().newInstance();
-                entry.hydrateFromRecord(recordSet.getRecord(), result);
+                MappingContext context = new MappingContext();
+                entry.hydrateFromRecord(recordSet.getRecord(), result, context);
+                mappingConverter.resolveDependencies(entry, context);
                 if (!function.apply(result)) {
                     break;
                 }
@@ -357,6 +610,17 @@ public class AeroMapper implements IAeroMapper {
     @Override
     public <T> void scan(ScanPolicy policy, @NotNull Class<T> clazz, @NotNull Processor<T> processor,
             int recordsPerSecond) {
+        scan(policy, clazz, processor, recordsPerSecond, null);
+    }
+
+    @Override
+    public <T> void scan(ScanPolicy policy, @NotNull Class<T> clazz, @NotNull Processor<T> processor,
+            String... binNames) {
+        scan(policy, clazz, processor, -1, binNames);
+    }
+
+    private <T> void scan(ScanPolicy policy, @NotNull Class<T> clazz, @NotNull Processor<T> processor,
+            int recordsPerSecond, String[] requestedBinNames) {
         ClassCacheEntry<T> entry = MapperUtils.getEntryAndValidateNamespace(clazz, this);
         if (policy == null) {
             policy = entry.getScanPolicy();
@@ -368,16 +632,26 @@ public class AeroMapper implements IAeroMapper {
         }
         String namespace = entry.getNamespace();
         String setName = entry.getSetName();
+        String[] binNames = entry.toBinNames(requestedBinNames);
+        BinProjection projection = entry.getBinProjection(binNames);
+        String[] projectedBinNames = projection.getBinNames();
 
+        RecordCompleter<Key> completer = new RecordCompleter<>(mClient, entry.getBatchPolicy(), projection);
         AtomicBoolean userTerminated = new AtomicBoolean(false);
         try {
             mClient.scanAll(policy, namespace, setName, (key, record) -> {
-                T object = this.getMappingConverter().convertToObject(clazz, record);
-                if (!processor.process(object)) {
+                boolean more;
+                if (completer.isComplete(key, key, record)) {
+                    more = processor.process(convertToObject(clazz, key, record, entry, binNames));
+                } else {
+                    more = !completer.isFull() || processCompleted(completer, processor, clazz, entry, binNames);
+                }
+                if (!more) {
                     userTerminated.set(true);
                     throw new AerospikeException.ScanTerminated();
                 }
-            });
+            }, projectedBinNames == null ? new String[0] : projectedBinNames);
+            processCompleted(completer, processor, clazz, entry, binNames);
         } catch (ScanTerminated st) {
             if (!userTerminated.get()) {
                 throw st;
@@ -401,6 +675,22 @@ public class AeroMapper implements IAeroMapper {
         return result;
     }
 
+    @Override
+    public <T> List<T> scan(ScanPolicy policy, @NotNull Class<T> clazz, String... binNames) {
+        List<T> result = new ArrayList<>();
+        Processor<T> resultProcessor = record -> {
+            result.add(record);
+            return true;
+        };
+        scan(policy, clazz, resultProcessor, binNames);
+        return result;
+    }
+
+    @Override
+    public <T> ParallelScan<T> parallelScan(@NotNull Class<T> clazz) {
+        return new ParallelScan<>(this, clazz);
+    }
+
     @Override
     public <T> void query(@NotNull Class<T> clazz, @NotNull Processor<T> processor, Filter filter) {
         query(null, clazz, processor, filter);
@@ -408,23 +698,34 @@ public class AeroMapper implements IAeroMapper {
 
     @Override
     public <T> void query(QueryPolicy policy, @NotNull Class<T> clazz, @NotNull Processor<T> processor, Filter filter) {
+        query(policy, clazz, processor, filter, (String[]) null);
+    }
+
+    @Override
+    public <T> void query(QueryPolicy policy, @NotNull Class<T> clazz, @NotNull Processor<T> processor, Filter filter,
+            String... requestedBinNames) {
         ClassCacheEntry<T> entry = MapperUtils.getEntryAndValidateNamespace(clazz, this);
         if (policy == null) {
             policy = entry.getQueryPolicy();
         }
-        Statement statement = new Statement();
-        statement.setFilter(filter);
-        statement.setNamespace(entry.getNamespace());
-        statement.setSetName(entry.getSetName());
-
-        RecordSet recordSet = mClient.query(policy, statement);
+        String[] binNames = entry.toBinNames(requestedBinNames);
+        BinProjection projection = entry.getBinProjection(binNames);
+        RecordCompleter<Key> completer = new RecordCompleter<>(mClient, entry.getBatchPolicy(), projection);
+        RecordSet recordSet = mClient.query(policy, createStatement(entry, filter, projection));
         try {
-            while (recordSet.next()) {
-                T object = this.getMappingConverter().convertToObject(clazz, recordSet.getRecord());
-                if (!processor.process(object)) {
-                    break;
+            boolean more = true;
+            while (more && recordSet.next()) {
+                Key key = recordSet.getKey();
+                Record record = recordSet.getRecord();
+                if (completer.isComplete(key, key, record)) {
+                    more = processor.process(convertToObject(clazz, key, record, entry, binNames));
+                } else if (completer.isFull()) {
+                    more = processCompleted(completer, processor, clazz, entry, binNames);
                 }
             }
+            if (more) {
+                processCompleted(completer, processor, clazz, entry, binNames);
+            }
         } finally {
             recordSet.close();
         }
@@ -446,6 +747,196 @@ public class AeroMapper implements IAeroMapper {
         return result;
     }
 
+    @Override
+    public <T> List<T> query(QueryPolicy policy, Class<T> clazz, Filter filter, String... binNames) {
+        List<T> result = new ArrayList<>();
+        Processor<T> resultProcessor = record -> {
+            result.add(record);
+            return true;
+        };
+        query(policy, clazz, resultProcessor, filter, binNames);
+        return result;
+    }
+
+    @Override
+    public <T> Stream<T> streamScan(@NotNull Class<T> clazz) {
+        return streamScan(null, clazz);
+    }
+
+    @Override
+    public <T> Stream<T> streamScan(QueryPolicy policy, @NotNull Class<T> clazz, String... requestedBinNames) {
+        ClassCacheEntry<T> entry = MapperUtils.getEntryAndValidateNamespace(clazz, this);
+        String[] binNames = entry.toBinNames(requestedBinNames);
+        BinProjection projection = entry.getBinProjection(binNames);
+        Statement statement = createStatement(entry, null, projection);
+        if (policy == null) {
+            ScanPolicy scanPolicy = entry.getScanPolicy();
+            policy = toQueryPolicy(scanPolicy);
+            statement.setMaxRecords(scanPolicy.maxRecords);
+            statement.setRecordsPerSecond(scanPolicy.recordsPerSecond);
+        }
+        RecordSet recordSet = mClient.queryPartitions(policy, statement, PartitionFilter.all());
+        return stream(recordSet, clazz, entry, binNames, projection);
+    }
+
+    /**
+     * Return a query policy with the settings of a scan policy, for scans which are run as queries without a filter.
+     * The record limits of a scan policy are set on the statement of a query.
+     */
+    private static QueryPolicy toQueryPolicy(ScanPolicy scanPolicy) {
+        QueryPolicy queryPolicy = new QueryPolicy(scanPolicy);
+        queryPolicy.maxConcurrentNodes = scanPolicy.concurrentNodes ? scanPolicy.maxConcurrentNodes : 1;
+        queryPolicy.includeBinData = scanPolicy.includeBinData;
+        return queryPolicy;
+    }
+
+    @Override
+    public <T> Stream<T> streamQuery(@NotNull Class<T> clazz, Filter filter) {
+        return streamQuery(null, clazz, filter);
+    }
+
+    @Override
+    public <T> Stream<T> streamQuery(QueryPolicy policy, @NotNull Class<T> clazz, Filter filter, String... requestedBinNames) {
+        ClassCacheEntry<T> entry = MapperUtils.getEntryAndValidateNamespace(clazz, this);
+        if (policy == null) {
+            policy = entry.getQueryPolicy();
+        }
+        String[] binNames = entry.toBinNames(requestedBinNames);
+        BinProjection projection = entry.getBinProjection(binNames);
+        RecordSet recordSet = mClient.query(policy, createStatement(entry, filter, projection));
+        return stream(recordSet, clazz, entry, binNames, projection);
+    }
+
+    @Override
+    public <T> List<T> find(@NotNull Class<T> clazz, @NotNull Predicate predicate) {
+        return find(null, clazz, predicate);
+    }
+
+    @Override
+    public <T> List<T> find(QueryPolicy policy, @NotNull Class<T> clazz, @NotNull Predicate predicate, String... binNames) {
+        List<T> result = new ArrayList<>();
+        Processor<T> resultProcessor = record -> {
+            result.add(record);
+            return true;
+        };
+        find(policy, clazz, resultProcessor, predicate, binNames);
+        return result;
+    }
+
+    @Override
+    public <T> void find(QueryPolicy policy, @NotNull Class<T> clazz, @NotNull Processor<T> processor,
+            @NotNull Predicate predicate, String... binNames) {
+        ClassCacheEntry<T> entry = MapperUtils.getEntryAndValidateNamespace(clazz, this);
+        QueryPlan plan = QueryPlanner.plan(entry, predicate, indexCatalog);
+        query(plan.applyTo(policy == null ? entry.getQueryPolicy() : policy), clazz, processor, plan.getFilter(), binNames);
+    }
+
+    @Override
+    public <T> Stream<T> streamFind(QueryPolicy policy, @NotNull Class<T> clazz, @NotNull Predicate predicate,
+            String... binNames) {
+        ClassCacheEntry<T> entry = MapperUtils.getEntryAndValidateNamespace(clazz, this);
+        QueryPlan plan = QueryPlanner.plan(entry, predicate, indexCatalog);
+        return streamQuery(plan.applyTo(policy == null ? entry.getQueryPolicy() : policy), clazz, plan.getFilter(), binNames);
+    }
+
+    @Override
+    public QueryPlan plan(@NotNull Class<?> clazz, @NotNull Predicate predicate) {
+        return QueryPlanner.plan(MapperUtils.getEntryAndValidateNamespace(clazz, this), predicate, indexCatalog);
+    }
+
+    @Override
+    public Expression toFilterExpression(@NotNull Class<?> clazz, @NotNull Predicate predicate) {
+        return QueryPlanner.toExpression(MapperUtils.getEntryAndValidateNamespace(clazz, this), predicate);
+    }
+
+    @Override
+    public IndexCatalog getIndexCatalog() {
+        return indexCatalog;
+    }
+
+    private Statement createStatement(ClassCacheEntry<?> entry, Filter filter, BinProjection projection) {
+        String[] binNames = projection.getBinNames();
+        Statement statement = new Statement();
+        statement.setFilter(filter);
+        statement.setNamespace(entry.getNamespace());
+        statement.setSetName(entry.getSetName());
+        if (binNames != null && binNames.length > 0) {
+            statement.setBinNames(binNames);
+        }
+        return statement;
+    }
+
+    /**
+     * Return a stream over a record set which converts each record as it is pulled. The record set reads ahead into
+     * its own bounded queue, so the stream holds no more than recordQueueSize records of the query policy, and the
+     * batch of incomplete records being read again in full. The record set is closed, stopping the query on the
+     * server, when the stream is closed, exhausted or fails.
+     */
+    private <T> Stream<T> stream(RecordSet recordSet, Class<T> clazz, ClassCacheEntry<T> entry, String[] binNames,
+            BinProjection projection) {
+        RecordCompleter<Key> completer = new RecordCompleter<>(mClient, entry.getBatchPolicy(), projection);
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            private final Deque<KeyRecord> completed = new ArrayDeque<>();
+            private boolean exhausted;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    while (completed.isEmpty()) {
+                        if (!exhausted && recordSet.next()) {
+                            Key key = recordSet.getKey();
+                            Record record = recordSet.getRecord();
+                            if (completer.isComplete(key, key, record)) {
+                                action.accept(convertToObject(clazz, key, record, entry, binNames));
+                                return true;
+                            }
+                            if (!completer.isFull()) {
+                                continue;
+                            }
+                        } else {
+                            exhausted = true;
+                            if (completer.isEmpty()) {
+                                recordSet.close();
+                                return false;
+                            }
+                        }
+                        completer.complete((key, record) -> completed.add(new KeyRecord(key, record)));
+                    }
+                    KeyRecord keyRecord = completed.poll();
+                    action.accept(convertToObject(clazz, keyRecord.key, keyRecord.record, entry, binNames));
+                    return true;
+                } catch (RuntimeException | Error e) {
+                    recordSet.close();
+                    throw e;
+                }
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(recordSet::close);
+    }
+
+    /**
+     * Read the records held by the completer with every bin and pass them to the processor, returning false if the
+     * processor asked to stop. Any records after the one which stopped it are dropped.
+     */
+    private <T> boolean processCompleted(RecordCompleter<Key> completer, Processor<T> processor, Class<T> clazz,
+            ClassCacheEntry<T> entry, String[] binNames) {
+        AtomicBoolean more = new AtomicBoolean(true);
+        completer.complete((key, record) -> {
+            if (more.get() && !processor.process(convertToObject(clazz, key, record, entry, binNames))) {
+                more.set(false);
+            }
+        });
+        return more.get();
+    }
+
+    private <T> T convertToObject(Class<T> clazz, Key key, Record record, ClassCacheEntry<T> entry, String[] binNames) {
+        MappingContext context = new MappingContext();
+        T result = mappingConverter.convertToObject(clazz, key, record, entry, binNames, context);
+        mappingConverter.resolveDependencies(entry, context);
+        return result;
+    }
+
     @Override
     public <T> VirtualList<T> asBackedList(@NotNull Object object, @NotNull String binName, Class<T> elementClazz) {
         return new VirtualList<>(this, object, binName, elementClazz);
@@ -462,6 +953,12 @@ public class AeroMapper implements IAeroMapper {
         return this.mClient;
     }
 
+    @Override
+    public CacheStats getCacheStats(Class<?> clazz) {
+        EntityCache cache = ClassCache.getInstance().loadClass(clazz, this).getEntityCache();
+        return cache == null ? null : cache.getStats();
+    }
+
     @Override
     public MappingConverter getMappingConverter() {
         return this.mappingConverter;
@@ -0,0 +1,548 @@
+package com.aerospike.mapper.tools;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import javax.validation.constraints.NotNull;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.BatchRecord;
+import com.aerospike.client.Bin;
+import com.aerospike.client.IAerospikeClient;
+import com.aerospike.client.Key;
+import com.aerospike.client.Record;
+import com.aerospike.client.Value;
+import com.aerospike.client.async.EventLoop;
+import com.aerospike.client.async.EventLoops;
+import com.aerospike.client.listener.BatchOperateListListener;
+import com.aerospike.client.listener.BatchRecordArrayListener;
+import com.aerospike.client.listener.DeleteListener;
+import com.aerospike.client.listener.RecordArrayListener;
+import com.aerospike.client.listener.RecordListener;
+import com.aerospike.client.listener.RecordSequenceListener;
+import com.aerospike.client.listener.WriteListener;
+import com.aerospike.client.policy.BatchPolicy;
+import com.aerospike.client.policy.Policy;
+import com.aerospike.client.policy.QueryPolicy;
+import com.aerospike.client.policy.RecordExistsAction;
+import com.aerospike.client.policy.ScanPolicy;
+import com.aerospike.client.policy.WritePolicy;
+import com.aerospike.client.query.Filter;
+import com.aerospike.client.query.Statement;
+import com.aerospike.mapper.exceptions.BatchWriteException;
+import com.aerospike.mapper.tools.ClassCache.PolicyType;
+import com.aerospike.mapper.tools.DeferredObjectLoader.DeferredObjectSetter;
+import com.aerospike.mapper.tools.converters.MappingConverter;
+import com.aerospike.mapper.tools.utils.MapperUtils;
+
+public class AsyncAeroMapper implements IAsyncAeroMapper {
+
+    private final IAerospikeClient mClient;
+    private final EventLoops eventLoops;
+    private final IAeroMapper aeroMapper;
+    private final MappingConverter mappingConverter;
+
+    private AsyncAeroMapper(@NotNull IAerospikeClient client, EventLoops eventLoops) {
+        this.mClient = client;
+        this.eventLoops = eventLoops;
+        this.aeroMapper = new AeroMapper.Builder(client).build();
+        this.mappingConverter = new MappingConverter(this, client);
+    }
+
+    /**
+     * Create a new Builder to instantiate the AsyncAeroMapper.
+     */
+    public static class Builder extends AbstractBuilder<AsyncAeroMapper> {
+        /**
+         * Create a mapper whose commands are spread over the event loops of the client by the client.
+         */
+        public Builder(IAerospikeClient client) {
+            this(client, null);
+        }
+
+        /**
+         * Create a mapper whose commands are issued on the passed event loops in turn. These must be the event loops the
+         * client was created with.
+         */
+        public Builder(IAerospikeClient client, EventLoops eventLoops) {
+            super(new AsyncAeroMapper(client, eventLoops));
+            ClassCache.getInstance().setDefaultPolicies(client);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> save(@NotNull Object object, String... binNames) {
+        return save(null, object, RecordExistsAction.REPLACE, binNames);
+    }
+
+    @Override
+    public CompletableFuture<Void> save(@NotNull WritePolicy writePolicy, @NotNull Object object, String... binNames) {
+        return save(writePolicy, object, null, binNames);
+    }
+
+    @Override
+    public CompletableFuture<Void> update(@NotNull Object object, String... binNames) {
+        return save(null, object, RecordExistsAction.UPDATE, binNames);
+    }
+
+    private CompletableFuture<Void> save(WritePolicy writePolicy, @NotNull Object object,
+            RecordExistsAction recordExistsAction, String[] binNames) {
+        return start(future -> {
+            ClassCacheEntry<?> entry = MapperUtils.getEntryAndValidateNamespace(object.getClass(), this);
+            WritePolicy policy = writePolicy == null ? entry.getEffectiveWritePolicy(recordExistsAction) : writePolicy;
+            String set = "".equals(entry.getSetName()) ? null : entry.getSetName();
+            Key key = new Key(entry.getNamespace(), set, Value.get(entry.getKey(object)));
+            Bin[] bins = entry.getBins(object, policy.recordExistsAction != RecordExistsAction.REPLACE, binNames);
+
+            mClient.put(nextEventLoop(), new WriteListener() {
+                @Override
+                public void onSuccess(Key key) {
+                    entry.invalidateCachedRecord(key);
+                    future.complete(null);
+                }
+
+                @Override
+                public void onFailure(AerospikeException exception) {
+                    entry.invalidateCachedRecord(key);
+                    future.completeExceptionally(exception);
+                }
+            }, policy, key, bins);
+        });
+    }
+
+    @Override
+    public CompletableFuture<int[]> saveAll(@NotNull Collection<?> objects) {
+        return saveAll(null, objects);
+    }
+
+    @Override
+    public CompletableFuture<int[]> saveAll(BatchPolicy batchPolicy, @NotNull Collection<?> objects) {
+        return start(future -> {
+            BatchPolicy policy = batchPolicy == null ? mClient.getBatchParentPolicyWriteDefault() : batchPolicy;
+            List<BatchRecord> batchRecords = new ArrayList<>(objects.size());
+            List<ClassCacheEntry<?>> entries = new ArrayList<>(objects.size());
+            for (Object object : objects) {
+                ClassCacheEntry<?> entry = MapperUtils.getEntryAndValidateNamespace(object.getClass(), this);
+                batchRecords.add(entry.getBatchWrite(object, RecordExistsAction.REPLACE));
+                entries.add(entry);
+            }
+            writeChunks(policy, batchRecords, entries, 0, ClassCache.getInstance().getBatchWriteSize(), future);
+        });
+    }
+
+    /**
+     * Write the records from the passed offset in one batch call, then the records after them once this call has completed.
+     * As with the blocking mapper no further calls are made once a batch call has failed, and the future completes with
+     * a {@link BatchWriteException} carrying the result code of each record.
+     */
+    private void writeChunks(BatchPolicy batchPolicy, List<BatchRecord> batchRecords, List<ClassCacheEntry<?>> entries,
+            int offset, int batchSize, CompletableFuture<int[]> future) {
+        if (offset >= batchRecords.size()) {
+            future.complete(getResultCodes(batchRecords));
+            return;
+        }
+        int end = Math.min(offset + batchSize, batchRecords.size());
+        List<BatchRecord> chunk = batchRecords.subList(offset, end);
+        try {
+            mClient.operate(nextEventLoop(), new BatchOperateListListener() {
+                @Override
+                public void onSuccess(List<BatchRecord> records, boolean status) {
+                    invalidateCachedRecords(batchRecords, entries, offset, end);
+                    writeChunks(batchPolicy, batchRecords, entries, offset + batchSize, batchSize, future);
+                }
+
+                @Override
+                public void onFailure(AerospikeException exception) {
+                    // The records after this chunk were never sent, so they keep the NO_RESPONSE result code
+                    invalidateCachedRecords(batchRecords, entries, offset, end);
+                    future.completeExceptionally(new BatchWriteException(exception, getResultCodes(batchRecords)));
+                }
+            }, batchPolicy, new ArrayList<>(chunk));
+        } catch (AerospikeException e) {
+            future.completeExceptionally(new BatchWriteException(e, getResultCodes(batchRecords)));
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private static int[] getResultCodes(List<BatchRecord> batchRecords) {
+        int[] resultCodes = new int[batchRecords.size()];
+        for (int i = 0; i < resultCodes.length; i++) {
+            resultCodes[i] = batchRecords.get(i).resultCode;
+        }
+        return resultCodes;
+    }
+
+    private static void invalidateCachedRecords(List<BatchRecord> batchRecords, List<ClassCacheEntry<?>> entries,
+            int from, int to) {
+        for (int i = from; i < to; i++) {
+            entries.get(i).invalidateCachedRecord(batchRecords.get(i).key);
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<T> read(@NotNull Class<T> clazz, @NotNull Object userKey) {
+        return read(clazz, userKey, true);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> read(@NotNull Class<T> clazz, @NotNull Object userKey, boolean resolveDependencies) {
+        return read(null, clazz, userKey, resolveDependencies, null);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> read(Policy readPolicy, @NotNull Class<T> clazz, @NotNull Object userKey,
+            String... binNames) {
+        return read(readPolicy, clazz, userKey, true, binNames);
+    }
+
+    private <T> CompletableFuture<T> read(Policy readPolicy, @NotNull Class<T> clazz, @NotNull Object userKey,
+            boolean resolveDependencies, String[] requestedBinNames) {
+        return start(future -> {
+            ClassCacheEntry<T> entry = MapperUtils.getEntryAndValidateNamespace(clazz, this);
+            Key key = new Key(entry.getNamespace(), entry.getSetName(), Value.get(entry.translateKeyToAerospikeKey(userKey)));
+            Policy policy = readPolicy == null ? entry.getReadPolicy() : readPolicy;
+            String[] binNames = entry.toBinNames(requestedBinNames);
+
+            RecordListener listener = new RecordListener() {
+                @Override
+                public void onSuccess(Key key, Record record) {
+                    if (record == null) {
+                        future.complete(null);
+                        return;
+                    }
+                    Map<Key, Object> loadedObjects = new ConcurrentHashMap<>();
+                    List<DeferredObjectSetter> deferredObjects = new ArrayList<>();
+                    T result;
+                    try {
+                        result = mappingConverter.convertToObject(clazz, key, record, entry, binNames, loadedObjects, deferredObjects);
+                    } catch (RuntimeException e) {
+                        future.completeExceptionally(e);
+                        return;
+                    }
+                    completeWithDependencies(future, result, entry, resolveDependencies ? deferredObjects : null, loadedObjects);
+                }
+
+                @Override
+                public void onFailure(AerospikeException exception) {
+                    future.completeExceptionally(exception);
+                }
+            };
+            if (binNames == null || binNames.length == 0) {
+                mClient.get(nextEventLoop(), listener, policy, key);
+            } else {
+                mClient.get(nextEventLoop(), listener, policy, key, binNames);
+            }
+        });
+    }
+
+    @Override
+    public <T> CompletableFuture<T[]> read(@NotNull Class<T> clazz, @NotNull Object[] userKeys) {
+        return read(null, clazz, userKeys);
+    }
+
+    @Override
+    public <T> CompletableFuture<T[]> read(BatchPolicy batchPolicy, @NotNull Class<T> clazz, @NotNull Object[] userKeys,
+            String... requestedBinNames) {
+        return start(future -> {
+            ClassCacheEntry<T> entry = MapperUtils.getEntryAndValidateNamespace(clazz, this);
+            Key[] keys = new Key[userKeys.length];
+            for (int i = 0; i < userKeys.length; i++) {
+                if (userKeys[i] == null) {
+                    throw new AerospikeException("Cannot pass null to object " + i + " in multi-read call");
+                }
+                keys[i] = new Key(entry.getNamespace(), entry.getSetName(), Value.get(entry.translateKeyToAerospikeKey(userKeys[i])));
+            }
+            BatchPolicy policy = batchPolicy == null ? entry.getBatchPolicy() : batchPolicy;
+            String[] binNames = entry.toBinNames(requestedBinNames);
+
+            RecordArrayListener listener = new RecordArrayListener() {
+                @Override
+                public void onSuccess(Key[] keys, Record[] records) {
+                    Map<Key, Object> loadedObjects = new ConcurrentHashMap<>();
+                    List<DeferredObjectSetter> deferredObjects = new ArrayList<>();
+                    T[] results;
+                    try {
+                        results = convertRecords(clazz, entry, keys, records, binNames, loadedObjects, deferredObjects);
+                    } catch (RuntimeException e) {
+                        future.completeExceptionally(e);
+                        return;
+                    }
+                    completeWithDependencies(future, results, entry, deferredObjects, loadedObjects);
+                }
+
+                @Override
+                public void onFailure(AerospikeException exception) {
+                    future.completeExceptionally(exception);
+                }
+            };
+            if (binNames == null || binNames.length == 0) {
+                mClient.get(nextEventLoop(), listener, policy, keys);
+            } else {
+                mClient.get(nextEventLoop(), listener, policy, keys, binNames);
+            }
+        });
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> delete(@NotNull Class<T> clazz, @NotNull Object userKey) {
+        return delete(null, clazz, userKey);
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> delete(WritePolicy writePolicy, @NotNull Class<T> clazz, @NotNull Object userKey) {
+        return start(future -> {
+            ClassCacheEntry<T> entry = MapperUtils.getEntryAndValidateNamespace(clazz, this);
+            Key key = new Key(entry.getNamespace(), entry.getSetName(), Value.get(entry.translateKeyToAerospikeKey(userKey)));
+            delete(writePolicy == null ? entry.getEffectiveDeletePolicy() : writePolicy, entry, key, future);
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> delete(@NotNull Object object) {
+        return delete((WritePolicy) null, object);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> delete(WritePolicy writePolicy, @NotNull Object object) {
+        return start(future -> {
+            ClassCacheEntry<?> entry = MapperUtils.getEntryAndValidateNamespace(object.getClass(), this);
+            Key key = new Key(entry.getNamespace(), entry.getSetName(), Value.get(entry.getKey(object)));
+            delete(writePolicy == null ? entry.getEffectiveDeletePolicy() : writePolicy, entry, key, future);
+        });
+    }
+
+    private void delete(WritePolicy writePolicy, ClassCacheEntry<?> entry, Key key, CompletableFuture<Boolean> future) {
+        mClient.delete(nextEventLoop(), new DeleteListener() {
+            @Override
+            public void onSuccess(Key key, boolean existed) {
+                entry.invalidateCachedRecord(key);
+                future.complete(existed);
+            }
+
+            @Override
+            public void onFailure(AerospikeException exception) {
+                entry.invalidateCachedRecord(key);
+                future.completeExceptionally(exception);
+            }
+        }, writePolicy, key);
+    }
+
+    @Override
+    public <T> CompletableFuture<boolean[]> deleteAll(BatchPolicy batchPolicy, @NotNull Class<T> clazz,
+            @NotNull Object[] userKeys) {
+        return start(future -> {
+            ClassCacheEntry<T> entry = MapperUtils.getEntryAndValidateNamespace(clazz, this);
+            Key[] keys = new Key[userKeys.length];
+            for (int i = 0; i < userKeys.length; i++) {
+                if (userKeys[i] == null) {
+                    throw new AerospikeException("Null key specified at index " + i);
+                }
+                keys[i] = new Key(entry.getNamespace(), entry.getSetName(), Value.get(entry.translateKeyToAerospikeKey(userKeys[i])));
+            }
+            BatchPolicy policy = batchPolicy == null ? mClient.getBatchParentPolicyWriteDefault() : batchPolicy;
+            mClient.delete(nextEventLoop(), new BatchRecordArrayListener() {
+                @Override
+                public void onSuccess(BatchRecord[] records, boolean status) {
+                    for (Key key : keys) {
+                        entry.invalidateCachedRecord(key);
+                    }
+                    try {
+                        future.complete(AeroMapper.existed(records));
+                    } catch (AerospikeException e) {
+                        future.completeExceptionally(e);
+                    }
+                }
+
+                @Override
+                public void onFailure(BatchRecord[] records, AerospikeException exception) {
+                    for (Key key : keys) {
+                        entry.invalidateCachedRecord(key);
+                    }
+                    future.completeExceptionally(exception);
+                }
+            }, policy, entry.getEffectiveBatchDeletePolicy(), keys);
+        });
+    }
+
+    @Override
+    public <T> CompletableFuture<List<T>> scan(ScanPolicy policy, @NotNull Class<T> clazz) {
+        return start(future -> {
+            ClassCacheEntry<T> entry = MapperUtils.getEntryAndValidateNamespace(clazz, this);
+            ScanPolicy scanPolicy = policy == null ? entry.getScanPolicy() : policy;
+            mClient.scanAll(nextEventLoop(), new MappingSequenceListener<>(clazz, entry, future),
+                    scanPolicy, entry.getNamespace(), entry.getSetName());
+        });
+    }
+
+    @Override
+    public <T> CompletableFuture<List<T>> query(QueryPolicy policy, @NotNull Class<T> clazz, Filter filter) {
+        return start(future -> {
+            ClassCacheEntry<T> entry = MapperUtils.getEntryAndValidateNamespace(clazz, this);
+            QueryPolicy queryPolicy = policy == null ? entry.getQueryPolicy() : policy;
+            Statement statement = new Statement();
+            statement.setFilter(filter);
+            statement.setNamespace(entry.getNamespace());
+            statement.setSetName(entry.getSetName());
+            mClient.query(nextEventLoop(), new MappingSequenceListener<>(clazz, entry, future), queryPolicy, statement);
+        });
+    }
+
+    /**
+     * Map the records of a scan or query as they arrive. The references of all the records are loaded together once
+     * the last record has arrived.
+     */
+    private class MappingSequenceListener<T> implements RecordSequenceListener {
+        private final Class<T> clazz;
+        private final ClassCacheEntry<T> entry;
+        private final CompletableFuture<List<T>> future;
+        private final List<T> results = new ArrayList<>();
+        private final List<DeferredObjectSetter> deferredObjects = new ArrayList<>();
+        private final Map<Key, Object> loadedObjects = new ConcurrentHashMap<>();
+
+        MappingSequenceListener(Class<T> clazz, ClassCacheEntry<T> entry, CompletableFuture<List<T>> future) {
+            this.clazz = clazz;
+            this.entry = entry;
+            this.future = future;
+        }
+
+        @Override
+        public void onRecord(Key key, Record record) throws AerospikeException {
+            // Records of different nodes can arrive on different threads
+            synchronized (this) {
+                results.add(mappingConverter.convertToObject(clazz, key, record, entry, null, loadedObjects, deferredObjects));
+            }
+        }
+
+        @Override
+        public void onSuccess() {
+            List<T> list;
+            List<DeferredObjectSetter> toResolve;
+            synchronized (this) {
+                list = Collections.unmodifiableList(new ArrayList<>(results));
+                toResolve = new ArrayList<>(deferredObjects);
+            }
+            completeWithDependencies(future, list, entry, toResolve, loadedObjects);
+        }
+
+        @Override
+        public void onFailure(AerospikeException exception) {
+            future.completeExceptionally(exception);
+        }
+    }
+
+    /**
+     * Convert the records on the current thread without resolving their references, which are added to the passed list.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T[] convertRecords(Class<T> clazz, ClassCacheEntry<T> entry, Key[] keys, Record[] records,
+            String[] binNames, Map<Key, Object> loadedObjects, List<DeferredObjectSetter> deferredObjects) {
+        T[] results = (T[]) Array.newInstance(clazz, records.length);
+        for (int i = 0; i < records.length; i++) {
+            if (records[i] != null) {
+                results[i] = mappingConverter.convertToObject(clazz, keys[i], records[i], entry, binNames, loadedObjects, deferredObjects);
+            }
+        }
+        return results;
+    }
+
+    private <R> void completeWithDependencies(CompletableFuture<R> future, R result, ClassCacheEntry<?> entry,
+            List<DeferredObjectSetter> deferredObjects, Map<Key, Object> loadedObjects) {
+        if (deferredObjects == null || deferredObjects.isEmpty()) {
+            future.complete(result);
+            return;
+        }
+        mappingConverter.resolveDependenciesAsync(entry, deferredObjects, loadedObjects, eventLoops)
+                .whenComplete((ignored, throwable) -> {
+                    if (throwable == null) {
+                        future.complete(result);
+                    } else {
+                        future.completeExceptionally(throwable);
+                    }
+                });
+    }
+
+    private EventLoop nextEventLoop() {
+        return eventLoops == null ? null : eventLoops.next();
+    }
+
+    /**
+     * Create a future and pass it to the command which will complete it. Mapping errors and errors raised by the client
+     * before the command is sent complete the future exceptionally rather than being thrown to the caller.
+     */
+    private static <T> CompletableFuture<T> start(Consumer<CompletableFuture<T>> command) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            command.accept(future);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    @Override
+    public IAerospikeClient getClient() {
+        return this.mClient;
+    }
+
+    @Override
+    public MappingConverter getMappingConverter() {
+        return this.mappingConverter;
+    }
+
+    @Override
+    public IAeroMapper asMapper() {
+        return aeroMapper;
+    }
+
+    @Override
+    public Policy getReadPolicy(Class<?> clazz) {
+        return getPolicyByClassAndType(clazz, PolicyType.READ);
+    }
+
+    @Override
+    public WritePolicy getWritePolicy(Class<?> clazz) {
+        return (WritePolicy) getPolicyByClassAndType(clazz, PolicyType.WRITE);
+    }
+
+    @Override
+    public BatchPolicy getBatchPolicy(Class<?> clazz) {
+        return (BatchPolicy) getPolicyByClassAndType(clazz, PolicyType.BATCH);
+    }
+
+    @Override
+    public ScanPolicy getScanPolicy(Class<?> clazz) {
+        return (ScanPolicy) getPolicyByClassAndType(clazz, PolicyType.SCAN);
+    }
+
+    @Override
+    public QueryPolicy getQueryPolicy(Class<?> clazz) {
+        return (QueryPolicy) getPolicyByClassAndType(clazz, PolicyType.QUERY);
+    }
+
+    private Policy getPolicyByClassAndType(Class<?> clazz, PolicyType policyType) {
+        ClassCacheEntry<?> entry = ClassCache.getInstance().loadClass(clazz, this);
+
+        switch (policyType) {
+        case READ:
+            return entry == null ? mClient.getReadPolicyDefault() : entry.getReadPolicy();
+        case WRITE:
+            return entry == null ? mClient.getWritePolicyDefault() : entry.getWritePolicy();
+        case BATCH:
+            return entry == null ? mClient.getBatchPolicyDefault() : entry.getBatchPolicy();
+        case SCAN:
+            return entry == null ? mClient.getScanPolicyDefault() : entry.getScanPolicy();
+        case QUERY:
+            return entry == null ? mClient.getQueryPolicyDefault() : entry.getQueryPolicy();
+        default:
+            throw new UnsupportedOperationException("Provided unsupported policy type: " + policyType);
+        }
+    }
+}
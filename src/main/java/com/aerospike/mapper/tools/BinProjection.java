@@ -0,0 +1,71 @@
+package com.aerospike.mapper.tools;
+
+import java.util.Set;
+
+import com.aerospike.client.Record;
+
+/**
+ * The bins a scan or query asks the database for. Unless the caller names the bins to read, a scan or query of a class
+ * asks for the bins mapped by the class, its superclasses and the subclasses known to the mapper, and the type bin, so
+ * bins written to the same set by other applications are not sent to the client.
+ * <p/>
+ * A record of a subclass the mapper did not know of when the projection was made may have bins outside the projection.
+ * {@link #isComplete(Record)} finds these records so they can be read again in full, with batch reads by a
+ * {@link RecordCompleter}.
+ */
+public class BinProjection {
+    private static final BinProjection ALL_BINS = new BinProjection(null, null, null);
+
+    private final ClassCacheEntry<?> entry;
+    private final String[] binNames;
+    private final Set<String> mappedBinNames;
+
+    private BinProjection(ClassCacheEntry<?> entry, String[] binNames, Set<String> mappedBinNames) {
+        this.entry = entry;
+        this.binNames = binNames;
+        this.mappedBinNames = mappedBinNames;
+    }
+
+    /**
+     * A projection of every bin.
+     */
+    static BinProjection allBins() {
+        return ALL_BINS;
+    }
+
+    /**
+     * A projection of the bins named by the caller. Records are hydrated with only these bins, so they are always complete.
+     */
+    static BinProjection of(String[] binNames) {
+        return new BinProjection(null, binNames, null);
+    }
+
+    /**
+     * A projection of the bins mapped by a class.
+     */
+    static BinProjection mapped(ClassCacheEntry<?> entry, Set<String> mappedBinNames) {
+        return new BinProjection(entry, mappedBinNames.toArray(new String[0]), mappedBinNames);
+    }
+
+    /**
+     * Return the bins to request, or null or an empty array if every bin should be read.
+     */
+    public String[] getBinNames() {
+        return binNames;
+    }
+
+    /**
+     * Return whether a record read with this projection has every bin mapped by the class it is converted to. This is
+     * false only for records of subclasses with bins which were not mapped when the projection was made.
+     */
+    public boolean isComplete(Record record) {
+        if (mappedBinNames == null || record == null) {
+            return true;
+        }
+        Object typeDiscriminator = record.getValue(ClassCacheEntry.TYPE_NAME);
+        if (typeDiscriminator == null) {
+            return true;
+        }
+        return mappedBinNames.containsAll(entry.getEntryForType(typeDiscriminator).getMappedBinNames());
+    }
+}
@@ -0,0 +1,126 @@
+package com.aerospike.mapper.tools;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.aerospike.client.Bin;
+import com.aerospike.client.Value;
+import com.aerospike.client.cdt.MapOrder;
+
+/**
+ * The values of a class and all of its mapped superclasses flattened into arrays, in the order in which
+ * <code>ClassCacheEntry.getBins</code> emits them. This is built once per class so that converting an object to
+ * bins is a single loop over the arrays rather than a walk of the class hierarchy and a map lookup per value.
+ * <p/>
+ * Partial saves name the bins to write. These names are resolved once to the indexes of the matching values, and the
+ * resolution cached, so saving the same set of bins again does not compare names. The returned <code>Bin[]</code>
+ * is always allocated at its final size.
+ *
+ * @author timfaulkes
+ */
+class BinWritePlan {
+    private final String[] names;
+    private final ValueType[] values;
+    private final TypeMapper[] typeMappers;
+    private final int[] allIndexes;
+
+    /**
+     * Resolved bin selections, keyed by the list of bin names passed to the save. This is bounded so callers building
+     * bin names dynamically cannot grow it without limit; selections past the limit are resolved on every call.
+     */
+    private final Map<List<String>, int[]> selections = new ConcurrentHashMap<>();
+    private static final int MAX_CACHED_SELECTIONS = 256;
+
+    BinWritePlan(List<String> names, List<ValueType> values) {
+        this.names = names.toArray(new String[0]);
+        this.values = values.toArray(new ValueType[0]);
+        this.typeMappers = new TypeMapper[this.values.length];
+        this.allIndexes = new int[this.values.length];
+        for (int i = 0; i < this.values.length; i++) {
+            this.typeMappers[i] = this.values[i].getTypeMapper();
+            this.allIndexes[i] = i;
+        }
+    }
+
+    int size() {
+        return names.length;
+    }
+
+    Bin[] getBins(Object instance, boolean allowNullBins, String[] binNames) throws ReflectiveOperationException {
+        int[] selected = select(binNames);
+        if (allowNullBins) {
+            Bin[] bins = new Bin[selected.length];
+            for (int i = 0; i < selected.length; i++) {
+                int index = selected[i];
+                bins[i] = toBin(names[index], typeMappers[index].toAerospikeFormat(values[index].get(instance)));
+            }
+            return bins;
+        }
+
+        // Convert the values first so the bins can be allocated at their exact size once the nulls are counted
+        Object[] aerospikeValues = new Object[selected.length];
+        int count = 0;
+        for (int i = 0; i < selected.length; i++) {
+            int index = selected[i];
+            Object aerospikeValue = typeMappers[index].toAerospikeFormat(values[index].get(instance));
+            aerospikeValues[i] = aerospikeValue;
+            if (aerospikeValue != null) {
+                count++;
+            }
+        }
+        Bin[] bins = new Bin[count];
+        int binIndex = 0;
+        for (int i = 0; i < selected.length; i++) {
+            if (aerospikeValues[i] != null) {
+                bins[binIndex++] = toBin(names[selected[i]], aerospikeValues[i]);
+            }
+        }
+        return bins;
+    }
+
+    /**
+     * Return the indexes of the values to write for the passed bin names, in the order they appear in this plan.
+     */
+    int[] select(String[] binNames) {
+        if (binNames == null || binNames.length == 0) {
+            return allIndexes;
+        }
+        int[] result = selections.get(Arrays.asList(binNames));
+        if (result == null) {
+            result = resolve(binNames);
+            if (selections.size() < MAX_CACHED_SELECTIONS) {
+                // Copy the names as the caller is free to change their array after this call
+                selections.putIfAbsent(Arrays.asList(binNames.clone()), result);
+            }
+        }
+        return result;
+    }
+
+    private int[] resolve(String[] binNames) {
+        Set<String> requested = new HashSet<>(Arrays.asList(binNames));
+        int[] indexes = new int[names.length];
+        int count = 0;
+        for (int i = 0; i < names.length; i++) {
+            if (requested.contains(names[i])) {
+                indexes[count++] = i;
+            }
+        }
+        return Arrays.copyOf(indexes, count);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Bin toBin(String name, Object aerospikeValue) {
+        if (aerospikeValue instanceof TreeMap<?, ?>) {
+            TreeMap<?, ?> treeMap = (TreeMap<?, ?>) aerospikeValue;
+            return new Bin(name, new ArrayList(treeMap.entrySet()), MapOrder.KEY_ORDERED);
+        } else {
+            return new Bin(name, Value.get(aerospikeValue));
+        }
+    }
+}
@@ -2,36 +2,110 @@ package com.aerospike.mapper.tools;
 
 import com.aerospike.client.AerospikeException;
 import com.aerospike.client.IAerospikeClient;
+import com.aerospike.client.Log;
 import com.aerospike.client.policy.BatchPolicy;
 import com.aerospike.client.policy.Policy;
 import com.aerospike.client.policy.QueryPolicy;
 import com.aerospike.client.policy.ScanPolicy;
 import com.aerospike.client.policy.WritePolicy;
 import com.aerospike.client.reactor.IAerospikeReactorClient;
+import com.aerospike.mapper.annotations.AerospikeBigNumber;
+import com.aerospike.mapper.annotations.AerospikeTime;
 import com.aerospike.mapper.exceptions.NotAnnotatedClass;
+import com.aerospike.mapper.tools.cache.EntityCache;
 import com.aerospike.mapper.tools.configuration.ClassConfig;
 import com.aerospike.mapper.tools.configuration.Configuration;
 import com.aerospike.mapper.tools.utils.TypeUtils;
 
 import javax.validation.constraints.NotNull;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class ClassCache {
 
     private static final ClassCache instance = new ClassCache();
-    private final Map<Class<?>, ClassCacheEntry<?>> cacheMap = new HashMap<>();
-    private final Map<String, ClassConfig> classesConfig = new HashMap<>();
-    private final Map<PolicyType, Policy> defaultPolicies = new HashMap<>();
-    private final Map<String, ClassCacheEntry<?>> storedNameToCacheEntry = new HashMap<>();
-    private final Map<PolicyType, Map<Class<?>, Policy>> childrenPolicies = new HashMap<>();
-    private final Map<PolicyType, Map<Class<?>, Policy>> specificPolicies = new HashMap<>();
+    /**
+     * The largest type id a class can declare. Type ids index an array so they should be kept small.
+     */
+    public static final int MAX_TYPE_ID = 65535;
+    /**
+     * The number of records written by each batch call of <code>saveAll</code> unless set on the builder.
+     */
+    public static final int DEFAULT_BATCH_WRITE_SIZE = 1000;
+    /**
+     * The most keys read by each batch call which loads references unless set on the builder.
+     */
+    public static final int DEFAULT_REFERENCE_BATCH_SIZE = 1000;
+    /**
+     * Fully constructed entries. Lookups of classes which have already been loaded only read this map.
+     */
+    private final Map<Class<?>, ClassCacheEntry<?>> cacheMap = new ConcurrentHashMap<>();
+    /**
+     * Classes which are currently being constructed, and the thread constructing each of them.
+     */
+    private final ConcurrentMap<Class<?>, Construction> inProgress = new ConcurrentHashMap<>();
+    /**
+     * The construction each thread is blocked on, used to detect threads waiting on each other's classes.
+     */
+    private final Map<Thread, Construction> waitingOn = new ConcurrentHashMap<>();
+    private final Map<String, ClassConfig> classesConfig = new ConcurrentHashMap<>();
+    /**
+     * The configured classes which could be found, resolved from their names the first time they are needed.
+     */
+    private volatile List<Class<?>> configuredClasses;
+    /**
+     * The configured subclasses and those with a generated mapper of each class a scan or query has projected.
+     */
+    private final Map<Class<?>, List<Class<?>>> declaredSubclasses = new ConcurrentHashMap<>();
+    private final Map<PolicyType, Policy> defaultPolicies = new ConcurrentHashMap<>();
+    private final Map<String, ClassCacheEntry<?>> storedNameToCacheEntry = new ConcurrentHashMap<>();
+    /**
+     * The entries of classes which declare a type id, indexed by the id. The array is replaced rather than changed
+     * when a class registers its id, so decoding a type id is a volatile read and an array index.
+     */
+    private volatile ClassCacheEntry<?>[] typeIdToCacheEntry = new ClassCacheEntry<?>[0];
+    /**
+     * The names of classes given a type id in configuration, so the class can be loaded the first time its id is read.
+     */
+    private final Map<Integer, String> configuredTypeIds = new ConcurrentHashMap<>();
+    private volatile TypeIdMode typeIdMode = TypeIdMode.IDS;
+    private volatile AerospikeBigNumber.Encoding bigNumberEncoding = AerospikeBigNumber.Encoding.STRING;
+    private volatile int batchWriteSize = DEFAULT_BATCH_WRITE_SIZE;
+    private volatile int referenceBatchSize = DEFAULT_REFERENCE_BATCH_SIZE;
+    private volatile int maxReferenceDepth = Integer.MAX_VALUE;
+    private volatile Executor referenceLoadExecutor = null;
+    private volatile ThreadPoolExecutor defaultReferenceLoadExecutor = null;
+    private volatile boolean binProjectionEnabled = true;
+    private final Map<Class<?>, AerospikeTime.Encoding> timeEncodings = new ConcurrentHashMap<>();
+    private final Map<Class<?>, EntityCache> entityCaches = new ConcurrentHashMap<>();
+    private final Map<PolicyType, Map<Class<?>, Policy>> childrenPolicies = new EnumMap<>(PolicyType.class);
+    private final Map<PolicyType, Map<Class<?>, Policy>> specificPolicies = new EnumMap<>(PolicyType.class);
     private final Object lock = new Object();
+    private volatile Map<Class<?>, GeneratedMapper<?>> generatedMappers;
 
     private ClassCache() {
         for (PolicyType thisType : PolicyType.values()) {
-            this.childrenPolicies.put(thisType, new HashMap<>());
-            this.specificPolicies.put(thisType, new HashMap<>());
+            this.childrenPolicies.put(thisType, new ConcurrentHashMap<>());
+            this.specificPolicies.put(thisType, new ConcurrentHashMap<>());
         }
     }
 
@@ -52,59 +126,522 @@ public class ClassCache {
         }
 
         ClassCacheEntry<T> entry = (ClassCacheEntry<T>) cacheMap.get(clazz);
-        if (entry == null || entry.isNotConstructed()) {
-            synchronized (lock) {
+        if (entry != null) {
+            return entry;
+        }
+        return constructEntry(clazz, mapper, requireRecord);
+    }
+
+    /**
+     * Construct a class cache entry, or wait for another thread which is already constructing it. Each class is
+     * constructed by one thread at a time, but unrelated classes are constructed in parallel.
+     * <p/>
+     * Construction must be done in 2 steps, one creating the entry and the other finalizing construction of it.
+     * This is to cater for classes which recursively refer to themselves, such as
+     * <pre>
+     * public static class A {
+     *     &#64;AerospikeKey
+     *     public int id;
+     *     public A a;
+     * }
+     * </pre>
+     * Loading a class which the current thread is part way through constructing returns the partially constructed
+     * entry. The same happens if the class is being constructed by another thread which is itself waiting (directly or
+     * indirectly) on a class this thread is constructing, as waiting would deadlock.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> ClassCacheEntry<T> constructEntry(Class<T> clazz, IBaseAeroMapper mapper, boolean requireRecord) {
+        Thread currentThread = Thread.currentThread();
+        while (true) {
+            ClassCacheEntry<T> entry = (ClassCacheEntry<T>) cacheMap.get(clazz);
+            if (entry != null) {
+                return entry;
+            }
+            Construction construction = new Construction(currentThread);
+            Construction existing = inProgress.putIfAbsent(clazz, construction);
+            if (existing == null) {
+                // Another thread may have finished constructing the class between the two lookups above
                 entry = (ClassCacheEntry<T>) cacheMap.get(clazz);
-                if (entry == null) {
-                    try {
-                        // Construct a class cache entry. This must be done in 2 steps, one creating the entry
-                        // and the other finalizing construction of it.
-                        // This is to cater for classes  which recursively refer to themselves, such as
-                        // 	public static class A {
-                        //      @AerospikeKey
-                        //      public int id;
-                        //      public A a;
-                        //  }
-                        entry = new ClassCacheEntry<>(clazz, mapper, getClassConfig(clazz), requireRecord,
-                                determinePolicy(clazz, PolicyType.READ),
-                                (WritePolicy) determinePolicy(clazz, PolicyType.WRITE),
-                                (BatchPolicy) determinePolicy(clazz, PolicyType.BATCH),
-                                (QueryPolicy) determinePolicy(clazz, PolicyType.QUERY),
-                                (ScanPolicy) determinePolicy(clazz, PolicyType.SCAN));
-
-                    } catch (NotAnnotatedClass nae) {
-                        return null;
-                    }
-                    cacheMap.put(clazz, entry);
-                    try {
-                        entry.construct();
-                    } catch (IllegalArgumentException iae) {
-                        cacheMap.remove(clazz);
-                        return null;
-                    } catch (Exception e) {
-                        cacheMap.remove(clazz);
-                        throw e;
-                    }
+                if (entry != null) {
+                    inProgress.remove(clazz, construction);
+                    construction.result.complete(entry);
+                    return entry;
+                }
+                return build(clazz, mapper, requireRecord, construction);
+            }
+            if (existing.owner == currentThread) {
+                return (ClassCacheEntry<T>) existing.entry;
+            }
+            waitingOn.put(currentThread, existing);
+            try {
+                if (existing.entry != null && isWaitingOn(existing, currentThread)) {
+                    return (ClassCacheEntry<T>) existing.entry;
+                }
+                entry = (ClassCacheEntry<T>) existing.result.join();
+                if (entry != null) {
+                    return entry;
                 }
+                // The other thread failed to construct the class, try again on this thread so that the same outcome
+                // (null or an exception) is reported to this caller.
+            } finally {
+                waitingOn.remove(currentThread);
             }
         }
-        return entry;
+    }
+
+    private <T> ClassCacheEntry<T> build(Class<T> clazz, IBaseAeroMapper mapper, boolean requireRecord, Construction construction) {
+        ClassCacheEntry<T> entry = null;
+        ClassCacheEntry<T> result = null;
+        try {
+            try {
+                entry = new ClassCacheEntry<>(clazz, mapper, getClassConfig(clazz), requireRecord,
+                        determinePolicy(clazz, PolicyType.READ),
+                        (WritePolicy) determinePolicy(clazz, PolicyType.WRITE),
+                        (BatchPolicy) determinePolicy(clazz, PolicyType.BATCH),
+                        (QueryPolicy) determinePolicy(clazz, PolicyType.QUERY),
+                        (ScanPolicy) determinePolicy(clazz, PolicyType.SCAN));
+            } catch (NotAnnotatedClass nae) {
+                return null;
+            }
+            construction.entry = entry;
+            try {
+                entry.construct();
+            } catch (IllegalArgumentException iae) {
+                return null;
+            }
+            cacheMap.put(clazz, entry);
+            result = entry;
+            return entry;
+        } finally {
+            if (result == null && entry != null) {
+                // Allow the class to be constructed again without its stored name clashing with this attempt
+                final ClassCacheEntry<T> failedEntry = entry;
+                storedNameToCacheEntry.values().removeIf(thisEntry -> thisEntry == failedEntry);
+                removeTypeId(failedEntry);
+            }
+            // Publish to the cache map before removing the construction so other threads always find one of them
+            inProgress.remove(clazz, construction);
+            construction.result.complete(result);
+        }
+    }
+
+    /**
+     * Determine whether the owner of the passed construction is blocked, directly or through a chain of other
+     * constructions, waiting on the passed thread.
+     */
+    private boolean isWaitingOn(Construction construction, Thread thread) {
+        Construction current = construction;
+        // Bound the walk in case the chain changes underneath us
+        for (int i = 0; current != null && i <= waitingOn.size(); i++) {
+            if (current.owner == thread) {
+                return true;
+            }
+            current = waitingOn.get(current.owner);
+        }
+        return false;
+    }
+
+    /**
+     * Return the mapper generated at build time by the annotation processor for the passed class, or null if there is
+     * none. Generated mappers are discovered through a {@link ServiceLoader} the first time this is called.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> GeneratedMapper<T> getGeneratedMapper(@NotNull Class<T> clazz) {
+        return (GeneratedMapper<T>) getGeneratedMappers().get(clazz);
+    }
+
+    private Map<Class<?>, GeneratedMapper<?>> getGeneratedMappers() {
+        Map<Class<?>, GeneratedMapper<?>> mappers = this.generatedMappers;
+        if (mappers == null) {
+            synchronized (lock) {
+                mappers = this.generatedMappers;
+                if (mappers == null) {
+                    mappers = loadGeneratedMappers();
+                    this.generatedMappers = mappers;
+                }
+            }
+        }
+        return mappers;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Map<Class<?>, GeneratedMapper<?>> loadGeneratedMappers() {
+        Map<Class<?>, GeneratedMapper<?>> result = new HashMap<>();
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = ClassCache.class.getClassLoader();
+        }
+        Iterator<GeneratedMapper> iterator = ServiceLoader.load(GeneratedMapper.class, classLoader).iterator();
+        while (true) {
+            try {
+                if (!iterator.hasNext()) {
+                    break;
+                }
+                GeneratedMapper<?> generatedMapper = iterator.next();
+                result.put(generatedMapper.getMappedClass(), generatedMapper);
+            } catch (ServiceConfigurationError sce) {
+                Log.warn("Ignoring generated mapper which could not be loaded: " + sce.getMessage());
+            }
+        }
+        return result;
     }
 
     // package visibility
     void setStoredName(@NotNull ClassCacheEntry<?> entry, @NotNull String name) {
-        ClassCacheEntry<?> existingEntry = storedNameToCacheEntry.get(name);
+        ClassCacheEntry<?> existingEntry = storedNameToCacheEntry.putIfAbsent(name, entry);
         if (existingEntry != null && !(existingEntry.equals(entry))) {
             String errorMessage = String.format("Stored name of \"%s\" is used for both %s and %s",
                     name, existingEntry.getUnderlyingClass().getName(), entry.getUnderlyingClass().getName());
             throw new AerospikeException(errorMessage);
-        } else {
-            storedNameToCacheEntry.put(name, entry);
         }
     }
 
+    // package visibility
+    void setTypeId(@NotNull ClassCacheEntry<?> entry, int typeId) {
+        if (typeId < 1 || typeId > MAX_TYPE_ID) {
+            throw new AerospikeException(String.format("Type id %d of %s must be between 1 and %d",
+                    typeId, entry.getUnderlyingClass().getName(), MAX_TYPE_ID));
+        }
+        synchronized (lock) {
+            ClassCacheEntry<?>[] entries = this.typeIdToCacheEntry;
+            ClassCacheEntry<?> existingEntry = typeId < entries.length ? entries[typeId] : null;
+            if (existingEntry != null && !(existingEntry.equals(entry))) {
+                String errorMessage = String.format("Type id %d is used for both %s and %s",
+                        typeId, existingEntry.getUnderlyingClass().getName(), entry.getUnderlyingClass().getName());
+                throw new AerospikeException(errorMessage);
+            }
+            ClassCacheEntry<?>[] newEntries = Arrays.copyOf(entries, Math.max(entries.length, typeId + 1));
+            newEntries[typeId] = entry;
+            this.typeIdToCacheEntry = newEntries;
+        }
+    }
+
+    private void removeTypeId(ClassCacheEntry<?> entry) {
+        synchronized (lock) {
+            ClassCacheEntry<?>[] entries = this.typeIdToCacheEntry;
+            for (int i = 0; i < entries.length; i++) {
+                if (entries[i] == entry) {
+                    ClassCacheEntry<?>[] newEntries = entries.clone();
+                    newEntries[i] = null;
+                    this.typeIdToCacheEntry = newEntries;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Return the entry for the class with the passed type id. Classes given an id in configuration are loaded the
+     * first time their id is seen; classes which declare their id with an annotation must have been loaded already,
+     * for example by preloading them when building the mapper.
+     *
+     * @return the entry, or null if no class has this id.
+     */
+    public ClassCacheEntry<?> getCacheEntryFromTypeId(int typeId, IBaseAeroMapper mapper) {
+        ClassCacheEntry<?>[] entries = this.typeIdToCacheEntry;
+        ClassCacheEntry<?> entry = typeId >= 0 && typeId < entries.length ? entries[typeId] : null;
+        if (entry == null) {
+            String className = configuredTypeIds.get(typeId);
+            if (className == null) {
+                return null;
+            }
+            try {
+                return loadClass(Class.forName(className), mapper);
+            } catch (ClassNotFoundException cnfe) {
+                throw new AerospikeException("Cannot find a class with name " + className);
+            }
+        }
+        return awaitConstruction(entry);
+    }
+
+    /**
+     * Return the entry for the class identified by a stored type discriminator. This is either a type id, or a string
+     * holding the short name of the class or a type id, optionally with its list marker prefix. Short names which
+     * are not registered are tried as class names.
+     *
+     * @return the entry, or null if the class cannot be found.
+     */
+    public ClassCacheEntry<?> getCacheEntryFromTypeDiscriminator(@NotNull Object discriminator, IBaseAeroMapper mapper) {
+        if (discriminator instanceof Number) {
+            return getCacheEntryFromTypeId(((Number) discriminator).intValue(), mapper);
+        }
+        String name = discriminator.toString();
+        if (name.startsWith(ClassCacheEntry.TYPE_ID_PREFIX)) {
+            int typeId = parseTypeId(name, ClassCacheEntry.TYPE_ID_PREFIX.length());
+            return typeId < 0 ? null : getCacheEntryFromTypeId(typeId, mapper);
+        }
+        if (name.startsWith(ClassCacheEntry.TYPE_PREFIX)) {
+            name = name.substring(ClassCacheEntry.TYPE_PREFIX.length());
+        }
+        ClassCacheEntry<?> entry = getCacheEntryFromStoredName(name);
+        if (entry == null) {
+            try {
+                entry = loadClass(Class.forName(name), mapper);
+            } catch (ClassNotFoundException cnfe) {
+                return null;
+            }
+        }
+        return entry;
+    }
+
+    // Parse the digits after the prefix without creating a substring
+    private static int parseTypeId(String value, int start) {
+        if (start >= value.length() || value.length() - start > 5) {
+            return -1;
+        }
+        int result = 0;
+        for (int i = start; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    public TypeIdMode getTypeIdMode() {
+        return typeIdMode;
+    }
+
+    void setTypeIdMode(@NotNull TypeIdMode typeIdMode) {
+        this.typeIdMode = typeIdMode;
+    }
+
+    /**
+     * The most records written by a single batch call of <code>saveAll</code> or <code>updateAll</code>. Larger
+     * collections are written in chunks of this size.
+     */
+    public int getBatchWriteSize() {
+        return batchWriteSize;
+    }
+
+    void setBatchWriteSize(int batchWriteSize) {
+        if (batchWriteSize <= 0) {
+            throw new AerospikeException("Batch write size must be greater than 0, not " + batchWriteSize);
+        }
+        this.batchWriteSize = batchWriteSize;
+    }
+
+    /**
+     * The most keys read by a single batch call when loading references. Larger levels of references are read in
+     * chunks of this size, issued concurrently.
+     */
+    public int getReferenceBatchSize() {
+        return referenceBatchSize;
+    }
+
+    void setReferenceBatchSize(int referenceBatchSize) {
+        if (referenceBatchSize <= 0) {
+            throw new AerospikeException("Reference batch size must be greater than 0, not " + referenceBatchSize);
+        }
+        this.referenceBatchSize = referenceBatchSize;
+    }
+
+    /**
+     * The most levels of references loaded in batches by a read. References deeper than this are left unset.
+     */
+    public int getMaxReferenceDepth() {
+        return maxReferenceDepth;
+    }
+
+    void setMaxReferenceDepth(int maxReferenceDepth) {
+        if (maxReferenceDepth <= 0) {
+            throw new AerospikeException("Maximum reference depth must be greater than 0, not " + maxReferenceDepth);
+        }
+        this.maxReferenceDepth = maxReferenceDepth;
+    }
+
+    /**
+     * The executor which reads the chunks of a level of references other than the first, which is read by the thread
+     * resolving the references. Unless one is set on the builder, this is a pool owned by the class cache with one
+     * daemon thread per processor, created the first time a level of references needs more than one chunk. The reads
+     * block, so they are kept off shared pools such as the common fork join pool.
+     */
+    public Executor getReferenceLoadExecutor() {
+        Executor executor = referenceLoadExecutor;
+        if (executor != null) {
+            return executor;
+        }
+        ThreadPoolExecutor defaultExecutor = defaultReferenceLoadExecutor;
+        if (defaultExecutor == null) {
+            synchronized (lock) {
+                defaultExecutor = defaultReferenceLoadExecutor;
+                if (defaultExecutor == null) {
+                    defaultExecutor = createDefaultReferenceLoadExecutor();
+                    defaultReferenceLoadExecutor = defaultExecutor;
+                }
+            }
+        }
+        return defaultExecutor;
+    }
+
+    /**
+     * Idle threads of the default reference load executor end after a minute, so the pool costs nothing when it is not used.
+     */
+    private static ThreadPoolExecutor createDefaultReferenceLoadExecutor() {
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "aerospike-mapper-reference-load-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Shut down the default reference load executor, if it was created. Chunks already submitted are still read, but
+     * its threads end once they are done. This is also done by {@link #clear()}. An executor set on the builder is
+     * owned by the application and is not shut down. If references need loading again later, a new pool is created.
+     */
+    public void shutdownReferenceLoadExecutor() {
+        ThreadPoolExecutor executor;
+        synchronized (lock) {
+            executor = defaultReferenceLoadExecutor;
+            defaultReferenceLoadExecutor = null;
+        }
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    void setReferenceLoadExecutor(Executor referenceLoadExecutor) {
+        this.referenceLoadExecutor = referenceLoadExecutor;
+    }
+
+    /**
+     * Whether scans and queries which are not passed bin names read only the bins mapped by the class rather than every bin.
+     */
+    public boolean isBinProjectionEnabled() {
+        return binProjectionEnabled;
+    }
+
+    void setBinProjectionEnabled(boolean binProjectionEnabled) {
+        this.binProjectionEnabled = binProjectionEnabled;
+    }
+
+    /**
+     * Return the subclasses of the passed class which the mapper knows of, not including the class itself: those which
+     * are loaded, those named in the configuration and those with a generated mapper. Known subclasses which are not
+     * loaded yet are loaded by this call. The configured and generated subclasses of a class are only looked for once,
+     * until the configuration changes.
+     */
+    List<ClassCacheEntry<?>> getKnownSubclasses(@NotNull Class<?> clazz, IBaseAeroMapper mapper) {
+        List<Class<?>> subclasses = declaredSubclasses.get(clazz);
+        if (subclasses == null) {
+            subclasses = new ArrayList<>();
+            for (Class<?> declaredClass : getConfiguredClasses()) {
+                if (declaredClass != clazz && clazz.isAssignableFrom(declaredClass)) {
+                    subclasses.add(declaredClass);
+                }
+            }
+            for (Class<?> generatedClass : getGeneratedMappers().keySet()) {
+                if (generatedClass != clazz && clazz.isAssignableFrom(generatedClass) && !subclasses.contains(generatedClass)) {
+                    subclasses.add(generatedClass);
+                }
+            }
+            declaredSubclasses.put(clazz, subclasses);
+        }
+        for (Class<?> subclass : subclasses) {
+            loadClass(subclass, mapper);
+        }
+        return getLoadedSubclasses(clazz);
+    }
+
+    private List<Class<?>> getConfiguredClasses() {
+        List<Class<?>> result = configuredClasses;
+        if (result == null) {
+            result = new ArrayList<>();
+            for (String className : classesConfig.keySet()) {
+                try {
+                    result.add(Class.forName(className));
+                } catch (ClassNotFoundException cnfe) {
+                    Log.warn("Configured class " + className + " could not be found, so scans and queries will not read its bins");
+                }
+            }
+            configuredClasses = result;
+        }
+        return result;
+    }
+
+    /**
+     * Return the loaded classes which are subclasses of the passed class, not including the class itself.
+     */
+    List<ClassCacheEntry<?>> getLoadedSubclasses(@NotNull Class<?> clazz) {
+        List<ClassCacheEntry<?>> result = new ArrayList<>();
+        for (ClassCacheEntry<?> entry : cacheMap.values()) {
+            if (entry.getUnderlyingClass() != clazz && clazz.isAssignableFrom(entry.getUnderlyingClass())) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The encoding of BigDecimal and BigInteger values which do not have an <code>@AerospikeBigNumber</code> annotation.
+     */
+    public AerospikeBigNumber.Encoding getBigNumberEncoding() {
+        return bigNumberEncoding;
+    }
+
+    void setBigNumberEncoding(@NotNull AerospikeBigNumber.Encoding bigNumberEncoding) {
+        this.bigNumberEncoding = bigNumberEncoding;
+    }
+
+    /**
+     * The encoding of values of the passed java.time type which do not have an <code>@AerospikeTime</code> annotation.
+     */
+    public AerospikeTime.Encoding getTimeEncoding(@NotNull Class<?> type) {
+        AerospikeTime.Encoding encoding = timeEncodings.get(type);
+        return encoding == null ? AerospikeTime.Encoding.DEFAULT : encoding;
+    }
+
+    void setTimeEncoding(@NotNull Class<?> type, @NotNull AerospikeTime.Encoding encoding) {
+        if (!(LocalDateTime.class.equals(type) || LocalDate.class.equals(type) || LocalTime.class.equals(type) || Instant.class.equals(type))) {
+            throw new AerospikeException("A time encoding can only be set for LocalDateTime, LocalDate, LocalTime and Instant, not " + type.getName());
+        }
+        this.timeEncodings.put(type, encoding);
+    }
+
+    /**
+     * The entity cache set for the passed class on the builder, or null if none was set. A class without one uses the
+     * cache described by its <code>@AerospikeCache</code> annotation, if it has one.
+     */
+    public EntityCache getEntityCache(@NotNull Class<?> clazz) {
+        return entityCaches.get(clazz);
+    }
+
+    void setEntityCache(@NotNull Class<?> clazz, @NotNull EntityCache entityCache) {
+        this.entityCaches.put(clazz, entityCache);
+    }
+
+    /**
+     * Return the entry for the class with the passed stored name. Stored names are registered part way through
+     * construction, so if another thread is still constructing the class this waits for it to finish.
+     */
     public ClassCacheEntry<?> getCacheEntryFromStoredName(@NotNull String name) {
-        return storedNameToCacheEntry.get(name);
+        return awaitConstruction(storedNameToCacheEntry.get(name));
+    }
+
+    private ClassCacheEntry<?> awaitConstruction(ClassCacheEntry<?> entry) {
+        if (entry != null && entry.isNotConstructed()) {
+            Construction construction = inProgress.get(entry.getUnderlyingClass());
+            Thread currentThread = Thread.currentThread();
+            if (construction != null && construction.owner != currentThread) {
+                waitingOn.put(currentThread, construction);
+                try {
+                    if (!isWaitingOn(construction, currentThread)) {
+                        construction.result.join();
+                    }
+                } finally {
+                    waitingOn.remove(currentThread);
+                }
+            }
+        }
+        return entry;
     }
 
     void setDefaultPolicies(IAerospikeClient client) {
@@ -126,15 +663,24 @@ public class ClassCache {
     }
 
     void setDefaultPolicy(PolicyType policyType, Policy policy) {
-        this.defaultPolicies.put(policyType, policy);
+        putOrRemove(this.defaultPolicies, policyType, policy);
     }
 
     void setChildrenPolicy(PolicyType policyType, Class<?> parentClass, Policy policy) {
-        this.childrenPolicies.get(policyType).put(parentClass, policy);
+        putOrRemove(this.childrenPolicies.get(policyType), parentClass, policy);
     }
 
-    void setSpecificPolicy(PolicyType policyType, Class<?> parentClass, Policy policy) {
-        this.childrenPolicies.get(policyType).put(parentClass, policy);
+    void setSpecificPolicy(PolicyType policyType, Class<?> clazz, Policy policy) {
+        putOrRemove(this.specificPolicies.get(policyType), clazz, policy);
+    }
+
+    // Concurrent maps cannot hold nulls, so setting a null policy clears it instead
+    private static <K> void putOrRemove(Map<K, Policy> map, K key, Policy policy) {
+        if (policy == null) {
+            map.remove(key);
+        } else {
+            map.put(key, policy);
+        }
     }
 
     public boolean hasClass(Class<?> clazz) {
@@ -166,13 +712,38 @@ public class ClassCache {
     public void clear() {
         this.cacheMap.clear();
         this.classesConfig.clear();
+        this.configuredClasses = null;
+        this.declaredSubclasses.clear();
         TypeUtils.clear();
         this.storedNameToCacheEntry.clear();
+        this.configuredTypeIds.clear();
+        synchronized (lock) {
+            this.typeIdToCacheEntry = new ClassCacheEntry<?>[0];
+        }
+        this.typeIdMode = TypeIdMode.IDS;
+        this.bigNumberEncoding = AerospikeBigNumber.Encoding.STRING;
+        this.timeEncodings.clear();
+        this.entityCaches.clear();
+        this.batchWriteSize = DEFAULT_BATCH_WRITE_SIZE;
+        this.referenceBatchSize = DEFAULT_REFERENCE_BATCH_SIZE;
+        this.maxReferenceDepth = Integer.MAX_VALUE;
+        this.referenceLoadExecutor = null;
+        shutdownReferenceLoadExecutor();
+        this.binProjectionEnabled = true;
     }
 
     public void addConfiguration(@NotNull Configuration configuration) {
         for (ClassConfig thisConfig : configuration.getClasses()) {
             classesConfig.put(thisConfig.getClassName(), thisConfig);
+            configuredClasses = null;
+            declaredSubclasses.clear();
+            if (thisConfig.getTypeId() != null) {
+                String existing = configuredTypeIds.putIfAbsent(thisConfig.getTypeId(), thisConfig.getClassName());
+                if (existing != null && !existing.equals(thisConfig.getClassName())) {
+                    throw new AerospikeException(String.format("Type id %d is used for both %s and %s",
+                            thisConfig.getTypeId(), existing, thisConfig.getClassName()));
+                }
+            }
         }
     }
 
@@ -192,6 +763,37 @@ public class ClassCache {
         return classesConfig.containsKey(clazz.getName());
     }
 
+    /**
+     * A class which is being constructed by a thread. Other threads needing the class wait on the result, which is
+     * completed with the entry, or with null if the class could not be constructed.
+     */
+    private static class Construction {
+        private final Thread owner;
+        private final CompletableFuture<ClassCacheEntry<?>> result = new CompletableFuture<>();
+        private volatile ClassCacheEntry<?> entry;
+
+        Construction(Thread owner) {
+            this.owner = owner;
+        }
+    }
+
+    /**
+     * How the type of an object is stored when it is a subclass of the declared type (or the declared type is not
+     * known). Reads accept both type ids and short names whatever the mode, so data written in either format can be
+     * read while moving from one to the other.
+     */
+    public enum TypeIdMode {
+        /**
+         * Store the short name of the class, even if it has a type id. Use this while any reader of the data does not
+         * yet know the type ids.
+         */
+        NAMES,
+        /**
+         * Store the type id of classes which have one, and the short name of classes which do not.
+         */
+        IDS
+    }
+
     public enum PolicyType {
         READ,
         WRITE,
@@ -14,23 +14,31 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
 
 import javax.validation.constraints.NotNull;
 
 import org.apache.commons.lang3.StringUtils;
 
 import com.aerospike.client.AerospikeException;
+import com.aerospike.client.BatchDelete;
+import com.aerospike.client.BatchWrite;
 import com.aerospike.client.Bin;
 import com.aerospike.client.Key;
+import com.aerospike.client.Operation;
 import com.aerospike.client.Record;
 import com.aerospike.client.Value;
-import com.aerospike.client.cdt.MapOrder;
+import com.aerospike.client.policy.BatchDeletePolicy;
 import com.aerospike.client.policy.BatchPolicy;
+import com.aerospike.client.policy.BatchWritePolicy;
 import com.aerospike.client.policy.Policy;
 import com.aerospike.client.policy.QueryPolicy;
+import com.aerospike.client.policy.RecordExistsAction;
 import com.aerospike.client.policy.ScanPolicy;
 import com.aerospike.client.policy.WritePolicy;
 import com.aerospike.mapper.annotations.AerospikeBin;
+import com.aerospike.mapper.annotations.AerospikeCache;
 import com.aerospike.mapper.annotations.AerospikeConstructor;
 import com.aerospike.mapper.annotations.AerospikeExclude;
 import com.aerospike.mapper.annotations.AerospikeGetter;
@@ -40,6 +48,8 @@ import com.aerospike.mapper.annotations.AerospikeRecord;
 import com.aerospike.mapper.annotations.AerospikeSetter;
 import com.aerospike.mapper.annotations.ParamFrom;
 import com.aerospike.mapper.exceptions.NotAnnotatedClass;
+import com.aerospike.mapper.tools.cache.EntityCache;
+import com.aerospike.mapper.tools.cache.LruEntityCache;
 import com.aerospike.mapper.tools.configuration.BinConfig;
 import com.aerospike.mapper.tools.configuration.ClassConfig;
 import com.aerospike.mapper.tools.configuration.KeyConfig;
@@ -51,6 +61,11 @@ public class ClassCacheEntry<T> {
 
     public static final String VERSION_PREFIX = "@V";
     public static final String TYPE_PREFIX = "@T:";
+    /**
+     * Marks the type id of a class stored at the end of a list. The other type discriminators store type ids as
+     * integers, but a list can end with an integer field so the id needs a marker to be told apart.
+     */
+    public static final String TYPE_ID_PREFIX = "@#";
     public static final String TYPE_NAME = ".type";
 
     private String namespace;
@@ -65,6 +80,10 @@ public class ClassCacheEntry<T> {
     private ValueType key;
     private String keyName = null;
     private final TreeMap<String, ValueType> values = new TreeMap<>();
+    /**
+     * The bin name of each mapped field whose bin name differs from its Java name, keyed by the Java name.
+     */
+    private final Map<String, String> fieldBinNames = new HashMap<>();
     private ClassCacheEntry<?> superClazz;
     private int binCount;
     private final IBaseAeroMapper mapper;
@@ -81,10 +100,16 @@ public class ClassCacheEntry<T> {
     private Constructor<T> constructor;
     private final ClassConfig config;
 
+    /**
+     * The build-time generated accessors for this class, if the annotation processor was run over it.
+     */
+    private final GeneratedMapper<T> generatedMapper;
+    private Supplier<T> instantiator;
+
     private String factoryMethod;
     private String factoryClass;
 
-    private enum FactoryMethodType {
+    enum FactoryMethodType {
         NO_PARAMS,
         CLASS,
         MAP,
@@ -100,9 +125,58 @@ public class ClassCacheEntry<T> {
      */
     private String shortenedClassName;
     private boolean isChildClass = false;
+    /**
+     * The type id of the class, or 0 if it has none. See {@link #getTypeDiscriminator()}.
+     */
+    private int typeId;
+    private Long typeIdValue;
+    private String typeNameMarker;
+    private String typeIdMarker;
 
     private volatile boolean constructed;
 
+    /**
+     * The flattened form of the values of this class and its superclasses used to write bins. This is compiled when
+     * the class is constructed, or on first use if a superclass was still being constructed at that time.
+     */
+    private volatile BinWritePlan writePlan;
+
+    /**
+     * The write policies used when saving without a policy, indexed by the ordinal of the record exists action with a
+     * final slot for no action. See {@link #getEffectiveWritePolicy(RecordExistsAction)}.
+     */
+    private final AtomicReferenceArray<WritePolicy> effectiveWritePolicies =
+            new AtomicReferenceArray<>(RecordExistsAction.values().length + 1);
+    private volatile WritePolicy effectiveDeletePolicy;
+    /**
+     * The policies of the records of batch writes, derived from and indexed as the effective write policies.
+     */
+    private final AtomicReferenceArray<BatchWritePolicy> effectiveBatchWritePolicies =
+            new AtomicReferenceArray<>(RecordExistsAction.values().length + 1);
+    private volatile BatchDeletePolicy effectiveBatchDeletePolicy;
+
+    /**
+     * The precomputed steps to create objects of this class from records and maps. As with the write plan, this can
+     * only be built once this class and its superclasses are constructed.
+     */
+    private volatile HydrationPlan<T> hydrationPlan;
+    /**
+     * The precomputed steps to create objects of this class from lists, with and without the key. These are built on
+     * first use as most classes are never embedded as lists.
+     */
+    private volatile ListDecodePlan<T> listDecodePlan;
+    private volatile ListDecodePlan<T> listDecodePlanWithoutKey;
+    /**
+     * The bins mapped by this class and its superclasses, worked out on first use by a scan or query.
+     */
+    private volatile Set<String> mappedBinNames;
+
+    /**
+     * The cache of records read for this class, set on the builder or by an <code>@AerospikeCache</code> annotation,
+     * or null if the records of this class are not cached.
+     */
+    private EntityCache entityCache;
+
     // package visibility only.
     ClassCacheEntry(@NotNull Class<T> clazz, IBaseAeroMapper mapper, ClassConfig config, boolean requireRecord,
                     @NotNull Policy readPolicy, @NotNull WritePolicy writePolicy,
@@ -123,8 +197,11 @@ public class ClassCacheEntry<T> {
                     clazz.getName()));
         } else if (recordDescription != null) {
             this.setPropertiesFromAerospikeRecord(recordDescription);
+            // Type ids identify a single class, so unlike the other settings they are not taken from interfaces
+            this.typeId = recordDescription.typeId();
         }
         this.config = config;
+        this.generatedMapper = ClassCache.getInstance().getGeneratedMapper(clazz);
     }
 
     public ClassCacheEntry<T> construct() {
@@ -156,12 +233,150 @@ public class ClassCacheEntry<T> {
             this.shortenedClassName = clazz.getSimpleName();
         }
         ClassCache.getInstance().setStoredName(this, this.shortenedClassName);
+        this.typeNameMarker = TYPE_PREFIX + this.shortenedClassName;
+        if (this.typeId != 0) {
+            ClassCache.getInstance().setTypeId(this, this.typeId);
+            this.typeIdValue = (long) this.typeId;
+            this.typeIdMarker = TYPE_ID_PREFIX + this.typeId;
+        }
 
         this.checkRecordSettingsAgainstSuperClasses();
+        this.entityCache = ClassCache.getInstance().getEntityCache(this.clazz);
+        AerospikeCache cacheDescription = this.clazz.getAnnotation(AerospikeCache.class);
+        if (this.entityCache == null && cacheDescription != null) {
+            this.entityCache = new LruEntityCache(cacheDescription.maxSize(), cacheDescription.ttlMillis(), cacheDescription.admission());
+        }
         constructed = true;
+        this.writePlan = compileWritePlan();
+        this.hydrationPlan = compileHydrationPlan();
         return this;
     }
 
+    private BinWritePlan compileWritePlan() {
+        List<String> names = new ArrayList<>();
+        List<ValueType> valueTypes = new ArrayList<>();
+        ClassCacheEntry<?> thisClass = this;
+        while (thisClass != null) {
+            if (thisClass.isNotConstructed()) {
+                return null;
+            }
+            for (Map.Entry<String, ValueType> entry : thisClass.values.entrySet()) {
+                names.add(entry.getKey());
+                valueTypes.add(entry.getValue());
+            }
+            thisClass = thisClass.superClazz;
+        }
+        return new BinWritePlan(names, valueTypes);
+    }
+
+    private BinWritePlan getWritePlan() {
+        BinWritePlan plan = this.writePlan;
+        if (plan == null && constructed) {
+            plan = compileWritePlan();
+            this.writePlan = plan;
+        }
+        return plan;
+    }
+
+    private HydrationPlan<T> compileHydrationPlan() {
+        if (constructor == null && factoryConstructorMethod == null) {
+            return null;
+        }
+        List<String> names = new ArrayList<>();
+        List<ValueType> valueTypes = new ArrayList<>();
+        Map<String, String> allFieldBinNames = new HashMap<>();
+        ClassCacheEntry<?> thisClass = this;
+        while (thisClass != null) {
+            if (thisClass.isNotConstructed()) {
+                return null;
+            }
+            for (Map.Entry<String, ValueType> entry : thisClass.values.entrySet()) {
+                names.add(entry.getKey());
+                valueTypes.add(entry.getValue());
+            }
+            for (Map.Entry<String, String> entry : thisClass.fieldBinNames.entrySet()) {
+                // A field hides a field of the same name in a superclass
+                allFieldBinNames.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+            thisClass = thisClass.superClazz;
+        }
+        if (factoryConstructorMethod != null) {
+            return HydrationPlan.forFactory(clazz, names, valueTypes, allFieldBinNames, values.size(),
+                    factoryConstructorMethod, factoryConstructorType);
+        }
+        return HydrationPlan.forConstructor(clazz, names, valueTypes, allFieldBinNames, values.size(),
+                constructor, instantiator, constructorParamBins, constructorParamDefaults);
+    }
+
+    private HydrationPlan<T> getHydrationPlan() {
+        HydrationPlan<T> plan = this.hydrationPlan;
+        if (plan == null && constructed) {
+            plan = compileHydrationPlan();
+            this.hydrationPlan = plan;
+        }
+        return plan;
+    }
+
+    private ListDecodePlan<T> getListDecodePlan(boolean skipKey) {
+        ListDecodePlan<T> plan = skipKey ? this.listDecodePlanWithoutKey : this.listDecodePlan;
+        if (plan == null) {
+            HydrationPlan<T> hydration = getHydrationPlan();
+            if (hydration == null) {
+                return null;
+            }
+            plan = compileListDecodePlan(hydration, skipKey);
+            if (skipKey) {
+                this.listDecodePlanWithoutKey = plan;
+            } else {
+                this.listDecodePlan = plan;
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Work out where each value written by {@link #getList(Object, boolean, boolean)} goes in the hydration plan. The
+     * slots of the hydration plan hold the values of each class in turn, in the order of its <code>values</code>.
+     */
+    private ListDecodePlan<T> compileListDecodePlan(HydrationPlan<T> hydration, boolean skipKey) {
+        List<ListDecodePlan.Level> levels = new ArrayList<>();
+        int offset = 0;
+        ClassCacheEntry<?> thisClass = this;
+        while (thisClass != null) {
+            Map<String, Integer> slotsByName = new HashMap<>();
+            for (String name : thisClass.values.keySet()) {
+                slotsByName.put(name, offset + slotsByName.size());
+            }
+            List<String> names = new ArrayList<>();
+            if (thisClass.ordinals != null) {
+                for (int i = 1; i <= thisClass.ordinals.size(); i++) {
+                    names.add(thisClass.ordinals.get(i));
+                }
+            }
+            for (String name : thisClass.values.keySet()) {
+                if (thisClass.fieldsWithOrdinals == null || !thisClass.fieldsWithOrdinals.contains(name)) {
+                    names.add(name);
+                }
+            }
+            if (skipKey) {
+                names.removeIf(this::isKeyField);
+            }
+            int[] slots = new int[names.size()];
+            int[] minimumVersions = new int[names.size()];
+            int[] maximumVersions = new int[names.size()];
+            for (int i = 0; i < slots.length; i++) {
+                ValueType value = thisClass.values.get(names.get(i));
+                slots[i] = slotsByName.get(names.get(i));
+                minimumVersions[i] = value.getMinimumVersion();
+                maximumVersions[i] = value.getMaximumVersion();
+            }
+            levels.add(new ListDecodePlan.Level(thisClass.version, slots, minimumVersions, maximumVersions));
+            offset += thisClass.values.size();
+            thisClass = thisClass.superClazz;
+        }
+        return new ListDecodePlan<>(hydration, levels);
+    }
+
     public boolean isNotConstructed() {
         return !constructed;
     }
@@ -198,6 +413,45 @@ public class ClassCacheEntry<T> {
         return this.shortenedClassName;
     }
 
+    public int getTypeId() {
+        return this.typeId;
+    }
+
+    private boolean useTypeId() {
+        return this.typeIdValue != null && ClassCache.getInstance().getTypeIdMode() == ClassCache.TypeIdMode.IDS;
+    }
+
+    /**
+     * The value stored to identify this class where the position of the value already marks it as a type: the type
+     * id of the class as a <code>Long</code>, or its short name if it has no type id or type ids are not being written.
+     */
+    public Object getTypeDiscriminator() {
+        return useTypeId() ? this.typeIdValue : this.shortenedClassName;
+    }
+
+    /**
+     * The string stored to identify this class where it must be told apart from other values, such as at the end of a
+     * list. This holds the type id if the class has one and type ids are being written, otherwise the short name.
+     */
+    public String getTypeMarker() {
+        if (useTypeId()) {
+            return this.typeIdMarker;
+        }
+        // The marker is set during construction, so a class which refers to itself may not have it yet
+        return this.typeNameMarker != null ? this.typeNameMarker : TYPE_PREFIX + this.shortenedClassName;
+    }
+
+    /**
+     * Determine whether a value read from the database is a marker written by {@link #getTypeMarker()}.
+     */
+    public static boolean isTypeMarker(Object value) {
+        if (value instanceof String) {
+            String marker = (String) value;
+            return marker.startsWith(TYPE_PREFIX) || marker.startsWith(TYPE_ID_PREFIX);
+        }
+        return false;
+    }
+
     private void overrideSettings(ClassConfig config) {
         if (!StringUtils.isBlank(config.getNamespace())) {
             this.namespace = config.getNamespace();
@@ -223,6 +477,9 @@ public class ClassCacheEntry<T> {
         if (config.getShortName() != null) {
             this.shortenedClassName = config.getShortName();
         }
+        if (config.getTypeId() != null) {
+            this.typeId = config.getTypeId();
+        }
         if (config.getFactoryMethod() != null) {
             this.factoryMethod = config.getFactoryMethod();
         }
@@ -561,6 +818,9 @@ public class ClassCacheEntry<T> {
         }
         this.constructor = (Constructor<T>) desiredConstructor;
         this.constructor.setAccessible(true);
+        if (params.length == 0 && generatedMapper != null) {
+            this.instantiator = generatedMapper.getInstantiator();
+        }
     }
 
     private PropertyDefinition getOrCreateProperty(String name, Map<String, PropertyDefinition> properties) {
@@ -631,8 +891,8 @@ public class ClassCacheEntry<T> {
                 throw new AerospikeException("Class " + clazz.getName() + " cannot have a more than one key");
             }
             AnnotatedType annotatedType = new AnnotatedType(config, keyProperty.getGetter());
-            TypeMapper typeMapper = TypeUtils.getMapper(keyProperty.getType(), annotatedType, this.mapper);
-            this.key = new ValueType.MethodValue(keyProperty, typeMapper, annotatedType);
+            TypeMapper typeMapper = TypeUtils.getKeyMapper(keyProperty.getType(), annotatedType, this.mapper);
+            this.key = new ValueType.MethodValue(keyProperty, typeMapper, annotatedType, generatedMapper);
         }
         for (String thisPropertyName : properties.keySet()) {
             PropertyDefinition thisProperty = properties.get(thisPropertyName);
@@ -643,7 +903,7 @@ public class ClassCacheEntry<T> {
             }
             AnnotatedType annotatedType = new AnnotatedType(config, thisProperty.getGetter());
             TypeMapper typeMapper = TypeUtils.getMapper(thisProperty.getType(), annotatedType, this.mapper);
-            ValueType value = new ValueType.MethodValue(thisProperty, typeMapper, annotatedType);
+            ValueType value = new ValueType.MethodValue(thisProperty, typeMapper, annotatedType, generatedMapper);
             values.put(thisPropertyName, value);
         }
     }
@@ -666,8 +926,8 @@ public class ClassCacheEntry<T> {
                     throw new AerospikeException("Class " + clazz.getName() + " cannot have a more than one key");
                 }
                 AnnotatedType annotatedType = new AnnotatedType(config, thisField);
-                TypeMapper typeMapper = TypeUtils.getMapper(thisField.getType(), annotatedType, this.mapper);
-                this.key = new ValueType.FieldValue(thisField, typeMapper, annotatedType);
+                TypeMapper typeMapper = TypeUtils.getKeyMapper(thisField.getType(), annotatedType, this.mapper);
+                this.key = new ValueType.FieldValue(thisField, typeMapper, annotatedType, generatedMapper);
                 isKey = true;
             }
 
@@ -696,13 +956,17 @@ public class ClassCacheEntry<T> {
                 if (this.values.get(name) != null) {
                     throw new AerospikeException("Class " + clazz.getName() + " cannot define the mapped name " + name + " more than once");
                 }
+                if (!name.equals(thisField.getName())) {
+                    fieldBinNames.put(thisField.getName(), name);
+                }
                 if ((bin != null && bin.useAccessors()) || (thisBin != null && thisBin.getUseAccessors() != null && thisBin.getUseAccessors())) {
                     validateAccessorsForField(name, thisField);
                 } else {
                     thisField.setAccessible(true);
                     AnnotatedType annotatedType = new AnnotatedType(config, thisField);
-                    TypeMapper typeMapper = TypeUtils.getMapper(thisField.getType(), annotatedType, this.mapper);
-                    ValueType valueType = new ValueType.FieldValue(thisField, typeMapper, annotatedType);
+                    // A key stored in a bin is stored as the key is, whatever the encodings set on the builder
+                    TypeMapper typeMapper = isKey ? this.key.getTypeMapper() : TypeUtils.getMapper(thisField.getType(), annotatedType, this.mapper);
+                    ValueType valueType = new ValueType.FieldValue(thisField, typeMapper, annotatedType, generatedMapper);
                     values.put(name, valueType);
                 }
             }
@@ -757,7 +1021,7 @@ public class ClassCacheEntry<T> {
         property.setSetter(setter);
         property.validate(clazz.getName(), config, false);
 
-        ValueType value = new ValueType.MethodValue(property, typeMapper, annotatedType);
+        ValueType value = new ValueType.MethodValue(property, typeMapper, annotatedType, generatedMapper);
         values.put(binName, value);
     }
 
@@ -795,6 +1059,17 @@ public class ClassCacheEntry<T> {
         }
     }
 
+    /**
+     * Return whether the passed method returns the key of objects of this class, so it can be called on an object which
+     * has only its key set.
+     */
+    public boolean isKeyGetter(Method method) {
+        if (this.key != null) {
+            return this.key.isReadBy(method);
+        }
+        return superClazz != null && superClazz.isKeyGetter(method);
+    }
+
     public void setKey(Object object, Object value) {
         try {
             this._setKey(object, value);
@@ -826,6 +1101,129 @@ public class ClassCacheEntry<T> {
         return durableDelete;
     }
 
+    /**
+     * Return the policy used to save objects of this class when no policy is passed: the write policy of this class
+     * with the passed record exists action and the ttl and send key of this class applied. Once the class is constructed
+     * the policies are created once per action and shared, so the returned policy must not be modified.
+     *
+     * @param recordExistsAction the action to apply, or null to keep the action of the class's write policy
+     */
+    public WritePolicy getEffectiveWritePolicy(RecordExistsAction recordExistsAction) {
+        int index = recordExistsAction == null ? effectiveWritePolicies.length() - 1 : recordExistsAction.ordinal();
+        WritePolicy policy = effectiveWritePolicies.get(index);
+        if (policy == null) {
+            policy = new WritePolicy(writePolicy);
+            if (recordExistsAction != null) {
+                policy.recordExistsAction = recordExistsAction;
+            }
+            // #132 -- Ensure that if an overriding TTL / sendkey is passed in the policy it is NOT overwritten, so
+            // these are only applied to the policy used when none is passed.
+            Integer ttl = getTtl();
+            if (ttl != null) {
+                policy.expiration = ttl;
+            }
+            if (sendKey != null) {
+                policy.sendKey = sendKey;
+            }
+            if (constructed && !effectiveWritePolicies.compareAndSet(index, null, policy)) {
+                policy = effectiveWritePolicies.get(index);
+            }
+        }
+        return policy;
+    }
+
+    /**
+     * Return the policy of each record when objects of this class are saved in a batch: the same settings as
+     * {@link #getEffectiveWritePolicy(RecordExistsAction)}. This is shared so must not be modified.
+     */
+    public BatchWritePolicy getEffectiveBatchWritePolicy(RecordExistsAction recordExistsAction) {
+        int index = recordExistsAction == null ? effectiveBatchWritePolicies.length() - 1 : recordExistsAction.ordinal();
+        BatchWritePolicy policy = effectiveBatchWritePolicies.get(index);
+        if (policy == null) {
+            WritePolicy writePolicy = getEffectiveWritePolicy(recordExistsAction);
+            policy = new BatchWritePolicy();
+            policy.filterExp = writePolicy.filterExp;
+            policy.recordExistsAction = writePolicy.recordExistsAction;
+            policy.commitLevel = writePolicy.commitLevel;
+            policy.generationPolicy = writePolicy.generationPolicy;
+            policy.generation = writePolicy.generation;
+            policy.expiration = writePolicy.expiration;
+            policy.durableDelete = writePolicy.durableDelete;
+            policy.sendKey = writePolicy.sendKey;
+            if (constructed && !effectiveBatchWritePolicies.compareAndSet(index, null, policy)) {
+                policy = effectiveBatchWritePolicies.get(index);
+            }
+        }
+        return policy;
+    }
+
+    /**
+     * Return the record of a batch write which saves the passed object, as <code>save</code> or <code>update</code>
+     * would for the passed record exists action.
+     */
+    public BatchWrite getBatchWrite(Object instance, RecordExistsAction recordExistsAction) {
+        BatchWritePolicy policy = getEffectiveBatchWritePolicy(recordExistsAction);
+        Bin[] bins = getBins(instance, policy.recordExistsAction != RecordExistsAction.REPLACE, null);
+        Operation[] operations = new Operation[bins.length];
+        for (int i = 0; i < bins.length; i++) {
+            operations[i] = Operation.put(bins[i]);
+        }
+        String set = "".equals(setName) ? null : setName;
+        Key key = new Key(namespace, set, Value.get(getKey(instance)));
+        return new BatchWrite(policy, key, operations);
+    }
+
+    /**
+     * Return the policy used to delete objects of this class when no policy is passed: the write policy of this class
+     * with the durable delete setting of this class applied. This is shared so must not be modified.
+     */
+    public WritePolicy getEffectiveDeletePolicy() {
+        WritePolicy policy = this.effectiveDeletePolicy;
+        if (policy == null) {
+            policy = writePolicy;
+            if (durableDelete != null) {
+                // Clone the write policy so we're not changing the original one
+                policy = new WritePolicy(writePolicy);
+                policy.durableDelete = durableDelete;
+            }
+            if (constructed) {
+                this.effectiveDeletePolicy = policy;
+            }
+        }
+        return policy;
+    }
+
+    /**
+     * Return the policy of each record when objects of this class are deleted in a batch: the same settings as
+     * {@link #getEffectiveDeletePolicy()}. This is shared so must not be modified.
+     */
+    public BatchDeletePolicy getEffectiveBatchDeletePolicy() {
+        BatchDeletePolicy policy = this.effectiveBatchDeletePolicy;
+        if (policy == null) {
+            WritePolicy deletePolicy = getEffectiveDeletePolicy();
+            policy = new BatchDeletePolicy();
+            policy.filterExp = deletePolicy.filterExp;
+            policy.commitLevel = deletePolicy.commitLevel;
+            policy.generationPolicy = deletePolicy.generationPolicy;
+            policy.generation = deletePolicy.generation;
+            policy.durableDelete = deletePolicy.durableDelete;
+            policy.sendKey = deletePolicy.sendKey;
+            if (constructed) {
+                this.effectiveBatchDeletePolicy = policy;
+            }
+        }
+        return policy;
+    }
+
+    /**
+     * Return the record of a batch write which deletes the passed object, as <code>delete</code> would.
+     */
+    public BatchDelete getBatchDelete(Object instance) {
+        String set = "".equals(setName) ? null : setName;
+        Key key = new Key(namespace, set, Value.get(getKey(instance)));
+        return new BatchDelete(getEffectiveBatchDeletePolicy(), key);
+    }
+
     private boolean contains(String[] names, String thisName) {
         if (names == null || names.length == 0) {
             return true;
@@ -841,9 +1239,34 @@ public class ClassCacheEntry<T> {
         return false;
     }
 
+    /**
+     * Return the cache of records read for this class, or null if the records of this class are not cached.
+     */
+    public EntityCache getEntityCache() {
+        return entityCache;
+    }
+
+    /**
+     * Remove the record with the passed key from the caches of this class and its superclasses, as it has been written
+     * or deleted. Reads through a superclass share the set of the class, so they may have cached the record too.
+     */
+    void invalidateCachedRecord(Key key) {
+        ClassCacheEntry<?> thisClass = this;
+        while (thisClass != null) {
+            if (thisClass.entityCache != null) {
+                thisClass.entityCache.invalidate(key);
+            }
+            thisClass = thisClass.superClazz;
+        }
+    }
+
     @SuppressWarnings({"unchecked", "rawtypes"})
     public Bin[] getBins(Object instance, boolean allowNullBins, String[] binNames) {
         try {
+            BinWritePlan plan = getWritePlan();
+            if (plan != null) {
+                return plan.getBins(instance, allowNullBins, binNames);
+            }
             Bin[] bins = new Bin[this.binCount];
             int index = 0;
             ClassCacheEntry thisClass = this;
@@ -855,12 +1278,7 @@ public class ClassCacheEntry<T> {
                         Object javaValue = value.get(instance);
                         Object aerospikeValue = value.getTypeMapper().toAerospikeFormat(javaValue);
                         if (aerospikeValue != null || allowNullBins) {
-                            if (aerospikeValue instanceof TreeMap<?, ?>) {
-                                TreeMap<?, ?> treeMap = (TreeMap<?, ?>) aerospikeValue;
-                                bins[index++] = new Bin(name, new ArrayList(treeMap.entrySet()), MapOrder.KEY_ORDERED);
-                            } else {
-                                bins[index++] = new Bin(name, Value.get(aerospikeValue));
-                            }
+                            bins[index++] = BinWritePlan.toBin(name, aerospikeValue);
                         }
                     }
                 }
@@ -880,7 +1298,7 @@ public class ClassCacheEntry<T> {
             Map<String, Object> results = new HashMap<>();
             ClassCacheEntry<?> thisClass = this;
             if (needsType) {
-                results.put(TYPE_NAME, this.getShortenedClassName());
+                results.put(TYPE_NAME, this.getTypeDiscriminator());
             }
             while (thisClass != null) {
                 for (String name : thisClass.values.keySet()) {
@@ -939,7 +1357,7 @@ public class ClassCacheEntry<T> {
             }
             results.addAll(versionsToAdd);
             if (needsType) {
-                results.add(TYPE_PREFIX + this.getShortenedClassName());
+                results.add(this.getTypeMarker());
             }
             return results;
         } catch (ReflectiveOperationException ref) {
@@ -948,43 +1366,204 @@ public class ClassCacheEntry<T> {
     }
 
     public T constructAndHydrate(Map<String, Object> map) {
-        return constructAndHydrate(null, map);
+        return constructAndHydrate(map, MappingContext.forCurrentThread());
+    }
+
+    public T constructAndHydrate(Map<String, Object> map, MappingContext context) {
+        return constructAndHydrateFromRecordOrMap(null, map, context);
     }
 
     public T constructAndHydrate(Record record) {
-        return constructAndHydrate(record, null);
+        return constructAndHydrateFromRecordOrMap(record, null, MappingContext.forCurrentThread());
+    }
+
+    /**
+     * Create an object from a record which was read with only some of its bins. Only the fields mapped to the
+     * passed bins are set, the others are left as the constructor of the object set them.
+     *
+     * @param record   The record read from the database.
+     * @param binNames The bins which were read, either as bin names or as the names of the fields mapped to them.
+     *                 If this is null or empty, every bin is hydrated.
+     */
+    public T constructAndHydrate(Record record, String[] binNames) {
+        return constructAndHydrate(record, binNames, MappingContext.forCurrentThread());
     }
 
+    /**
+     * Create an object from a record which was read with only some of its bins, as part of the mapping operation of
+     * the passed context.
+     *
+     * @see #constructAndHydrate(Record, String[])
+     */
     @SuppressWarnings("unchecked")
-    private T constructAndHydrate(Record record, Map<String, Object> map) {
-        Map<String, Object> valueMap = new HashMap<>();
+    public T constructAndHydrate(Record record, String[] binNames, MappingContext context) {
+        if (binNames == null || binNames.length == 0) {
+            return constructAndHydrateFromRecordOrMap(record, null, context);
+        }
+        ClassCacheEntry<?> thisClass = this;
+        Object typeDiscriminator = record.getValue(TYPE_NAME);
+        if (typeDiscriminator != null) {
+            // The record holds a subclass, whose plan also covers the bins of this class
+            thisClass = getEntryForType(typeDiscriminator);
+        }
+        HydrationPlan<?> plan = thisClass.getHydrationPlan();
+        if (plan == null) {
+            // Bins which were not read are null in the record, so the full hydration gives the same result
+            return constructAndHydrateFromRecordOrMap(record, null, context);
+        }
+        try {
+            return (T) plan.constructAndHydrate(record, null, plan.project(binNames), context);
+        } catch (ReflectiveOperationException ref) {
+            throw new AerospikeException(ref);
+        }
+    }
+
+    /**
+     * Translate the names passed to a read, which can be either bin names or the names of the Java fields mapped to
+     * them, to the bin names to request from the database. Unless the class is final the type bin is requested too, so
+     * a record of a subclass is still created as that subclass. The returned array is shared and must not be changed.
+     *
+     * @throws AerospikeException if a name is neither a bin nor a mapped field of this class or its superclasses.
+     */
+    public String[] toBinNames(String[] names) {
+        if (names == null || names.length == 0) {
+            return names;
+        }
+        HydrationPlan<T> plan = getHydrationPlan();
+        if (plan != null) {
+            return plan.project(names).getBinNames();
+        }
+        List<String> binNames = new ArrayList<>(names.length + 1);
+        for (String name : names) {
+            if (!TYPE_NAME.equals(name)) {
+                binNames.add(toBinName(name));
+            }
+        }
+        if (HydrationPlan.mayHaveSubclasses(clazz)) {
+            binNames.add(TYPE_NAME);
+        }
+        return binNames.toArray(new String[0]);
+    }
+
+    /**
+     * Return the names of the bins mapped by this class and its superclasses.
+     */
+    Set<String> getMappedBinNames() {
+        Set<String> result = mappedBinNames;
+        if (result == null) {
+            result = new HashSet<>();
+            ClassCacheEntry<?> thisClass = this;
+            while (thisClass != null) {
+                result.addAll(thisClass.values.keySet());
+                thisClass = thisClass.superClazz;
+            }
+            if (constructed) {
+                mappedBinNames = result;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Return the bins a scan or query of this class should request. If bin names are passed (as returned by
+     * {@link #toBinNames(String[])}) only those are read, with the type bin unless this class is final. Otherwise, unless
+     * turned off on the builder, these are the bins mapped by this class, its superclasses and any of its subclasses
+     * known to the mapper (loaded, configured or with a generated mapper), and the type bin.
+     */
+    public BinProjection getBinProjection(String[] binNames) {
+        if (binNames != null && binNames.length > 0) {
+            if (HydrationPlan.mayHaveSubclasses(clazz) && !Arrays.asList(binNames).contains(TYPE_NAME)) {
+                // Records of subclasses must still be created as the subclass
+                binNames = Arrays.copyOf(binNames, binNames.length + 1);
+                binNames[binNames.length - 1] = TYPE_NAME;
+            }
+            return BinProjection.of(binNames);
+        }
+        if (!ClassCache.getInstance().isBinProjectionEnabled()) {
+            return BinProjection.allBins();
+        }
+        Set<String> projection = new HashSet<>(getMappedBinNames());
+        for (ClassCacheEntry<?> subclass : ClassCache.getInstance().getKnownSubclasses(clazz, mapper)) {
+            projection.addAll(subclass.getMappedBinNames());
+        }
+        projection.add(TYPE_NAME);
+        return BinProjection.mapped(this, projection);
+    }
+
+    /**
+     * Translate a bin name or the name of a Java field mapped to a bin to the bin name.
+     *
+     * @throws AerospikeException if the name is neither a bin nor a mapped field of this class or its superclasses.
+     */
+    public String toBinName(String name) {
+        ClassCacheEntry<?> thisClass = this;
+        while (thisClass != null) {
+            if (thisClass.values.containsKey(name)) {
+                return name;
+            }
+            thisClass = thisClass.superClazz;
+        }
+        thisClass = this;
+        while (thisClass != null) {
+            String binName = thisClass.fieldBinNames.get(name);
+            if (binName != null) {
+                return binName;
+            }
+            thisClass = thisClass.superClazz;
+        }
+        throw new AerospikeException(String.format("Class %s has no bin or field named %s", clazz.getSimpleName(), name));
+    }
+
+    /**
+     * Return the value mapped to the passed bin or Java field name on this class or its superclasses.
+     *
+     * @throws AerospikeException if the name is neither a bin nor a mapped field of this class or its superclasses.
+     */
+    public ValueType getValueFromName(String name) {
+        String binName = toBinName(name);
+        ClassCacheEntry<?> thisClass = this;
+        while (thisClass != null) {
+            ValueType value = thisClass.values.get(binName);
+            if (value != null) {
+                return value;
+            }
+            thisClass = thisClass.superClazz;
+        }
+        throw new AerospikeException(String.format("Class %s has no bin or field named %s", clazz.getSimpleName(), name));
+    }
+
+    @SuppressWarnings("unchecked")
+    private T constructAndHydrateFromRecordOrMap(Record record, Map<String, Object> map, MappingContext context) {
         try {
             ClassCacheEntry<?> thisClass = this;
 
             // If the object saved in the list was a subclass of the declared type, it must have the type name in the map
             // Note that there is a performance implication of using subclasses.
-            String className = map == null ? record.getString(TYPE_NAME) : (String) map.get(TYPE_NAME);
-            if (className != null) {
-                thisClass = ClassCache.getInstance().getCacheEntryFromStoredName(className);
-                if (thisClass == null) {
-                    Class<?> typeClazz = Class.forName(className);
-                    thisClass = ClassCache.getInstance().loadClass(typeClazz, this.mapper);
-                }
+            Object typeDiscriminator = map == null ? record.getValue(TYPE_NAME) : map.get(TYPE_NAME);
+            if (typeDiscriminator != null) {
+                thisClass = getEntryForType(typeDiscriminator);
+            }
+
+            HydrationPlan<?> plan = thisClass == null ? null : thisClass.getHydrationPlan();
+            if (plan != null) {
+                return (T) plan.constructAndHydrate(record, map, context);
             }
 
+            // The class is still being constructed (for example it refers to itself), so use the values directly
+            Map<String, Object> valueMap = new HashMap<>();
             T result = null;
             while (thisClass != null) {
                 for (String name : thisClass.values.keySet()) {
                     ValueType value = thisClass.values.get(name);
                     Object aerospikeValue = record == null ? map.get(name) : record.getValue(name);
-                    valueMap.put(name, value.getTypeMapper().fromAerospikeFormat(aerospikeValue));
+                    valueMap.put(name, value.getTypeMapper().fromAerospikeFormat(aerospikeValue, context));
                 }
                 if (result == null) {
-                    result = (T) thisClass.constructAndHydrateFromJavaMap(valueMap);
+                    result = (T) thisClass.constructAndHydrateFromJavaMap(valueMap, context);
                 } else {
                     for (String field : valueMap.keySet()) {
                         ValueType value = thisClass.values.get(field);
-                        value.set(result, valueMap.get(field));
+                        value.set(result, valueMap.get(field), context);
                     }
                 }
                 valueMap.clear();
@@ -998,21 +1577,30 @@ public class ClassCacheEntry<T> {
     }
 
     public void hydrateFromRecord(Record record, Object instance) {
-        this.hydrateFromRecordOrMap(record, null, instance);
+        this.hydrateFromRecordOrMap(record, null, instance, MappingContext.forCurrentThread());
+    }
+
+    public void hydrateFromRecord(Record record, Object instance, MappingContext context) {
+        this.hydrateFromRecordOrMap(record, null, instance, context);
     }
 
     public void hydrateFromMap(Map<String, Object> map, Object instance) {
-        this.hydrateFromRecordOrMap(null, map, instance);
+        this.hydrateFromRecordOrMap(null, map, instance, MappingContext.forCurrentThread());
     }
 
-    private void hydrateFromRecordOrMap(Record record, Map<String, Object> map, Object instance) {
+    private void hydrateFromRecordOrMap(Record record, Map<String, Object> map, Object instance, MappingContext context) {
         try {
+            HydrationPlan<T> plan = getHydrationPlan();
+            if (plan != null) {
+                plan.hydrate(record, map, instance, context);
+                return;
+            }
             ClassCacheEntry<?> thisClass = this;
             while (thisClass != null) {
-                for (String name : this.values.keySet()) {
-                    ValueType value = this.values.get(name);
+                for (String name : thisClass.values.keySet()) {
+                    ValueType value = thisClass.values.get(name);
                     Object aerospikeValue = record == null ? map.get(name) : record.getValue(name);
-                    value.set(instance, value.getTypeMapper().fromAerospikeFormat(aerospikeValue));
+                    value.set(instance, value.getTypeMapper().fromAerospikeFormat(aerospikeValue, context), context);
                 }
                 thisClass = thisClass.superClazz;
             }
@@ -1022,7 +1610,7 @@ public class ClassCacheEntry<T> {
     }
 
     private int setValueByField(String name, int objectVersion, int recordVersion, Object instance, int index,
-                                List<Object> list, Map<String, Object> map) throws ReflectiveOperationException {
+                                List<Object> list, Map<String, Object> map, MappingContext context) throws ReflectiveOperationException {
         ValueType value = this.values.get(name);
         TypeMapper typeMapper = value.getTypeMapper();
         // If the version of this value does not exist on this object, simply skip it. For example,
@@ -1037,22 +1625,22 @@ public class ClassCacheEntry<T> {
         // Otherwise only map the value if it should exist on the record in the database.
         if (value.getMinimumVersion() <= recordVersion && recordVersion <= value.getMaximumVersion() && index < list.size()) {
             Object aerospikeValue = list.get(index++);
-            Object javaValue = aerospikeValue == null ? null : typeMapper.fromAerospikeFormat(aerospikeValue);
+            Object javaValue = aerospikeValue == null ? null : typeMapper.fromAerospikeFormat(aerospikeValue, context);
             if (instance == null) {
                 map.put(name, javaValue);
             } else {
-                value.set(instance, javaValue);
+                value.set(instance, javaValue, context);
             }
         }
         return index;
     }
 
     public void hydrateFromList(List<Object> list, Object instance) {
-        this.hydrateFromList(list, instance, false);
+        this.hydrateFromList(list, instance, false, MappingContext.forCurrentThread());
     }
 
     @SuppressWarnings("unchecked")
-    private T constructAndHydrateFromJavaMap(Map<String, Object> javaValuesMap) throws ReflectiveOperationException {
+    private T constructAndHydrateFromJavaMap(Map<String, Object> javaValuesMap, MappingContext context) throws ReflectiveOperationException {
         // Now form the values which satisfy the constructor
         T result;
         if (factoryConstructorMethod != null) {
@@ -1081,11 +1669,11 @@ public class ClassCacheEntry<T> {
                 }
                 javaValuesMap.remove(constructorParamBins[i]);
             }
-            result = constructor.newInstance(args);
+            result = instantiator != null ? instantiator.get() : constructor.newInstance(args);
         }
         // Once the object has been created, we need to store it against the current key so that
         // recursive objects resolve correctly
-        LoadedObjectResolver.setObjectForCurrentKey(result);
+        context.setObjectForCurrentKey(result);
 
         for (String field : javaValuesMap.keySet()) {
             ValueType value = this.values.get(field);
@@ -1093,14 +1681,17 @@ public class ClassCacheEntry<T> {
             if (object == null && value.getType().isPrimitive()) {
                 object = PrimitiveDefaults.getDefaultValue(value.getType());
             }
-            value.set(result, object);
+            value.set(result, object, context);
         }
         return result;
     }
 
-    @SuppressWarnings("unchecked")
     public T constructAndHydrate(List<Object> list, boolean skipKey) {
-        Map<String, Object> valueMap = new HashMap<>();
+        return constructAndHydrate(list, skipKey, MappingContext.forCurrentThread());
+    }
+
+    @SuppressWarnings("unchecked")
+    public T constructAndHydrate(List<Object> list, boolean skipKey, MappingContext context) {
         try {
             ClassCacheEntry<?> thisClass = this;
             int index = 0;
@@ -1110,53 +1701,55 @@ public class ClassCacheEntry<T> {
                 // it must have the type name as the last element of the list.
                 // Note that there is a performance implication of using subclasses.
                 Object obj = list.get(endIndex - 1);
-                if ((obj instanceof String) && ((String) obj).startsWith(TYPE_PREFIX)) {
-                    String className = ((String) obj).substring(TYPE_PREFIX.length());
-                    thisClass = ClassCache.getInstance().getCacheEntryFromStoredName(className);
-                    if (thisClass == null) {
-                        Class<?> typeClazz = Class.forName(className);
-                        thisClass = ClassCache.getInstance().loadClass(typeClazz, this.mapper);
-                    }
+                if (isTypeMarker(obj)) {
+                    thisClass = getEntryForType(obj);
                     endIndex--;
                 }
             }
 
+            ListDecodePlan<?> plan = thisClass.getListDecodePlan(skipKey);
+            if (plan != null) {
+                return (T) plan.constructAndHydrate(list, endIndex, context);
+            }
+
+            // The class is still being constructed (for example it refers to itself), so use the values directly
+            Map<String, Object> valueMap = new HashMap<>();
             T result = null;
             while (thisClass != null) {
                 if (index < endIndex) {
-                    Object lastValue = list.get(endIndex - 1);
-                    int recordVersion = 1;
-                    if ((lastValue instanceof String) && (((String) lastValue).startsWith(VERSION_PREFIX))) {
-                        recordVersion = Integer.parseInt(((String) lastValue).substring(2));
+                    int recordVersion = ListDecodePlan.parseVersion(list.get(endIndex - 1));
+                    if (recordVersion > 0) {
                         endIndex--;
+                    } else {
+                        recordVersion = 1;
                     }
                     int objectVersion = thisClass.version;
                     if (thisClass.ordinals != null) {
                         for (int i = 1; i <= thisClass.ordinals.size(); i++) {
                             String name = thisClass.ordinals.get(i);
                             if (!skipKey || !isKeyField(name)) {
-                                index = thisClass.setValueByField(name, objectVersion, recordVersion, null, index, list, valueMap);
+                                index = thisClass.setValueByField(name, objectVersion, recordVersion, null, index, list, valueMap, context);
                             }
                         }
                     }
                     for (String name : thisClass.values.keySet()) {
                         if (thisClass.fieldsWithOrdinals == null || !thisClass.fieldsWithOrdinals.contains(name)) {
                             if (!skipKey || !isKeyField(name)) {
-                                index = thisClass.setValueByField(name, objectVersion, recordVersion, null, index, list, valueMap);
+                                index = thisClass.setValueByField(name, objectVersion, recordVersion, null, index, list, valueMap, context);
                             }
                         }
                     }
-                    if (result == null) {
-                        result = (T) thisClass.constructAndHydrateFromJavaMap(valueMap);
-                    } else {
-                        for (String field : valueMap.keySet()) {
-                            ValueType value = this.values.get(field);
-                            value.set(result, valueMap.get(field));
-                        }
+                }
+                if (result == null) {
+                    result = (T) thisClass.constructAndHydrateFromJavaMap(valueMap, context);
+                } else {
+                    for (String field : valueMap.keySet()) {
+                        ValueType value = thisClass.values.get(field);
+                        value.set(result, valueMap.get(field), context);
                     }
-                    valueMap.clear();
-                    thisClass = thisClass.superClazz;
                 }
+                valueMap.clear();
+                thisClass = thisClass.superClazz;
             }
             return result;
         } catch (ReflectiveOperationException ref) {
@@ -1165,42 +1758,62 @@ public class ClassCacheEntry<T> {
     }
 
     public void hydrateFromList(List<Object> list, Object instance, boolean skipKey) {
+        hydrateFromList(list, instance, skipKey, MappingContext.forCurrentThread());
+    }
+
+    public void hydrateFromList(List<Object> list, Object instance, boolean skipKey, MappingContext context) {
         try {
             int index = 0;
             int endIndex = list.size();
+            if (endIndex > 0 && isTypeMarker(list.get(endIndex - 1))) {
+                endIndex--;
+            }
+            ListDecodePlan<T> plan = getListDecodePlan(skipKey);
+            if (plan != null) {
+                plan.hydrate(list, endIndex, instance, context);
+                return;
+            }
+
             ClassCacheEntry<?> thisClass = this;
-            while (thisClass != null) {
-                if (index < endIndex) {
-                    Object lastValue = list.get(endIndex - 1);
-                    int recordVersion = 1;
-                    if ((lastValue instanceof String) && (((String) lastValue).startsWith(VERSION_PREFIX))) {
-                        recordVersion = Integer.parseInt(((String) lastValue).substring(2));
-                        endIndex--;
-                    }
-                    int objectVersion = thisClass.version;
-                    if (ordinals != null) {
-                        for (int i = 1; i <= ordinals.size(); i++) {
-                            String name = ordinals.get(i);
-                            if (!skipKey || !isKeyField(name)) {
-                                index = setValueByField(name, objectVersion, recordVersion, instance, index, list, null);
-                            }
+            while (thisClass != null && index < endIndex) {
+                int recordVersion = ListDecodePlan.parseVersion(list.get(endIndex - 1));
+                if (recordVersion > 0) {
+                    endIndex--;
+                } else {
+                    recordVersion = 1;
+                }
+                int objectVersion = thisClass.version;
+                if (thisClass.ordinals != null) {
+                    for (int i = 1; i <= thisClass.ordinals.size(); i++) {
+                        String name = thisClass.ordinals.get(i);
+                        if (!skipKey || !isKeyField(name)) {
+                            index = thisClass.setValueByField(name, objectVersion, recordVersion, instance, index, list, null, context);
                         }
                     }
-                    for (String name : this.values.keySet()) {
-                        if (this.fieldsWithOrdinals == null || !thisClass.fieldsWithOrdinals.contains(name)) {
-                            if (!skipKey || !isKeyField(name)) {
-                                index = setValueByField(name, objectVersion, recordVersion, instance, index, list, null);
-                            }
+                }
+                for (String name : thisClass.values.keySet()) {
+                    if (thisClass.fieldsWithOrdinals == null || !thisClass.fieldsWithOrdinals.contains(name)) {
+                        if (!skipKey || !isKeyField(name)) {
+                            index = thisClass.setValueByField(name, objectVersion, recordVersion, instance, index, list, null, context);
                         }
                     }
-                    thisClass = thisClass.superClazz;
                 }
+                thisClass = thisClass.superClazz;
             }
         } catch (ReflectiveOperationException ref) {
             throw new AerospikeException(ref);
         }
     }
 
+    ClassCacheEntry<?> getEntryForType(Object typeDiscriminator) {
+        ClassCacheEntry<?> result = ClassCache.getInstance().getCacheEntryFromTypeDiscriminator(typeDiscriminator, this.mapper);
+        if (result == null) {
+            throw new AerospikeException(String.format("Cannot find the class with stored type %s for %s",
+                    typeDiscriminator, this.clazz.getName()));
+        }
+        return result;
+    }
+
     public ValueType getValueFromBinName(String name) {
         return this.values.get(name);
     }
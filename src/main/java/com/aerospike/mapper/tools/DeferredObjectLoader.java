@@ -1,6 +1,5 @@
 package com.aerospike.mapper.tools;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class DeferredObjectLoader {
@@ -53,28 +52,26 @@ public class DeferredObjectLoader {
     }
 
 
-    private static final ThreadLocal<List<DeferredObjectSetter>> threadLocalLoader = ThreadLocal.withInitial(ArrayList::new);
+    // The methods below work on the MappingContext bound to the current thread. The mapper passes an explicit context
+    // to each operation instead; they are kept for code which still uses the thread bound state.
 
     public static void save(DeferredObjectSetter object) {
-        threadLocalLoader.get().add(object);
+        MappingContext.forCurrentThread().addDeferredObject(object);
     }
 
     public static void clear() {
-        threadLocalLoader.get().clear();
+        MappingContext.forCurrentThread().clearDeferredObjects();
     }
 
     public static List<DeferredObjectSetter> get() {
-        return threadLocalLoader.get();
+        return MappingContext.forCurrentThread().getDeferredObjects();
     }
 
     public static void add(DeferredObjectSetter deferredSetter) {
-        threadLocalLoader.get().add(deferredSetter);
+        MappingContext.forCurrentThread().addDeferredObject(deferredSetter);
     }
 
     public static List<DeferredObjectSetter> getAndClear() {
-        List<DeferredObjectSetter> localArray = threadLocalLoader.get();
-        List<DeferredObjectSetter> setters = new ArrayList<>(localArray);
-        localArray.clear();
-        return setters;
+        return MappingContext.forCurrentThread().takeDeferredObjects();
     }
 }
@@ -0,0 +1,89 @@
+package com.aerospike.mapper.tools;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Base class of the mappers generated at build time by the <code>java-object-mapper-processor</code> annotation
+ * processor. One is generated for each class annotated with <code>@AerospikeRecord</code>, and they are discovered by
+ * the {@link ClassCache} through a {@link java.util.ServiceLoader}.
+ * <p/>
+ * A generated mapper supplies plain Java accessors for the fields and accessor methods it can see (anything which is
+ * not private) and a constructor reference for the no-arg constructor. These are used in place of the accessors
+ * otherwise created at runtime by {@link AccessorFactory}, so no reflection or runtime class generation is needed
+ * to read or write these values. Members the generated code cannot reach fall back to the runtime accessors.
+ * <p/>
+ * A generated mapper only replaces these accessors. The {@link ClassCacheEntry} of the class is still built by
+ * reflecting over the class and its annotations when it is first used, so it is not a way to avoid reflection on
+ * startup or in a native image.
+ *
+ * @param <T> the mapped class
+ */
+public abstract class GeneratedMapper<T> {
+    private final Class<T> mappedClass;
+    private final Supplier<T> instantiator;
+    private final Map<String, AccessorFactory.Getter> fieldGetters = new HashMap<>();
+    private final Map<String, AccessorFactory.Setter> fieldSetters = new HashMap<>();
+    private final Map<String, AccessorFactory.Getter> methodGetters = new HashMap<>();
+    private final Map<String, AccessorFactory.Setter> methodSetters = new HashMap<>();
+
+    /**
+     * @param mappedClass  the class this mapper was generated for.
+     * @param instantiator invokes the no-arg constructor of the class, or null if the generated code cannot call it.
+     */
+    protected GeneratedMapper(Class<T> mappedClass, Supplier<T> instantiator) {
+        this.mappedClass = mappedClass;
+        this.instantiator = instantiator;
+    }
+
+    protected void addField(String name, AccessorFactory.Getter getter, AccessorFactory.Setter setter) {
+        fieldGetters.put(name, getter);
+        if (setter != null) {
+            fieldSetters.put(name, setter);
+        }
+    }
+
+    protected void addMethodGetter(String name, AccessorFactory.Getter getter) {
+        methodGetters.put(name, getter);
+    }
+
+    /**
+     * @param signature the method name followed by the canonical name of its parameter type, eg <code>setAge(int)</code>
+     */
+    protected void addMethodSetter(String signature, AccessorFactory.Setter setter) {
+        methodSetters.put(signature, setter);
+    }
+
+    public Class<T> getMappedClass() {
+        return mappedClass;
+    }
+
+    public Supplier<T> getInstantiator() {
+        return instantiator;
+    }
+
+    public AccessorFactory.Getter getGetter(Field field) {
+        return field.getDeclaringClass() == mappedClass ? fieldGetters.get(field.getName()) : null;
+    }
+
+    public AccessorFactory.Setter getSetter(Field field) {
+        return field.getDeclaringClass() == mappedClass ? fieldSetters.get(field.getName()) : null;
+    }
+
+    public AccessorFactory.Getter getGetter(Method method) {
+        if (method.getDeclaringClass() != mappedClass || method.getParameterCount() != 0) {
+            return null;
+        }
+        return methodGetters.get(method.getName());
+    }
+
+    public AccessorFactory.Setter getSetter(Method method) {
+        if (method.getDeclaringClass() != mappedClass || method.getParameterCount() != 1) {
+            return null;
+        }
+        return methodSetters.get(method.getName() + "(" + method.getParameterTypes()[0].getCanonicalName() + ")");
+    }
+}
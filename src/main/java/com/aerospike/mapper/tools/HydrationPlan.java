@@ -0,0 +1,358 @@
+package com.aerospike.mapper.tools;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.Record;
+
+/**
+ * The steps to create an object of a class from a record (or a map of bin values), worked out once per class.
+ * <p/>
+ * Every value of the class and its mapped superclasses is given a slot in an <code>Object[]</code>, in the same
+ * order as <code>ClassCacheEntry.getBins</code> writes them. Each bin is converted into its slot, the object is created
+ * from the slots which feed the constructor parameters (or by the factory method), and the remaining slots are set on
+ * the new object. No intermediate maps are created unless the factory method takes a map of values.
+ * <p/>
+ * Reads which fetch only some of the bins use a {@link Projection} of the plan: only the selected slots are converted
+ * and set, and the rest of the object is left as the constructor made it.
+ *
+ * @author timfaulkes
+ */
+class HydrationPlan<T> {
+    private final Class<T> clazz;
+    private final String[] names;
+    private final ValueType[] values;
+    private final TypeMapper[] typeMappers;
+    /**
+     * The value to use for a slot when the converted value is null: the default of the primitive type, otherwise null
+     */
+    private final Object[] nullDefaults;
+    /**
+     * Slots 0 (inclusive) to ownValueCount (exclusive) are the values declared on the class itself.
+     */
+    private final int ownValueCount;
+
+    private final Constructor<T> constructor;
+    private final Supplier<T> instantiator;
+    private final int[] constructorSlots;
+    private final Object[] constructorDefaults;
+
+    private final Method factoryMethod;
+    private final ClassCacheEntry.FactoryMethodType factoryType;
+
+    /**
+     * The slots to set on the object once it has been created, in slot order.
+     */
+    private final int[] setterSlots;
+
+    /**
+     * The slot for each bin name and, where it differs, the Java field name mapped to that bin.
+     */
+    private final Map<String, Integer> slotsByName = new HashMap<>();
+
+    /**
+     * Resolved projections, keyed by the list of names passed to the read. As with the selections of the write plan
+     * this is bounded, and projections past the limit are resolved on every call.
+     */
+    private final Map<List<String>, Projection> projections = new ConcurrentHashMap<>();
+    private static final int MAX_CACHED_PROJECTIONS = 256;
+
+    private HydrationPlan(Class<T> clazz, List<String> names, List<ValueType> values, Map<String, String> fieldBinNames, int ownValueCount,
+                          Constructor<T> constructor, Supplier<T> instantiator, String[] constructorParamBins,
+                          Object[] constructorDefaults, Method factoryMethod, ClassCacheEntry.FactoryMethodType factoryType) {
+        this.clazz = clazz;
+        this.names = names.toArray(new String[0]);
+        this.values = values.toArray(new ValueType[0]);
+        this.ownValueCount = ownValueCount;
+        this.typeMappers = new TypeMapper[this.values.length];
+        this.nullDefaults = new Object[this.values.length];
+        for (int i = 0; i < this.values.length; i++) {
+            this.typeMappers[i] = this.values[i].getTypeMapper();
+            if (this.values[i].getType().isPrimitive()) {
+                this.nullDefaults[i] = PrimitiveDefaults.getDefaultValue(this.values[i].getType());
+            }
+        }
+        this.constructor = constructor;
+        this.instantiator = instantiator;
+        this.factoryMethod = factoryMethod;
+        this.factoryType = factoryType;
+
+        boolean[] usedByConstructor = new boolean[this.names.length];
+        if (factoryMethod == null && constructorParamBins != null) {
+            this.constructorSlots = new int[constructorParamBins.length];
+            this.constructorDefaults = constructorDefaults;
+            for (int i = 0; i < constructorParamBins.length; i++) {
+                int slot = indexOf(constructorParamBins[i]);
+                this.constructorSlots[i] = slot;
+                if (slot >= 0) {
+                    usedByConstructor[slot] = true;
+                }
+            }
+        } else {
+            this.constructorSlots = new int[0];
+            this.constructorDefaults = new Object[0];
+        }
+
+        int setterCount = 0;
+        int[] setters = new int[this.names.length];
+        for (int i = 0; i < this.names.length; i++) {
+            if (!usedByConstructor[i]) {
+                setters[setterCount++] = i;
+            }
+        }
+        this.setterSlots = Arrays.copyOf(setters, setterCount);
+
+        for (Map.Entry<String, String> fieldBinName : fieldBinNames.entrySet()) {
+            int slot = indexOf(fieldBinName.getValue());
+            if (slot >= 0) {
+                slotsByName.put(fieldBinName.getKey(), slot);
+            }
+        }
+        // Bin names take precedence over a field of the same name mapped to a different bin
+        for (int i = 0; i < this.names.length; i++) {
+            slotsByName.put(this.names[i], i);
+        }
+    }
+
+    /**
+     * Create a plan for a class using its constructor.
+     */
+    static <T> HydrationPlan<T> forConstructor(Class<T> clazz, List<String> names, List<ValueType> values,
+                                               Map<String, String> fieldBinNames, int ownValueCount,
+                                               Constructor<T> constructor, Supplier<T> instantiator,
+                                               String[] constructorParamBins, Object[] constructorDefaults) {
+        return new HydrationPlan<>(clazz, names, values, fieldBinNames, ownValueCount, constructor, instantiator,
+                constructorParamBins, constructorDefaults, null, null);
+    }
+
+    /**
+     * Create a plan for a class using a factory method.
+     */
+    static <T> HydrationPlan<T> forFactory(Class<T> clazz, List<String> names, List<ValueType> values,
+                                           Map<String, String> fieldBinNames, int ownValueCount,
+                                           Method factoryMethod, ClassCacheEntry.FactoryMethodType factoryType) {
+        return new HydrationPlan<>(clazz, names, values, fieldBinNames, ownValueCount, null, null, null, null,
+                factoryMethod, factoryType);
+    }
+
+    private int indexOf(String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Resolve the names passed to a read, which can be either bin names or the names of the Java fields mapped to
+     * them, to the slots of this plan.
+     *
+     * @throws AerospikeException if a name is neither a bin nor a mapped field of the class.
+     */
+    Projection project(String[] requestedNames) {
+        Projection result = projections.get(Arrays.asList(requestedNames));
+        if (result == null) {
+            result = resolve(requestedNames);
+            if (projections.size() < MAX_CACHED_PROJECTIONS) {
+                // Copy the names as the caller is free to change their array after this call
+                projections.putIfAbsent(Arrays.asList(requestedNames.clone()), result);
+            }
+        }
+        return result;
+    }
+
+    private Projection resolve(String[] requestedNames) {
+        boolean[] selected = new boolean[names.length];
+        for (String name : requestedNames) {
+            if (ClassCacheEntry.TYPE_NAME.equals(name)) {
+                // Bin names returned by an earlier projection include the type bin
+                continue;
+            }
+            Integer slot = name == null ? null : slotsByName.get(name);
+            if (slot == null) {
+                throw new AerospikeException(String.format("Class %s has no bin or field named %s",
+                        clazz.getSimpleName(), name));
+            }
+            selected[slot] = true;
+        }
+        int count = 0;
+        String[] binNames = new String[names.length + 1];
+        for (int i = 0; i < names.length; i++) {
+            if (selected[i]) {
+                binNames[count++] = names[i];
+            }
+        }
+        if (mayHaveSubclasses(clazz)) {
+            // A record of a subclass must be created as that subclass, so read its type with the selected bins
+            binNames[count++] = ClassCacheEntry.TYPE_NAME;
+        }
+        int setterCount = 0;
+        int[] setters = new int[setterSlots.length];
+        for (int slot : setterSlots) {
+            if (selected[slot]) {
+                setters[setterCount++] = slot;
+            }
+        }
+        return new Projection(Arrays.copyOf(binNames, count), selected, Arrays.copyOf(setters, setterCount));
+    }
+
+    /**
+     * Return whether records read for the passed class may hold a subclass of it, and so carry the type bin. Subclasses
+     * are only known once they are loaded, so any class which is not final may have them.
+     */
+    static boolean mayHaveSubclasses(Class<?> clazz) {
+        return !Modifier.isFinal(clazz.getModifiers());
+    }
+
+    /**
+     * Create and populate an object from either a record or a map of bin values.
+     */
+    T constructAndHydrate(Record record, Map<String, Object> map, MappingContext context) throws ReflectiveOperationException {
+        return constructAndHydrate(record, map, null, context);
+    }
+
+    /**
+     * Create an object from a record or map holding only the bins of the projection. Slots outside the projection are
+     * not converted, constructor parameters taken from them get their defaults and fields mapped to them are not set.
+     * A null projection selects every slot.
+     */
+    T constructAndHydrate(Record record, Map<String, Object> map, Projection projection, MappingContext context)
+            throws ReflectiveOperationException {
+        Object[] slots = new Object[names.length];
+        for (int i = 0; i < names.length; i++) {
+            if (projection == null || projection.selected[i]) {
+                Object aerospikeValue = record == null ? map.get(names[i]) : record.getValue(names[i]);
+                slots[i] = typeMappers[i].fromAerospikeFormat(aerospikeValue, context);
+            }
+        }
+
+        T result = construct(slots);
+        // Once the object has been created, we need to store it against the current key so that
+        // recursive objects resolve correctly
+        context.setObjectForCurrentKey(result);
+
+        for (int slot : projection == null ? setterSlots : projection.setterSlots) {
+            Object value = slots[slot];
+            values[slot].set(result, value == null ? nullDefaults[slot] : value, context);
+        }
+        return result;
+    }
+
+    /**
+     * Create an object from values already taken from a list, in slot order. Only the slots marked as present are
+     * converted and set, as with a projection.
+     */
+    T constructAndHydrate(Object[] aerospikeValues, boolean[] present, MappingContext context) throws ReflectiveOperationException {
+        for (int i = 0; i < aerospikeValues.length; i++) {
+            if (present[i]) {
+                aerospikeValues[i] = typeMappers[i].fromAerospikeFormat(aerospikeValues[i], context);
+            }
+        }
+
+        T result = construct(aerospikeValues);
+        context.setObjectForCurrentKey(result);
+
+        for (int slot : setterSlots) {
+            if (present[slot]) {
+                Object value = aerospikeValues[slot];
+                values[slot].set(result, value == null ? nullDefaults[slot] : value, context);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Populate an existing object from values already taken from a list, in slot order.
+     */
+    void hydrate(Object[] aerospikeValues, boolean[] present, Object instance, MappingContext context) throws ReflectiveOperationException {
+        for (int i = 0; i < aerospikeValues.length; i++) {
+            if (present[i]) {
+                Object value = typeMappers[i].fromAerospikeFormat(aerospikeValues[i], context);
+                values[i].set(instance, value == null ? nullDefaults[i] : value, context);
+            }
+        }
+    }
+
+    int getSlotCount() {
+        return names.length;
+    }
+
+    /**
+     * Populate an existing object from either a record or a map of bin values.
+     */
+    void hydrate(Record record, Map<String, Object> map, Object instance, MappingContext context) throws ReflectiveOperationException {
+        for (int i = 0; i < names.length; i++) {
+            Object aerospikeValue = record == null ? map.get(names[i]) : record.getValue(names[i]);
+            Object value = typeMappers[i].fromAerospikeFormat(aerospikeValue, context);
+            values[i].set(instance, value == null ? nullDefaults[i] : value, context);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T construct(Object[] slots) throws ReflectiveOperationException {
+        if (factoryMethod != null) {
+            switch (factoryType) {
+                case CLASS:
+                    return (T) factoryMethod.invoke(null, clazz);
+                case MAP:
+                    return (T) factoryMethod.invoke(null, ownValues(slots));
+                case CLASS_MAP:
+                    return (T) factoryMethod.invoke(null, clazz, ownValues(slots));
+                default:
+                    return (T) factoryMethod.invoke(null);
+            }
+        }
+        if (constructorSlots.length == 0) {
+            return instantiator != null ? instantiator.get() : constructor.newInstance();
+        }
+        Object[] args = new Object[constructorSlots.length];
+        for (int i = 0; i < constructorSlots.length; i++) {
+            int slot = constructorSlots[i];
+            Object value = slot < 0 ? null : slots[slot];
+            args[i] = value == null ? constructorDefaults[i] : value;
+        }
+        return constructor.newInstance(args);
+    }
+
+    /**
+     * Factory methods which take a map are passed the values declared on the class itself.
+     */
+    private Map<String, Object> ownValues(Object[] slots) {
+        Map<String, Object> result = new HashMap<>();
+        for (int i = 0; i < ownValueCount; i++) {
+            result.put(names[i], slots[i]);
+        }
+        return result;
+    }
+
+    /**
+     * The bins selected by a read which fetches only some of the bins of a class.
+     */
+    static final class Projection {
+        private final String[] binNames;
+        private final boolean[] selected;
+        private final int[] setterSlots;
+
+        private Projection(String[] binNames, boolean[] selected, int[] setterSlots) {
+            this.binNames = binNames;
+            this.selected = selected;
+            this.setterSlots = setterSlots;
+        }
+
+        /**
+         * The bin names to request from the database, in plan order. Callers must not change this array.
+         */
+        String[] getBinNames() {
+            return binNames;
+        }
+    }
+}
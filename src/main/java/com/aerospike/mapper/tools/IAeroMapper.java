@@ -1,7 +1,9 @@
 package com.aerospike.mapper.tools;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 import javax.validation.constraints.NotNull;
 
@@ -9,12 +11,18 @@ import com.aerospike.client.AerospikeException;
 import com.aerospike.client.IAerospikeClient;
 import com.aerospike.client.Key;
 import com.aerospike.client.Operation;
+import com.aerospike.client.exp.Expression;
 import com.aerospike.client.policy.BatchPolicy;
 import com.aerospike.client.policy.Policy;
 import com.aerospike.client.policy.QueryPolicy;
 import com.aerospike.client.policy.ScanPolicy;
 import com.aerospike.client.policy.WritePolicy;
 import com.aerospike.client.query.Filter;
+import com.aerospike.mapper.tools.cache.CacheStats;
+import com.aerospike.mapper.tools.query.IndexCatalog;
+import com.aerospike.mapper.tools.query.Predicate;
+import com.aerospike.mapper.tools.query.QueryPlan;
+import com.aerospike.mapper.tools.scan.ParallelScan;
 import com.aerospike.mapper.tools.virtuallist.VirtualList;
 
 public interface IAeroMapper extends IBaseAeroMapper {
@@ -63,6 +71,55 @@ public interface IAeroMapper extends IBaseAeroMapper {
      */
     void update(@NotNull Object object, String... binNames);
 
+    /**
+     * Save the objects in the database using batch writes, replacing any existing records as {@link #save(Object, String...)}
+     * does. The objects can be of different classes. Each batch call writes at most the batch write size set on the
+     * builder, so larger collections are written in several calls.
+     * <p/>
+     * As with <code>save(Object...)</code> no transactionality is implied. A failed record does not stop the other
+     * records being written: the result of each object is returned instead. If a batch call fails as a whole, for
+     * example on a timeout, no further calls are made and a
+     * {@link com.aerospike.mapper.exceptions.BatchWriteException} carrying the result of each object is thrown.
+     *
+     * @param objects The objects to save.
+     * @return The result code (see {@link com.aerospike.client.ResultCode}) of each object, in the iteration order of the
+     * collection.
+     * @throws AerospikeException if an object cannot be mapped.
+     * @throws com.aerospike.mapper.exceptions.BatchWriteException if a batch call failed as a whole.
+     */
+    int[] saveAll(@NotNull Collection<?> objects);
+
+    /**
+     * Save the objects in the database using batch writes, as {@link #saveAll(Collection)} does, with the passed policy
+     * for each batch call. The policies of the individual records are derived from the write policy of their class.
+     *
+     * @param batchPolicy The policy of each batch call, or null to use the client's default batch write policy.
+     * @param objects     The objects to save.
+     * @return The result code of each object, in the iteration order of the collection.
+     * @throws AerospikeException if an object cannot be mapped.
+     */
+    int[] saveAll(BatchPolicy batchPolicy, @NotNull Collection<?> objects);
+
+    /**
+     * Update the objects in the database using batch writes, merging each with any existing record as
+     * {@link #update(Object, String...)} does. Otherwise this is the same as {@link #saveAll(Collection)}.
+     *
+     * @param objects The objects to update.
+     * @return The result code of each object, in the iteration order of the collection.
+     * @throws AerospikeException if an object cannot be mapped.
+     */
+    int[] updateAll(@NotNull Collection<?> objects);
+
+    /**
+     * Update the objects in the database using batch writes with the passed policy for each batch call.
+     *
+     * @param batchPolicy The policy of each batch call, or null to use the client's default batch write policy.
+     * @param objects     The objects to update.
+     * @return The result code of each object, in the iteration order of the collection.
+     * @throws AerospikeException if an object cannot be mapped.
+     */
+    int[] updateAll(BatchPolicy batchPolicy, @NotNull Collection<?> objects);
+
     /**
      * Read a record from the repository and map it to an instance of the passed class, by providing a digest.
      *
@@ -125,6 +182,33 @@ public interface IAeroMapper extends IBaseAeroMapper {
      */
     <T> T read(Policy readPolicy, @NotNull Class<T> clazz, @NotNull Object userKey, boolean resolveDependencies);
 
+    /**
+     * Read only the passed bins of a record from the repository and map them to an instance of the passed class. Only
+     * the fields mapped to these bins are set, the other fields are left as the constructor of the class set them.
+     *
+     * @param clazz    - The type of be returned.
+     * @param userKey  - The key of the record. The namespace and set will be derived from the values specified on the passed class.
+     * @param binNames - The bins to read. These can be either bin names or the names of the fields mapped to them. If none
+     *                 are passed, every bin is read.
+     * @return The returned mapped record.
+     * @throws AerospikeException an AerospikeException will be thrown in case of an error or if a name is not mapped on the class.
+     */
+    <T> T read(@NotNull Class<T> clazz, @NotNull Object userKey, String... binNames);
+
+    /**
+     * Read only the passed bins of a record from the repository and map them to an instance of the passed class. Only
+     * the fields mapped to these bins are set, the other fields are left as the constructor of the class set them.
+     *
+     * @param readPolicy - The read policy for the read operation.
+     * @param clazz      - The type of be returned.
+     * @param userKey    - The key of the record. The namespace and set will be derived from the values specified on the passed class.
+     * @param binNames   - The bins to read. These can be either bin names or the names of the fields mapped to them. If none
+     *                   are passed, every bin is read.
+     * @return The returned mapped record.
+     * @throws AerospikeException an AerospikeException will be thrown in case of an error or if a name is not mapped on the class.
+     */
+    <T> T read(Policy readPolicy, @NotNull Class<T> clazz, @NotNull Object userKey, String... binNames);
+
     /**
      * Read a batch of records from the repository and map them to an instance of the passed class.
      *
@@ -169,6 +253,61 @@ public interface IAeroMapper extends IBaseAeroMapper {
      */
     <T> T[] read(BatchPolicy batchPolicy, @NotNull Class<T> clazz, @NotNull Object[] userKeys, Operation... operations);
 
+    /**
+     * Read only the passed bins of a batch of records from the repository and map them to instances of the passed class.
+     * Only the fields mapped to these bins are set, the other fields are left as the constructor of the class set them.
+     *
+     * @param clazz    - The type of be returned.
+     * @param userKeys - The keys of the record. The namespace and set will be derived from the values specified on the passed class.
+     * @param binNames - The bins to read. These can be either bin names or the names of the fields mapped to them. If none
+     *                 are passed, every bin is read.
+     * @return The returned mapped records.
+     * @throws AerospikeException an AerospikeException will be thrown in case of an error or if a name is not mapped on the class.
+     */
+    <T> T[] read(@NotNull Class<T> clazz, @NotNull Object[] userKeys, String... binNames);
+
+    /**
+     * Read only the passed bins of a batch of records from the repository and map them to instances of the passed class.
+     * Only the fields mapped to these bins are set, the other fields are left as the constructor of the class set them.
+     *
+     * @param batchPolicy A given batch policy.
+     * @param clazz       - The type of be returned.
+     * @param userKeys    - The keys of the record. The namespace and set will be derived from the values specified on the passed class.
+     * @param binNames    - The bins to read. These can be either bin names or the names of the fields mapped to them. If none
+     *                    are passed, every bin is read.
+     * @return The returned mapped records.
+     * @throws AerospikeException an AerospikeException will be thrown in case of an error or if a name is not mapped on the class.
+     */
+    <T> T[] read(BatchPolicy batchPolicy, @NotNull Class<T> clazz, @NotNull Object[] userKeys, String... binNames);
+
+    /**
+     * Read a record from the repository and map it to an instance of the passed class, converting it and loading its
+     * references with the passed context. Once the read returns, the context holds the number of round trips and keys
+     * read to load the references, see {@link MappingContext#getReferenceRoundTrips()}. Objects the context has
+     * already loaded, for example by an earlier read passed the same context, are not read again.
+     *
+     * @param readPolicy - The read policy for the read operation.
+     * @param clazz      - The type of be returned.
+     * @param userKey    - The key of the record. The namespace and set will be derived from the values specified on the passed class.
+     * @param context    - The context to convert the record with.
+     * @return The returned mapped record.
+     * @throws AerospikeException an AerospikeException will be thrown in case of an error.
+     */
+    <T> T read(Policy readPolicy, @NotNull Class<T> clazz, @NotNull Object userKey, @NotNull MappingContext context);
+
+    /**
+     * Read a batch of records from the repository and map them to instances of the passed class, converting them and
+     * loading their references with the passed context, as {@link #read(Policy, Class, Object, MappingContext)} does.
+     *
+     * @param batchPolicy A given batch policy.
+     * @param clazz       - The type of be returned.
+     * @param userKeys    - The keys of the record. The namespace and set will be derived from the values specified on the passed class.
+     * @param context     - The context to convert the records with.
+     * @return The returned mapped records.
+     * @throws AerospikeException an AerospikeException will be thrown in case of an error.
+     */
+    <T> T[] read(BatchPolicy batchPolicy, @NotNull Class<T> clazz, @NotNull Object[] userKeys, @NotNull MappingContext context);
+
     /**
      * Delete a record by specifying a class and a user key.
      *
@@ -209,6 +348,50 @@ public interface IAeroMapper extends IBaseAeroMapper {
      */
     boolean delete(WritePolicy writePolicy, @NotNull Object object);
 
+    /**
+     * Delete the records of the passed class with the passed user keys in a single batch call. Each record is deleted with
+     * the write policy and durable delete setting of the class, as {@link #delete(Class, Object)} would.
+     *
+     * @param clazz    - The type of the records.
+     * @param userKeys - The keys of the records. The namespace and set will be derived from the values specified on the passed class.
+     * @return whether each record existed on server before deletion, in the order of the keys.
+     * @throws AerospikeException an AerospikeException will be thrown in case of an error, including a record which could not be deleted.
+     */
+    <T> boolean[] deleteAll(@NotNull Class<T> clazz, @NotNull Object[] userKeys);
+
+    /**
+     * Delete the records of the passed class with the passed user keys in a single batch call, as
+     * {@link #deleteAll(Class, Object[])} does, with the passed policy for the batch call.
+     *
+     * @param batchPolicy - The policy of the batch call, or null to use the client's default batch write policy.
+     * @param clazz       - The type of the records.
+     * @param userKeys    - The keys of the records. The namespace and set will be derived from the values specified on the passed class.
+     * @return whether each record existed on server before deletion, in the order of the keys.
+     * @throws AerospikeException an AerospikeException will be thrown in case of an error, including a record which could not be deleted.
+     */
+    <T> boolean[] deleteAll(BatchPolicy batchPolicy, @NotNull Class<T> clazz, @NotNull Object[] userKeys);
+
+    /**
+     * Delete the records of the passed objects in a single batch call. The objects can be of different classes, and each
+     * record is deleted with the write policy and durable delete setting of its class, as {@link #delete(Object)} would.
+     *
+     * @param objects The objects to delete.
+     * @return whether each record existed on server before deletion, in the order of the objects.
+     * @throws AerospikeException an AerospikeException will be thrown in case of an error, including a record which could not be deleted.
+     */
+    boolean[] deleteAll(@NotNull Object... objects);
+
+    /**
+     * Delete the records of the passed objects in a single batch call, as {@link #deleteAll(Object...)} does, with the
+     * passed policy for the batch call.
+     *
+     * @param batchPolicy - The policy of the batch call, or null to use the client's default batch write policy.
+     * @param objects     The objects to delete.
+     * @return whether each record existed on server before deletion, in the order of the objects.
+     * @throws AerospikeException an AerospikeException will be thrown in case of an error, including a record which could not be deleted.
+     */
+    boolean[] deleteAll(BatchPolicy batchPolicy, @NotNull Object... objects);
+
     /**
      * Find a record by specifying a class and a Boolean function.
      *
@@ -295,6 +478,41 @@ public interface IAeroMapper extends IBaseAeroMapper {
      */
     <T> List<T> scan(ScanPolicy policy, @NotNull Class<T> clazz);
 
+    /**
+     * Scan every record in the set associated with the passed class, reading only the passed bins. Each record will be converted
+     * to the appropriate class then passed to the processor, with only the fields mapped to the bins set. If the processor returns
+     * true, more records will be processed and if the processor returns false, the scan is aborted.
+     *
+     * @param policy    - the scan policy to use. If this is null, the default scan policy of the passed class will be used.
+     * @param clazz     - the class used to determine which set to scan and to convert the returned records to.
+     * @param processor - the Processor used to process each record
+     * @param binNames  - the bins to read. These can be either bin names or the names of the fields mapped to them. If none
+     *                  are passed, every bin is read.
+     */
+    <T> void scan(ScanPolicy policy, @NotNull Class<T> clazz, @NotNull Processor<T> processor, String... binNames);
+
+    /**
+     * Scan every record in the set associated with the passed class, reading only the passed bins,
+     * and returns the list of records converted to the appropriate class.
+     *
+     * @param policy   - the scan policy to use. If this is null, the default scan policy of the passed class will be used.
+     * @param clazz    - the class used to determine which set to scan and to convert the returned records to.
+     * @param binNames - the bins to read. These can be either bin names or the names of the fields mapped to them. If none
+     *                 are passed, every bin is read.
+     */
+    <T> List<T> scan(ScanPolicy policy, @NotNull Class<T> clazz, String... binNames);
+
+    /**
+     * Create a scan of every record of the passed class which reads ranges of partitions in parallel and converts and
+     * processes the records on a pool of workers, with a bounded queue between the two. The scan reports its progress
+     * and can be checkpointed and resumed. It is configured on the returned object and started with
+     * {@link ParallelScan#run(Processor)}.
+     *
+     * @param clazz - the class used to determine which set to scan and to convert the returned records to.
+     * @return the scan, which has not been started.
+     */
+    <T> ParallelScan<T> parallelScan(@NotNull Class<T> clazz);
+
     /**
      * Perform a secondary index query with the specified query policy. Each record will be converted
      * to the appropriate class then passed to the processor. If the processor returns false the query is aborted
@@ -347,6 +565,161 @@ public interface IAeroMapper extends IBaseAeroMapper {
      */
     <T> List<T> query(QueryPolicy policy, @NotNull Class<T> clazz, Filter filter);
 
+    /**
+     * Perform a secondary index query reading only the passed bins. Each record will be converted to the appropriate class,
+     * with only the fields mapped to the bins set, then passed to the processor. If the processor returns false the query is
+     * aborted whereas if the processor returns true subsequent records (if any) are processed.
+     *
+     * @param policy    - The query policy to use. If this parameter is not passed, the query policy associated with the passed classtype will be used
+     * @param clazz     - the class used to determine which set to scan and to convert the returned records to.
+     * @param processor - the Processor used to process each record
+     * @param filter    - the filter used to determine which secondary index to use. If this filter is null, every record in the set
+     *                  associated with the passed classtype will be scanned, effectively turning the query into a scan
+     * @param binNames  - the bins to read. These can be either bin names or the names of the fields mapped to them. If none
+     *                  are passed, every bin is read.
+     */
+    <T> void query(QueryPolicy policy, @NotNull Class<T> clazz, @NotNull Processor<T> processor, Filter filter, String... binNames);
+
+    /**
+     * Perform a secondary index query reading only the passed bins
+     * and returns the list of records converted to the appropriate class.
+     *
+     * @param policy   - The query policy to use. If this parameter is not passed, the query policy associated with the passed classtype will be used
+     * @param clazz    - the class used to determine which set to scan and to convert the returned records to.
+     * @param filter   - the filter used to determine which secondary index to use. If this filter is null, every record in the set
+     *                 associated with the passed classtype will be scanned, effectively turning the query into a scan
+     * @param binNames - the bins to read. These can be either bin names or the names of the fields mapped to them. If none
+     *                 are passed, every bin is read.
+     * @return List of records converted to the appropriate class
+     */
+    <T> List<T> query(QueryPolicy policy, @NotNull Class<T> clazz, Filter filter, String... binNames);
+
+    /**
+     * Scan every record of the passed class, returning a stream which reads the records as they are needed and converts
+     * each one as it is pulled. The scan uses the scan policy of the class, as {@link #scan(Class)} does. At most the
+     * default <code>recordQueueSize</code> of a query policy are read ahead, so memory use does not depend on the number
+     * of records. The stream must be closed, for example with try-with-resources, if it is not read to the end; closing
+     * it stops the scan on the server.
+     *
+     * @param clazz - the class used to determine which set to scan and to convert the returned records to.
+     * @return a stream of the records converted to the appropriate class.
+     */
+    <T> Stream<T> streamScan(@NotNull Class<T> clazz);
+
+    /**
+     * Scan every record of the passed class, returning a stream which reads the records as they are needed and converts
+     * each one as it is pulled. The scan is run as a query without a filter over every partition, so it takes a query
+     * policy. At most the <code>recordQueueSize</code> of the policy are read ahead. The stream must be closed if it is
+     * not read to the end; closing it stops the scan on the server.
+     *
+     * @param policy   - The query policy to use. If this is null, a query policy with the settings of the scan policy of
+     *                 the passed class will be used, and its <code>maxRecords</code> and <code>recordsPerSecond</code>
+     *                 limits are applied to the scan.
+     * @param clazz    - the class used to determine which set to scan and to convert the returned records to.
+     * @param binNames - the bins to read. These can be either bin names or the names of the fields mapped to them. If none
+     *                 are passed, every bin is read.
+     * @return a stream of the records converted to the appropriate class.
+     */
+    <T> Stream<T> streamScan(QueryPolicy policy, @NotNull Class<T> clazz, String... binNames);
+
+    /**
+     * Perform a secondary index query, returning a stream which reads the records as they are needed and converts each
+     * one as it is pulled. The stream must be closed if it is not read to the end; closing it stops the query on the server.
+     *
+     * @param clazz  - the class used to determine which set to query and to convert the returned records to.
+     * @param filter - the filter used to determine which secondary index to use. If this filter is null, every record in the set
+     *               associated with the passed classtype will be scanned, effectively turning the query into a scan
+     * @return a stream of the records converted to the appropriate class.
+     */
+    <T> Stream<T> streamQuery(@NotNull Class<T> clazz, Filter filter);
+
+    /**
+     * Perform a secondary index query, returning a stream which reads the records as they are needed and converts each
+     * one as it is pulled. At most the <code>recordQueueSize</code> of the policy are read ahead. The stream must be
+     * closed if it is not read to the end; closing it stops the query on the server.
+     *
+     * @param policy   - The query policy to use. If this is null, the query policy of the passed class will be used.
+     * @param clazz    - the class used to determine which set to query and to convert the returned records to.
+     * @param filter   - the filter used to determine which secondary index to use. If this filter is null, every record in the set
+     *                 associated with the passed classtype will be scanned, effectively turning the query into a scan
+     * @param binNames - the bins to read. These can be either bin names or the names of the fields mapped to them. If none
+     *                 are passed, every bin is read.
+     * @return a stream of the records converted to the appropriate class.
+     */
+    <T> Stream<T> streamQuery(QueryPolicy policy, @NotNull Class<T> clazz, Filter filter, String... binNames);
+
+    /**
+     * Find the records of the passed class matching a predicate, such as
+     * <code>where("age").gt(30).and("status").eq(Status.ACTIVE)</code>. The predicate is evaluated by the database: the
+     * most selective condition with a secondary index is used as the filter of a query, and the other conditions are
+     * evaluated by a filter expression. If no condition can use an index, the set is scanned with the expression.
+     *
+     * @param clazz     - the class used to determine which set to query and to convert the returned records to.
+     * @param predicate - the condition the records must meet.
+     * @return List of records converted to the appropriate class
+     */
+    <T> List<T> find(@NotNull Class<T> clazz, @NotNull Predicate predicate);
+
+    /**
+     * Find the records of the passed class matching a predicate. See {@link #find(Class, Predicate)}.
+     *
+     * @param policy    - The query policy to use. If this is null, the query policy of the passed class will be used. The
+     *                  policy must not have a filter expression if the plan needs one; add it to the predicate with
+     *                  <code>Predicate.exp</code> instead.
+     * @param clazz     - the class used to determine which set to query and to convert the returned records to.
+     * @param predicate - the condition the records must meet.
+     * @param binNames  - the bins to read. These can be either bin names or the names of the fields mapped to them. If none
+     *                  are passed, every mapped bin is read.
+     * @return List of records converted to the appropriate class
+     */
+    <T> List<T> find(QueryPolicy policy, @NotNull Class<T> clazz, @NotNull Predicate predicate, String... binNames);
+
+    /**
+     * Find the records of the passed class matching a predicate, passing each one to the processor. If the processor
+     * returns false the query is aborted. See {@link #find(Class, Predicate)}.
+     *
+     * @param policy    - The query policy to use. If this is null, the query policy of the passed class will be used.
+     * @param clazz     - the class used to determine which set to query and to convert the returned records to.
+     * @param processor - the Processor used to process each record
+     * @param predicate - the condition the records must meet.
+     * @param binNames  - the bins to read. These can be either bin names or the names of the fields mapped to them. If none
+     *                  are passed, every mapped bin is read.
+     */
+    <T> void find(QueryPolicy policy, @NotNull Class<T> clazz, @NotNull Processor<T> processor, @NotNull Predicate predicate,
+            String... binNames);
+
+    /**
+     * Find the records of the passed class matching a predicate, returning a stream which reads and converts them as
+     * they are pulled. The stream must be closed if it is not read to the end. See {@link #find(Class, Predicate)}.
+     *
+     * @param policy    - The query policy to use. If this is null, the query policy of the passed class will be used.
+     * @param clazz     - the class used to determine which set to query and to convert the returned records to.
+     * @param predicate - the condition the records must meet.
+     * @param binNames  - the bins to read. These can be either bin names or the names of the fields mapped to them. If none
+     *                  are passed, every mapped bin is read.
+     * @return a stream of the records converted to the appropriate class.
+     */
+    <T> Stream<T> streamFind(QueryPolicy policy, @NotNull Class<T> clazz, @NotNull Predicate predicate, String... binNames);
+
+    /**
+     * Return how a query of the passed class for the predicate would be run: the filter using a secondary index, if
+     * any, and the filter expression for the other conditions. The plan can be used with any query method, for example
+     * of the reactive mapper, by passing its filter and the policy returned by <code>applyTo</code>.
+     */
+    QueryPlan plan(@NotNull Class<?> clazz, @NotNull Predicate predicate);
+
+    /**
+     * Compile a predicate on the passed class to a filter expression, without using any index. The expression can be
+     * set as the <code>filterExp</code> of a copy of the policy of a read, batch read or scan.
+     */
+    Expression toFilterExpression(@NotNull Class<?> clazz, @NotNull Predicate predicate);
+
+    /**
+     * Return the secondary indexes known to the query planner. Call <code>refresh</code> on it after creating or
+     * dropping an index for the planner to use the change straight away.
+     */
+    IndexCatalog getIndexCatalog();
+
     /**
      * Create a virtual list against an attribute on a class. The list does all operations to the database and does not affect the underlying
      * class, and is useful for situation when operations are needed to affect the database without having to return all the elements on the
@@ -398,6 +771,13 @@ public interface IAeroMapper extends IBaseAeroMapper {
      * @return the underlying mapper.
      */
     IAerospikeClient getClient();
+
+    /**
+     * Get the hit and miss statistics of the entity cache of the passed class
+     * @param clazz - the class to retrieve the statistics of
+     * @return the statistics, or null if the records of the class are not cached
+     */
+    CacheStats getCacheStats(Class<?> clazz);
     
     /**
      * Get the namespace associated with the passed class
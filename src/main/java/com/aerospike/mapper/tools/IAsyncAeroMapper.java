@@ -0,0 +1,209 @@
+package com.aerospike.mapper.tools;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import javax.validation.constraints.NotNull;
+
+import com.aerospike.client.IAerospikeClient;
+import com.aerospike.client.policy.BatchPolicy;
+import com.aerospike.client.policy.Policy;
+import com.aerospike.client.policy.QueryPolicy;
+import com.aerospike.client.policy.ScanPolicy;
+import com.aerospike.client.policy.WritePolicy;
+import com.aerospike.client.query.Filter;
+
+/**
+ * A mapper whose operations return a <code>CompletableFuture</code> rather than blocking. Each operation is issued with the
+ * asynchronous methods of the client, so the calling thread is never blocked and the futures are completed on the client's
+ * event loop threads. Dependent stages should therefore not block either; use the <code>...Async</code> methods of the
+ * future with an executor for long-running work.
+ * <p/>
+ * The client must be created with event loops in its <code>ClientPolicy</code>.
+ */
+public interface IAsyncAeroMapper extends IBaseAeroMapper {
+
+    /**
+     * Save an object in the database. This method will perform a REPLACE on the existing record so any existing
+     * data will be overwritten by the data in the passed object.
+     *
+     * @param object   The object to save.
+     * @param binNames The bins to save. If none are passed, every mapped bin is saved.
+     * @return a future completed when the object has been saved.
+     */
+    CompletableFuture<Void> save(@NotNull Object object, String... binNames);
+
+    /**
+     * Save an object in the database with the given WritePolicy. This write policy will override any other set writePolicy so
+     * is effectively an upsert operation.
+     *
+     * @param writePolicy The write policy for the save operation.
+     * @param object      The object to save.
+     * @param binNames    The bins to save. If none are passed, every mapped bin is saved.
+     * @return a future completed when the object has been saved.
+     */
+    CompletableFuture<Void> save(@NotNull WritePolicy writePolicy, @NotNull Object object, String... binNames);
+
+    /**
+     * Updates the object in the database, merging the record with the existing record. This uses the RecordExistsAction
+     * of UPDATE. If bins are specified, only bins with the passed names will be updated (or all of them if null is passed)
+     *
+     * @param object   The object to update.
+     * @param binNames The bins to update.
+     * @return a future completed when the object has been updated.
+     */
+    CompletableFuture<Void> update(@NotNull Object object, String... binNames);
+
+    /**
+     * Save the objects in the database using batch writes, replacing any existing records. The objects can be of different
+     * classes. Each batch call writes at most the batch write size set on the builder; the calls are issued one after
+     * another. If a batch call fails as a whole no further calls are made, and the future completes exceptionally with a
+     * {@link com.aerospike.mapper.exceptions.BatchWriteException} carrying the result code of each object.
+     *
+     * @param objects The objects to save.
+     * @return a future of the result code of each object, in the iteration order of the collection.
+     * @see IAeroMapper#saveAll(Collection)
+     */
+    CompletableFuture<int[]> saveAll(@NotNull Collection<?> objects);
+
+    /**
+     * Save the objects in the database using batch writes, as {@link #saveAll(Collection)} does, with the passed policy
+     * for each batch call.
+     *
+     * @param batchPolicy The policy of each batch call, or null to use the client's default batch write policy.
+     * @param objects     The objects to save.
+     * @return a future of the result code of each object, in the iteration order of the collection.
+     */
+    CompletableFuture<int[]> saveAll(BatchPolicy batchPolicy, @NotNull Collection<?> objects);
+
+    /**
+     * Read a record from the repository and map it to an instance of the passed class. References to other objects are
+     * loaded asynchronously before the future is completed.
+     *
+     * @param clazz   - The type of the record.
+     * @param userKey - The key of the record. The namespace and set will be derived from the values specified on the passed class.
+     * @return a future of the mapped object, or of null if the record does not exist.
+     */
+    <T> CompletableFuture<T> read(@NotNull Class<T> clazz, @NotNull Object userKey);
+
+    /**
+     * Read a record from the repository and map it to an instance of the passed class.
+     *
+     * @param clazz               - The type of the record.
+     * @param userKey             - The key of the record. The namespace and set will be derived from the values specified on the passed class.
+     * @param resolveDependencies If true, any objects referenced by the record are loaded before the future is completed.
+     * @return a future of the mapped object, or of null if the record does not exist.
+     */
+    <T> CompletableFuture<T> read(@NotNull Class<T> clazz, @NotNull Object userKey, boolean resolveDependencies);
+
+    /**
+     * Read a record from the repository with the passed policy and map it to an instance of the passed class.
+     *
+     * @param readPolicy - The read policy for the read operation, or null to use the policy of the class.
+     * @param clazz      - The type of the record.
+     * @param userKey    - The key of the record. The namespace and set will be derived from the values specified on the passed class.
+     * @param binNames   - The bins to read. These can be either bin names or the names of the fields mapped to them. If none
+     *                   are passed, every bin is read.
+     * @return a future of the mapped object, or of null if the record does not exist.
+     */
+    <T> CompletableFuture<T> read(Policy readPolicy, @NotNull Class<T> clazz, @NotNull Object userKey, String... binNames);
+
+    /**
+     * Read a batch of records from the repository and map them to instances of the passed class. References of all the
+     * records are loaded together, one batch per level of references.
+     *
+     * @param clazz    - The type of the records.
+     * @param userKeys - The keys of the records. The namespace and set will be derived from the values specified on the passed class.
+     * @return a future of the mapped objects, in the order of the keys, with null for records which do not exist.
+     */
+    <T> CompletableFuture<T[]> read(@NotNull Class<T> clazz, @NotNull Object[] userKeys);
+
+    /**
+     * Read a batch of records from the repository with the passed policy and map them to instances of the passed class.
+     *
+     * @param batchPolicy - The batch policy for the read operation, or null to use the policy of the class.
+     * @param clazz       - The type of the records.
+     * @param userKeys    - The keys of the records. The namespace and set will be derived from the values specified on the passed class.
+     * @param binNames    - The bins to read. These can be either bin names or the names of the fields mapped to them. If none
+     *                    are passed, every bin is read.
+     * @return a future of the mapped objects, in the order of the keys, with null for records which do not exist.
+     */
+    <T> CompletableFuture<T[]> read(BatchPolicy batchPolicy, @NotNull Class<T> clazz, @NotNull Object[] userKeys, String... binNames);
+
+    /**
+     * Delete a record by specifying a class and a user key.
+     *
+     * @param clazz   - The type of the record.
+     * @param userKey - The key of the record. The namespace and set will be derived from the values specified on the passed class.
+     * @return a future of whether the record existed on server before deletion.
+     */
+    <T> CompletableFuture<Boolean> delete(@NotNull Class<T> clazz, @NotNull Object userKey);
+
+    /**
+     * Delete a record by specifying a write policy, a class and a user key.
+     *
+     * @param writePolicy - The write policy for the delete operation, or null to use the delete policy of the class.
+     * @param clazz       - The type of the record.
+     * @param userKey     - The key of the record. The namespace and set will be derived from the values specified on the passed class.
+     * @return a future of whether the record existed on server before deletion.
+     */
+    <T> CompletableFuture<Boolean> delete(WritePolicy writePolicy, @NotNull Class<T> clazz, @NotNull Object userKey);
+
+    /**
+     * Delete a record by specifying an object.
+     *
+     * @param object The object to delete.
+     * @return a future of whether the record existed on server before deletion.
+     */
+    CompletableFuture<Boolean> delete(@NotNull Object object);
+
+    /**
+     * Delete a record by specifying a write policy and an object.
+     *
+     * @param writePolicy - The write policy for the delete operation, or null to use the delete policy of the class.
+     * @param object      The object to delete.
+     * @return a future of whether the record existed on server before deletion.
+     */
+    CompletableFuture<Boolean> delete(WritePolicy writePolicy, @NotNull Object object);
+
+    /**
+     * Delete the records of the passed class with the passed user keys in a single batch call.
+     *
+     * @param batchPolicy - The policy of the batch call, or null to use the client's default batch write policy.
+     * @param clazz       - The type of the records.
+     * @param userKeys    - The keys of the records. The namespace and set will be derived from the values specified on the passed class.
+     * @return a future of whether each record existed on server before deletion, in the order of the keys. The future is
+     * completed exceptionally if a record could not be deleted.
+     * @see IAeroMapper#deleteAll(BatchPolicy, Class, Object[])
+     */
+    <T> CompletableFuture<boolean[]> deleteAll(BatchPolicy batchPolicy, @NotNull Class<T> clazz, @NotNull Object[] userKeys);
+
+    /**
+     * Scan every record in the set of the passed class and map them to instances of the class. The references of all the
+     * records are loaded together once the scan has completed.
+     *
+     * @param policy - The scan policy to use, or null to use the scan policy of the class.
+     * @param clazz  - The type of the records.
+     * @return a future of the mapped objects.
+     */
+    <T> CompletableFuture<List<T>> scan(ScanPolicy policy, @NotNull Class<T> clazz);
+
+    /**
+     * Perform a secondary index query with the specified query policy and map the records to instances of the passed class.
+     * The references of all the records are loaded together once the query has completed.
+     *
+     * @param policy - The query policy to use, or null to use the query policy of the class.
+     * @param clazz  - The type of the records.
+     * @param filter - The filter of the query, or null to read the whole set.
+     * @return a future of the mapped objects.
+     */
+    <T> CompletableFuture<List<T>> query(QueryPolicy policy, @NotNull Class<T> clazz, Filter filter);
+
+    /**
+     * Return the underlying Aerospike client.
+     *
+     * @return the underlying client.
+     */
+    IAerospikeClient getClient();
+}
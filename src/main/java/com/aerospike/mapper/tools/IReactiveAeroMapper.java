@@ -127,6 +127,33 @@ public interface IReactiveAeroMapper extends IBaseAeroMapper {
      */
     <T> Mono<T> read(Policy readPolicy, @NotNull Class<T> clazz, @NotNull Object userKey, boolean resolveDependencies);
 
+    /**
+     * Read only the passed bins of a record from the repository and map them to an instance of the passed class. Only
+     * the fields mapped to these bins are set, the other fields are left as the constructor of the class set them.
+     *
+     * @param clazz    - The type of the record.
+     * @param userKey  - The key of the record. The namespace and set will be derived from the values specified on the passed class.
+     * @param binNames - The bins to read. These can be either bin names or the names of the fields mapped to them. If none
+     *                 are passed, every bin is read.
+     * @return The returned mapped record.
+     * @throws AerospikeException an AerospikeException will be thrown in case of an error or if a name is not mapped on the class.
+     */
+    <T> Mono<T> read(@NotNull Class<T> clazz, @NotNull Object userKey, String... binNames);
+
+    /**
+     * Read only the passed bins of a record from the repository and map them to an instance of the passed class. Only
+     * the fields mapped to these bins are set, the other fields are left as the constructor of the class set them.
+     *
+     * @param readPolicy - The read policy for the read operation.
+     * @param clazz      - The type of the record.
+     * @param userKey    - The key of the record. The namespace and set will be derived from the values specified on the passed class.
+     * @param binNames   - The bins to read. These can be either bin names or the names of the fields mapped to them. If none
+     *                   are passed, every bin is read.
+     * @return The returned mapped record.
+     * @throws AerospikeException an AerospikeException will be thrown in case of an error or if a name is not mapped on the class.
+     */
+    <T> Mono<T> read(Policy readPolicy, @NotNull Class<T> clazz, @NotNull Object userKey, String... binNames);
+
     /**
      * Read a batch of records from the repository and map them to an instance of the passed class.
      *
@@ -171,6 +198,33 @@ public interface IReactiveAeroMapper extends IBaseAeroMapper {
      */
     <T> Flux<T> read(BatchPolicy batchPolicy, @NotNull Class<T> clazz, @NotNull Object[] userKeys, Operation... operations);
 
+    /**
+     * Read only the passed bins of a batch of records from the repository and map them to instances of the passed class.
+     * Only the fields mapped to these bins are set, the other fields are left as the constructor of the class set them.
+     *
+     * @param clazz    - The type of the record.
+     * @param userKeys - The keys of the record. The namespace and set will be derived from the values specified on the passed class.
+     * @param binNames - The bins to read. These can be either bin names or the names of the fields mapped to them. If none
+     *                 are passed, every bin is read.
+     * @return The returned mapped records.
+     * @throws AerospikeException an AerospikeException will be thrown in case of an error or if a name is not mapped on the class.
+     */
+    <T> Flux<T> read(@NotNull Class<T> clazz, @NotNull Object[] userKeys, String... binNames);
+
+    /**
+     * Read only the passed bins of a batch of records from the repository and map them to instances of the passed class.
+     * Only the fields mapped to these bins are set, the other fields are left as the constructor of the class set them.
+     *
+     * @param batchPolicy A given batch policy.
+     * @param clazz       - The type of the record.
+     * @param userKeys    - The keys of the record. The namespace and set will be derived from the values specified on the passed class.
+     * @param binNames    - The bins to read. These can be either bin names or the names of the fields mapped to them. If none
+     *                    are passed, every bin is read.
+     * @return The returned mapped records.
+     * @throws AerospikeException an AerospikeException will be thrown in case of an error or if a name is not mapped on the class.
+     */
+    <T> Flux<T> read(BatchPolicy batchPolicy, @NotNull Class<T> clazz, @NotNull Object[] userKeys, String... binNames);
+
     /**
      * Delete a record by specifying a class and a user key.
      *
@@ -211,6 +265,50 @@ public interface IReactiveAeroMapper extends IBaseAeroMapper {
      */
     Mono<Boolean> delete(WritePolicy writePolicy, @NotNull Object object);
 
+    /**
+     * Delete the records of the passed class with the passed user keys in a single batch call. Each record is deleted with
+     * the write policy and durable delete setting of the class, as {@link #delete(Class, Object)} would.
+     *
+     * @param clazz    - The type of the records.
+     * @param userKeys - The keys of the records. The namespace and set will be derived from the values specified on the passed class.
+     * @return whether each record existed on server before deletion, in the order of the keys.
+     * @throws AerospikeException an AerospikeException will be thrown in case of an error, including a record which could not be deleted.
+     */
+    <T> Mono<boolean[]> deleteAll(@NotNull Class<T> clazz, @NotNull Object[] userKeys);
+
+    /**
+     * Delete the records of the passed class with the passed user keys in a single batch call, with the passed policy for
+     * the batch call.
+     *
+     * @param batchPolicy - The policy of the batch call, or null to use the client's default batch write policy.
+     * @param clazz       - The type of the records.
+     * @param userKeys    - The keys of the records. The namespace and set will be derived from the values specified on the passed class.
+     * @return whether each record existed on server before deletion, in the order of the keys.
+     * @throws AerospikeException an AerospikeException will be thrown in case of an error, including a record which could not be deleted.
+     */
+    <T> Mono<boolean[]> deleteAll(BatchPolicy batchPolicy, @NotNull Class<T> clazz, @NotNull Object[] userKeys);
+
+    /**
+     * Delete the records of the passed objects in one batch call. The objects can be of different classes: each record is
+     * deleted with the write policy and durable delete setting of its class.
+     *
+     * @param objects The objects to delete.
+     * @return whether each record existed on server before deletion, in the order of the objects.
+     * @throws AerospikeException an AerospikeException will be thrown in case of an error, including a record which could not be deleted.
+     */
+    Mono<boolean[]> deleteAll(@NotNull Object... objects);
+
+    /**
+     * Delete the records of the passed objects, as {@link #deleteAll(Object...)} does, with the passed policy for the
+     * batch call.
+     *
+     * @param batchPolicy - The policy of the batch call, or null to use the client's default batch write policy.
+     * @param objects     The objects to delete.
+     * @return whether each record existed on server before deletion, in the order of the objects.
+     * @throws AerospikeException an AerospikeException will be thrown in case of an error, including a record which could not be deleted.
+     */
+    Mono<boolean[]> deleteAll(BatchPolicy batchPolicy, @NotNull Object... objects);
+
     /**
      * Find a record by specifying a class and a Boolean function.
      *
@@ -256,6 +354,17 @@ public interface IReactiveAeroMapper extends IBaseAeroMapper {
      */
     <T> Flux<T> scan(ScanPolicy policy, @NotNull Class<T> clazz, int recordsPerSecond);
 
+    /**
+     * Scan every record in the set associated with the passed class, reading only the passed bins. Each record will be converted
+     * to the appropriate class with only the fields mapped to the bins set.
+     *
+     * @param policy   - the scan policy to use. If this is null, the default scan policy of the passed class will be used.
+     * @param clazz    - the class used to determine which set to scan and to convert the returned records to.
+     * @param binNames - the bins to read. These can be either bin names or the names of the fields mapped to them. If none
+     *                 are passed, every bin is read.
+     */
+    <T> Flux<T> scan(ScanPolicy policy, @NotNull Class<T> clazz, String... binNames);
+
     /**
      * Perform a secondary index query with the specified query policy. Each record will be converted
      * to the appropriate class then passed to the processor. If the processor returns false the query is aborted
@@ -281,6 +390,19 @@ public interface IReactiveAeroMapper extends IBaseAeroMapper {
      */
     <T> Flux<T> query(QueryPolicy policy, @NotNull Class<T> clazz, Filter filter);
 
+    /**
+     * Perform a secondary index query reading only the passed bins. Each record will be converted to the appropriate class
+     * with only the fields mapped to the bins set.
+     *
+     * @param policy   - The query policy to use. If this parameter is not passed, the query policy associated with the passed classtype will be used
+     * @param clazz    - the class used to determine which set to scan and to convert the returned records to.
+     * @param filter   - the filter used to determine which secondary index to use. If this filter is null, every record in the set
+     *                 associated with the passed classtype will be scanned, effectively turning the query into a scan
+     * @param binNames - the bins to read. These can be either bin names or the names of the fields mapped to them. If none
+     *                 are passed, every bin is read.
+     */
+    <T> Flux<T> query(QueryPolicy policy, @NotNull Class<T> clazz, Filter filter, String... binNames);
+
     /**
      * Create a reactive virtual list against an attribute on a class. The list does all operations to the database and does not affect the underlying
      * class, and is useful for situation when operations are needed to affect the database without having to return all the elements on the
@@ -0,0 +1,156 @@
+package com.aerospike.mapper.tools;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.aerospike.client.AerospikeException;
+
+/**
+ * The steps to create an object of a class from a list written by <code>ClassCacheEntry.getList</code>, worked out
+ * once per class.
+ * <p/>
+ * Such a list holds the values of the class followed by those of each superclass, with a <code>@V&lt;n&gt;</code>
+ * marker at the end for each class with a version greater than 1. Which values a class wrote depends on its version
+ * at the time, and which of those are still mapped depends on its version now. For each class and stored version the
+ * plan holds the slot of the {@link HydrationPlan} each list element goes to, or -1 to skip the element, so decoding a
+ * list is a single pass with no version checks.
+ *
+ * @author timfaulkes
+ */
+class ListDecodePlan<T> {
+    /**
+     * Stored versions up to this are cached in an array indexed by the version, later ones are resolved on every call.
+     */
+    private static final int MAX_CACHED_VERSION = 1024;
+
+    private final HydrationPlan<T> hydrationPlan;
+    private final Level[] levels;
+
+    ListDecodePlan(HydrationPlan<T> hydrationPlan, List<Level> levels) {
+        this.hydrationPlan = hydrationPlan;
+        this.levels = levels.toArray(new Level[0]);
+    }
+
+    /**
+     * Create and populate an object from a list.
+     *
+     * @param endIndex The index after the last element to decode, excluding any type marker at the end of the list.
+     */
+    T constructAndHydrate(List<Object> list, int endIndex, MappingContext context) throws ReflectiveOperationException {
+        Object[] slots = new Object[hydrationPlan.getSlotCount()];
+        boolean[] present = new boolean[slots.length];
+        collect(list, endIndex, slots, present);
+        return hydrationPlan.constructAndHydrate(slots, present, context);
+    }
+
+    /**
+     * Populate an existing object from a list.
+     */
+    void hydrate(List<Object> list, int endIndex, Object instance, MappingContext context) throws ReflectiveOperationException {
+        Object[] slots = new Object[hydrationPlan.getSlotCount()];
+        boolean[] present = new boolean[slots.length];
+        collect(list, endIndex, slots, present);
+        hydrationPlan.hydrate(slots, present, instance, context);
+    }
+
+    private void collect(List<Object> list, int endIndex, Object[] slots, boolean[] present) {
+        int index = 0;
+        for (Level level : levels) {
+            if (index >= endIndex) {
+                break;
+            }
+            int recordVersion = parseVersion(list.get(endIndex - 1));
+            if (recordVersion > 0) {
+                endIndex--;
+            } else {
+                recordVersion = 1;
+            }
+            for (int slot : level.actionsFor(recordVersion)) {
+                if (index >= endIndex) {
+                    break;
+                }
+                Object aerospikeValue = list.get(index++);
+                if (slot >= 0) {
+                    slots[slot] = aerospikeValue;
+                    present[slot] = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Return the version held in a <code>@V&lt;n&gt;</code> marker, or 0 if the value is not a version marker.
+     */
+    static int parseVersion(Object value) {
+        if (!(value instanceof String)) {
+            return 0;
+        }
+        String marker = (String) value;
+        if (!marker.startsWith(ClassCacheEntry.VERSION_PREFIX)) {
+            return 0;
+        }
+        int length = marker.length();
+        int start = ClassCacheEntry.VERSION_PREFIX.length();
+        if (length == start || length - start > 9) {
+            throw new AerospikeException("Invalid version marker " + marker);
+        }
+        int result = 0;
+        for (int i = start; i < length; i++) {
+            char c = marker.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new AerospikeException("Invalid version marker " + marker);
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    /**
+     * The values one class in the hierarchy writes to a list, in the order they are written.
+     */
+    static final class Level {
+        private final int objectVersion;
+        private final int[] slots;
+        private final int[] minimumVersions;
+        private final int[] maximumVersions;
+        private volatile int[][] actionsByVersion = new int[0][];
+
+        Level(int objectVersion, int[] slots, int[] minimumVersions, int[] maximumVersions) {
+            this.objectVersion = objectVersion;
+            this.slots = slots;
+            this.minimumVersions = minimumVersions;
+            this.maximumVersions = maximumVersions;
+        }
+
+        int[] actionsFor(int recordVersion) {
+            int[][] cached = this.actionsByVersion;
+            if (recordVersion < cached.length && cached[recordVersion] != null) {
+                return cached[recordVersion];
+            }
+            int[] actions = resolve(recordVersion);
+            if (recordVersion <= MAX_CACHED_VERSION) {
+                synchronized (this) {
+                    int[][] current = this.actionsByVersion;
+                    int[][] updated = Arrays.copyOf(current, Math.max(current.length, recordVersion + 1));
+                    updated[recordVersion] = actions;
+                    this.actionsByVersion = updated;
+                }
+            }
+            return actions;
+        }
+
+        private int[] resolve(int recordVersion) {
+            int[] actions = new int[slots.length];
+            int count = 0;
+            for (int i = 0; i < slots.length; i++) {
+                // Only values which existed in the stored version of the class were written
+                if (minimumVersions[i] <= recordVersion && recordVersion <= maximumVersions[i]) {
+                    // Values which no longer exist in this version of the class are skipped
+                    boolean inObject = minimumVersions[i] <= objectVersion && objectVersion <= maximumVersions[i];
+                    actions[count++] = inObject ? slots[i] : -1;
+                }
+            }
+            return Arrays.copyOf(actions, count);
+        }
+    }
+}
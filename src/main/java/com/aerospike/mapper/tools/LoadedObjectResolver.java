@@ -1,42 +1,32 @@
 package com.aerospike.mapper.tools;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import com.aerospike.client.Key;
 
+/**
+ * Track the objects loaded by the mapping on the current thread, so objects which refer to each other resolve to the
+ * same instances. The objects are held by the <code>MappingContext</code> bound to the current thread and are cleared
+ * when the outermost <code>begin</code> is ended. The mapper passes an explicit context to each operation instead; these
+ * methods are kept for code which still uses the thread bound state.
+ */
 public class LoadedObjectResolver {
 
-    private static class LoadedObjectMap {
-        private int referenceCount = 0;
-        private final Map<Key, Object> objectMap = new HashMap<>();
-    }
-
-    private static final ThreadLocal<LoadedObjectMap> threadLocalObjects = ThreadLocal.withInitial(LoadedObjectMap::new);
-
     public static void begin() {
-        LoadedObjectMap map = threadLocalObjects.get();
-        map.referenceCount++;
+        MappingContext.forCurrentThread().referenceCount++;
     }
 
     public static void end() {
-        LoadedObjectMap map = threadLocalObjects.get();
-        map.referenceCount--;
-        if (map.referenceCount == 0) {
-            map.objectMap.clear();
+        MappingContext context = MappingContext.forCurrentThread();
+        context.referenceCount--;
+        if (context.referenceCount == 0) {
+            context.clearLoadedObjects();
         }
     }
 
     public static void setObjectForCurrentKey(Object object) {
-        Key currentKey = ThreadLocalKeySaver.get();
-        LoadedObjectMap map = threadLocalObjects.get();
-        if (currentKey != null) {
-            map.objectMap.put(currentKey, object);
-        }
+        MappingContext.forCurrentThread().setObjectForCurrentKey(object);
     }
 
     public static Object get(Key key) {
-        LoadedObjectMap map = threadLocalObjects.get();
-        return map.objectMap.get(key);
+        return MappingContext.forCurrentThread().getLoadedObject(key);
     }
-}
\ No newline at end of file
+}
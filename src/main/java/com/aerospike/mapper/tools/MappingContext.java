@@ -0,0 +1,168 @@
+package com.aerospike.mapper.tools;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.aerospike.client.Key;
+import com.aerospike.mapper.tools.DeferredObjectLoader.DeferredObjectSetter;
+
+/**
+ * The state of one mapping operation: the keys of the records being converted, the references deferred to be loaded
+ * in batches, and the objects already loaded by their keys so that objects referring to each other resolve to the
+ * same instances.
+ * <p/>
+ * A context is created for each read and passed down through the class cache entries, values and type mappers, so the
+ * mapping does not depend on the thread it runs on. A context is not thread safe itself: records converted on
+ * different threads must use different contexts, which can share a concurrent map of loaded objects.
+ * <p/>
+ * Code which converts records without passing a context uses the context bound to the current thread, which is also
+ * the state behind the static <code>ThreadLocalKeySaver</code>, <code>DeferredObjectLoader</code> and
+ * <code>LoadedObjectResolver</code> methods.
+ *
+ * @author timfaulkes
+ */
+public class MappingContext {
+    private static final ThreadLocal<MappingContext> threadContext = ThreadLocal.withInitial(MappingContext::new);
+
+    /**
+     * The stack of keys being converted, as A can load B which can load C, and C needs B's key, not A's.
+     */
+    private final Deque<Key> keys = new ArrayDeque<>();
+    private final List<DeferredObjectSetter> deferredObjects = new ArrayList<>();
+    private final Map<Key, Object> loadedObjects;
+    /**
+     * The nesting of <code>LoadedObjectResolver.begin</code> calls on the context bound to a thread.
+     */
+    int referenceCount = 0;
+    private int referenceRoundTrips = 0;
+    private int referenceKeysLoaded = 0;
+    private boolean deferAllReferences = false;
+
+    public MappingContext() {
+        this(new HashMap<>());
+    }
+
+    /**
+     * Create a context which records the objects it loads in the passed map. The map must be safe for concurrent use if
+     * it is shared with contexts used on other threads.
+     */
+    public MappingContext(Map<Key, Object> loadedObjects) {
+        this.loadedObjects = loadedObjects;
+    }
+
+    /**
+     * Return the context bound to the current thread, used by code which does not pass a context.
+     */
+    public static MappingContext forCurrentThread() {
+        return threadContext.get();
+    }
+
+    /**
+     * Start converting the record with the passed key. Each call must be matched by a call to {@link #popKey()}.
+     */
+    public void pushKey(Key key) {
+        keys.addLast(key);
+    }
+
+    public void popKey() {
+        keys.removeLast();
+    }
+
+    /**
+     * Return the key of the record being converted, or null if there is none.
+     */
+    public Key getCurrentKey() {
+        return keys.peekLast();
+    }
+
+    /**
+     * Add a reference to be loaded once the current level of records has been converted.
+     */
+    public void addDeferredObject(DeferredObjectSetter deferredObject) {
+        deferredObjects.add(deferredObject);
+    }
+
+    public List<DeferredObjectSetter> getDeferredObjects() {
+        return deferredObjects;
+    }
+
+    /**
+     * Return the deferred references and clear them from this context.
+     */
+    public List<DeferredObjectSetter> takeDeferredObjects() {
+        List<DeferredObjectSetter> result = new ArrayList<>(deferredObjects);
+        deferredObjects.clear();
+        return result;
+    }
+
+    public void clearDeferredObjects() {
+        deferredObjects.clear();
+    }
+
+    /**
+     * Return whether every reference which is not lazy is deferred, including those with <code>batchLoad = false</code>
+     * which are otherwise read straight away. Mappers which resolve references without blocking set this, so converting
+     * a record never reads from the database.
+     */
+    public boolean isDeferAllReferences() {
+        return deferAllReferences;
+    }
+
+    public void setDeferAllReferences(boolean deferAllReferences) {
+        this.deferAllReferences = deferAllReferences;
+    }
+
+    /**
+     * Record the object created for the record being converted, so references to the record (for example from an
+     * object it refers to) resolve to this object.
+     */
+    public void setObjectForCurrentKey(Object object) {
+        Key currentKey = keys.peekLast();
+        if (currentKey != null && object != null) {
+            loadedObjects.put(currentKey, object);
+        }
+    }
+
+    public Object getLoadedObject(Key key) {
+        return loadedObjects.get(key);
+    }
+
+    public void putLoadedObject(Key key, Object object) {
+        loadedObjects.put(key, object);
+    }
+
+    public Map<Key, Object> getLoadedObjects() {
+        return loadedObjects;
+    }
+
+    public void clearLoadedObjects() {
+        loadedObjects.clear();
+    }
+
+    /**
+     * Record that references were loaded with the passed number of calls to the database, reading the passed number
+     * of keys.
+     */
+    public void addReferenceReads(int roundTrips, int keys) {
+        referenceRoundTrips += roundTrips;
+        referenceKeysLoaded += keys;
+    }
+
+    /**
+     * The number of calls to the database made to load references in this context.
+     */
+    public int getReferenceRoundTrips() {
+        return referenceRoundTrips;
+    }
+
+    /**
+     * The number of distinct keys read to load references in this context.
+     */
+    public int getReferenceKeysLoaded() {
+        return referenceKeysLoaded;
+    }
+}
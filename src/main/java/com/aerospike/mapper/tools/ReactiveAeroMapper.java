@@ -1,15 +1,23 @@
 package com.aerospike.mapper.tools;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import javax.validation.constraints.NotNull;
 
 import com.aerospike.client.AerospikeException;
+import com.aerospike.client.BatchRead;
+import com.aerospike.client.BatchRecord;
 import com.aerospike.client.Bin;
 import com.aerospike.client.Key;
 import com.aerospike.client.Operation;
+import com.aerospike.client.Record;
 import com.aerospike.client.Value;
 import com.aerospike.client.policy.BatchPolicy;
 import com.aerospike.client.policy.Policy;
@@ -21,6 +29,7 @@ import com.aerospike.client.query.Filter;
 import com.aerospike.client.query.KeyRecord;
 import com.aerospike.client.query.Statement;
 import com.aerospike.client.reactor.IAerospikeReactorClient;
+import com.aerospike.mapper.tools.DeferredObjectLoader.DeferredObjectSetter;
 import com.aerospike.mapper.tools.converters.MappingConverter;
 import com.aerospike.mapper.tools.utils.MapperUtils;
 import com.aerospike.mapper.tools.virtuallist.ReactiveVirtualList;
@@ -33,6 +42,8 @@ public class ReactiveAeroMapper implements IReactiveAeroMapper {
     private final IAerospikeReactorClient reactorClient;
     private final IAeroMapper aeroMapper;
     private final MappingConverter mappingConverter;
+    private int referenceWindowSize;
+    private Duration referenceWindowTime;
 
     /**
      * Create a new Builder to instantiate the AeroMapper. 
@@ -40,10 +51,38 @@ public class ReactiveAeroMapper implements IReactiveAeroMapper {
      *
      */
     public static class Builder extends AbstractBuilder<ReactiveAeroMapper> {
+        private final ReactiveAeroMapper reactiveAeroMapper;
+
         public Builder(IAerospikeReactorClient reactorClient) {
-            super(new ReactiveAeroMapper(reactorClient));
+            this(new ReactiveAeroMapper(reactorClient));
             ClassCache.getInstance().setReactiveDefaultPolicies(reactorClient);
         }
+
+        private Builder(ReactiveAeroMapper reactiveAeroMapper) {
+            super(reactiveAeroMapper);
+            this.reactiveAeroMapper = reactiveAeroMapper;
+        }
+
+        /**
+         * Resolve the references of batch reads, scans and queries across windows of records rather than record by record.
+         * The records are buffered until <code>maxSize</code> have arrived or <code>maxTime</code> has passed, then the
+         * references of the whole window are loaded with one batch per level and the objects are emitted in order.
+         *
+         * @param maxSize The maximum number of records in a window.
+         * @param maxTime The maximum time to wait for a window to fill, or null to wait until it is full or the results end.
+         * @return this builder.
+         */
+        public Builder withReferenceWindow(int maxSize, Duration maxTime) {
+            if (maxSize <= 0) {
+                throw new AerospikeException("Reference window size must be greater than 0, not " + maxSize);
+            }
+            if (maxTime != null && (maxTime.isZero() || maxTime.isNegative())) {
+                throw new AerospikeException("Reference window time must be positive, not " + maxTime);
+            }
+            reactiveAeroMapper.referenceWindowSize = maxSize;
+            reactiveAeroMapper.referenceWindowTime = maxTime;
+            return this;
+        }
     }
     
     private ReactiveAeroMapper(@NotNull IAerospikeReactorClient reactorClient) {
@@ -73,21 +112,7 @@ public class ReactiveAeroMapper implements IReactiveAeroMapper {
         Class<T> clazz = (Class<T>) object.getClass();
         ClassCacheEntry<T> entry = MapperUtils.getEntryAndValidateNamespace(clazz, this);
         if (writePolicy == null) {
-            writePolicy = new WritePolicy(entry.getWritePolicy());
-            if (recordExistsAction != null) {
-                writePolicy.recordExistsAction = recordExistsAction;
-            }
-            
-            // #132 -- Only override the TTL / send key if the policy was not passed in.
-            Integer ttl = entry.getTtl();
-            Boolean sendKey = entry.getSendKey();
-
-            if (ttl != null) {
-                writePolicy.expiration = ttl;
-            }
-            if (sendKey != null) {
-                writePolicy.sendKey = sendKey;
-            }
+            writePolicy = entry.getEffectiveWritePolicy(recordExistsAction);
         }
 
         String set = entry.getSetName();
@@ -101,6 +126,8 @@ public class ReactiveAeroMapper implements IReactiveAeroMapper {
 
         return reactorClient
                 .put(writePolicy, key, bins)
+                .doOnTerminate(() -> entry.invalidateCachedRecord(key))
+                .doOnCancel(() -> entry.invalidateCachedRecord(key))
                 .map(docKey -> object);
     }
 
@@ -159,6 +186,19 @@ public class ReactiveAeroMapper implements IReactiveAeroMapper {
         return read(readPolicy, clazz, key, entry, resolveDependencies);
     }
 
+    @Override
+    public <T> Mono<T> read(@NotNull Class<T> clazz, @NotNull Object userKey, String... binNames) {
+        return read(null, clazz, userKey, binNames);
+    }
+
+    @Override
+    public <T> Mono<T> read(Policy readPolicy, @NotNull Class<T> clazz, @NotNull Object userKey, String... binNames) {
+        ClassCacheEntry<T> entry = MapperUtils.getEntryAndValidateNamespace(clazz, this);
+        String set = entry.getSetName();
+        Key key = new Key(entry.getNamespace(), set, Value.get(entry.translateKeyToAerospikeKey(userKey)));
+        return read(readPolicy, clazz, key, entry, true, entry.toBinNames(binNames));
+    }
+
     @Override
     public <T> Flux<T> read(@NotNull Class<T> clazz, @NotNull Object[] userKeys) {
         return read(null, clazz, userKeys);
@@ -190,24 +230,47 @@ public class ReactiveAeroMapper implements IReactiveAeroMapper {
         return readBatch(batchPolicy, clazz, keys, entry, operations);
     }
 
+    @Override
+    public <T> Flux<T> read(@NotNull Class<T> clazz, @NotNull Object[] userKeys, String... binNames) {
+        return read(null, clazz, userKeys, binNames);
+    }
+
+    @Override
+    public <T> Flux<T> read(BatchPolicy batchPolicy, @NotNull Class<T> clazz, @NotNull Object[] userKeys, String... binNames) {
+        ClassCacheEntry<T> entry = MapperUtils.getEntryAndValidateNamespace(clazz, this);
+        String set = entry.getSetName();
+        String[] projection = entry.toBinNames(binNames);
+        List<BatchRead> batchReads = new ArrayList<>(userKeys.length);
+        for (int i = 0; i < userKeys.length; i++) {
+            if (userKeys[i] == null) {
+                throw new AerospikeException("Cannot pass null to object " + i + " in multi-read call");
+            } else {
+                Key key = new Key(entry.getNamespace(), set, Value.get(entry.translateKeyToAerospikeKey(userKeys[i])));
+                batchReads.add(projection == null || projection.length == 0 ? new BatchRead(key, true) : new BatchRead(key, projection));
+            }
+        }
+        if (batchPolicy == null) {
+            batchPolicy = entry.getBatchPolicy();
+        }
+
+        return convertAll(clazz, reactorClient.getFlux(batchPolicy, batchReads)
+                .filter(batchRead -> Objects.nonNull(batchRead.record))
+                .map(batchRead -> new KeyRecord(batchRead.key, batchRead.record)), entry, projection);
+    }
+
     private <T> Mono<T> read(Policy readPolicy, @NotNull Class<T> clazz, @NotNull Key key, @NotNull ClassCacheEntry<T> entry, boolean resolveDependencies) {
+        return read(readPolicy, clazz, key, entry, resolveDependencies, null);
+    }
+
+    private <T> Mono<T> read(Policy readPolicy, @NotNull Class<T> clazz, @NotNull Key key, @NotNull ClassCacheEntry<T> entry,
+                             boolean resolveDependencies, String[] binNames) {
         if (readPolicy == null) {
             readPolicy = entry.getReadPolicy();
         }
 
-        return reactorClient
-                .get(readPolicy, key)
+        return (binNames == null || binNames.length == 0 ? reactorClient.get(readPolicy, key) : reactorClient.get(readPolicy, key, binNames))
                 .filter(keyRecord -> Objects.nonNull(keyRecord.record))
-                .map(keyRecord -> {
-                    try {
-                        ThreadLocalKeySaver.save(key);
-                        return mappingConverter.convertToObject(clazz, keyRecord.record, entry, resolveDependencies);
-                    } catch (ReflectiveOperationException e) {
-                        throw new AerospikeException(e);
-                    } finally {
-                        ThreadLocalKeySaver.clear();
-                    }
-                });
+                .flatMap(keyRecord -> convertToObject(clazz, key, keyRecord.record, entry, resolveDependencies, binNames));
     }
 
     private <T> Flux<T> readBatch(BatchPolicy batchPolicy, @NotNull Class<T> clazz, @NotNull Key[] keys,
@@ -226,17 +289,7 @@ public class ReactiveAeroMapper implements IReactiveAeroMapper {
                     .getFlux(batchPolicy, keys);
         }
 
-        return keyRecordFlux.filter(keyRecord -> Objects.nonNull(keyRecord.record))
-                .map(keyRecord -> {
-                    try {
-                        ThreadLocalKeySaver.save(keyRecord.key);
-                        return mappingConverter.convertToObject(clazz, keyRecord.record, entry, true);
-                    } catch (ReflectiveOperationException e) {
-                        throw new AerospikeException(e);
-                    } finally {
-                        ThreadLocalKeySaver.clear();
-                    }
-                });
+        return convertAll(clazz, keyRecordFlux.filter(keyRecord -> Objects.nonNull(keyRecord.record)), entry, null);
     }
 
     @Override
@@ -250,17 +303,14 @@ public class ReactiveAeroMapper implements IReactiveAeroMapper {
         Object asKey = entry.translateKeyToAerospikeKey(userKey);
 
         if (writePolicy == null) {
-            writePolicy = entry.getWritePolicy();
-            if (entry.getDurableDelete() != null) {
-                // Clone the write policy so we're not changing the original one
-                writePolicy = new WritePolicy(writePolicy);
-                writePolicy.durableDelete = entry.getDurableDelete();
-            }
+            writePolicy = entry.getEffectiveDeletePolicy();
         }
         Key key = new Key(entry.getNamespace(), entry.getSetName(), Value.get(asKey));
 
         return reactorClient
                 .delete(writePolicy, key)
+                .doOnTerminate(() -> entry.invalidateCachedRecord(key))
+                .doOnCancel(() -> entry.invalidateCachedRecord(key))
                 .map(k -> true);
     }
 
@@ -275,17 +325,76 @@ public class ReactiveAeroMapper implements IReactiveAeroMapper {
         Key key = new Key(entry.getNamespace(), entry.getSetName(), Value.get(entry.getKey(object)));
 
         if (writePolicy == null) {
-            writePolicy = entry.getWritePolicy();
-            if (entry.getDurableDelete() != null) {
-                writePolicy = new WritePolicy(writePolicy);
-                writePolicy.durableDelete = entry.getDurableDelete();
-            }
+            writePolicy = entry.getEffectiveDeletePolicy();
         }
         return reactorClient
                 .delete(writePolicy, key)
+                .doOnTerminate(() -> entry.invalidateCachedRecord(key))
+                .doOnCancel(() -> entry.invalidateCachedRecord(key))
                 .map(k -> true);
     }
 
+    @Override
+    public <T> Mono<boolean[]> deleteAll(@NotNull Class<T> clazz, @NotNull Object[] userKeys) {
+        return deleteAll(null, clazz, userKeys);
+    }
+
+    @Override
+    public <T> Mono<boolean[]> deleteAll(BatchPolicy batchPolicy, @NotNull Class<T> clazz, @NotNull Object[] userKeys) {
+        ClassCacheEntry<T> entry = MapperUtils.getEntryAndValidateNamespace(clazz, this);
+        Key[] keys = new Key[userKeys.length];
+        for (int i = 0; i < userKeys.length; i++) {
+            if (userKeys[i] == null) {
+                throw new AerospikeException("Null key specified at index " + i);
+            }
+            keys[i] = new Key(entry.getNamespace(), entry.getSetName(), Value.get(entry.translateKeyToAerospikeKey(userKeys[i])));
+        }
+        if (batchPolicy == null) {
+            batchPolicy = reactorClient.getAerospikeClient().getBatchParentPolicyWriteDefault();
+        }
+        return reactorClient
+                .delete(batchPolicy, entry.getEffectiveBatchDeletePolicy(), keys)
+                .doOnTerminate(() -> invalidateCachedRecords(entry, keys))
+                .doOnCancel(() -> invalidateCachedRecords(entry, keys))
+                .map(results -> AeroMapper.existed(results.records));
+    }
+
+    @Override
+    public Mono<boolean[]> deleteAll(@NotNull Object... objects) {
+        return deleteAll((BatchPolicy) null, objects);
+    }
+
+    @Override
+    public Mono<boolean[]> deleteAll(BatchPolicy batchPolicy, @NotNull Object... objects) {
+        List<BatchRecord> batch = new ArrayList<>(objects.length);
+        List<ClassCacheEntry<?>> entries = new ArrayList<>(objects.length);
+        for (Object object : objects) {
+            ClassCacheEntry<?> entry = MapperUtils.getEntryAndValidateNamespace(object.getClass(), this);
+            batch.add(entry.getBatchDelete(object));
+            entries.add(entry);
+        }
+        if (batchPolicy == null) {
+            batchPolicy = reactorClient.getAerospikeClient().getBatchParentPolicyWriteDefault();
+        }
+        return reactorClient
+                .operate(batchPolicy, batch)
+                .doOnTerminate(() -> invalidateCachedRecords(entries, batch))
+                .doOnCancel(() -> invalidateCachedRecords(entries, batch))
+                .map(status -> AeroMapper.existed(batch.toArray(new BatchRecord[0])));
+    }
+
+    private static void invalidateCachedRecords(List<ClassCacheEntry<?>> entries, List<BatchRecord> batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            entries.get(i).invalidateCachedRecord(batch.get(i).key);
+        }
+    }
+
+    private static void invalidateCachedRecords(ClassCacheEntry<?> entry, Key[] keys) {
+        for (Key key : keys) {
+            entry.invalidateCachedRecord(key);
+        }
+    }
+
     @Override
     public <T> Mono<Void> find(@NotNull Class<T> clazz, Function<T, Boolean> function) throws AerospikeException {
         return Mono.fromCallable(() -> {
@@ -311,6 +420,15 @@ public class ReactiveAeroMapper implements IReactiveAeroMapper {
 
     @Override
     public <T> Flux<T> scan(ScanPolicy policy, @NotNull Class<T> clazz, int recordsPerSecond) {
+        return scan(policy, clazz, recordsPerSecond, null);
+    }
+
+    @Override
+    public <T> Flux<T> scan(ScanPolicy policy, @NotNull Class<T> clazz, String... binNames) {
+        return scan(policy, clazz, -1, binNames);
+    }
+
+    private <T> Flux<T> scan(ScanPolicy policy, @NotNull Class<T> clazz, int recordsPerSecond, String[] requestedBinNames) {
         ClassCacheEntry<T> entry = MapperUtils.getEntryAndValidateNamespace(clazz, this);
         if (policy == null) {
             policy = entry.getScanPolicy();
@@ -322,9 +440,13 @@ public class ReactiveAeroMapper implements IReactiveAeroMapper {
         }
         String namespace = entry.getNamespace();
         String setName = entry.getSetName();
+        String[] binNames = entry.toBinNames(requestedBinNames);
+        BinProjection projection = entry.getBinProjection(binNames);
+        String[] projectedBinNames = projection.getBinNames();
 
-        return reactorClient.scanAll(policy, namespace, setName)
-                .map(keyRecord -> getMappingConverter().convertToObject(clazz, keyRecord.record));
+        Flux<KeyRecord> keyRecords = reactorClient.scanAll(policy, namespace, setName,
+                projectedBinNames == null ? new String[0] : projectedBinNames);
+        return convertAll(clazz, completeRecords(keyRecords, projection, entry), entry, binNames);
     }
 
     @Override
@@ -334,17 +456,109 @@ public class ReactiveAeroMapper implements IReactiveAeroMapper {
 
     @Override
     public <T> Flux<T> query(QueryPolicy policy, @NotNull Class<T> clazz, Filter filter) {
+        return query(policy, clazz, filter, (String[]) null);
+    }
+
+    @Override
+    public <T> Flux<T> query(QueryPolicy policy, @NotNull Class<T> clazz, Filter filter, String... requestedBinNames) {
         ClassCacheEntry<T> entry = MapperUtils.getEntryAndValidateNamespace(clazz, this);
         if (policy == null) {
             policy = entry.getQueryPolicy();
         }
+        String[] binNames = entry.toBinNames(requestedBinNames);
+        BinProjection projection = entry.getBinProjection(binNames);
+        String[] projectedBinNames = projection.getBinNames();
         Statement statement = new Statement();
         statement.setFilter(filter);
         statement.setNamespace(entry.getNamespace());
         statement.setSetName(entry.getSetName());
+        if (projectedBinNames != null && projectedBinNames.length > 0) {
+            statement.setBinNames(projectedBinNames);
+        }
+
+        return convertAll(clazz, completeRecords(reactorClient.query(policy, statement), projection, entry), entry, binNames);
+    }
+
+    /**
+     * Read again with every bin any record of a scan or query which belongs to a subclass with bins outside the projection.
+     * These records are read with batch reads of up to {@link RecordCompleter#BATCH_SIZE} records, and are emitted after
+     * the complete records read with them.
+     */
+    private Flux<KeyRecord> completeRecords(Flux<KeyRecord> keyRecords, BinProjection projection, ClassCacheEntry<?> entry) {
+        return keyRecords.publish(shared -> Flux.merge(
+                shared.filter(keyRecord -> projection.isComplete(keyRecord.record)),
+                shared.filter(keyRecord -> !projection.isComplete(keyRecord.record))
+                        .buffer(RecordCompleter.BATCH_SIZE)
+                        .concatMap(incomplete -> readInFull(incomplete, entry))));
+    }
+
+    private Flux<KeyRecord> readInFull(List<KeyRecord> keyRecords, ClassCacheEntry<?> entry) {
+        Key[] keys = new Key[keyRecords.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = keyRecords.get(i).key;
+        }
+        return reactorClient.get(entry.getBatchPolicy(), keys).flatMapIterable(keysRecords -> {
+            List<KeyRecord> result = new ArrayList<>(keys.length);
+            for (int i = 0; i < keys.length; i++) {
+                Record fullRecord = keysRecords.records[i];
+                // A record which no longer exists keeps the bins it was first read with
+                result.add(fullRecord == null ? keyRecords.get(i) : new KeyRecord(keys[i], fullRecord));
+            }
+            return result;
+        });
+    }
 
-        return reactorClient.query(policy, statement)
-                .map(keyRecord -> getMappingConverter().convertToObject(clazz, keyRecord.record));
+    /**
+     * Convert the records of a batch read, scan or query, resolving their references. Without a reference window each
+     * record loads its own references; with one the records are buffered into windows and the references of each window
+     * are loaded together.
+     */
+    private <T> Flux<T> convertAll(Class<T> clazz, Flux<KeyRecord> keyRecords, ClassCacheEntry<T> entry, String[] binNames) {
+        if (referenceWindowSize <= 0) {
+            return keyRecords.flatMapSequential(keyRecord -> convertToObject(clazz, keyRecord.key, keyRecord.record, entry, true, binNames));
+        }
+        Flux<List<KeyRecord>> windows = referenceWindowTime == null
+                ? keyRecords.buffer(referenceWindowSize)
+                : keyRecords.bufferTimeout(referenceWindowSize, referenceWindowTime);
+        return windows.concatMap(window -> convertWindow(clazz, window, entry, binNames));
+    }
+
+    private <T> Flux<T> convertWindow(Class<T> clazz, List<KeyRecord> window, ClassCacheEntry<T> entry, String[] binNames) {
+        return Flux.defer(() -> {
+            // Objects loaded by one record of the window are shared with the others, as are the keys still to be read
+            Map<Key, Object> loadedObjects = new ConcurrentHashMap<>();
+            List<DeferredObjectSetter> deferredObjects = new ArrayList<>();
+            List<T> results = new ArrayList<>(window.size());
+            for (KeyRecord keyRecord : window) {
+                T result = mappingConverter.convertToObject(clazz, keyRecord.key, keyRecord.record, entry, binNames, loadedObjects, deferredObjects);
+                if (result != null) {
+                    results.add(result);
+                }
+            }
+            if (deferredObjects.isEmpty()) {
+                return Flux.fromIterable(results);
+            }
+            return mappingConverter.resolveDependenciesReactive(entry, deferredObjects, loadedObjects, reactorClient)
+                    .thenMany(Flux.fromIterable(results));
+        });
+    }
+
+    /**
+     * Convert the record, then load the objects it references with batch reads of the reactor client. Neither step
+     * blocks, so this can run on the thread which received the record.
+     */
+    private <T> Mono<T> convertToObject(Class<T> clazz, Key key, Record record, ClassCacheEntry<T> entry,
+                                        boolean resolveDependencies, String[] binNames) {
+        return Mono.defer(() -> {
+            Map<Key, Object> loadedObjects = new ConcurrentHashMap<>();
+            List<DeferredObjectSetter> deferredObjects = new ArrayList<>();
+            T result = mappingConverter.convertToObject(clazz, key, record, entry, binNames, loadedObjects, deferredObjects);
+            if (!resolveDependencies || deferredObjects.isEmpty()) {
+                return Mono.justOrEmpty(result);
+            }
+            return mappingConverter.resolveDependenciesReactive(entry, deferredObjects, loadedObjects, reactorClient)
+                    .then(Mono.justOrEmpty(result));
+        });
     }
 
     @Override
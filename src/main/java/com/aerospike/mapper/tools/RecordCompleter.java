@@ -0,0 +1,98 @@
+package com.aerospike.mapper.tools;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import com.aerospike.client.IAerospikeClient;
+import com.aerospike.client.Key;
+import com.aerospike.client.Record;
+import com.aerospike.client.policy.BatchPolicy;
+
+/**
+ * Reads again, with every bin, the records of a scan or query which are not complete for their projection (see
+ * {@link BinProjection#isComplete(Record)}). Rather than one read per record, incomplete records are held and read
+ * together with batch reads of up to {@link #BATCH_SIZE} records. This can be called from several threads at once.
+ *
+ * @param <E> The item held with each record, passed back when the record has been read in full.
+ */
+public class RecordCompleter<E> {
+    /**
+     * The number of held records at which {@link #isFull()} returns true, and the most records read by one batch call.
+     */
+    public static final int BATCH_SIZE = 100;
+
+    private final IAerospikeClient client;
+    private final BatchPolicy batchPolicy;
+    private final BinProjection projection;
+    private List<E> items = new ArrayList<>();
+    private List<Key> keys = new ArrayList<>();
+    private List<Record> records = new ArrayList<>();
+
+    public RecordCompleter(IAerospikeClient client, BatchPolicy batchPolicy, BinProjection projection) {
+        this.client = client;
+        this.batchPolicy = batchPolicy;
+        this.projection = projection;
+    }
+
+    /**
+     * Return whether the record has every bin mapped by the class it is converted to. If not, the item is held until
+     * {@link #complete(BiConsumer)} is called, and must not be processed by the caller.
+     */
+    public boolean isComplete(E item, Key key, Record record) {
+        if (projection.isComplete(record)) {
+            return true;
+        }
+        synchronized (this) {
+            items.add(item);
+            keys.add(key);
+            records.add(record);
+        }
+        return false;
+    }
+
+    /**
+     * Whether enough records are held that they should be completed before more are read.
+     */
+    public synchronized boolean isFull() {
+        return keys.size() >= BATCH_SIZE;
+    }
+
+    /**
+     * Whether no records are held.
+     */
+    public synchronized boolean isEmpty() {
+        return keys.isEmpty();
+    }
+
+    /**
+     * Read the held records with every bin and pass each to the action with its item, in the order they were held. A
+     * record which no longer exists is passed as it was first read.
+     */
+    public void complete(BiConsumer<E, Record> action) {
+        List<E> heldItems;
+        List<Key> heldKeys;
+        List<Record> heldRecords;
+        synchronized (this) {
+            if (keys.isEmpty()) {
+                return;
+            }
+            heldItems = items;
+            heldKeys = keys;
+            heldRecords = records;
+            items = new ArrayList<>();
+            keys = new ArrayList<>();
+            records = new ArrayList<>();
+        }
+        Key[] keyArray = heldKeys.toArray(new Key[0]);
+        for (int offset = 0; offset < keyArray.length; offset += BATCH_SIZE) {
+            int end = Math.min(offset + BATCH_SIZE, keyArray.length);
+            Record[] fullRecords = client.get(batchPolicy, Arrays.copyOfRange(keyArray, offset, end));
+            for (int i = offset; i < end; i++) {
+                Record fullRecord = fullRecords[i - offset];
+                action.accept(heldItems.get(i), fullRecord == null ? heldRecords.get(i) : fullRecord);
+            }
+        }
+    }
+}
@@ -1,31 +1,26 @@
 package com.aerospike.mapper.tools;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
-
 import com.aerospike.client.Key;
 
 /**
  * Save the keys. Note that this is effectively a stack of keys, as A can load B which can load C, and C needs B's key, not A's.
+ * <p/>
+ * The keys are held by the <code>MappingContext</code> bound to the current thread. The mapper passes an explicit
+ * context to each operation instead; these methods are kept for code which still uses the thread bound state.
  *
  * @author timfaulkes
  */
 public class ThreadLocalKeySaver {
-    private static final ThreadLocal<Deque<Key>> threadLocalKeys = ThreadLocal.withInitial(ArrayDeque::new);
 
     public static void save(Key key) {
-        threadLocalKeys.get().addLast(key);
+        MappingContext.forCurrentThread().pushKey(key);
     }
 
     public static void clear() {
-        threadLocalKeys.get().removeLast();
+        MappingContext.forCurrentThread().popKey();
     }
 
     public static Key get() {
-        Deque<Key> keys = threadLocalKeys.get();
-        if (keys.isEmpty()) {
-            return null;
-        }
-        return keys.getLast();
+        return MappingContext.forCurrentThread().getCurrentKey();
     }
 }
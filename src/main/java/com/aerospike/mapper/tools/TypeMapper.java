@@ -5,6 +5,14 @@ public abstract class TypeMapper {
 
     public abstract Object fromAerospikeFormat(Object value);
 
+    /**
+     * Convert a value read as part of a mapping operation. Types which hold other objects, or which defer references to
+     * be loaded in batches, override this to use the passed context rather than the one bound to the current thread.
+     */
+    public Object fromAerospikeFormat(Object value, MappingContext context) {
+        return fromAerospikeFormat(value);
+    }
+
     /**
      * Some types need to know if they're mapped to the correct class. If they do, they can override this method to glean that information
      */
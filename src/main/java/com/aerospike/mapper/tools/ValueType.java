@@ -8,9 +8,12 @@ import com.aerospike.mapper.tools.DeferredObjectLoader.DeferredObjectSetter;
 import com.aerospike.mapper.tools.DeferredObjectLoader.DeferredSetter;
 import com.aerospike.mapper.tools.utils.TypeUtils.AnnotatedType;
 
+import org.apache.commons.lang3.StringUtils;
+
 import javax.validation.constraints.NotNull;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 
 /**
  * Implementation of a value, which can be either a method on a class (getter) or a field
@@ -30,12 +33,28 @@ public abstract class ValueType {
 
     public abstract Object get(Object obj) throws ReflectiveOperationException;
 
-    public abstract void set(Object obj, Object value) throws ReflectiveOperationException;
+    public void set(Object obj, Object value) throws ReflectiveOperationException {
+        set(obj, value, MappingContext.forCurrentThread());
+    }
+
+    /**
+     * Set the value on the object. If the value is a reference to be loaded later, it is added to the deferred objects
+     * of the context instead.
+     */
+    public abstract void set(Object obj, Object value, MappingContext context) throws ReflectiveOperationException;
 
     public abstract Class<?> getType();
 
     public abstract Annotation[] getAnnotations();
 
+    /**
+     * Return whether the passed method, which can be declared on an interface of the class, returns this value without
+     * reading anything else from the object.
+     */
+    public boolean isReadBy(Method method) {
+        return false;
+    }
+
     public int getMinimumVersion() {
         return minimumVersion;
     }
@@ -68,8 +87,14 @@ public abstract class ValueType {
 
     public static class FieldValue extends ValueType {
         private final Field field;
+        private final AccessorFactory.Getter getter;
+        private final AccessorFactory.Setter setter;
 
         public FieldValue(Field field, TypeMapper typeMapper, AnnotatedType annotatedType) {
+            this(field, typeMapper, annotatedType, null);
+        }
+
+        public FieldValue(Field field, TypeMapper typeMapper, AnnotatedType annotatedType, GeneratedMapper<?> generatedMapper) {
             super(typeMapper, annotatedType);
             this.field = field;
             this.field.setAccessible(true);
@@ -77,27 +102,31 @@ public abstract class ValueType {
                 AerospikeVersion version = this.field.getAnnotation(AerospikeVersion.class);
                 super.setVersion(version);
             }
+            AccessorFactory.Getter generatedGetter = generatedMapper == null ? null : generatedMapper.getGetter(field);
+            AccessorFactory.Setter generatedSetter = generatedMapper == null ? null : generatedMapper.getSetter(field);
+            this.getter = generatedGetter != null ? generatedGetter : AccessorFactory.getter(field);
+            this.setter = generatedSetter != null ? generatedSetter : AccessorFactory.setter(field);
         }
 
         @Override
         public Object get(Object obj) throws ReflectiveOperationException {
-            return this.field.get(obj);
+            return this.getter.get(obj);
         }
 
         @Override
-        public void set(final Object obj, final Object value) throws ReflectiveOperationException {
+        public void set(final Object obj, final Object value, MappingContext context) throws ReflectiveOperationException {
             if (value instanceof DeferredObject) {
-                DeferredSetter setter = object -> {
+                DeferredSetter deferredSetter = object -> {
                     try {
-                        field.set(obj, object);
-                    } catch (IllegalArgumentException | IllegalAccessException e) {
+                        setter.set(obj, object);
+                    } catch (ReflectiveOperationException | IllegalArgumentException | ClassCastException e) {
                         throw new AerospikeException(String.format("Could not set field %s on %s to %s. Error is %s (%s)", field, obj, value, e.getMessage(), e.getClass()));
                     }
                 };
-                DeferredObjectSetter objectSetter = new DeferredObjectSetter(setter, (DeferredObject) value);
-                DeferredObjectLoader.add(objectSetter);
+                DeferredObjectSetter objectSetter = new DeferredObjectSetter(deferredSetter, (DeferredObject) value);
+                context.addDeferredObject(objectSetter);
             } else {
-                this.field.set(obj, value);
+                this.setter.set(obj, value);
             }
         }
 
@@ -111,6 +140,13 @@ public abstract class ValueType {
             return this.field.getAnnotations();
         }
 
+        @Override
+        public boolean isReadBy(Method method) {
+            // Assume the getter of a field follows the bean naming conventions
+            String name = StringUtils.capitalize(this.field.getName());
+            return method.getParameterCount() == 0 && (method.getName().equals("get" + name) || method.getName().equals("is" + name));
+        }
+
         @Override
         public String toString() {
             return String.format("Value(Field): %s (%s)", this.field.getName(), this.field.getType().getSimpleName());
@@ -119,10 +155,25 @@ public abstract class ValueType {
 
     public static class MethodValue extends ValueType {
         private final PropertyDefinition property;
+        private final AccessorFactory.Getter getter;
+        private final AccessorFactory.Setter setter;
 
         public MethodValue(PropertyDefinition property, TypeMapper typeMapper, AnnotatedType annotatedType) {
+            this(property, typeMapper, annotatedType, null);
+        }
+
+        public MethodValue(PropertyDefinition property, TypeMapper typeMapper, AnnotatedType annotatedType, GeneratedMapper<?> generatedMapper) {
             super(typeMapper, annotatedType);
             this.property = property;
+            AccessorFactory.Getter generatedGetter = generatedMapper == null ? null : generatedMapper.getGetter(property.getGetter());
+            this.getter = generatedGetter != null ? generatedGetter : AccessorFactory.getter(property.getGetter());
+            // Setters which also take the key need the key resolved at the time of the call so cannot be pre-bound
+            if (property.getSetter() != null && property.getSetterParamType() == PropertyDefinition.SetterParamType.NONE) {
+                AccessorFactory.Setter generatedSetter = generatedMapper == null ? null : generatedMapper.getSetter(property.getSetter());
+                this.setter = generatedSetter != null ? generatedSetter : AccessorFactory.setter(property.getSetter());
+            } else {
+                this.setter = null;
+            }
         }
 
         @Override
@@ -130,27 +181,27 @@ public abstract class ValueType {
             if (obj == null) {
                 return null;
             }
-            return this.property.getGetter().invoke(obj);
+            return this.getter.get(obj);
         }
 
         @Override
-        public void set(final Object obj, final Object value) throws ReflectiveOperationException {
+        public void set(final Object obj, final Object value, MappingContext context) throws ReflectiveOperationException {
             if (this.property.getSetter() == null) {
                 throw new AerospikeException("Lazy loading cannot be used on objects with a property key type and no annotated key setter method");
             } else {
                 switch (this.property.getSetterParamType()) {
                     case KEY: {
-                        final Key key = ThreadLocalKeySaver.get();
+                        final Key key = context.getCurrentKey();
                         if (value instanceof DeferredObject) {
-                            DeferredSetter setter = object -> {
+                            DeferredSetter deferredSetter = object -> {
                                 try {
-                                    property.getSetter().invoke(obj, value, key);
+                                    property.getSetter().invoke(obj, object, key);
                                 } catch (ReflectiveOperationException e) {
                                     throw new AerospikeException(String.format("Could not set field %s on %s to %s", property, obj, value));
                                 }
                             };
-                            DeferredObjectSetter objectSetter = new DeferredObjectSetter(setter, (DeferredObject) value);
-                            DeferredObjectLoader.add(objectSetter);
+                            DeferredObjectSetter objectSetter = new DeferredObjectSetter(deferredSetter, (DeferredObject) value);
+                            context.addDeferredObject(objectSetter);
                         } else {
                             this.property.getSetter().invoke(obj, value, key);
                         }
@@ -158,17 +209,17 @@ public abstract class ValueType {
                     }
 
                     case VALUE: {
-                        final Key key = ThreadLocalKeySaver.get();
+                        final Key key = context.getCurrentKey();
                         if (value instanceof DeferredObject) {
-                            DeferredSetter setter = object -> {
+                            DeferredSetter deferredSetter = object -> {
                                 try {
-                                    property.getSetter().invoke(obj, value, key.userKey);
+                                    property.getSetter().invoke(obj, object, key.userKey);
                                 } catch (ReflectiveOperationException e) {
                                     throw new AerospikeException(String.format("Could not set field %s on %s to %s", property, obj, value));
                                 }
                             };
-                            DeferredObjectSetter objectSetter = new DeferredObjectSetter(setter, (DeferredObject) value);
-                            DeferredObjectLoader.add(objectSetter);
+                            DeferredObjectSetter objectSetter = new DeferredObjectSetter(deferredSetter, (DeferredObject) value);
+                            context.addDeferredObject(objectSetter);
                         } else {
                             this.property.getSetter().invoke(obj, value, key.userKey);
                         }
@@ -177,17 +228,17 @@ public abstract class ValueType {
 
                     default:
                         if (value instanceof DeferredObject) {
-                            DeferredSetter setter = object -> {
+                            DeferredSetter deferredSetter = object -> {
                                 try {
-                                    property.getSetter().invoke(obj, value);
+                                    setter.set(obj, object);
                                 } catch (ReflectiveOperationException e) {
                                     throw new AerospikeException(String.format("Could not set field %s on %s to %s", property, obj, value));
                                 }
                             };
-                            DeferredObjectSetter objectSetter = new DeferredObjectSetter(setter, (DeferredObject) value);
-                            DeferredObjectLoader.add(objectSetter);
+                            DeferredObjectSetter objectSetter = new DeferredObjectSetter(deferredSetter, (DeferredObject) value);
+                            context.addDeferredObject(objectSetter);
                         } else {
-                            this.property.getSetter().invoke(obj, value);
+                            this.setter.set(obj, value);
                         }
                 }
             }
@@ -203,6 +254,11 @@ public abstract class ValueType {
             return this.property.getAnnotations();
         }
 
+        @Override
+        public boolean isReadBy(Method method) {
+            return method.getParameterCount() == 0 && method.getName().equals(this.property.getGetter().getName());
+        }
+
         @Override
         public String toString() {
             return String.format("Value(Method): %s/%s (%s)", this.property.getGetter(), this.property.getSetter(), this.property.getType().getSimpleName());
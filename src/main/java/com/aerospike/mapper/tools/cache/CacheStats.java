@@ -0,0 +1,60 @@
+package com.aerospike.mapper.tools.cache;
+
+/**
+ * The statistics of an {@link EntityCache} at a point in time.
+ */
+public class CacheStats {
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long invalidationCount;
+    private final int size;
+
+    public CacheStats(long hitCount, long missCount, long evictionCount, long invalidationCount, int size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.invalidationCount = invalidationCount;
+        this.size = size;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * The fraction of reads which were found in the cache, or 0 if there have been none.
+     */
+    public double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0 : (double) hitCount / requests;
+    }
+
+    /**
+     * The number of records removed because the cache was full or they expired.
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * The number of records removed because they were written or deleted.
+     */
+    public long getInvalidationCount() {
+        return invalidationCount;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CacheStats(hits=%d, misses=%d, evictions=%d, invalidations=%d, size=%d)",
+                hitCount, missCount, evictionCount, invalidationCount, size);
+    }
+}
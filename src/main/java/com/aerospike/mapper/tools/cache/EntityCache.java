@@ -0,0 +1,100 @@
+package com.aerospike.mapper.tools.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import com.aerospike.client.Key;
+import com.aerospike.client.Record;
+
+/**
+ * A cache of the records of one class, in front of the reads of the mapper. The mapper creates the objects it returns
+ * from copies of the cached records, so changing a returned object never changes the cache.
+ * <p/>
+ * Implementations must be safe for concurrent use. The default implementation is {@link LruEntityCache}; others can
+ * be set for a class with <code>withEntityCache</code> on the builder.
+ */
+public interface EntityCache {
+    /**
+     * Return the cached record for the key, or null if there is none or it has expired. Each call counts as a hit or a
+     * miss in the statistics.
+     */
+    Record get(Key key);
+
+    /**
+     * Return a number which changes whenever a record is invalidated. The mapper takes this before reading a record
+     * from the database and passes it to {@link #put(Key, Record, long)}.
+     */
+    long getVersion();
+
+    /**
+     * Offer a record read from the database to the cache. The record must not be cached if a record has been
+     * invalidated since the passed version was taken, as it may have been read before the write which invalidated it.
+     * A record with a lower generation than the one already cached must not replace it.
+     *
+     * @param key     The key of the record.
+     * @param record  A copy of the record, which the cache can keep.
+     * @param version The value of {@link #getVersion()} taken before the record was read.
+     */
+    void put(Key key, Record record, long version);
+
+    /**
+     * Remove the record for the key, as it has been written or deleted.
+     */
+    void invalidate(Key key);
+
+    /**
+     * Remove every record.
+     */
+    void invalidateAll();
+
+    CacheStats getStats();
+
+    /**
+     * Copy a record and the lists, maps and byte arrays in its bins, so objects created from the copy share nothing
+     * with the original.
+     */
+    static Record copyOf(Record record) {
+        if (record.bins == null) {
+            return record;
+        }
+        Map<String, Object> bins = new HashMap<>(record.bins.size() * 2);
+        for (Map.Entry<String, Object> bin : record.bins.entrySet()) {
+            bins.put(bin.getKey(), copyValue(bin.getValue()));
+        }
+        return new Record(bins, record.generation, record.expiration);
+    }
+
+    @SuppressWarnings("unchecked")
+    static Object copyValue(Object value) {
+        if (value instanceof List) {
+            List<Object> list = (List<Object>) value;
+            List<Object> result = new ArrayList<>(list.size());
+            for (Object item : list) {
+                result.add(copyValue(item));
+            }
+            return result;
+        } else if (value instanceof Map) {
+            Map<Object, Object> map = (Map<Object, Object>) value;
+            Map<Object, Object> result;
+            if (map instanceof SortedMap) {
+                result = new TreeMap<>(((SortedMap<Object, Object>) map).comparator());
+            } else if (map instanceof LinkedHashMap) {
+                result = new LinkedHashMap<>();
+            } else {
+                result = new HashMap<>();
+            }
+            for (Map.Entry<Object, Object> entry : map.entrySet()) {
+                result.put(entry.getKey(), copyValue(entry.getValue()));
+            }
+            return result;
+        } else if (value instanceof byte[]) {
+            return ((byte[]) value).clone();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,138 @@
+package com.aerospike.mapper.tools.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.Key;
+import com.aerospike.client.Record;
+import com.aerospike.mapper.annotations.AerospikeCache.AdmissionPolicy;
+
+/**
+ * The default {@link EntityCache}: a bounded map of records in least recently read order, each kept until the TTL of
+ * the cache or the expiration of the record in the database, whichever comes first.
+ * <p/>
+ * With the {@link AdmissionPolicy#SECOND_READ} policy the cache also remembers up to <code>maxSize</code> keys which
+ * have been read once, and only caches a record when its key is read again.
+ */
+public class LruEntityCache implements EntityCache {
+
+    private static class CachedRecord {
+        private final Record record;
+        private final long expiresAt;
+
+        CachedRecord(Record record, long expiresAt) {
+            this.record = record;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final AdmissionPolicy admissionPolicy;
+    private final Map<Key, CachedRecord> records;
+    private final Map<Key, Boolean> keysReadOnce;
+
+    private long version;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long invalidationCount;
+
+    /**
+     * @param maxSize         The most records to keep.
+     * @param ttlMillis       How long to keep a record in milliseconds, or 0 to keep it until it expires in the database.
+     * @param admissionPolicy Which records read from the database are cached.
+     */
+    public LruEntityCache(int maxSize, long ttlMillis, AdmissionPolicy admissionPolicy) {
+        if (maxSize <= 0) {
+            throw new AerospikeException("Entity cache size must be greater than 0, not " + maxSize);
+        }
+        if (ttlMillis < 0) {
+            throw new AerospikeException("Entity cache TTL must not be negative, not " + ttlMillis);
+        }
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.admissionPolicy = admissionPolicy == null ? AdmissionPolicy.ALWAYS : admissionPolicy;
+        this.records = new LinkedHashMap<Key, CachedRecord>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedRecord> eldest) {
+                if (size() > LruEntityCache.this.maxSize) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.keysReadOnce = new LinkedHashMap<Key, Boolean>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Boolean> eldest) {
+                return size() > LruEntityCache.this.maxSize;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Record get(Key key) {
+        CachedRecord cached = records.get(key);
+        if (cached != null && cached.expiresAt <= System.currentTimeMillis()) {
+            records.remove(key);
+            evictionCount++;
+            cached = null;
+        }
+        if (cached == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return cached.record;
+    }
+
+    @Override
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    @Override
+    public synchronized void put(Key key, Record record, long version) {
+        if (version != this.version) {
+            // A record was invalidated while this one was being read, so it could be stale
+            return;
+        }
+        CachedRecord existing = records.get(key);
+        if (existing != null && existing.record.generation > record.generation) {
+            return;
+        }
+        if (existing == null && admissionPolicy == AdmissionPolicy.SECOND_READ && keysReadOnce.remove(key) == null) {
+            keysReadOnce.put(key, Boolean.TRUE);
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long expiresAt = ttlMillis == 0 ? Long.MAX_VALUE : now + ttlMillis;
+        if (record.expiration != 0) {
+            expiresAt = Math.min(expiresAt, now + record.getTimeToLive() * 1000L);
+        }
+        records.put(key, new CachedRecord(record, expiresAt));
+    }
+
+    @Override
+    public synchronized void invalidate(Key key) {
+        version++;
+        if (records.remove(key) != null) {
+            invalidationCount++;
+        }
+    }
+
+    @Override
+    public synchronized void invalidateAll() {
+        version++;
+        invalidationCount += records.size();
+        records.clear();
+        keysReadOnce.clear();
+    }
+
+    @Override
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hitCount, missCount, evictionCount, invalidationCount, records.size());
+    }
+}
@@ -23,6 +23,7 @@ public class ClassConfig {
     private Boolean durableDelete;
     private KeyConfig key;
     private String shortName;
+    private Integer typeId;
     private String factoryClass;
     private String factoryMethod;
     private final List<BinConfig> bins;
@@ -67,6 +68,10 @@ public class ClassConfig {
         return shortName;
     }
 
+    public Integer getTypeId() {
+        return typeId;
+    }
+
     public KeyConfig getKey() {
         return key;
     }
@@ -163,6 +168,10 @@ public class ClassConfig {
     private void setShortName(String shortName) {
         this.shortName = shortName;
     }
+
+    private void setTypeId(Integer typeId) {
+        this.typeId = typeId;
+    }
     
     public static class Builder {
         private final Class<?> clazz;
@@ -187,6 +196,10 @@ public class ClassConfig {
             this.classConfig.setShortName(shortName);
             return this;
         }
+        public Builder withTypeId(int typeId) {
+            this.classConfig.setTypeId(typeId);
+            return this;
+        }
         public Builder withSet(String setName) {
             this.classConfig.setSet(setName);
             return this;
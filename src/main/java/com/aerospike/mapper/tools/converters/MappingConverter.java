@@ -1,29 +1,41 @@
 package com.aerospike.mapper.tools.converters;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import javax.validation.constraints.NotNull;
 
 import com.aerospike.client.AerospikeException;
 import com.aerospike.client.IAerospikeClient;
 import com.aerospike.client.Key;
+import com.aerospike.client.Log;
 import com.aerospike.client.Record;
 import com.aerospike.client.Value;
+import com.aerospike.client.async.EventLoop;
+import com.aerospike.client.async.EventLoops;
+import com.aerospike.client.listener.RecordArrayListener;
 import com.aerospike.client.policy.BatchPolicy;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
 import com.aerospike.mapper.tools.ClassCache;
 import com.aerospike.mapper.tools.ClassCacheEntry;
 import com.aerospike.mapper.tools.DeferredObjectLoader;
 import com.aerospike.mapper.tools.DeferredObjectLoader.DeferredObjectSetter;
 import com.aerospike.mapper.tools.IBaseAeroMapper;
 import com.aerospike.mapper.tools.LoadedObjectResolver;
-import com.aerospike.mapper.tools.ThreadLocalKeySaver;
+import com.aerospike.mapper.tools.MappingContext;
 import com.aerospike.mapper.tools.TypeMapper;
 import com.aerospike.mapper.tools.utils.MapperUtils;
 import com.aerospike.mapper.tools.utils.TypeUtils;
 
+import reactor.core.publisher.Mono;
+
 public class MappingConverter {
 
     private final IBaseAeroMapper mapper;
@@ -59,8 +71,9 @@ public class MappingConverter {
     @SuppressWarnings("unchecked")
     public <T> T translateFromAerospike(@NotNull Object obj, @NotNull Class<T> expectedClazz) {
         TypeMapper thisMapper = TypeUtils.getMapper(expectedClazz, TypeUtils.AnnotatedType.getDefaultAnnotateType(), mapper);
-        T result = (T) (thisMapper == null ? obj : thisMapper.fromAerospikeFormat(obj));
-        resolveDependencies(ClassCache.getInstance().loadClass(expectedClazz, mapper));
+        MappingContext context = new MappingContext();
+        T result = (T) (thisMapper == null ? obj : thisMapper.fromAerospikeFormat(obj, context));
+        resolveDependencies(ClassCache.getInstance().loadClass(expectedClazz, mapper), context);
         return result;
     }
 
@@ -104,12 +117,56 @@ public class MappingConverter {
      * This method should not be used, it is public only to allow mappers to see it.
      */
     public <T> T convertToObject(Class<T> clazz, Record record, ClassCacheEntry<T> entry, boolean resolveDependencies) throws ReflectiveOperationException {
+        return this.convertToObject(clazz, record, entry, resolveDependencies, null);
+    }
+
+    /**
+     * This method should not be used, it is public only to allow mappers to see it.
+     * <p/>
+     * If the dependencies are not resolved, the references of the record are left in the <code>MappingContext</code>
+     * bound to the current thread, to be resolved by a later call to {@link #resolveDependencies(ClassCacheEntry)}.
+     */
+    public <T> T convertToObject(Class<T> clazz, Record record, ClassCacheEntry<T> entry, boolean resolveDependencies,
+                                 String[] binNames) throws ReflectiveOperationException {
+        if (entry == null) {
+            entry = ClassCache.getInstance().loadClass(clazz, mapper);
+        }
+        if (!resolveDependencies) {
+            return entry.constructAndHydrate(record, binNames, MappingContext.forCurrentThread());
+        }
+        MappingContext context = new MappingContext();
+        T result = entry.constructAndHydrate(record, binNames, context);
+        resolveDependencies(entry, context);
+        return result;
+    }
+
+    /**
+     * Convert a record as part of the mapping operation of the passed context. The key of the record is the current key
+     * of the context while the record is converted, and the object created is recorded in the context against it. The
+     * references of the record are added to the context, to be loaded by {@link #resolveDependencies(ClassCacheEntry, MappingContext)}.
+     * <p/>
+     * This method should not be used, it is public only to allow mappers to see it.
+     *
+     * @param key     The key of the record, or null if it is not known.
+     * @param context The context of the operation.
+     */
+    public <T> T convertToObject(Class<T> clazz, Key key, Record record, ClassCacheEntry<T> entry, String[] binNames,
+                                 MappingContext context) {
         if (entry == null) {
             entry = ClassCache.getInstance().loadClass(clazz, mapper);
         }
-        T result = entry.constructAndHydrate(record);
-        if (resolveDependencies) {
-            resolveDependencies(entry);
+        if (key == null) {
+            return entry.constructAndHydrate(record, binNames, context);
+        }
+        T result;
+        context.pushKey(key);
+        try {
+            result = entry.constructAndHydrate(record, binNames, context);
+        } finally {
+            context.popKey();
+        }
+        if (result != null) {
+            context.putLoadedObject(key, result);
         }
         return result;
     }
@@ -135,9 +192,12 @@ public class MappingConverter {
             ClassCacheEntry<T> entry = ClassCache.getInstance().loadClass(clazz, mapper);
             T result;
             result = clazz.getConstructor().newInstance();
-            entry.hydrateFromList(record, result);
             if (resolveDependencies) {
-                resolveDependencies(entry);
+                MappingContext context = new MappingContext();
+                entry.hydrateFromList(record, result, false, context);
+                resolveDependencies(entry, context);
+            } else {
+                entry.hydrateFromList(record, result);
             }
             return result;
         } catch (ReflectiveOperationException e) {
@@ -185,11 +245,92 @@ public class MappingConverter {
     }
 
     private Key createKey(ClassCacheEntry<?> entry, DeferredObjectLoader.DeferredObject deferredObject) {
-        if (deferredObject.isDigest()) {
-            return new Key(entry.getNamespace(), (byte[]) deferredObject.getKey(), entry.getSetName(), null);
+        return createKey(entry, deferredObject.getKey(), deferredObject.isDigest());
+    }
+
+    private Key createKey(ClassCacheEntry<?> entry, Object key, boolean isDigest) {
+        if (isDigest) {
+            return new Key(entry.getNamespace(), (byte[]) key, entry.getSetName(), null);
         } else {
-            return new Key(entry.getNamespace(), entry.getSetName(), Value.get(entry.translateKeyToAerospikeKey(deferredObject.getKey())));
+            return new Key(entry.getNamespace(), entry.getSetName(), Value.get(entry.translateKeyToAerospikeKey(key)));
+        }
+    }
+
+    /**
+     * Read an object which is referenced without batch loading, as part of the mapping operation of the passed context.
+     * If the context has already loaded the object it is returned without a read, so objects which refer to each other
+     * resolve to the same instances. The references of the object are added to the context.
+     * <p/>
+     * This method should not be used, it is public only to allow mappers to see it.
+     *
+     * @param entry    The class of the referenced object.
+     * @param key      The key (or digest) stored in the reference.
+     * @param isDigest Whether the reference holds the digest of the key.
+     * @param context  The context of the operation.
+     * @return the referenced object, or null if it does not exist.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public Object readReference(ClassCacheEntry<?> entry, Object key, boolean isDigest, MappingContext context) {
+        ClassCacheEntry<?> referencedEntry = MapperUtils.getEntryAndValidateNamespace(entry.getUnderlyingClass(), mapper);
+        Key aKey = createKey(referencedEntry, key, isDigest);
+        Object result = context.getLoadedObject(aKey);
+        if (result != null) {
+            return result;
+        }
+        Record record = aerospikeClient.get(referencedEntry.getReadPolicy(), aKey);
+        context.addReferenceReads(1, 1);
+        return record == null ? null : convertToObject((Class) referencedEntry.getUnderlyingClass(), aKey, record,
+                (ClassCacheEntry) referencedEntry, null, context);
+    }
+
+    /**
+     * Read the objects of a group of lazy references when the group is first used. The distinct keys are read with one
+     * batch call (or one per chunk of the reference batch size), and the references of the objects are then loaded as
+     * for a read. References with a null entry are left null.
+     * <p/>
+     * This method should not be used, it is public only to allow mappers to see it.
+     *
+     * @param entries The classes of the referenced objects.
+     * @param keys    The keys stored in the references.
+     * @return the referenced objects in the order of the references, with null for records which do not exist.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public Object[] readReferences(List<ClassCacheEntry<?>> entries, List<Object> keys) {
+        Object[] results = new Object[entries.size()];
+        Map<Key, List<Integer>> indexesByKey = new LinkedHashMap<>();
+        List<ClassCacheEntry<?>> keyEntries = new ArrayList<>();
+        for (int i = 0; i < results.length; i++) {
+            ClassCacheEntry<?> entry = entries.get(i);
+            if (entry != null) {
+                Key aKey = createKey(entry, keys.get(i), false);
+                List<Integer> indexes = indexesByKey.get(aKey);
+                if (indexes == null) {
+                    indexes = new ArrayList<>();
+                    indexesByKey.put(aKey, indexes);
+                    keyEntries.add(entry);
+                }
+                indexes.add(i);
+            }
+        }
+        if (indexesByKey.isEmpty()) {
+            return results;
         }
+        Key[] keyArray = indexesByKey.keySet().toArray(new Key[0]);
+        BatchPolicy batchPolicy = getBatchPolicy(keyEntries.get(0));
+        MappingContext context = new MappingContext();
+        Record[] records = readChunks(batchPolicy, keyArray, ClassCache.getInstance().getReferenceBatchSize(), context);
+        int i = 0;
+        for (List<Integer> indexes : indexesByKey.values()) {
+            ClassCacheEntry entry = keyEntries.get(i);
+            Object result = records[i] == null ? null : convertToObject(entry.getUnderlyingClass(), keyArray[i], records[i],
+                    entry, null, context);
+            for (int index : indexes) {
+                results[index] = result;
+            }
+            i++;
+        }
+        resolveDependencies(keyEntries.get(0), context);
+        return results;
     }
 
     /**
@@ -199,69 +340,303 @@ public class MappingConverter {
      * references.
      * <p/>
      * These loaded child objects can themselves have other references to other objects, so we iterate through this until
-     * the list of deferred objects is empty. The deferred objects are stored in a <pre>ThreadLocalData<pre> list, so are thread safe
+     * the list of deferred objects is empty. The deferred objects are taken from the <code>MappingContext</code> bound to
+     * the current thread.
      * @param parentEntity - the ClassCacheEntry of the parent entity. This is used to get the batch policy to use.
      */
-    @SuppressWarnings("unchecked")
     public void resolveDependencies(ClassCacheEntry<?> parentEntity) {
-        List<DeferredObjectLoader.DeferredObjectSetter> deferredObjects = DeferredObjectLoader.getAndClear();
+        MappingContext context = MappingContext.forCurrentThread();
+        LoadedObjectResolver.begin();
+        try {
+            resolveDependencies(parentEntity, context);
+        } finally {
+            context.clearDeferredObjects();
+            LoadedObjectResolver.end();
+        }
+    }
+
+    /**
+     * Load the objects referenced by the records converted with the passed context, as
+     * {@link #resolveDependencies(ClassCacheEntry)} does. Objects already loaded by the context are not read again.
+     * <p/>
+     * Each level of references is read once per distinct key and the object is set into every reference to it. Levels
+     * with more keys than the reference batch size are read in chunks of that size, issued concurrently, and levels
+     * below the maximum reference depth are not loaded. The round trips and keys read are added to the context.
+     *
+     * @param parentEntity - the ClassCacheEntry of the parent entity. This is used to get the batch policy to use.
+     * @param context      - the context the records were converted with.
+     */
+    public void resolveDependencies(ClassCacheEntry<?> parentEntity, MappingContext context) {
+        List<DeferredObjectLoader.DeferredObjectSetter> deferredObjects = context.takeDeferredObjects();
 
         if (deferredObjects.size() == 0) {
             return;
         }
 
-        BatchPolicy batchPolicy = parentEntity == null ? aerospikeClient.getBatchPolicyDefault() : parentEntity.getBatchPolicy();
-        BatchPolicy batchPolicyClone = new BatchPolicy(batchPolicy);
+        BatchPolicy batchPolicy = getBatchPolicy(parentEntity);
+        int maxDepth = ClassCache.getInstance().getMaxReferenceDepth();
+        int batchSize = ClassCache.getInstance().getReferenceBatchSize();
+        int roundTrips = context.getReferenceRoundTrips();
+        int keysLoaded = context.getReferenceKeysLoaded();
+        // Keys read by an earlier level which have no record, so are not in the loaded objects
+        Set<Key> missingKeys = new HashSet<>();
+
+        for (int depth = 1; !deferredObjects.isEmpty() && depth <= maxDepth; depth++) {
+            PendingLevel level = prepareLevel(deferredObjects, context.getLoadedObjects(), missingKeys);
+            if (level == null) {
+                break;
+            }
+            Record[] records = readChunks(batchPolicy, level.keys, batchSize, context);
+            for (int i = 0; i < records.length; i++) {
+                if (records[i] == null) {
+                    missingKeys.add(level.keys[i]);
+                }
+            }
+            deferredObjects = level.apply(records, context);
+        }
+        if (Log.debugEnabled()) {
+            Log.debug(String.format("Loaded %d referenced records in %d round trips",
+                    context.getReferenceKeysLoaded() - keysLoaded, context.getReferenceRoundTrips() - roundTrips));
+        }
+    }
 
-        while (!deferredObjects.isEmpty()) {
-            List<Key> keyList = new ArrayList<>();
-            List<ClassCacheEntry<?>> classCacheEntryList = new ArrayList<>();
+    /**
+     * Read the passed keys in chunks of at most the passed size. The first chunk is read on this thread and the others
+     * on the reference load executor at the same time.
+     */
+    private Record[] readChunks(BatchPolicy batchPolicy, Key[] keys, int batchSize, MappingContext context) {
+        if (keys.length <= batchSize) {
+            context.addReferenceReads(1, keys.length);
+            return aerospikeClient.get(getBatchPolicy(batchPolicy, keys.length), keys);
+        }
+        Record[] records = new Record[keys.length];
+        Executor executor = ClassCache.getInstance().getReferenceLoadExecutor();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int start = batchSize; start < keys.length; start += batchSize) {
+            int from = start;
+            int to = Math.min(start + batchSize, keys.length);
+            futures.add(CompletableFuture.runAsync(() -> readChunk(batchPolicy, keys, records, from, to), executor));
+        }
+        readChunk(batchPolicy, keys, records, 0, batchSize);
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof AerospikeException) {
+                throw (AerospikeException) e.getCause();
+            }
+            throw new AerospikeException(e.getCause());
+        }
+        context.addReferenceReads(futures.size() + 1, keys.length);
+        return records;
+    }
 
-            // Resolve any objects which have been seen before
-            for (Iterator<DeferredObjectSetter> iterator = deferredObjects.iterator(); iterator.hasNext(); ) {
-                DeferredObjectSetter thisObjectSetter = iterator.next();
-                DeferredObjectLoader.DeferredObject deferredObject = thisObjectSetter.getObject();
-                Class<?> clazz = deferredObject.getType();
-                ClassCacheEntry<?> entry = MapperUtils.getEntryAndValidateNamespace(clazz, mapper);
+    private void readChunk(BatchPolicy batchPolicy, Key[] keys, Record[] records, int from, int to) {
+        Key[] chunk = new Key[to - from];
+        System.arraycopy(keys, from, chunk, 0, chunk.length);
+        Record[] chunkRecords = aerospikeClient.get(getBatchPolicy(batchPolicy, chunk.length), chunk);
+        System.arraycopy(chunkRecords, 0, records, from, chunkRecords.length);
+    }
 
-                Key aKey = createKey(entry, deferredObject);
-                Object result = LoadedObjectResolver.get(aKey);
-                if (result != null) {
-                    thisObjectSetter.getSetter().setValue(result);
-                    iterator.remove();
-                } else {
-                    keyList.add(aKey);
+    /**
+     * Convert a record without resolving its references, for mappers which resolve references without blocking. The
+     * references deferred while converting, including those which are not batch loaded, are added to the passed list,
+     * so the caller can resolve them on any thread. The converted object is added to the passed map of objects loaded
+     * by the operation.
+     * <p/>
+     * This method should not be used, it is public only to allow mappers to see it.
+     */
+    public <T> T convertToObject(Class<T> clazz, Key key, Record record, ClassCacheEntry<T> entry, String[] binNames,
+                                 Map<Key, Object> loadedObjects, List<DeferredObjectSetter> deferredObjects) {
+        MappingContext context = new MappingContext(loadedObjects);
+        context.setDeferAllReferences(true);
+        T result = convertToObject(clazz, key, record, entry, binNames, context);
+        deferredObjects.addAll(context.getDeferredObjects());
+        return result;
+    }
+
+    /**
+     * Resolve the passed deferred objects as {@link #resolveDependencies(ClassCacheEntry)} does, but without blocking: each
+     * level of references is loaded with an asynchronous batch read, and the records are converted on the thread which
+     * completes the read. The references of those records form the next level.
+     * <p/>
+     * As the levels can complete on different threads, objects already loaded by this operation are tracked in the
+     * passed map, which is shared by the contexts the records of each level are converted with.
+     *
+     * @param parentEntity    - the ClassCacheEntry of the parent entity. This is used to get the batch policy to use.
+     * @param deferredObjects - the deferred objects collected when the parents were converted.
+     * @param loadedObjects   - the objects loaded by this operation by their keys. This must be safe for concurrent use.
+     * @param eventLoops      - the event loops to run the batch reads on, or null to let the client choose.
+     * @return a future completed when every level has been loaded and set, or completed exceptionally if a load fails.
+     */
+    public CompletableFuture<Void> resolveDependenciesAsync(ClassCacheEntry<?> parentEntity,
+            List<DeferredObjectSetter> deferredObjects, Map<Key, Object> loadedObjects, EventLoops eventLoops) {
+        if (deferredObjects.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return resolveLevelAsync(getBatchPolicy(parentEntity), deferredObjects, loadedObjects, eventLoops);
+    }
+
+    private CompletableFuture<Void> resolveLevelAsync(BatchPolicy batchPolicy, List<DeferredObjectSetter> deferredObjects,
+            Map<Key, Object> loadedObjects, EventLoops eventLoops) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            PendingLevel level = prepareLevel(deferredObjects, loadedObjects, null);
+            if (level == null) {
+                future.complete(null);
+                return future;
+            }
+            EventLoop eventLoop = eventLoops == null ? null : eventLoops.next();
+            aerospikeClient.get(eventLoop, new RecordArrayListener() {
+                @Override
+                public void onSuccess(Key[] keys, Record[] records) {
+                    List<DeferredObjectSetter> nextLevel;
+                    try {
+                        nextLevel = level.apply(records, loadedObjects);
+                    } catch (RuntimeException e) {
+                        future.completeExceptionally(e);
+                        return;
+                    }
+                    resolveLevelAsync(batchPolicy, nextLevel, loadedObjects, eventLoops).whenComplete((result, throwable) -> {
+                        if (throwable == null) {
+                            future.complete(null);
+                        } else {
+                            future.completeExceptionally(throwable);
+                        }
+                    });
+                }
+
+                @Override
+                public void onFailure(AerospikeException exception) {
+                    future.completeExceptionally(exception);
+                }
+            }, level.getBatchPolicy(batchPolicy), level.keys);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Resolve the passed deferred objects as {@link #resolveDependencies(ClassCacheEntry)} does, but without blocking: each
+     * level of references is loaded with a batch read of the reactor client, and the levels are chained with
+     * <code>expand</code> so the next level is only read once the records of the previous level have been converted.
+     * <p/>
+     * Objects already loaded by this operation are tracked in the passed map, which is shared by the contexts the records
+     * of each level are converted with, as the levels can be converted on different threads.
+     *
+     * @param parentEntity    - the ClassCacheEntry of the parent entity. This is used to get the batch policy to use.
+     * @param deferredObjects - the deferred objects collected when the parents were converted.
+     * @param loadedObjects   - the objects loaded by this operation by their keys. This must be safe for concurrent use.
+     * @param reactorClient   - the client to read the references with.
+     * @return a Mono completing when every level has been loaded and set.
+     */
+    public Mono<Void> resolveDependenciesReactive(ClassCacheEntry<?> parentEntity, List<DeferredObjectSetter> deferredObjects,
+            Map<Key, Object> loadedObjects, IAerospikeReactorClient reactorClient) {
+        if (deferredObjects.isEmpty()) {
+            return Mono.empty();
+        }
+        BatchPolicy batchPolicy = getBatchPolicy(parentEntity);
+        return Mono.just(deferredObjects)
+                .expand(deferred -> Mono.defer(() -> {
+                    PendingLevel level = prepareLevel(deferred, loadedObjects, null);
+                    if (level == null) {
+                        return Mono.empty();
+                    }
+                    return reactorClient.get(level.getBatchPolicy(batchPolicy), level.keys)
+                            .map(keysRecords -> level.apply(keysRecords.records, loadedObjects))
+                            .filter(nextLevel -> !nextLevel.isEmpty());
+                }))
+                .then();
+    }
+
+    private BatchPolicy getBatchPolicy(ClassCacheEntry<?> parentEntity) {
+        return parentEntity == null ? aerospikeClient.getBatchPolicyDefault() : parentEntity.getBatchPolicy();
+    }
+
+    private static BatchPolicy getBatchPolicy(BatchPolicy batchPolicy, int keyCount) {
+        if (keyCount > 2) {
+            return batchPolicy;
+        }
+        // Just single-thread these keys for speed
+        BatchPolicy batchPolicyClone = new BatchPolicy(batchPolicy);
+        batchPolicyClone.maxConcurrentThreads = 1;
+        return batchPolicyClone;
+    }
+
+    /**
+     * Set the deferred objects which have already been loaded by this operation, and return the rest as a level to load,
+     * or null if there is nothing to load. Objects referenced more than once in the level are read once.
+     *
+     * @param missingKeys - keys already read by this operation which have no record, so are set to null, or null if
+     *                    these are not tracked.
+     */
+    private PendingLevel prepareLevel(List<DeferredObjectSetter> deferredObjects, Map<Key, Object> loadedObjects,
+            Set<Key> missingKeys) {
+        Map<Key, List<DeferredObjectSetter>> settersByKey = new LinkedHashMap<>();
+        List<ClassCacheEntry<?>> classCacheEntryList = new ArrayList<>();
+        for (DeferredObjectSetter thisObjectSetter : deferredObjects) {
+            DeferredObjectLoader.DeferredObject deferredObject = thisObjectSetter.getObject();
+            ClassCacheEntry<?> entry = MapperUtils.getEntryAndValidateNamespace(deferredObject.getType(), mapper);
+            Key aKey = createKey(entry, deferredObject);
+            Object result = loadedObjects.get(aKey);
+            if (result != null) {
+                thisObjectSetter.getSetter().setValue(result);
+            } else if (missingKeys != null && missingKeys.contains(aKey)) {
+                thisObjectSetter.getSetter().setValue(null);
+            } else {
+                List<DeferredObjectSetter> setters = settersByKey.get(aKey);
+                if (setters == null) {
+                    setters = new ArrayList<>();
+                    settersByKey.put(aKey, setters);
                     classCacheEntryList.add(entry);
                 }
+                setters.add(thisObjectSetter);
             }
+        }
+        return settersByKey.isEmpty() ? null : new PendingLevel(settersByKey, classCacheEntryList);
+    }
 
-            int size = keyList.size();
-            if (size > 0) {
-                Key[] keys = keyList.toArray(new Key[0]);
+    /**
+     * The distinct keys of one level of references which must be read, with the classes of their records and the
+     * deferred objects which refer to them in the same order.
+     */
+    private class PendingLevel {
+        private final Key[] keys;
+        private final List<List<DeferredObjectSetter>> setters;
+        private final List<ClassCacheEntry<?>> entries;
 
-                // Load the data
-                if (keys.length <= 2) {
-                    // Just single-thread these keys for speed
-                    batchPolicyClone.maxConcurrentThreads = 1;
-                } else {
-                    batchPolicyClone.maxConcurrentThreads = batchPolicy.maxConcurrentThreads;
-                }
-                Record[] records = aerospikeClient.get(batchPolicyClone, keys);
+        PendingLevel(Map<Key, List<DeferredObjectSetter>> settersByKey, List<ClassCacheEntry<?>> entries) {
+            this.keys = settersByKey.keySet().toArray(new Key[0]);
+            this.setters = new ArrayList<>(settersByKey.values());
+            this.entries = entries;
+        }
 
-                for (int i = 0; i < size; i++) {
-                    DeferredObjectLoader.DeferredObjectSetter thisObjectSetter = deferredObjects.get(i);
-                    try {
-                        ThreadLocalKeySaver.save(keys[i]);
-                        Object result = records[i] == null ? null : convertToObject((Class) thisObjectSetter.getObject().getType(), records[i], classCacheEntryList.get(i), false);
-                        thisObjectSetter.getSetter().setValue(result);
-                    } catch (ReflectiveOperationException e) {
-                        throw new AerospikeException(e);
-                    } finally {
-                        ThreadLocalKeySaver.clear();
-                    }
+        BatchPolicy getBatchPolicy(BatchPolicy batchPolicy) {
+            return MappingConverter.getBatchPolicy(batchPolicy, keys.length);
+        }
+
+        List<DeferredObjectSetter> apply(Record[] records, Map<Key, Object> loadedObjects) {
+            // Only the mappers which resolve references without blocking use this, so no reference may be read here
+            MappingContext context = new MappingContext(loadedObjects);
+            context.setDeferAllReferences(true);
+            return apply(records, context);
+        }
+
+        /**
+         * Convert the records read for this level on the current thread with the passed context, set them into every
+         * object referring to them and return the deferred objects of the next level, taking them from the context.
+         */
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        List<DeferredObjectSetter> apply(Record[] records, MappingContext context) {
+            for (int i = 0; i < records.length; i++) {
+                List<DeferredObjectSetter> keySetters = setters.get(i);
+                Object result = records[i] == null ? null : convertToObject((Class) keySetters.get(0).getObject().getType(),
+                        keys[i], records[i], (ClassCacheEntry) entries.get(i), null, context);
+                for (DeferredObjectSetter thisObjectSetter : keySetters) {
+                    thisObjectSetter.getSetter().setValue(result);
                 }
             }
-            deferredObjects = DeferredObjectLoader.getAndClear();
+            return context.takeDeferredObjects();
         }
     }
 }
@@ -0,0 +1,88 @@
+package com.aerospike.mapper.tools.lazy;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import javax.validation.constraints.NotNull;
+
+import com.aerospike.mapper.tools.ClassCacheEntry;
+import com.aerospike.mapper.tools.IBaseAeroMapper;
+
+/**
+ * The lazy references read from one bin: either a single reference or the elements of a list or array of references.
+ * The first time any of them is used, all of them are loaded with one batch read, so using every element of a
+ * collection costs one round trip rather than one per element.
+ * <p/>
+ * The objects are loaded with blocking reads on the thread which first uses them, whichever mapper read the record
+ * holding the references.
+ */
+public class LazyReferenceGroup {
+    private final IBaseAeroMapper mapper;
+    private final List<ClassCacheEntry<?>> entries = new ArrayList<>();
+    private final List<Object> keys = new ArrayList<>();
+    private Object[] objects;
+
+    public LazyReferenceGroup(@NotNull IBaseAeroMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * Add a reference to the group.
+     *
+     * @param entry The class of the referenced object, or null if the reference is null.
+     * @param key   The key stored in the reference.
+     * @return the index of the reference in the group.
+     */
+    public int add(ClassCacheEntry<?> entry, Object key) {
+        entries.add(entry);
+        keys.add(key);
+        return entries.size() - 1;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public synchronized boolean isLoaded() {
+        return objects != null;
+    }
+
+    /**
+     * Return the object referenced by the reference with the passed index, loading every reference of the group if they
+     * have not been loaded yet. Returns null if the reference is null or the referenced record does not exist.
+     */
+    public synchronized Object get(int index) {
+        if (objects == null) {
+            objects = mapper.getMappingConverter().readReferences(entries, keys);
+        }
+        return objects[index];
+    }
+
+    /**
+     * Create a proxy implementing the passed interface for the reference with the passed index. The proxy returns the
+     * key of the referenced object without loading it, and loads the group when any other method is called.
+     */
+    public Object newProxy(@NotNull Class<?> type, int index) {
+        ClassCacheEntry<?> entry = entries.get(index);
+        Object keyInstance = entry.constructAndHydrate(new HashMap<>());
+        entry.setKey(keyInstance, keys.get(index));
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                new LazyReferenceHandler(this, index, entry, keyInstance));
+    }
+
+    /**
+     * Return the object behind a lazy reference proxy: the loaded object if its group has been loaded, otherwise an
+     * object with only its key set. Any other value is returned unchanged.
+     */
+    public static Object unwrap(Object value) {
+        if (value != null && Proxy.isProxyClass(value.getClass())) {
+            Object handler = Proxy.getInvocationHandler(value);
+            if (handler instanceof LazyReferenceHandler) {
+                return ((LazyReferenceHandler) handler).getObject();
+            }
+        }
+        return value;
+    }
+}
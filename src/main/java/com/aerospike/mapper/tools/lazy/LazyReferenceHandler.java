@@ -0,0 +1,53 @@
+package com.aerospike.mapper.tools.lazy;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.mapper.tools.ClassCacheEntry;
+
+/**
+ * The handler of a proxy standing in for a lazily referenced object. Calls to the key getter are answered from an
+ * object with only the key set; any other call loads the group of the reference and is passed to the loaded object.
+ */
+class LazyReferenceHandler implements InvocationHandler {
+    private final LazyReferenceGroup group;
+    private final int index;
+    private final ClassCacheEntry<?> entry;
+    private final Object keyInstance;
+
+    LazyReferenceHandler(LazyReferenceGroup group, int index, ClassCacheEntry<?> entry, Object keyInstance) {
+        this.group = group;
+        this.index = index;
+        this.entry = entry;
+        this.keyInstance = keyInstance;
+    }
+
+    /**
+     * Return the loaded object if the group has been loaded, otherwise the object with only the key set.
+     */
+    Object getObject() {
+        Object object = group.isLoaded() ? group.get(index) : null;
+        return object == null ? keyInstance : object;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        Object target;
+        if (entry.isKeyGetter(method)) {
+            target = keyInstance;
+        } else {
+            target = group.get(index);
+            if (target == null) {
+                throw new AerospikeException(String.format("The %s with key %s referenced lazily does not exist",
+                        entry.getUnderlyingClass().getSimpleName(), entry.getKey(keyInstance)));
+            }
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
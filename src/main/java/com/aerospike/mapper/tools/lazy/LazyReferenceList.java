@@ -0,0 +1,81 @@
+package com.aerospike.mapper.tools.lazy;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import javax.validation.constraints.NotNull;
+
+/**
+ * A list of lazy references. Nothing is read until the list is first used other than for its size; then every element
+ * is loaded with one batch read and the list behaves as an ordinary modifiable list.
+ */
+public class LazyReferenceList extends AbstractList<Object> implements RandomAccess {
+    private final LazyReferenceGroup group;
+    private final List<?> storedValue;
+    private List<Object> elements;
+
+    /**
+     * @param group       The references of the list, one per element.
+     * @param storedValue The list as it is stored in the database.
+     */
+    public LazyReferenceList(@NotNull LazyReferenceGroup group, @NotNull List<?> storedValue) {
+        this.group = group;
+        this.storedValue = storedValue;
+    }
+
+    private synchronized List<Object> elements() {
+        if (elements == null) {
+            List<Object> loaded = new ArrayList<>(group.size());
+            for (int i = 0; i < group.size(); i++) {
+                loaded.add(group.get(i));
+            }
+            elements = loaded;
+        }
+        return elements;
+    }
+
+    /**
+     * Return whether the elements have been loaded. If not, the list is still as it was read from the database.
+     */
+    public synchronized boolean isLoaded() {
+        return elements != null;
+    }
+
+    /**
+     * Return the list as it was stored in the database, which can be saved again without loading the elements if they
+     * have not been loaded.
+     */
+    public List<?> getStoredValue() {
+        return storedValue;
+    }
+
+    @Override
+    public Object get(int index) {
+        return elements().get(index);
+    }
+
+    @Override
+    public synchronized int size() {
+        return elements == null ? group.size() : elements.size();
+    }
+
+    @Override
+    public Object set(int index, Object element) {
+        return elements().set(index, element);
+    }
+
+    @Override
+    public void add(int index, Object element) {
+        elements().add(index, element);
+        modCount++;
+    }
+
+    @Override
+    public Object remove(int index) {
+        Object result = elements().remove(index);
+        modCount++;
+        return result;
+    }
+}
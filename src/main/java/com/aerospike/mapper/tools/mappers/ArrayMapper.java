@@ -4,12 +4,13 @@ import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.List;
 
-import com.aerospike.mapper.tools.DeferredObjectLoader;
+import com.aerospike.mapper.tools.MappingContext;
 import com.aerospike.mapper.tools.TypeMapper;
 import com.aerospike.mapper.tools.utils.TypeUtils;
 import com.aerospike.mapper.tools.DeferredObjectLoader.DeferredObject;
 import com.aerospike.mapper.tools.DeferredObjectLoader.DeferredObjectSetter;
 import com.aerospike.mapper.tools.DeferredObjectLoader.DeferredSetter;
+import com.aerospike.mapper.tools.lazy.LazyReferenceGroup;
 
 public class ArrayMapper extends TypeMapper {
 
@@ -44,6 +45,11 @@ public class ArrayMapper extends TypeMapper {
 
     @Override
     public Object fromAerospikeFormat(Object value) {
+        return fromAerospikeFormat(value, MappingContext.forCurrentThread());
+    }
+
+    @Override
+    public Object fromAerospikeFormat(Object value, MappingContext context) {
         if (value == null) {
             return null;
         }
@@ -53,16 +59,25 @@ public class ArrayMapper extends TypeMapper {
         }
 
         Object result = Array.newInstance(instanceClass, list.size());
+        if (instanceClassMapper instanceof ObjectReferenceMapper && ((ObjectReferenceMapper) instanceClassMapper).isLazyProxy()) {
+            // The elements are proxies which load every element of the array the first time one of them is used
+            ObjectReferenceMapper referenceMapper = (ObjectReferenceMapper) instanceClassMapper;
+            LazyReferenceGroup group = referenceMapper.newLazyReferenceGroup();
+            for (int i = 0; i < list.size(); i++) {
+                Array.set(result, i, referenceMapper.createLazyProxy(list.get(i), group));
+            }
+            return result;
+        }
         for (int i = 0; i < list.size(); i++) {
 
             Object obj = list.get(i);
-            Object item = this.instanceClassMapper.fromAerospikeFormat(obj);
-            if (!allowBatch || (!(item instanceof DeferredObject))) {
+            Object item = this.instanceClassMapper.fromAerospikeFormat(obj, context);
+            if ((!allowBatch && !context.isDeferAllReferences()) || (!(item instanceof DeferredObject))) {
                 Array.set(result, i, item);
             } else {
                 final int thisIndex = i;
                 DeferredSetter setter = object -> Array.set(result, thisIndex, object);
-                DeferredObjectLoader.add(new DeferredObjectSetter(setter, (DeferredObject) item));
+                context.addDeferredObject(new DeferredObjectSetter(setter, (DeferredObject) item));
             }
         }
         return result;
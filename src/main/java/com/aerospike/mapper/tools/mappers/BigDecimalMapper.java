@@ -1,18 +1,45 @@
 package com.aerospike.mapper.tools.mappers;
 
+import com.aerospike.client.AerospikeException;
+import com.aerospike.mapper.annotations.AerospikeBigNumber.Encoding;
+import com.aerospike.mapper.tools.ClassCache;
 import com.aerospike.mapper.tools.TypeMapper;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
 
+/**
+ * Maps BigDecimals to strings or, with the <code>COMPACT</code> encoding, to either an integer (for values with a
+ * scale of 0 which fit in a long) or a blob. The blob holds the scale as a zig-zag varint, followed by the unscaled
+ * value as big-endian two's-complement bytes, as produced by <code>BigInteger.toByteArray()</code>.
+ */
 public class BigDecimalMapper extends TypeMapper {
 
+    /**
+     * The encoding of this field, or null to use the encoding set on the builder.
+     */
+    private final Encoding encoding;
+
+    public BigDecimalMapper() {
+        this(null);
+    }
+
+    public BigDecimalMapper(Encoding encoding) {
+        this.encoding = encoding;
+    }
+
     @Override
     public Object toAerospikeFormat(Object value) {
         if (value == null) {
             return null;
         }
-        BigDecimal bigInt = (BigDecimal) value;
-        return bigInt.toString();
+        BigDecimal bigDecimal = (BigDecimal) value;
+        Encoding encodingToUse = encoding == null ? ClassCache.getInstance().getBigNumberEncoding() : encoding;
+        if (encodingToUse == Encoding.COMPACT) {
+            return toCompactFormat(bigDecimal);
+        }
+        return bigDecimal.toString();
     }
 
     @Override
@@ -20,6 +47,78 @@ public class BigDecimalMapper extends TypeMapper {
         if (value == null) {
             return null;
         }
-        return new BigDecimal((String) value);
+        if (value instanceof String) {
+            return new BigDecimal((String) value);
+        } else if (value instanceof Long) {
+            return BigDecimal.valueOf((Long) value);
+        } else if (value instanceof byte[]) {
+            return fromBytes((byte[]) value);
+        }
+        throw new AerospikeException(String.format("Cannot convert %s of type %s to a BigDecimal", value, value.getClass().getName()));
+    }
+
+    private static Object toCompactFormat(BigDecimal value) {
+        int scale = value.scale();
+        BigInteger unscaled = value.unscaledValue();
+        boolean fitsInLong = unscaled.bitLength() < Long.SIZE;
+        if (scale == 0 && fitsInLong) {
+            return unscaled.longValue();
+        }
+
+        int zigZagScale = (scale << 1) ^ (scale >> 31);
+        int scaleLength = 1;
+        for (int remaining = zigZagScale >>> 7; remaining != 0; remaining >>>= 7) {
+            scaleLength++;
+        }
+        byte[] result;
+        if (fitsInLong) {
+            // Write the long directly rather than creating another array with toByteArray()
+            long unscaledLong = unscaled.longValue();
+            int length = (Long.SIZE + 8 - Long.numberOfLeadingZeros(unscaledLong ^ (unscaledLong >> 63))) / 8;
+            result = new byte[scaleLength + length];
+            for (int i = result.length - 1; i >= scaleLength; i--) {
+                result[i] = (byte) unscaledLong;
+                unscaledLong >>= 8;
+            }
+        } else {
+            byte[] unscaledBytes = unscaled.toByteArray();
+            result = new byte[scaleLength + unscaledBytes.length];
+            System.arraycopy(unscaledBytes, 0, result, scaleLength, unscaledBytes.length);
+        }
+        for (int i = 0; i < scaleLength; i++) {
+            result[i] = (byte) (i == scaleLength - 1 ? zigZagScale : (zigZagScale & 0x7F) | 0x80);
+            zigZagScale >>>= 7;
+        }
+        return result;
+    }
+
+    private static BigDecimal fromBytes(byte[] bytes) {
+        int zigZagScale = 0;
+        int offset = 0;
+        int shift = 0;
+        byte thisByte;
+        do {
+            if (offset >= bytes.length || shift > 28) {
+                throw new AerospikeException("Invalid encoding of a BigDecimal");
+            }
+            thisByte = bytes[offset++];
+            zigZagScale |= (thisByte & 0x7F) << shift;
+            shift += 7;
+        } while ((thisByte & 0x80) != 0);
+        int scale = (zigZagScale >>> 1) ^ -(zigZagScale & 1);
+
+        int length = bytes.length - offset;
+        if (length == 0) {
+            throw new AerospikeException("Invalid encoding of a BigDecimal");
+        }
+        if (length <= 8) {
+            // The first byte is sign extended, the rest are not
+            long unscaled = bytes[offset];
+            for (int i = offset + 1; i < bytes.length; i++) {
+                unscaled = (unscaled << 8) | (bytes[i] & 0xFF);
+            }
+            return BigDecimal.valueOf(unscaled, scale);
+        }
+        return new BigDecimal(new BigInteger(Arrays.copyOfRange(bytes, offset, bytes.length)), scale);
     }
 }
@@ -1,17 +1,37 @@
 package com.aerospike.mapper.tools.mappers;
 
+import com.aerospike.client.AerospikeException;
+import com.aerospike.mapper.annotations.AerospikeBigNumber.Encoding;
+import com.aerospike.mapper.tools.ClassCache;
 import com.aerospike.mapper.tools.TypeMapper;
 
 import java.math.BigInteger;
 
 public class BigIntegerMapper extends TypeMapper {
 
+    /**
+     * The encoding of this field, or null to use the encoding set on the builder.
+     */
+    private final Encoding encoding;
+
+    public BigIntegerMapper() {
+        this(null);
+    }
+
+    public BigIntegerMapper(Encoding encoding) {
+        this.encoding = encoding;
+    }
+
     @Override
     public Object toAerospikeFormat(Object value) {
         if (value == null) {
             return null;
         }
         BigInteger bigInt = (BigInteger) value;
+        Encoding encodingToUse = encoding == null ? ClassCache.getInstance().getBigNumberEncoding() : encoding;
+        if (encodingToUse == Encoding.COMPACT) {
+            return bigInt.bitLength() < Long.SIZE ? (Object) bigInt.longValue() : bigInt.toByteArray();
+        }
         return bigInt.toString();
     }
 
@@ -20,6 +40,13 @@ public class BigIntegerMapper extends TypeMapper {
         if (value == null) {
             return null;
         }
-        return new BigInteger((String) value);
+        if (value instanceof String) {
+            return new BigInteger((String) value);
+        } else if (value instanceof Long) {
+            return BigInteger.valueOf((Long) value);
+        } else if (value instanceof byte[]) {
+            return new BigInteger((byte[]) value);
+        }
+        throw new AerospikeException(String.format("Cannot convert %s of type %s to a BigInteger", value, value.getClass().getName()));
     }
 }
@@ -1,29 +1,35 @@
 package com.aerospike.mapper.tools.mappers;
 
 import com.aerospike.client.AerospikeException;
+import com.aerospike.mapper.annotations.AerospikeEnum.EnumType;
 import com.aerospike.mapper.tools.TypeMapper;
 
 import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class EnumMapper extends TypeMapper {
 
+    /**
+     * The lookup tables of each enum, keyed by the enum class and then the enum field and type. Mappers are created
+     * for every field and, for lists without a declared element type, for every element read, so the tables are
+     * built once and shared.
+     */
+    private static final Map<Class<?>, Map<String, EnumLookup>> lookups = new ConcurrentHashMap<>();
+
     private final Class<? extends Enum<?>> clazz;
-    private final String enumField;
-    private final Field enumRequestedField;
+    private final EnumLookup lookup;
 
     public EnumMapper(Class<? extends Enum<?>> clazz, String enumField) {
+        this(clazz, enumField, EnumType.STRING);
+    }
+
+    public EnumMapper(Class<? extends Enum<?>> clazz, String enumField, EnumType enumType) {
         this.clazz = clazz;
-        this.enumField = enumField;
-        if (!enumField.isEmpty()) {
-            try {
-                this.enumRequestedField = clazz.getDeclaredField(enumField);
-                this.enumRequestedField.setAccessible(true);
-            } catch (NoSuchFieldException e) {
-                throw toAerospikeException(e);
-            }
-        } else {
-            this.enumRequestedField = null;
-        }
+        this.lookup = lookups.computeIfAbsent(clazz, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(enumType + ":" + enumField, key -> new EnumLookup(clazz, enumField, enumType));
     }
 
     @Override
@@ -31,19 +37,7 @@ public class EnumMapper extends TypeMapper {
         if (value == null) {
             return null;
         }
-
-        if (!enumField.isEmpty()) {
-            if (enumRequestedField == null) {
-                return null;
-            }
-            try {
-                Object enumValue = enumRequestedField.get(value);
-                return enumValue == null ? null : enumValue.toString();
-            } catch (IllegalAccessException e) {
-                throw toAerospikeException(e);
-            }
-        }
-        return value.toString();
+        return lookup.values[((Enum<?>) value).ordinal()];
     }
 
     @Override
@@ -52,30 +46,108 @@ public class EnumMapper extends TypeMapper {
             return null;
         }
 
-        String stringValue = (String) value;
-        Enum<?>[] constants = clazz.getEnumConstants();
+        Enum<?> result;
+        if (value instanceof Number) {
+            result = lookup.fromNumber(((Number) value).longValue());
+        } else {
+            // Strings are always accepted so data written before changing to ordinals or codes can still be read
+            result = lookup.fromString.get(value.toString());
+        }
+        if (result == null) {
+            throw new AerospikeException(String.format("Enum value of \"%s\" not found in type %s", value, clazz));
+        }
+        return result;
+    }
+
+    private static AerospikeException toAerospikeException(Exception e) {
+        return new AerospikeException("Cannot Map requested enum, issue with the requested enumField.", e);
+    }
+
+    /**
+     * The stored value of each constant of an enum, and the constant for each stored value.
+     */
+    private static class EnumLookup {
+        private final EnumType enumType;
+        /**
+         * The value to store for each constant, indexed by ordinal.
+         */
+        private final Object[] values;
+        private final Enum<?>[] constants;
+        private final Map<String, Enum<?>> fromString;
+        private final Map<Long, Enum<?>> fromCode;
+
+        EnumLookup(Class<? extends Enum<?>> clazz, String enumField, EnumType enumType) {
+            this.enumType = enumType;
+            this.constants = clazz.getEnumConstants();
+            this.values = new Object[constants.length];
 
-        if (!enumField.isEmpty()) {
+            Field enumRequestedField = null;
+            if (!enumField.isEmpty()) {
+                try {
+                    enumRequestedField = clazz.getDeclaredField(enumField);
+                    enumRequestedField.setAccessible(true);
+                } catch (NoSuchFieldException e) {
+                    throw toAerospikeException(e);
+                }
+            } else if (enumType == EnumType.CODE) {
+                throw new AerospikeException(String.format("Enum %s is stored as a CODE but no enumField is given", clazz.getName()));
+            }
+
+            Map<String, Enum<?>> stringValues = new HashMap<>();
+            Map<Long, Enum<?>> codeValues = new HashMap<>();
             try {
                 for (Enum<?> thisEnum : constants) {
-                    if (enumRequestedField.get(thisEnum).equals(stringValue)) {
-                        return thisEnum;
+                    Object fieldValue = enumRequestedField == null ? thisEnum : enumRequestedField.get(thisEnum);
+                    String stringValue = fieldValue == null ? null : fieldValue.toString();
+                    switch (enumType) {
+                        case ORDINAL:
+                            values[thisEnum.ordinal()] = (long) thisEnum.ordinal();
+                            break;
+                        case CODE:
+                            values[thisEnum.ordinal()] = toCode(clazz, thisEnum, fieldValue, codeValues);
+                            break;
+                        default:
+                            values[thisEnum.ordinal()] = stringValue;
+                    }
+                    if (stringValue != null) {
+                        // The first constant with a value wins, as it did when the constants were searched in order
+                        stringValues.putIfAbsent(stringValue, thisEnum);
+                    }
+                    if (enumType != EnumType.STRING) {
+                        // Data written as names before changing the type must still be readable
+                        stringValues.putIfAbsent(thisEnum.name(), thisEnum);
                     }
                 }
             } catch (IllegalAccessException e) {
                 throw toAerospikeException(e);
             }
-        } else {
-            for (Enum<?> thisEnum : constants) {
-                if (thisEnum.toString().equals(stringValue)) {
-                    return thisEnum;
-                }
+            this.fromString = Collections.unmodifiableMap(stringValues);
+            this.fromCode = Collections.unmodifiableMap(codeValues);
+        }
+
+        private static Long toCode(Class<?> clazz, Enum<?> thisEnum, Object fieldValue, Map<Long, Enum<?>> codeValues) {
+            if (!(fieldValue instanceof Long || fieldValue instanceof Integer || fieldValue instanceof Short || fieldValue instanceof Byte)) {
+                throw new AerospikeException(String.format("The enumField of %s must be an integer to be stored as a CODE, but %s has %s",
+                        clazz.getName(), thisEnum.name(), fieldValue));
+            }
+            Long code = ((Number) fieldValue).longValue();
+            Enum<?> existing = codeValues.putIfAbsent(code, thisEnum);
+            if (existing != null) {
+                throw new AerospikeException(String.format("Enum constants %s and %s of %s have the same code %d",
+                        existing.name(), thisEnum.name(), clazz.getName(), code));
             }
+            return code;
         }
-        throw new AerospikeException(String.format("Enum value of \"%s\" not found in type %s", stringValue, clazz));
-    }
 
-    private AerospikeException toAerospikeException(Exception e) {
-        return new AerospikeException("Cannot Map requested enum, issue with the requested enumField.", e);
+        Enum<?> fromNumber(long value) {
+            switch (enumType) {
+                case ORDINAL:
+                    return value >= 0 && value < constants.length ? constants[(int) value] : null;
+                case CODE:
+                    return fromCode.get(value);
+                default:
+                    return null;
+            }
+        }
     }
 }
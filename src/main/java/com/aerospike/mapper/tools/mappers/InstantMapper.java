@@ -2,17 +2,45 @@ package com.aerospike.mapper.tools.mappers;
 
 import java.time.Instant;
 
+import com.aerospike.mapper.annotations.AerospikeTime.Encoding;
 import com.aerospike.mapper.tools.TypeMapper;
 
+/**
+ * Map a java.time.Instant to Aerospike as the time since the epoch, in nanoseconds by default or in the unit of the
+ * encoding. As all of these are integers, the stored unit cannot be detected when reading.
+ */
 public class InstantMapper extends TypeMapper {
 
+    /**
+     * The encoding of this field, or null to use the encoding set on the builder.
+     */
+    private final Encoding encoding;
+
+    public InstantMapper() {
+        this(null);
+    }
+
+    public InstantMapper(Encoding encoding) {
+        this.encoding = encoding;
+    }
+
     @Override
     public Object toAerospikeFormat(Object value) {
         if (value == null) {
             return null;
         }
         Instant instant = (Instant) value;
-        return instant.getEpochSecond() * 1_000_000_000 + instant.getNano();
+        Encoding encodingToUse = TimeEncodings.resolve(encoding, Instant.class);
+        if (encodingToUse == Encoding.DEFAULT) {
+            return instant.getEpochSecond() * 1_000_000_000 + instant.getNano();
+        }
+        long nanosPerUnit = TimeEncodings.nanosPerUnit(encodingToUse);
+        try {
+            return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), TimeEncodings.NANOS_PER_SECOND / nanosPerUnit),
+                    instant.getNano() / nanosPerUnit);
+        } catch (ArithmeticException e) {
+            throw TimeEncodings.outOfRange(value, encodingToUse, e);
+        }
     }
 
     @Override
@@ -20,7 +48,13 @@ public class InstantMapper extends TypeMapper {
         if (value == null) {
             return null;
         }
-        long longValue = (Long) value;
-        return Instant.ofEpochSecond(longValue / 1_000_000_000, longValue % 1_000_000_000);
+        long longValue = TimeEncodings.toLong(value);
+        Encoding encodingToUse = TimeEncodings.resolve(encoding, Instant.class);
+        if (encodingToUse == Encoding.DEFAULT) {
+            return Instant.ofEpochSecond(longValue / 1_000_000_000, longValue % 1_000_000_000);
+        }
+        long nanosPerUnit = TimeEncodings.nanosPerUnit(encodingToUse);
+        long unitsPerSecond = TimeEncodings.NANOS_PER_SECOND / nanosPerUnit;
+        return Instant.ofEpochSecond(Math.floorDiv(longValue, unitsPerSecond), Math.floorMod(longValue, unitsPerSecond) * nanosPerUnit);
     }
 }
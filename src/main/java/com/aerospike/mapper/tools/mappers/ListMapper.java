@@ -6,6 +6,8 @@ import com.aerospike.mapper.tools.*;
 import com.aerospike.mapper.tools.DeferredObjectLoader.DeferredObject;
 import com.aerospike.mapper.tools.DeferredObjectLoader.DeferredObjectSetter;
 import com.aerospike.mapper.tools.DeferredObjectLoader.DeferredSetter;
+import com.aerospike.mapper.tools.lazy.LazyReferenceGroup;
+import com.aerospike.mapper.tools.lazy.LazyReferenceList;
 import com.aerospike.mapper.tools.utils.TypeUtils;
 import com.aerospike.mapper.tools.utils.TypeUtils.AnnotatedType;
 
@@ -24,6 +26,10 @@ public class ListMapper extends TypeMapper {
     private final ClassCacheEntry<?> subTypeEntry;
     private final boolean saveKey;
     private final boolean allowBatchLoad;
+    /**
+     * The mapper of the elements if they are lazy references and the field can hold a <code>LazyReferenceList</code>.
+     */
+    private final ObjectReferenceMapper lazyReferenceMapper;
 
     public ListMapper(final Class<?> clazz, final Class<?> instanceClass, final TypeMapper instanceClassMapper, final IBaseAeroMapper mapper, final EmbedType embedType, final boolean saveKey, boolean allowBatchLoad) {
         this.referencedClass = clazz;
@@ -33,6 +39,12 @@ public class ListMapper extends TypeMapper {
         this.instanceClassMapper = instanceClassMapper;
         this.saveKey = saveKey;
         this.allowBatchLoad = allowBatchLoad;
+        if (instanceClassMapper instanceof ObjectReferenceMapper && ((ObjectReferenceMapper) instanceClassMapper).isLazy()
+                && (clazz == null || clazz.isAssignableFrom(LazyReferenceList.class))) {
+            this.lazyReferenceMapper = (ObjectReferenceMapper) instanceClassMapper;
+        } else {
+            this.lazyReferenceMapper = null;
+        }
 
         if (embedType == EmbedType.DEFAULT) {
             this.embedType = EmbedType.LIST;
@@ -90,6 +102,10 @@ public class ListMapper extends TypeMapper {
             return null;
         }
         List<?> list = (List<?>) value;
+        if (list instanceof LazyReferenceList && !((LazyReferenceList) list).isLoaded()) {
+            // The list has not been used since it was read, so save it as it was read without loading it
+            return new ArrayList<>(((LazyReferenceList) list).getStoredValue());
+        }
         if (embedType == null || embedType == EmbedType.LIST) {
             List<Object> results = new ArrayList<>();
             for (Object obj : list) {
@@ -118,14 +134,10 @@ public class ListMapper extends TypeMapper {
         if (List.class.isAssignableFrom(obj.getClass())) {
             List<Object> list = (List<Object>) obj;
             int lastElementIndex = list.size() - 1;
-            if ((!list.isEmpty()) && (list.get(lastElementIndex) instanceof String)) {
-                String lastElement = (String) list.get(lastElementIndex);
-                if (lastElement.startsWith(ClassCacheEntry.TYPE_PREFIX)) {
-                    String className = lastElement.substring(ClassCacheEntry.TYPE_PREFIX.length());
-                    ClassCacheEntry<?> thisClass = ClassCache.getInstance().getCacheEntryFromStoredName(className);
-                    if (thisClass != null) {
-                        return thisClass.getUnderlyingClass();
-                    }
+            if ((!list.isEmpty()) && ClassCacheEntry.isTypeMarker(list.get(lastElementIndex))) {
+                ClassCacheEntry<?> thisClass = ClassCache.getInstance().getCacheEntryFromTypeDiscriminator(list.get(lastElementIndex), mapper);
+                if (thisClass != null) {
+                    return thisClass.getUnderlyingClass();
                 }
             }
         }
@@ -155,6 +167,11 @@ public class ListMapper extends TypeMapper {
 
     @Override
     public Object fromAerospikeFormat(Object value) {
+        return fromAerospikeFormat(value, MappingContext.forCurrentThread());
+    }
+
+    @Override
+    public Object fromAerospikeFormat(Object value, MappingContext context) {
         if (value == null) {
             return null;
         }
@@ -165,6 +182,13 @@ public class ListMapper extends TypeMapper {
                 return value;
             }
 
+            if (instanceClass != null && lazyReferenceMapper != null) {
+                LazyReferenceGroup group = lazyReferenceMapper.newLazyReferenceGroup();
+                for (Object obj : list) {
+                    lazyReferenceMapper.addLazyReference(obj, group);
+                }
+                return new LazyReferenceList(group, list);
+            }
             int index = 0;
             if (instanceClass == null) {
                 // We don't have any hints as to how to translate them, we have to look up each type
@@ -173,12 +197,12 @@ public class ListMapper extends TypeMapper {
                         results.add(null);
                     } else {
                         TypeMapper thisMapper = TypeUtils.getMapper(getClassToUse(obj), AnnotatedType.getDefaultAnnotateType(), mapper);
-                        Object result = thisMapper == null ? obj : thisMapper.fromAerospikeFormat(obj);
+                        Object result = thisMapper == null ? obj : thisMapper.fromAerospikeFormat(obj, context);
                         if (result instanceof DeferredObject) {
                             final int thisIndex = index;
                             DeferredSetter setter = object -> results.set(thisIndex, object);
                             DeferredObjectSetter objectSetter = new DeferredObjectSetter(setter, (DeferredObject) result);
-                            DeferredObjectLoader.add(objectSetter);
+                            context.addDeferredObject(objectSetter);
                             // add a placeholder to maintain the index
                             results.add(null);
                         } else {
@@ -189,15 +213,15 @@ public class ListMapper extends TypeMapper {
                 }
             } else {
                 for (Object obj : list) {
-                    if (!allowBatchLoad) {
-                        results.add(this.instanceClassMapper.fromAerospikeFormat(obj));
+                    if (!allowBatchLoad && !context.isDeferAllReferences()) {
+                        results.add(this.instanceClassMapper.fromAerospikeFormat(obj, context));
                     } else {
-                        Object result = this.instanceClassMapper.fromAerospikeFormat(obj);
+                        Object result = this.instanceClassMapper.fromAerospikeFormat(obj, context);
                         if (result instanceof DeferredObject) {
                             final int thisIndex = index;
                             DeferredSetter setter = object -> results.set(thisIndex, object);
                             DeferredObjectSetter objectSetter = new DeferredObjectSetter(setter, (DeferredObject) result);
-                            DeferredObjectLoader.add(objectSetter);
+                            context.addDeferredObject(objectSetter);
                             // add a placeholder to maintain the index
                             results.add(null);
                         } else {
@@ -212,7 +236,7 @@ public class ListMapper extends TypeMapper {
             for (Object key : map.keySet()) {
                 Object item = map.get(key);
 
-                Object result = this.instanceClassMapper.fromAerospikeFormat(item);
+                Object result = this.instanceClassMapper.fromAerospikeFormat(item, context);
                 subTypeEntry.setKey(result, key);
                 results.add(result);
             }
@@ -1,17 +1,45 @@
 package com.aerospike.mapper.tools.mappers;
 
+import com.aerospike.mapper.annotations.AerospikeTime.Encoding;
 import com.aerospike.mapper.tools.TypeMapper;
 
 import java.time.LocalDate;
 
+/**
+ * Map a java.time.LocalDate to Aerospike, by default as the epoch day. The <code>NANOS</code>, <code>MICROS</code>
+ * and <code>MILLIS</code> encodings store the start of the day in that unit instead, for use with other data stored
+ * as a time since the epoch. As all of these are integers, the stored unit cannot be detected when reading.
+ */
 public class LocalDateMapper extends TypeMapper {
 
+    /**
+     * The encoding of this field, or null to use the encoding set on the builder.
+     */
+    private final Encoding encoding;
+
+    public LocalDateMapper() {
+        this(null);
+    }
+
+    public LocalDateMapper(Encoding encoding) {
+        this.encoding = encoding;
+    }
+
     @Override
     public Object toAerospikeFormat(Object value) {
         if (value == null) {
             return null;
         }
-        return ((LocalDate) value).toEpochDay();
+        long epochDay = ((LocalDate) value).toEpochDay();
+        Encoding encodingToUse = TimeEncodings.resolve(encoding, LocalDate.class);
+        if (encodingToUse == Encoding.DEFAULT) {
+            return epochDay;
+        }
+        try {
+            return Math.multiplyExact(epochDay, TimeEncodings.NANOS_PER_DAY / TimeEncodings.nanosPerUnit(encodingToUse));
+        } catch (ArithmeticException e) {
+            throw TimeEncodings.outOfRange(value, encodingToUse, e);
+        }
     }
 
     @Override
@@ -19,6 +47,11 @@ public class LocalDateMapper extends TypeMapper {
         if (value == null) {
             return null;
         }
-        return LocalDate.ofEpochDay((Long) value);
+        long longValue = TimeEncodings.toLong(value);
+        Encoding encodingToUse = TimeEncodings.resolve(encoding, LocalDate.class);
+        if (encodingToUse == Encoding.DEFAULT) {
+            return LocalDate.ofEpochDay(longValue);
+        }
+        return LocalDate.ofEpochDay(Math.floorDiv(longValue, TimeEncodings.NANOS_PER_DAY / TimeEncodings.nanosPerUnit(encodingToUse)));
     }
 }
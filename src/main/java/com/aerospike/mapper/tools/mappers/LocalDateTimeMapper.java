@@ -1,5 +1,6 @@
 package com.aerospike.mapper.tools.mappers;
 
+import com.aerospike.mapper.annotations.AerospikeTime.Encoding;
 import com.aerospike.mapper.tools.TypeMapper;
 
 import java.time.LocalDate;
@@ -18,11 +19,29 @@ import java.util.List;
  * </pre>
  * Whereas LocalDateTime can store down to the nanosecond precision. To store this properly
  * we will split it into date and time components and store both in a list.
+ * <p/>
+ * The <code>NANOS</code>, <code>MICROS</code> and <code>MILLIS</code> encodings trade range or precision for a single
+ * integer, which is smaller and avoids creating a list for every value read. Both forms are accepted when reading, so
+ * existing data can still be read after changing the encoding. An integer read by a field using the default encoding
+ * is taken to be nanoseconds.
  *
  * @author tfaulkes
  */
 public class LocalDateTimeMapper extends TypeMapper {
 
+    /**
+     * The encoding of this field, or null to use the encoding set on the builder.
+     */
+    private final Encoding encoding;
+
+    public LocalDateTimeMapper() {
+        this(null);
+    }
+
+    public LocalDateTimeMapper(Encoding encoding) {
+        this.encoding = encoding;
+    }
+
     @Override
     public Object toAerospikeFormat(Object value) {
         if (value == null) {
@@ -31,7 +50,17 @@ public class LocalDateTimeMapper extends TypeMapper {
         LocalDateTime dateTime = (LocalDateTime) value;
         LocalDate date = dateTime.toLocalDate();
         LocalTime time = dateTime.toLocalTime();
-        return Arrays.asList(date.toEpochDay(), time.toNanoOfDay());
+        Encoding encodingToUse = TimeEncodings.resolve(encoding, LocalDateTime.class);
+        if (encodingToUse == Encoding.DEFAULT) {
+            return Arrays.asList(date.toEpochDay(), time.toNanoOfDay());
+        }
+        long nanosPerUnit = TimeEncodings.nanosPerUnit(encodingToUse);
+        try {
+            return Math.addExact(Math.multiplyExact(date.toEpochDay(), TimeEncodings.NANOS_PER_DAY / nanosPerUnit),
+                    time.toNanoOfDay() / nanosPerUnit);
+        } catch (ArithmeticException e) {
+            throw TimeEncodings.outOfRange(value, encodingToUse, e);
+        }
     }
 
     @Override
@@ -39,10 +68,18 @@ public class LocalDateTimeMapper extends TypeMapper {
         if (value == null) {
             return null;
         }
-        @SuppressWarnings("unchecked")
-        List<Long> values = (List<Long>) value;
-        LocalDate date = LocalDate.ofEpochDay(values.get(0));
-        LocalTime time = LocalTime.ofNanoOfDay(values.get(1));
+        if (value instanceof List) {
+            @SuppressWarnings("unchecked")
+            List<Long> values = (List<Long>) value;
+            LocalDate date = LocalDate.ofEpochDay(values.get(0));
+            LocalTime time = LocalTime.ofNanoOfDay(values.get(1));
+            return LocalDateTime.of(date, time);
+        }
+        long longValue = TimeEncodings.toLong(value);
+        long nanosPerUnit = TimeEncodings.nanosPerUnit(TimeEncodings.resolve(encoding, LocalDateTime.class));
+        long unitsPerDay = TimeEncodings.NANOS_PER_DAY / nanosPerUnit;
+        LocalDate date = LocalDate.ofEpochDay(Math.floorDiv(longValue, unitsPerDay));
+        LocalTime time = LocalTime.ofNanoOfDay(Math.floorMod(longValue, unitsPerDay) * nanosPerUnit);
         return LocalDateTime.of(date, time);
     }
 }
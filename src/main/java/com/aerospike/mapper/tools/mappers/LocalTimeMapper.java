@@ -1,17 +1,35 @@
 package com.aerospike.mapper.tools.mappers;
 
+import com.aerospike.mapper.annotations.AerospikeTime.Encoding;
 import com.aerospike.mapper.tools.TypeMapper;
 
 import java.time.LocalTime;
 
+/**
+ * Map a java.time.LocalTime to Aerospike as the time since midnight, in nanoseconds by default or in the unit of the
+ * encoding. As all of these are integers, the stored unit cannot be detected when reading.
+ */
 public class LocalTimeMapper extends TypeMapper {
 
+    /**
+     * The encoding of this field, or null to use the encoding set on the builder.
+     */
+    private final Encoding encoding;
+
+    public LocalTimeMapper() {
+        this(null);
+    }
+
+    public LocalTimeMapper(Encoding encoding) {
+        this.encoding = encoding;
+    }
+
     @Override
     public Object toAerospikeFormat(Object value) {
         if (value == null) {
             return null;
         }
-        return ((LocalTime) value).toNanoOfDay();
+        return ((LocalTime) value).toNanoOfDay() / TimeEncodings.nanosPerUnit(TimeEncodings.resolve(encoding, LocalTime.class));
     }
 
     @Override
@@ -19,6 +37,6 @@ public class LocalTimeMapper extends TypeMapper {
         if (value == null) {
             return null;
         }
-        return LocalTime.ofNanoOfDay((Long) value);
+        return LocalTime.ofNanoOfDay(TimeEncodings.toLong(value) * TimeEncodings.nanosPerUnit(TimeEncodings.resolve(encoding, LocalTime.class)));
     }
 }
@@ -57,6 +57,11 @@ public class MapMapper extends TypeMapper {
 
     @Override
     public Object fromAerospikeFormat(Object value) {
+        return fromAerospikeFormat(value, MappingContext.forCurrentThread());
+    }
+
+    @Override
+    public Object fromAerospikeFormat(Object value, MappingContext context) {
         if (value == null) {
             return null;
         }
@@ -73,12 +78,12 @@ public class MapMapper extends TypeMapper {
             TypeMapper itemMap = itemMapper != null ? itemMapper : TypeUtils.getMapper(item.getClass(), AnnotatedType.getDefaultAnnotateType(), mapper);
 //			results.put(keyMap.fromAerospikeFormat(key), itemMap.fromAerospikeFormat(item));
 
-            final Object javaKey = keyMap == null ? null : keyMap.fromAerospikeFormat(key);
-            final Object javaItem = itemMap == null ? null : itemMap.fromAerospikeFormat(item);
+            final Object javaKey = keyMap == null ? null : keyMap.fromAerospikeFormat(key, context);
+            final Object javaItem = itemMap == null ? null : itemMap.fromAerospikeFormat(item, context);
             if (javaKey instanceof DeferredObject || javaItem instanceof DeferredObject) {
                 DeferredSetter setter = object -> results.put(javaKey, object);
                 DeferredObjectSetter objectSetter = new DeferredObjectSetter(setter, (DeferredObject) javaItem);
-                DeferredObjectLoader.add(objectSetter);
+                context.addDeferredObject(objectSetter);
             } else {
                 results.put(javaKey, javaItem);
             }
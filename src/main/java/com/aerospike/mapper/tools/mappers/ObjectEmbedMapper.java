@@ -5,6 +5,7 @@ import com.aerospike.mapper.annotations.AerospikeEmbed.EmbedType;
 import com.aerospike.mapper.tools.ClassCache;
 import com.aerospike.mapper.tools.ClassCacheEntry;
 import com.aerospike.mapper.tools.IBaseAeroMapper;
+import com.aerospike.mapper.tools.MappingContext;
 
 import java.util.List;
 import java.util.Map;
@@ -47,9 +48,14 @@ public class ObjectEmbedMapper extends ObjectMapper {
         }
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public Object fromAerospikeFormat(Object value) {
+        return fromAerospikeFormat(value, MappingContext.forCurrentThread());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Object fromAerospikeFormat(Object value, MappingContext context) {
         if (value == null) {
             return null;
         }
@@ -61,10 +67,10 @@ public class ObjectEmbedMapper extends ObjectMapper {
             switch (type) {
                 case LIST:
                     List<Object> listValue = (List<Object>) value;
-                    return entry.constructAndHydrate(listValue, skipKey);
+                    return entry.constructAndHydrate(listValue, skipKey, context);
                 case MAP:    // Fall through
                 case DEFAULT:
-                    return entry.constructAndHydrate((Map<String, Object>) value);
+                    return entry.constructAndHydrate((Map<String, Object>) value, context);
                 default:
                     throw new AerospikeException("Unspecified EmbedType");
             }
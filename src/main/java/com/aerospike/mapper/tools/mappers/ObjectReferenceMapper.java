@@ -11,6 +11,7 @@ import com.aerospike.client.util.Crypto;
 import com.aerospike.mapper.annotations.AerospikeReference.ReferenceType;
 import com.aerospike.mapper.tools.*;
 import com.aerospike.mapper.tools.DeferredObjectLoader.DeferredObject;
+import com.aerospike.mapper.tools.lazy.LazyReferenceGroup;
 
 public class ObjectReferenceMapper extends ObjectMapper {
 
@@ -40,11 +41,27 @@ public class ObjectReferenceMapper extends ObjectMapper {
         return toAerospikeFormat(value, false, false);
     }
 
+    /**
+     * Return whether the references are lazy, so the referenced objects are only read when they are used.
+     */
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    /**
+     * Return a new group for the lazy references of one bin.
+     */
+    public LazyReferenceGroup newLazyReferenceGroup() {
+        return new LazyReferenceGroup(mapper);
+    }
+
     @Override
     public Object toAerospikeFormat(Object value, boolean isUnknownType, boolean isSubclassOfKnownType) {
         if (value == null) {
             return null;
         }
+        // A proxy of a lazy reference stores the key of the object behind it, whether or not it has been loaded
+        value = LazyReferenceGroup.unwrap(value);
         // In this case we want to store a reference to the object.
         ClassCacheEntry<?> classToUse;
         if (value.getClass().equals(referencedClass.getUnderlyingClass())) {
@@ -63,9 +80,9 @@ public class ObjectReferenceMapper extends ObjectMapper {
             keyParts.add(key);
             if (isUnknownType) {
                 // Must put in an identifier to mark this as an unknown type
-                keyParts.add(ClassCacheEntry.TYPE_PREFIX + classToUse.getShortenedClassName());
+                keyParts.add(classToUse.getTypeMarker());
             } else {
-                keyParts.add(classToUse.getShortenedClassName());
+                keyParts.add(classToUse.getTypeDiscriminator());
             }
             return keyParts;
         }
@@ -74,36 +91,79 @@ public class ObjectReferenceMapper extends ObjectMapper {
 
     @Override
     public Object fromAerospikeFormat(Object value) {
-        // The object should be the primary key of the referencing object
+        return fromAerospikeFormat(value, MappingContext.forCurrentThread());
+    }
+
+    /**
+     * Return the class of the object referenced by the passed stored reference.
+     */
+    private ClassCacheEntry<?> getClassToUse(Object value) {
+        if (value instanceof List) {
+            Object typeDiscriminator = ((List<?>) value).get(1);
+            ClassCacheEntry<?> classToUse = ClassCache.getInstance().getCacheEntryFromTypeDiscriminator(typeDiscriminator, mapper);
+            if (classToUse == null) {
+                throw new AerospikeException("Cannot find the class with stored type " + typeDiscriminator
+                        + " referenced from " + referencedClass.getUnderlyingClass().getName());
+            }
+            return classToUse;
+        }
+        return referencedClass;
+    }
+
+    private static Object getStoredKey(Object value) {
+        return value instanceof List ? ((List<?>) value).get(0) : value;
+    }
+
+    /**
+     * Add the lazy reference stored as the passed value to the passed group, without reading the referenced object.
+     *
+     * @return the index of the reference in the group.
+     */
+    public int addLazyReference(Object value, LazyReferenceGroup group) {
+        if (value == null) {
+            return group.add(null, null);
+        }
+        return group.add(getClassToUse(value), getStoredKey(value));
+    }
+
+    /**
+     * Return whether lazy references of this mapper are read as proxies, which is possible when the referenced type is
+     * an interface. References to classes are read as objects with only their key set.
+     */
+    public boolean isLazyProxy() {
+        return lazy && referencedClass.getUnderlyingClass().isInterface();
+    }
+
+    /**
+     * Create a proxy for the lazy reference stored as the passed value, which loads the passed group when it is used.
+     */
+    public Object createLazyProxy(Object value, LazyReferenceGroup group) {
         if (value == null) {
             return null;
         }
-        ClassCacheEntry<?> classToUse = referencedClass;
+        return group.newProxy(referencedClass.getUnderlyingClass(), addLazyReference(value, group));
+    }
 
-        Object key;
-        if (value instanceof List) {
-            List<?> list = (List<?>) value;
-            key = list.get(0);
-            String typeName = (String) list.get(1);
-            if (typeName.startsWith(ClassCacheEntry.TYPE_PREFIX)) {
-                typeName = typeName.substring(ClassCacheEntry.TYPE_PREFIX.length());
-            }
-            classToUse = ClassCache.getInstance().getCacheEntryFromStoredName(typeName);
-        } else {
-            key = value;
+    @Override
+    public Object fromAerospikeFormat(Object value, MappingContext context) {
+        // The object should be the primary key of the referencing object
+        if (value == null) {
+            return null;
         }
+        ClassCacheEntry<?> classToUse = getClassToUse(value);
+        Object key = getStoredKey(value);
 
-        if (this.lazy) {
+        if (isLazyProxy()) {
+            return createLazyProxy(value, newLazyReferenceGroup());
+        } else if (this.lazy) {
             Map<String, Object> map = new HashMap<>();
-            Object instance = classToUse.constructAndHydrate(map);
+            Object instance = classToUse.constructAndHydrate(map, context);
             classToUse.setKey(instance, key);
             return instance;
-        } else if (allowBatch) {
+        } else if (allowBatch || context.isDeferAllReferences()) {
             return new DeferredObject(key, classToUse.getUnderlyingClass(), ReferenceType.DIGEST.equals(type));
-        } else if (ReferenceType.DIGEST.equals(type)) {
-            return mapper.asMapper().readFromDigest(classToUse.getUnderlyingClass(), (byte[]) key, false);
         } else {
-            return mapper.asMapper().read(classToUse.getUnderlyingClass(), key, false);
+            return mapper.getMappingConverter().readReference(classToUse, key, ReferenceType.DIGEST.equals(type), context);
         }
     }
 }
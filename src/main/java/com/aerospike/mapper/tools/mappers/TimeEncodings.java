@@ -0,0 +1,49 @@
+package com.aerospike.mapper.tools.mappers;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.mapper.annotations.AerospikeTime.Encoding;
+import com.aerospike.mapper.tools.ClassCache;
+
+/**
+ * Helpers shared by the java.time mappers to store values as a single integer count of a unit.
+ */
+final class TimeEncodings {
+    static final long NANOS_PER_SECOND = 1_000_000_000L;
+    static final long NANOS_PER_DAY = 86_400L * NANOS_PER_SECOND;
+
+    private TimeEncodings() {
+    }
+
+    /**
+     * The encoding to use for a field: the encoding of its annotation if it has one, otherwise the encoding set on
+     * the builder for the type.
+     */
+    static Encoding resolve(Encoding fieldEncoding, Class<?> type) {
+        return fieldEncoding != null ? fieldEncoding : ClassCache.getInstance().getTimeEncoding(type);
+    }
+
+    /**
+     * The number of nanoseconds in one unit of the encoding. The default encoding is treated as nanoseconds.
+     */
+    static long nanosPerUnit(Encoding encoding) {
+        switch (encoding) {
+            case MILLIS:
+                return 1_000_000L;
+            case MICROS:
+                return 1_000L;
+            default:
+                return 1L;
+        }
+    }
+
+    static AerospikeException outOfRange(Object value, Encoding encoding, ArithmeticException e) {
+        return new AerospikeException(String.format("%s is outside the range which can be stored as %s", value, encoding), e);
+    }
+
+    static long toLong(Object value) {
+        if (value instanceof Long) {
+            return (Long) value;
+        }
+        throw new AerospikeException(String.format("Cannot convert %s of type %s to a time", value, value.getClass().getName()));
+    }
+}
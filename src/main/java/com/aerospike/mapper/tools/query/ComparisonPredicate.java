@@ -0,0 +1,150 @@
+package com.aerospike.mapper.tools.query;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.exp.Exp;
+import com.aerospike.mapper.tools.ClassCacheEntry;
+import com.aerospike.mapper.tools.TypeMapper;
+
+/**
+ * A comparison of one field with one or more values.
+ */
+class ComparisonPredicate extends Predicate {
+    enum Operator {
+        EQ("="), NE("!="), GT(">"), GE(">="), LT("<"), LE("<="), BETWEEN("between"), IN("in"), EXISTS("exists");
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+    }
+
+    private final String name;
+    private final Operator operator;
+    private final Object[] values;
+
+    ComparisonPredicate(String name, Operator operator, Object... values) {
+        this.name = name;
+        this.operator = operator;
+        this.values = values;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    Operator getOperator() {
+        return operator;
+    }
+
+    /**
+     * Return the values converted to the form the field is stored in.
+     */
+    Object[] getStoredValues(ClassCacheEntry<?> entry) {
+        TypeMapper typeMapper = entry.getValueFromName(name).getTypeMapper();
+        Object[] result = new Object[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = typeMapper.toAerospikeFormat(values[i]);
+            if (result[i] == null) {
+                throw new AerospikeException(String.format("The value %s of the condition on %s of %s is stored as null",
+                        values[i], name, entry.getUnderlyingClass().getSimpleName()));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    Exp toExp(ClassCacheEntry<?> entry) {
+        String binName = entry.toBinName(name);
+        if (operator == Operator.EXISTS) {
+            return Exp.binExists(binName);
+        }
+        Object[] stored = getStoredValues(entry);
+        Exp bin = binExp(binName, stored[0]);
+        switch (operator) {
+            case EQ:
+                return Exp.eq(bin, valueExp(stored[0]));
+            case NE:
+                return Exp.ne(bin, valueExp(stored[0]));
+            case GT:
+                return Exp.gt(bin, valueExp(stored[0]));
+            case GE:
+                return Exp.ge(bin, valueExp(stored[0]));
+            case LT:
+                return Exp.lt(bin, valueExp(stored[0]));
+            case LE:
+                return Exp.le(bin, valueExp(stored[0]));
+            case BETWEEN:
+                return Exp.and(Exp.ge(bin, valueExp(stored[0])), Exp.le(bin, valueExp(stored[1])));
+            case IN:
+                if (stored.length == 1) {
+                    return Exp.eq(bin, valueExp(stored[0]));
+                }
+                Exp[] alternatives = new Exp[stored.length];
+                for (int i = 0; i < stored.length; i++) {
+                    alternatives[i] = Exp.eq(bin, valueExp(stored[i]));
+                }
+                return Exp.or(alternatives);
+            default:
+                throw new AerospikeException("Unknown operator " + operator);
+        }
+    }
+
+    private Exp binExp(String binName, Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return Exp.intBin(binName);
+        } else if (value instanceof Double || value instanceof Float) {
+            return Exp.floatBin(binName);
+        } else if (value instanceof String) {
+            return Exp.stringBin(binName);
+        } else if (value instanceof Boolean) {
+            return Exp.boolBin(binName);
+        } else if (value instanceof byte[]) {
+            return Exp.blobBin(binName);
+        } else if (value instanceof List) {
+            return Exp.listBin(binName);
+        } else if (value instanceof Map) {
+            return Exp.mapBin(binName);
+        }
+        throw new AerospikeException(String.format("The condition on %s cannot compare values stored as %s",
+                name, value.getClass().getSimpleName()));
+    }
+
+    private Exp valueExp(Object value) {
+        if (value instanceof Double || value instanceof Float) {
+            return Exp.val(((Number) value).doubleValue());
+        } else if (value instanceof Number) {
+            return Exp.val(((Number) value).longValue());
+        } else if (value instanceof String) {
+            return Exp.val((String) value);
+        } else if (value instanceof Boolean) {
+            return Exp.val((Boolean) value);
+        } else if (value instanceof byte[]) {
+            return Exp.val((byte[]) value);
+        } else if (value instanceof List) {
+            return Exp.val((List<?>) value);
+        } else if (value instanceof Map) {
+            return Exp.val((Map<?, ?>) value);
+        }
+        throw new AerospikeException(String.format("The condition on %s cannot compare values stored as %s",
+                name, value.getClass().getSimpleName()));
+    }
+
+    @Override
+    public String toString() {
+        switch (operator) {
+            case EXISTS:
+                return name + " exists";
+            case BETWEEN:
+                return String.format("%s between %s and %s", name, values[0], values[1]);
+            case IN:
+                return String.format("%s in %s", name, Arrays.toString(values));
+            default:
+                return String.format("%s %s %s", name, operator.symbol, values[0]);
+        }
+    }
+}
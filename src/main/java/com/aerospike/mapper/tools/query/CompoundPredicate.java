@@ -0,0 +1,54 @@
+package com.aerospike.mapper.tools.query;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.aerospike.client.exp.Exp;
+import com.aerospike.mapper.tools.ClassCacheEntry;
+
+/**
+ * Predicates which must all be true, or of which at least one must be true.
+ */
+class CompoundPredicate extends Predicate {
+    private final boolean and;
+    private final List<Predicate> predicates;
+
+    CompoundPredicate(boolean and, List<Predicate> predicates) {
+        this.and = and;
+        this.predicates = predicates;
+    }
+
+    @Override
+    List<Predicate> getConjuncts() {
+        return and ? Collections.unmodifiableList(predicates) : super.getConjuncts();
+    }
+
+    @Override
+    Exp toExp(ClassCacheEntry<?> entry) {
+        return combine(and, predicates, entry);
+    }
+
+    /**
+     * Compile the passed predicates into one expression, or return null if there are none.
+     */
+    static Exp combine(boolean and, List<Predicate> predicates, ClassCacheEntry<?> entry) {
+        if (predicates.isEmpty()) {
+            return null;
+        }
+        if (predicates.size() == 1) {
+            return predicates.get(0).toExp(entry);
+        }
+        Exp[] exps = new Exp[predicates.size()];
+        for (int i = 0; i < exps.length; i++) {
+            exps[i] = predicates.get(i).toExp(entry);
+        }
+        return and ? Exp.and(exps) : Exp.or(exps);
+    }
+
+    @Override
+    public String toString() {
+        return predicates.stream().map(Object::toString)
+                .collect(Collectors.joining(and ? " and " : " or ", "(", ")"));
+    }
+}
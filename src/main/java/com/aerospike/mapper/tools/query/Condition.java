@@ -0,0 +1,90 @@
+package com.aerospike.mapper.tools.query;
+
+import javax.validation.constraints.NotNull;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.mapper.tools.query.ComparisonPredicate.Operator;
+
+/**
+ * A field of a predicate waiting for its comparison. Each comparison returns the predicate with the new condition
+ * combined into it. Values are passed as Java values of the field, such as an enum constant or a <code>Date</code>,
+ * and are converted as the field is stored when the predicate is compiled.
+ */
+public class Condition {
+    private final String name;
+    private final Predicate previous;
+    private final boolean and;
+
+    Condition(String name, Predicate previous, boolean and) {
+        this.name = name;
+        this.previous = previous;
+        this.and = and;
+    }
+
+    /**
+     * The field equals the value. A null value matches records without the bin.
+     */
+    public Predicate eq(Object value) {
+        if (value == null) {
+            return combine(Predicate.not(new ComparisonPredicate(name, Operator.EXISTS)));
+        }
+        return combine(new ComparisonPredicate(name, Operator.EQ, value));
+    }
+
+    /**
+     * The field does not equal the value. A null value matches records with the bin.
+     */
+    public Predicate ne(Object value) {
+        if (value == null) {
+            return combine(new ComparisonPredicate(name, Operator.EXISTS));
+        }
+        return combine(new ComparisonPredicate(name, Operator.NE, value));
+    }
+
+    public Predicate gt(@NotNull Object value) {
+        return combine(new ComparisonPredicate(name, Operator.GT, value));
+    }
+
+    public Predicate ge(@NotNull Object value) {
+        return combine(new ComparisonPredicate(name, Operator.GE, value));
+    }
+
+    public Predicate lt(@NotNull Object value) {
+        return combine(new ComparisonPredicate(name, Operator.LT, value));
+    }
+
+    public Predicate le(@NotNull Object value) {
+        return combine(new ComparisonPredicate(name, Operator.LE, value));
+    }
+
+    /**
+     * The field is between the two values, including both of them.
+     */
+    public Predicate between(@NotNull Object low, @NotNull Object high) {
+        return combine(new ComparisonPredicate(name, Operator.BETWEEN, low, high));
+    }
+
+    /**
+     * The field equals one of the values.
+     */
+    public Predicate in(@NotNull Object... values) {
+        if (values.length == 0) {
+            throw new AerospikeException(String.format("The condition on %s must be passed at least one value", name));
+        }
+        return combine(new ComparisonPredicate(name, Operator.IN, values));
+    }
+
+    /**
+     * The record has the bin of the field.
+     */
+    public Predicate exists() {
+        return combine(new ComparisonPredicate(name, Operator.EXISTS));
+    }
+
+    private Predicate combine(Predicate condition) {
+        if (previous == null) {
+            return condition;
+        }
+        return and ? previous.and(condition) : previous.or(condition);
+    }
+}
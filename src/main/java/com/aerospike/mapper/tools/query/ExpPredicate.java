@@ -0,0 +1,25 @@
+package com.aerospike.mapper.tools.query;
+
+import com.aerospike.client.exp.Exp;
+import com.aerospike.mapper.tools.ClassCacheEntry;
+
+/**
+ * An Aerospike expression included in a predicate as it is.
+ */
+class ExpPredicate extends Predicate {
+    private final Exp exp;
+
+    ExpPredicate(Exp exp) {
+        this.exp = exp;
+    }
+
+    @Override
+    Exp toExp(ClassCacheEntry<?> entry) {
+        return exp;
+    }
+
+    @Override
+    public String toString() {
+        return "exp";
+    }
+}
@@ -0,0 +1,203 @@
+package com.aerospike.mapper.tools.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.validation.constraints.NotNull;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.IAerospikeClient;
+import com.aerospike.client.Info;
+import com.aerospike.client.Log;
+import com.aerospike.client.cluster.Node;
+import com.aerospike.client.query.IndexType;
+
+/**
+ * The secondary indexes of each namespace, read from the cluster when first needed and read again once they are older
+ * than the refresh interval. The query planner uses them to decide which condition of a predicate can be served by an
+ * index. Call {@link #refresh()} after creating or dropping an index to use the change straight away.
+ */
+public class IndexCatalog {
+    /**
+     * How long the indexes of a namespace are used before they are read again, unless set on the constructor.
+     */
+    public static final long DEFAULT_REFRESH_MILLIS = 60_000;
+
+    private final IAerospikeClient client;
+    private final long refreshMillis;
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * A secondary index on a bin which a <code>Filter</code> can use.
+     */
+    public static class Index {
+        private final String name;
+        private final String namespace;
+        private final String setName;
+        private final String binName;
+        private final IndexType type;
+
+        public Index(String name, String namespace, String setName, String binName, IndexType type) {
+            this.name = name;
+            this.namespace = namespace;
+            this.setName = setName;
+            this.binName = binName;
+            this.type = type;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getNamespace() {
+            return namespace;
+        }
+
+        /**
+         * The set the index covers, or null if it covers every set of the namespace.
+         */
+        public String getSetName() {
+            return setName;
+        }
+
+        public String getBinName() {
+            return binName;
+        }
+
+        public IndexType getType() {
+            return type;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s(%s.%s.%s, %s)", name, namespace, setName, binName, type);
+        }
+    }
+
+    private static class Snapshot {
+        private final List<Index> indexes;
+        private final long readAt;
+
+        Snapshot(List<Index> indexes, long readAt) {
+            this.indexes = indexes;
+            this.readAt = readAt;
+        }
+    }
+
+    public IndexCatalog(@NotNull IAerospikeClient client) {
+        this(client, DEFAULT_REFRESH_MILLIS);
+    }
+
+    public IndexCatalog(@NotNull IAerospikeClient client, long refreshMillis) {
+        this.client = client;
+        this.refreshMillis = refreshMillis;
+    }
+
+    /**
+     * Return the index a filter can use for the passed bin of the passed set, or null if there is none.
+     */
+    public Index getIndex(@NotNull String namespace, String setName, @NotNull String binName) {
+        for (Index index : getIndexes(namespace)) {
+            if (index.binName.equals(binName) && (index.setName == null || index.setName.equals(setName))) {
+                return index;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Return the indexes of the passed namespace which a filter can use: those on a plain bin, not on list or map
+     * elements, with numeric or string values, which are ready to be queried.
+     */
+    public List<Index> getIndexes(@NotNull String namespace) {
+        Snapshot snapshot = snapshots.get(namespace);
+        long now = System.currentTimeMillis();
+        if (snapshot == null || now - snapshot.readAt >= refreshMillis) {
+            snapshot = new Snapshot(readIndexes(namespace), now);
+            snapshots.put(namespace, snapshot);
+        }
+        return snapshot.indexes;
+    }
+
+    /**
+     * Forget the indexes read so far, so they are read again when next needed.
+     */
+    public void refresh() {
+        snapshots.clear();
+    }
+
+    private List<Index> readIndexes(String namespace) {
+        Node[] nodes = client.getNodes();
+        if (nodes.length == 0) {
+            return Collections.emptyList();
+        }
+        try {
+            String response = Info.request(null, nodes[0], "sindex-list:ns=" + namespace);
+            return parse(namespace, response);
+        } catch (AerospikeException ae) {
+            // Queries still work without the indexes, every condition is evaluated as an expression
+            Log.warn(String.format("Unable to read the secondary indexes of namespace %s: %s", namespace, ae.getMessage()));
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Parse the response to a <code>sindex-list</code> info command. Each index is a list of <code>name=value</code>
+     * pairs separated by colons, and indexes are separated by semicolons. Older servers name the bin <code>bins</code>
+     * and use different type names, and newer ones add the context of indexes on nested values.
+     */
+    static List<Index> parse(String namespace, String response) {
+        List<Index> result = new ArrayList<>();
+        if (response == null || response.isEmpty()) {
+            return result;
+        }
+        for (String description : response.split(";")) {
+            Map<String, String> values = new HashMap<>();
+            for (String pair : description.split(":")) {
+                int equals = pair.indexOf('=');
+                if (equals > 0) {
+                    values.put(pair.substring(0, equals).trim(), pair.substring(equals + 1).trim());
+                }
+            }
+            String ns = values.get("ns");
+            String name = values.get("indexname");
+            String bin = values.containsKey("bin") ? values.get("bin") : values.get("bins");
+            IndexType type = toIndexType(values.get("type"));
+            String indexType = values.get("indextype");
+            String context = values.get("context");
+            String state = values.get("state");
+            if (!namespace.equals(ns) || name == null || bin == null || type == null ||
+                    (indexType != null && !"default".equalsIgnoreCase(indexType) && !"none".equalsIgnoreCase(indexType)) ||
+                    (context != null && !"null".equalsIgnoreCase(context)) ||
+                    (state != null && !"RW".equalsIgnoreCase(state))) {
+                continue;
+            }
+            String set = values.get("set");
+            if (set == null || set.isEmpty() || "null".equalsIgnoreCase(set)) {
+                set = null;
+            }
+            result.add(new Index(name, ns, set, bin, type));
+        }
+        return result;
+    }
+
+    private static IndexType toIndexType(String type) {
+        if (type == null) {
+            return null;
+        }
+        switch (type.toUpperCase()) {
+            case "NUMERIC":
+            case "INT SIGNED":
+                return IndexType.NUMERIC;
+            case "STRING":
+            case "TEXT":
+                return IndexType.STRING;
+            default:
+                return null;
+        }
+    }
+}
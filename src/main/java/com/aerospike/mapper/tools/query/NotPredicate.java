@@ -0,0 +1,25 @@
+package com.aerospike.mapper.tools.query;
+
+import com.aerospike.client.exp.Exp;
+import com.aerospike.mapper.tools.ClassCacheEntry;
+
+/**
+ * A predicate which is true when another is not.
+ */
+class NotPredicate extends Predicate {
+    private final Predicate predicate;
+
+    NotPredicate(Predicate predicate) {
+        this.predicate = predicate;
+    }
+
+    @Override
+    Exp toExp(ClassCacheEntry<?> entry) {
+        return Exp.not(predicate.toExp(entry));
+    }
+
+    @Override
+    public String toString() {
+        return "not " + predicate;
+    }
+}
@@ -0,0 +1,93 @@
+package com.aerospike.mapper.tools.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.validation.constraints.NotNull;
+
+import com.aerospike.client.exp.Exp;
+import com.aerospike.mapper.tools.ClassCacheEntry;
+
+/**
+ * A condition on the fields of a mapped class which is evaluated by the database. Predicates are built from the Java
+ * field (or bin) names of the class, for example
+ * <pre>
+ * where("age").gt(30).and("status").eq(Status.ACTIVE)
+ * </pre>
+ * and are compiled against a class: each name is translated to its bin and each value is converted with the
+ * <code>TypeMapper</code> of its field, so enums, dates and other converted types are compared as they are stored.
+ * <p/>
+ * <code>and</code> and <code>or</code> combine from left to right, so <code>a.or(b).and(c)</code> is
+ * <code>(a or b) and c</code>. Pass a predicate to <code>and</code> or <code>or</code> to group conditions differently.
+ * Predicates are immutable and can be reused with any class which maps the names they use.
+ */
+public abstract class Predicate {
+
+    Predicate() {
+    }
+
+    /**
+     * Start a predicate with a condition on the passed field.
+     *
+     * @param name the name of a Java field of the class, or of the bin it is mapped to.
+     */
+    public static Condition where(@NotNull String name) {
+        return new Condition(name, null, true);
+    }
+
+    /**
+     * Include an Aerospike expression as it is, for conditions the predicate methods cannot express. The expression
+     * refers to bins by their bin names.
+     */
+    public static Predicate exp(@NotNull Exp exp) {
+        return new ExpPredicate(exp);
+    }
+
+    /**
+     * Return a predicate which is true when none of the passed predicate is true.
+     */
+    public static Predicate not(@NotNull Predicate predicate) {
+        return new NotPredicate(predicate);
+    }
+
+    /**
+     * Add a condition on another field which must also be true.
+     */
+    public Condition and(@NotNull String name) {
+        return new Condition(name, this, true);
+    }
+
+    /**
+     * Add a condition on another field, so that either this predicate or the condition must be true.
+     */
+    public Condition or(@NotNull String name) {
+        return new Condition(name, this, false);
+    }
+
+    public Predicate and(@NotNull Predicate other) {
+        List<Predicate> predicates = new ArrayList<>(getConjuncts());
+        predicates.addAll(other.getConjuncts());
+        return new CompoundPredicate(true, predicates);
+    }
+
+    public Predicate or(@NotNull Predicate other) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(this);
+        predicates.add(other);
+        return new CompoundPredicate(false, predicates);
+    }
+
+    /**
+     * Return the predicates which must all be true for this one to be true. A planner can serve any one of these from a
+     * secondary index and evaluate the rest as an expression.
+     */
+    List<Predicate> getConjuncts() {
+        return Collections.singletonList(this);
+    }
+
+    /**
+     * Compile the predicate to an expression against the passed class.
+     */
+    abstract Exp toExp(ClassCacheEntry<?> entry);
+}
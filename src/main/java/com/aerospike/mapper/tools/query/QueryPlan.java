@@ -0,0 +1,76 @@
+package com.aerospike.mapper.tools.query;
+
+import java.util.List;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.exp.Expression;
+import com.aerospike.client.policy.QueryPolicy;
+import com.aerospike.client.query.Filter;
+
+/**
+ * How a predicate is evaluated by a query: at most one condition is served by a secondary index through a
+ * <code>Filter</code>, and the rest are evaluated on the server by a filter expression.
+ */
+public class QueryPlan {
+    private final Filter filter;
+    private final IndexCatalog.Index index;
+    private final Predicate indexedPredicate;
+    private final List<Predicate> remainingPredicates;
+    private final Expression filterExpression;
+
+    QueryPlan(Filter filter, IndexCatalog.Index index, Predicate indexedPredicate, List<Predicate> remainingPredicates,
+              Expression filterExpression) {
+        this.filter = filter;
+        this.index = index;
+        this.indexedPredicate = indexedPredicate;
+        this.remainingPredicates = remainingPredicates;
+        this.filterExpression = filterExpression;
+    }
+
+    /**
+     * The filter of the query, or null if no condition can use an index and the query is run as a scan.
+     */
+    public Filter getFilter() {
+        return filter;
+    }
+
+    /**
+     * The index used by the filter, or null if there is no filter.
+     */
+    public IndexCatalog.Index getIndex() {
+        return index;
+    }
+
+    /**
+     * The expression evaluating the conditions not served by the index, or null if there are none.
+     */
+    public Expression getFilterExpression() {
+        return filterExpression;
+    }
+
+    /**
+     * Return a copy of the passed policy with the filter expression of the plan set.
+     *
+     * @throws AerospikeException if both the policy and the plan have a filter expression, as they cannot be combined.
+     */
+    public QueryPolicy applyTo(QueryPolicy policy) {
+        if (filterExpression == null) {
+            return policy;
+        }
+        if (policy.filterExp != null) {
+            throw new AerospikeException("The query policy already has a filter expression. Add it to the predicate " +
+                    "with Predicate.exp instead");
+        }
+        QueryPolicy result = new QueryPolicy(policy);
+        result.filterExp = filterExpression;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("QueryPlan(index=%s, filter=%s, expression=%s)",
+                index == null ? "none" : index.getName(),
+                indexedPredicate == null ? "none" : indexedPredicate,
+                remainingPredicates.isEmpty() ? "none" : remainingPredicates);
+    }
+}
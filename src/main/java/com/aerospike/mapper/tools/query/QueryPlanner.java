@@ -0,0 +1,135 @@
+package com.aerospike.mapper.tools.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.validation.constraints.NotNull;
+
+import com.aerospike.client.exp.Exp;
+import com.aerospike.client.exp.Expression;
+import com.aerospike.client.query.Filter;
+import com.aerospike.client.query.IndexType;
+import com.aerospike.mapper.tools.ClassCacheEntry;
+import com.aerospike.mapper.tools.query.ComparisonPredicate.Operator;
+
+/**
+ * Work out how to evaluate a predicate against a class.
+ * <p/>
+ * Of the conditions which must all be true, those on a bin with a usable secondary index can be served by a
+ * <code>Filter</code>. Only one filter can be used, so the planner picks the one likely to match the fewest records:
+ * an equality first, then a range bounded at both ends, then a range bounded at one end. Ties go to the condition
+ * written first. Every other condition is compiled into one filter expression.
+ */
+public class QueryPlanner {
+    private static final int NOT_INDEXABLE = Integer.MAX_VALUE;
+
+    private QueryPlanner() {
+    }
+
+    /**
+     * Compile the whole predicate to a filter expression, for reads, batch reads and scans which cannot use an index.
+     */
+    public static Expression toExpression(@NotNull ClassCacheEntry<?> entry, @NotNull Predicate predicate) {
+        return Exp.build(predicate.toExp(entry));
+    }
+
+    /**
+     * Plan a query of the passed class. If the catalog is null no index is used.
+     */
+    public static QueryPlan plan(@NotNull ClassCacheEntry<?> entry, @NotNull Predicate predicate, IndexCatalog catalog) {
+        List<Predicate> conjuncts = predicate.getConjuncts();
+        int best = -1;
+        int bestScore = NOT_INDEXABLE;
+        IndexCatalog.Index bestIndex = null;
+        if (catalog != null) {
+            for (int i = 0; i < conjuncts.size(); i++) {
+                if (!(conjuncts.get(i) instanceof ComparisonPredicate)) {
+                    continue;
+                }
+                ComparisonPredicate comparison = (ComparisonPredicate) conjuncts.get(i);
+                IndexCatalog.Index index = catalog.getIndex(entry.getNamespace(), entry.getSetName(),
+                        entry.toBinName(comparison.getName()));
+                int score = index == null ? NOT_INDEXABLE : score(comparison, index, entry);
+                if (score < bestScore) {
+                    best = i;
+                    bestScore = score;
+                    bestIndex = index;
+                }
+            }
+        }
+
+        List<Predicate> remaining = new ArrayList<>(conjuncts);
+        Filter filter = null;
+        Predicate indexed = null;
+        if (best >= 0) {
+            indexed = remaining.remove(best);
+            filter = toFilter((ComparisonPredicate) indexed, bestIndex, entry);
+        }
+        Exp exp = CompoundPredicate.combine(true, remaining, entry);
+        return new QueryPlan(filter, filter == null ? null : bestIndex, indexed, remaining,
+                exp == null ? null : Exp.build(exp));
+    }
+
+    /**
+     * Score how selective a filter for the comparison would be, lower being more selective, or NOT_INDEXABLE if the
+     * index cannot serve it.
+     */
+    private static int score(ComparisonPredicate comparison, IndexCatalog.Index index, ClassCacheEntry<?> entry) {
+        Operator operator = comparison.getOperator();
+        if (operator == Operator.NE || operator == Operator.EXISTS) {
+            return NOT_INDEXABLE;
+        }
+        Object[] values = comparison.getStoredValues(entry);
+        if (operator == Operator.IN && values.length > 1) {
+            return NOT_INDEXABLE;
+        }
+        for (Object value : values) {
+            if (index.getType() == IndexType.NUMERIC ? !isInteger(value) : !(value instanceof String)) {
+                return NOT_INDEXABLE;
+            }
+        }
+        switch (operator) {
+            case EQ:
+            case IN:
+                return 0;
+            case BETWEEN:
+                return index.getType() == IndexType.NUMERIC ? 1 : NOT_INDEXABLE;
+            case GT:
+                return index.getType() == IndexType.NUMERIC && ((Number) values[0]).longValue() != Long.MAX_VALUE ? 2 : NOT_INDEXABLE;
+            case LT:
+                return index.getType() == IndexType.NUMERIC && ((Number) values[0]).longValue() != Long.MIN_VALUE ? 2 : NOT_INDEXABLE;
+            case GE:
+            case LE:
+                return index.getType() == IndexType.NUMERIC ? 2 : NOT_INDEXABLE;
+            default:
+                return NOT_INDEXABLE;
+        }
+    }
+
+    private static boolean isInteger(Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
+    private static Filter toFilter(ComparisonPredicate comparison, IndexCatalog.Index index, ClassCacheEntry<?> entry) {
+        String binName = index.getBinName();
+        Object[] values = comparison.getStoredValues(entry);
+        if (index.getType() == IndexType.STRING) {
+            return Filter.equal(binName, (String) values[0]);
+        }
+        long value = ((Number) values[0]).longValue();
+        switch (comparison.getOperator()) {
+            case BETWEEN:
+                return Filter.range(binName, value, ((Number) values[1]).longValue());
+            case GT:
+                return Filter.range(binName, value + 1, Long.MAX_VALUE);
+            case GE:
+                return Filter.range(binName, value, Long.MAX_VALUE);
+            case LT:
+                return Filter.range(binName, Long.MIN_VALUE, value - 1);
+            case LE:
+                return Filter.range(binName, Long.MIN_VALUE, value);
+            default:
+                return Filter.equal(binName, value);
+        }
+    }
+}
@@ -0,0 +1,426 @@
+package com.aerospike.mapper.tools.scan;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import javax.validation.constraints.NotNull;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.AerospikeException.ScanTerminated;
+import com.aerospike.client.Key;
+import com.aerospike.client.Record;
+import com.aerospike.client.cluster.Node;
+import com.aerospike.client.cluster.Partition;
+import com.aerospike.client.policy.ScanPolicy;
+import com.aerospike.client.query.PartitionFilter;
+import com.aerospike.mapper.tools.BinProjection;
+import com.aerospike.mapper.tools.RecordCompleter;
+import com.aerospike.mapper.tools.ClassCacheEntry;
+import com.aerospike.mapper.tools.IAeroMapper;
+import com.aerospike.mapper.tools.MappingContext;
+import com.aerospike.mapper.tools.Processor;
+import com.aerospike.mapper.tools.converters.MappingConverter;
+import com.aerospike.mapper.tools.utils.MapperUtils;
+
+/**
+ * A scan of every record of a class which divides the partitions of the namespace into ranges, reads each range on its
+ * own thread and passes the records through a bounded queue to a pool of workers which convert them and call the
+ * processor. When the processor falls behind the queue fills up and the reads stop until there is room, so memory use
+ * does not depend on how fast the records arrive.
+ * <p/>
+ * The scan keeps a {@link ScanCheckpoint} of the records which have been processed, which can be persisted while the
+ * scan runs and passed to {@link #resumeFrom(ScanCheckpoint)} to continue a scan which stopped part way through.
+ * <p/>
+ * The processor is called by several threads at once and must be thread safe. A scan can only be run once.
+ */
+public class ParallelScan<T> {
+    private static final int POLL_MILLIS = 100;
+
+    private final IAeroMapper mapper;
+    private final Class<T> clazz;
+    private final ClassCacheEntry<T> entry;
+    private ScanPolicy policy;
+    private int workers = Runtime.getRuntime().availableProcessors();
+    private int partitionRanges;
+    private int queueSize = 1000;
+    private String[] binNames;
+    private ScanCheckpoint checkpoint;
+    private Consumer<ScanProgress> progressListener;
+    private long progressIntervalMillis;
+
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private final AtomicBoolean stopped = new AtomicBoolean(false);
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final PartitionProgress[] partitions = new PartitionProgress[Node.PARTITIONS];
+    private volatile long startTime;
+
+    public ParallelScan(@NotNull IAeroMapper mapper, @NotNull Class<T> clazz) {
+        this.mapper = mapper;
+        this.clazz = clazz;
+        this.entry = MapperUtils.getEntryAndValidateNamespace(clazz, mapper);
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new PartitionProgress();
+        }
+    }
+
+    /**
+     * Set the scan policy. If this is not set, the scan policy of the class is used.
+     */
+    public ParallelScan<T> withPolicy(ScanPolicy policy) {
+        this.policy = policy;
+        return this;
+    }
+
+    /**
+     * Set the number of threads which convert the records and call the processor. Defaults to the number of processors.
+     */
+    public ParallelScan<T> withWorkers(int workers) {
+        if (workers <= 0) {
+            throw new AerospikeException(String.format("The number of workers must be positive, not %d", workers));
+        }
+        this.workers = workers;
+        return this;
+    }
+
+    /**
+     * Set the number of ranges the partitions are divided into, each of which is read by its own thread. Defaults to
+     * the number of workers.
+     */
+    public ParallelScan<T> withPartitionRanges(int partitionRanges) {
+        if (partitionRanges <= 0 || partitionRanges > Node.PARTITIONS) {
+            throw new AerospikeException(String.format("The number of partition ranges must be between 1 and %d, not %d",
+                    Node.PARTITIONS, partitionRanges));
+        }
+        this.partitionRanges = partitionRanges;
+        return this;
+    }
+
+    /**
+     * Set the number of records which can be read but not yet processed. Defaults to 1000.
+     */
+    public ParallelScan<T> withQueueSize(int queueSize) {
+        if (queueSize <= 0) {
+            throw new AerospikeException(String.format("The queue size must be positive, not %d", queueSize));
+        }
+        this.queueSize = queueSize;
+        return this;
+    }
+
+    /**
+     * Read only the passed bins. These can be either bin names or the names of the fields mapped to them.
+     */
+    public ParallelScan<T> withBinNames(String... binNames) {
+        this.binNames = binNames;
+        return this;
+    }
+
+    /**
+     * Continue a scan of the same set from a checkpoint, skipping the partitions and records it has processed.
+     */
+    public ParallelScan<T> resumeFrom(@NotNull ScanCheckpoint checkpoint) {
+        if (!entry.getNamespace().equals(checkpoint.getNamespace()) ||
+                !String.valueOf(entry.getSetName()).equals(String.valueOf(checkpoint.getSetName()))) {
+            throw new AerospikeException(String.format("A checkpoint of a scan of %s.%s cannot resume a scan of %s.%s",
+                    checkpoint.getNamespace(), checkpoint.getSetName(), entry.getNamespace(), entry.getSetName()));
+        }
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i].resume(checkpoint.getDigest(i), checkpoint.isPartitionComplete(i));
+        }
+        this.checkpoint = checkpoint;
+        return this;
+    }
+
+    /**
+     * Pass the progress of the scan to the listener every interval while it runs, and once when it ends.
+     */
+    public ParallelScan<T> withProgressListener(@NotNull Consumer<ScanProgress> progressListener, long intervalMillis) {
+        if (intervalMillis <= 0) {
+            throw new AerospikeException(String.format("The progress interval must be positive, not %d", intervalMillis));
+        }
+        this.progressListener = progressListener;
+        this.progressIntervalMillis = intervalMillis;
+        return this;
+    }
+
+    /**
+     * Run the scan, passing every record converted to the class to the processor. If the processor returns false the
+     * scan stops once the records being processed by other workers are finished. If the scan fails, the exception is
+     * thrown once the workers have stopped, and {@link #getCheckpoint()} returns how far it got.
+     *
+     * @return the checkpoint of the scan, which is complete unless the processor stopped it.
+     */
+    public ScanCheckpoint run(@NotNull Processor<T> processor) {
+        if (!started.compareAndSet(false, true)) {
+            throw new AerospikeException("A parallel scan can only be run once");
+        }
+        ScanPolicy scanPolicy = policy == null ? entry.getScanPolicy() : policy;
+        String[] requestedBins = entry.toBinNames(binNames);
+        BinProjection projection = entry.getBinProjection(requestedBins);
+        List<int[]> ranges = getRanges(partitionRanges == 0 ? Math.min(workers, Node.PARTITIONS) : partitionRanges);
+        BlockingQueue<QueuedRecord> queue = new ArrayBlockingQueue<>(queueSize);
+        CountDownLatch fetching = new CountDownLatch(ranges.size());
+
+        startTime = System.currentTimeMillis();
+        ExecutorService fetchers = Executors.newFixedThreadPool(Math.max(1, ranges.size()), threadFactory("fetch"));
+        ExecutorService workerPool = Executors.newFixedThreadPool(workers, threadFactory("worker"));
+        ScheduledExecutorService reporter = null;
+        if (progressListener != null) {
+            reporter = Executors.newSingleThreadScheduledExecutor(threadFactory("progress"));
+            reporter.scheduleAtFixedRate(() -> progressListener.accept(getProgress()),
+                    progressIntervalMillis, progressIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int[] range : ranges) {
+                tasks.add(fetchers.submit(() -> {
+                    try {
+                        fetch(scanPolicy, range[0], range[1], projection, queue);
+                    } catch (Throwable t) {
+                        fail(t);
+                    } finally {
+                        fetching.countDown();
+                    }
+                }));
+            }
+            for (int i = 0; i < workers; i++) {
+                tasks.add(workerPool.submit(() -> {
+                    try {
+                        work(processor, requestedBins, projection, queue, fetching);
+                    } catch (Throwable t) {
+                        fail(t);
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stopped.set(true);
+            throw new AerospikeException("The parallel scan was interrupted", e);
+        } catch (ExecutionException e) {
+            fail(e.getCause());
+        } finally {
+            stopped.set(true);
+            fetchers.shutdownNow();
+            workerPool.shutdownNow();
+            if (reporter != null) {
+                reporter.shutdownNow();
+                progressListener.accept(getProgress());
+            }
+        }
+        Throwable t = failure.get();
+        if (t instanceof AerospikeException) {
+            throw (AerospikeException) t;
+        } else if (t instanceof Error) {
+            throw (Error) t;
+        } else if (t != null) {
+            throw new AerospikeException(t);
+        }
+        return getCheckpoint();
+    }
+
+    private void fail(Throwable t) {
+        failure.compareAndSet(null, t);
+        stopped.set(true);
+    }
+
+    private List<int[]> getRanges(int count) {
+        List<int[]> ranges = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int begin = i * Node.PARTITIONS / count;
+            int end = (i + 1) * Node.PARTITIONS / count;
+            boolean complete = true;
+            for (int p = begin; p < end && complete; p++) {
+                complete = partitions[p].isComplete();
+            }
+            // Ranges finished in an earlier run are not read again
+            if (!complete) {
+                ranges.add(new int[] {begin, end - begin});
+            }
+        }
+        return ranges;
+    }
+
+    private void fetch(ScanPolicy scanPolicy, int begin, int count, BinProjection projection,
+            BlockingQueue<QueuedRecord> queue) {
+        String[] projectedBins = projection.getBinNames();
+        PartitionFilter filter = checkpoint == null ? PartitionFilter.range(begin, count) :
+                checkpoint.toPartitionFilter(begin, count);
+        try {
+            mapper.getClient().scanPartitions(scanPolicy, filter, entry.getNamespace(), entry.getSetName(), (key, record) -> {
+                PartitionProgress progress = partitions[Partition.getPartitionId(key.digest)];
+                QueuedRecord queued = progress.receive(key, record);
+                try {
+                    while (!queue.offer(queued, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                        if (stopped.get()) {
+                            throw new ScanTerminated();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ScanTerminated();
+                }
+            }, projectedBins == null ? new String[0] : projectedBins);
+        } catch (ScanTerminated st) {
+            if (!stopped.get()) {
+                throw st;
+            }
+            return;
+        }
+        for (int p = begin; p < begin + count; p++) {
+            partitions[p].fetched();
+        }
+    }
+
+    private void work(Processor<T> processor, String[] requestedBins, BinProjection projection,
+            BlockingQueue<QueuedRecord> queue, CountDownLatch fetching) throws InterruptedException {
+        // Records of subclasses with bins outside the projection are read again in full, in batches
+        RecordCompleter<QueuedRecord> completer = new RecordCompleter<>(mapper.getClient(), entry.getBatchPolicy(), projection);
+        BiConsumer<QueuedRecord, Record> process = (queued, record) -> process(processor, requestedBins, queued, record);
+        while (!stopped.get()) {
+            QueuedRecord queued = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            if (queued == null) {
+                completer.complete(process);
+                if (fetching.getCount() == 0 && queue.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+            if (completer.isComplete(queued, queued.key, queued.record)) {
+                process.accept(queued, queued.record);
+            } else if (completer.isFull()) {
+                completer.complete(process);
+            }
+        }
+    }
+
+    private void process(Processor<T> processor, String[] requestedBins, QueuedRecord queued, Record record) {
+        if (stopped.get()) {
+            // The record is not marked as processed, so it is read again if the scan is resumed
+            return;
+        }
+        MappingConverter converter = mapper.getMappingConverter();
+        MappingContext context = new MappingContext();
+        T object = converter.convertToObject(clazz, queued.key, record, entry, requestedBins, context);
+        converter.resolveDependencies(entry, context);
+        boolean more = processor.process(object);
+        queued.progress.processed(queued);
+        if (!more) {
+            stopped.set(true);
+        }
+    }
+
+    private ThreadFactory threadFactory(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, String.format("parallel-scan-%s-%s-%d", entry.getSetName(), name,
+                    count.incrementAndGet()));
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Return the progress of the scan. This can be called from any thread while the scan runs.
+     */
+    public ScanProgress getProgress() {
+        long[] processed = new long[partitions.length];
+        boolean[] complete = new boolean[partitions.length];
+        long received = 0;
+        for (int i = 0; i < partitions.length; i++) {
+            synchronized (partitions[i]) {
+                processed[i] = partitions[i].processed;
+                complete[i] = partitions[i].isComplete();
+                received += partitions[i].received;
+            }
+        }
+        long elapsed = startTime == 0 ? 0 : System.currentTimeMillis() - startTime;
+        return new ScanProgress(processed, complete, received, elapsed);
+    }
+
+    /**
+     * Return a checkpoint of the records processed so far. This can be called from any thread while the scan runs, for
+     * example by the progress listener to persist it.
+     */
+    public ScanCheckpoint getCheckpoint() {
+        byte[][] digests = new byte[partitions.length][];
+        boolean[] complete = new boolean[partitions.length];
+        for (int i = 0; i < partitions.length; i++) {
+            synchronized (partitions[i]) {
+                digests[i] = partitions[i].digest;
+                complete[i] = partitions[i].isComplete();
+            }
+        }
+        return new ScanCheckpoint(entry.getNamespace(), entry.getSetName(), digests, complete);
+    }
+
+    private static class QueuedRecord {
+        private final PartitionProgress progress;
+        private final Key key;
+        private final Record record;
+        private boolean done;
+
+        QueuedRecord(PartitionProgress progress, Key key, Record record) {
+            this.progress = progress;
+            this.key = key;
+            this.record = record;
+        }
+    }
+
+    /**
+     * The progress of one partition. The records of a partition arrive in digest order but workers finish them in any
+     * order, so the checkpoint digest only moves past a record once it and every record before it have been processed.
+     */
+    private static class PartitionProgress {
+        private final ArrayDeque<QueuedRecord> pending = new ArrayDeque<>();
+        private long received;
+        private long processed;
+        private byte[] digest;
+        private boolean fetched;
+
+        synchronized void resume(byte[] digest, boolean complete) {
+            this.digest = digest;
+            this.fetched = complete;
+        }
+
+        synchronized QueuedRecord receive(Key key, Record record) {
+            QueuedRecord queued = new QueuedRecord(this, key, record);
+            pending.addLast(queued);
+            received++;
+            return queued;
+        }
+
+        synchronized void processed(QueuedRecord queued) {
+            queued.done = true;
+            processed++;
+            while (!pending.isEmpty() && pending.peekFirst().done) {
+                digest = pending.pollFirst().key.digest;
+            }
+        }
+
+        synchronized void fetched() {
+            fetched = true;
+        }
+
+        synchronized boolean isComplete() {
+            return fetched && pending.isEmpty();
+        }
+    }
+}
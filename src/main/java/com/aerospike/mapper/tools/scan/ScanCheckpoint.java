@@ -0,0 +1,86 @@
+package com.aerospike.mapper.tools.scan;
+
+import java.io.Serializable;
+
+import com.aerospike.client.query.PartitionFilter;
+import com.aerospike.client.query.PartitionStatus;
+
+/**
+ * How far a {@link ParallelScan} has got: for each partition, whether it is complete and otherwise the digest of the
+ * last record after which every record has been processed. The checkpoint is serializable so it can be persisted while
+ * the scan runs, and a scan resumed from it does not pass completed partitions or processed records to the processor
+ * again. Records which were being processed when the checkpoint was taken may be processed again.
+ */
+public class ScanCheckpoint implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final String namespace;
+    private final String setName;
+    private final byte[][] digests;
+    private final boolean[] complete;
+
+    ScanCheckpoint(String namespace, String setName, byte[][] digests, boolean[] complete) {
+        this.namespace = namespace;
+        this.setName = setName;
+        this.digests = digests;
+        this.complete = complete;
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    public String getSetName() {
+        return setName;
+    }
+
+    public int getPartitionCount() {
+        return complete.length;
+    }
+
+    public boolean isPartitionComplete(int partitionId) {
+        return complete[partitionId];
+    }
+
+    /**
+     * Return the digest of the last record of the partition after which every record has been processed, or null if
+     * none have.
+     */
+    public byte[] getDigest(int partitionId) {
+        return digests[partitionId];
+    }
+
+    /**
+     * Return whether every partition is complete, so the scan has finished.
+     */
+    public boolean isComplete() {
+        for (boolean done : complete) {
+            if (!done) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Return the status of each partition in the passed range in the form used by {@link PartitionFilter}, so the
+     * checkpoint can also be used to resume a scan or query run directly against the client.
+     */
+    public PartitionStatus[] getPartitionStatuses(int begin, int count) {
+        PartitionStatus[] statuses = new PartitionStatus[count];
+        for (int i = 0; i < count; i++) {
+            statuses[i] = new PartitionStatus(begin + i);
+            statuses[i].digest = digests[begin + i];
+        }
+        return statuses;
+    }
+
+    /**
+     * Return a filter for the passed range of partitions which resumes each one from this checkpoint.
+     */
+    public PartitionFilter toPartitionFilter(int begin, int count) {
+        PartitionFilter filter = PartitionFilter.range(begin, count);
+        filter.setPartitions(getPartitionStatuses(begin, count));
+        return filter;
+    }
+}
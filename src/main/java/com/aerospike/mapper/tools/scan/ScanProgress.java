@@ -0,0 +1,86 @@
+package com.aerospike.mapper.tools.scan;
+
+/**
+ * The progress of a {@link ParallelScan} at a point in time.
+ */
+public class ScanProgress {
+    private final long[] recordsProcessed;
+    private final boolean[] complete;
+    private final long recordsReceived;
+    private final long totalProcessed;
+    private final int partitionsComplete;
+    private final long elapsedMillis;
+
+    ScanProgress(long[] recordsProcessed, boolean[] complete, long recordsReceived, long elapsedMillis) {
+        this.recordsProcessed = recordsProcessed;
+        this.complete = complete;
+        this.recordsReceived = recordsReceived;
+        this.elapsedMillis = elapsedMillis;
+        long processed = 0;
+        for (long count : recordsProcessed) {
+            processed += count;
+        }
+        int completeCount = 0;
+        for (boolean done : complete) {
+            if (done) {
+                completeCount++;
+            }
+        }
+        this.totalProcessed = processed;
+        this.partitionsComplete = completeCount;
+    }
+
+    /**
+     * The number of records read from the database, including those waiting to be processed.
+     */
+    public long getRecordsReceived() {
+        return recordsReceived;
+    }
+
+    /**
+     * The number of records which have been passed to the processor in this run.
+     */
+    public long getRecordsProcessed() {
+        return totalProcessed;
+    }
+
+    /**
+     * The number of records of the passed partition which have been passed to the processor in this run.
+     */
+    public long getRecordsProcessed(int partitionId) {
+        return recordsProcessed[partitionId];
+    }
+
+    /**
+     * Return whether every record of the passed partition has been processed, in this run or an earlier one.
+     */
+    public boolean isPartitionComplete(int partitionId) {
+        return complete[partitionId];
+    }
+
+    public int getPartitionsComplete() {
+        return partitionsComplete;
+    }
+
+    public int getPartitionCount() {
+        return complete.length;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * The number of records processed per second since the scan started, or 0 if no time has passed.
+     */
+    public double getRecordsPerSecond() {
+        return elapsedMillis == 0 ? 0 : totalProcessed * 1000.0 / elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ScanProgress(received=%d, processed=%d, partitions=%d/%d, elapsed=%dms, rate=%.1f/s)",
+                recordsReceived, totalProcessed, partitionsComplete, complete.length, elapsedMillis,
+                getRecordsPerSecond());
+    }
+}
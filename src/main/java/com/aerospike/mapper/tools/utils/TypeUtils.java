@@ -22,7 +22,9 @@ import com.aerospike.client.cdt.ListReturnType;
 import com.aerospike.client.cdt.MapReturnType;
 import com.aerospike.mapper.annotations.AerospikeEmbed;
 import com.aerospike.mapper.annotations.AerospikeEmbed.EmbedType;
+import com.aerospike.mapper.annotations.AerospikeBigNumber;
 import com.aerospike.mapper.annotations.AerospikeEnum;
+import com.aerospike.mapper.annotations.AerospikeTime;
 import com.aerospike.mapper.annotations.AerospikeRecord;
 import com.aerospike.mapper.annotations.AerospikeReference;
 import com.aerospike.mapper.annotations.AerospikeReference.ReferenceType;
@@ -91,17 +93,25 @@ public class TypeUtils {
             if (Date.class.isAssignableFrom(clazz)) {
                 typeMapper = new DateMapper(); 
             } else if (LocalDateTime.class.isAssignableFrom(clazz)) {
-                typeMapper = new LocalDateTimeMapper();
+                typeMapper = new LocalDateTimeMapper(getTimeEncoding(type));
+                // The encoding can differ between fields
+                addToMap = false;
             } else if (LocalDate.class.isAssignableFrom(clazz)) {
-                typeMapper = new LocalDateMapper();
+                typeMapper = new LocalDateMapper(getTimeEncoding(type));
+                addToMap = false;
             } else if (LocalTime.class.isAssignableFrom(clazz)) {
-                typeMapper = new LocalTimeMapper();
+                typeMapper = new LocalTimeMapper(getTimeEncoding(type));
+                addToMap = false;
             } else if (Instant.class.isAssignableFrom(clazz)) {
-                typeMapper = new InstantMapper();
+                typeMapper = new InstantMapper(getTimeEncoding(type));
+                addToMap = false;
             } else if (BigInteger.class.isAssignableFrom(clazz)) {
-                typeMapper = new BigIntegerMapper();
+                typeMapper = new BigIntegerMapper(getBigNumberEncoding(type));
+                // The encoding can differ between fields
+                addToMap = false;
             } else if (BigDecimal.class.isAssignableFrom(clazz)) {
-                typeMapper = new BigDecimalMapper();
+                typeMapper = new BigDecimalMapper(getBigNumberEncoding(type));
+                addToMap = false;
             } else if (Byte.class.isAssignableFrom(clazz) || Byte.TYPE.isAssignableFrom(clazz)) {
                 typeMapper = new ByteMapper();
             } else if (Character.class.isAssignableFrom(clazz) || Character.TYPE.isAssignableFrom(clazz)) {
@@ -116,13 +126,15 @@ public class TypeUtils {
                 typeMapper = new FloatMapper();
             } else if (clazz.isEnum()) {
                 String aeroEnumField = "";
+                AerospikeEnum.EnumType aeroEnumType = AerospikeEnum.EnumType.STRING;
                 if (type != null && type.getAnnotations() != null) {
                     AerospikeEnum aeroEnum = type.getAnnotation(AerospikeEnum.class);
                     if (aeroEnum != null) {
                         aeroEnumField = aeroEnum.enumField();
+                        aeroEnumType = aeroEnum.type();
                     }
                 }
-                typeMapper = new EnumMapper((Class<? extends Enum<?>>) clazz, aeroEnumField);
+                typeMapper = new EnumMapper((Class<? extends Enum<?>>) clazz, aeroEnumField, aeroEnumType);
                 addToMap = false;
             } else if (clazz.isArray()) {
                 Class<?> elementType = clazz.getComponentType();
@@ -280,10 +292,64 @@ public class TypeUtils {
         return typeMapper;
     }
 
+    private static AerospikeBigNumber.Encoding getBigNumberEncoding(AnnotatedType type) {
+        if (type != null && type.getAnnotations() != null) {
+            AerospikeBigNumber bigNumber = type.getAnnotation(AerospikeBigNumber.class);
+            if (bigNumber != null) {
+                return bigNumber.encoding();
+            }
+        }
+        return null;
+    }
+
+    private static AerospikeTime.Encoding getTimeEncoding(AnnotatedType type) {
+        if (type != null && type.getAnnotations() != null) {
+            AerospikeTime time = type.getAnnotation(AerospikeTime.class);
+            if (time != null) {
+                return time.encoding();
+            }
+        }
+        return null;
+    }
+
     public static TypeMapper getMapper(Class<?> clazz, AnnotatedType type, IBaseAeroMapper mapper) {
         return getMapper(clazz, type, mapper, false);
     }
 
+    /**
+     * Get the mapper for the key of a record. The key determines the digest of the record, so the big number and time
+     * encodings set on the builder are not applied to it: changing an encoding must not stop existing records being
+     * found. An encoding set on the key itself with an annotation is still used.
+     */
+    public static TypeMapper getKeyMapper(Class<?> clazz, AnnotatedType type, IBaseAeroMapper mapper) {
+        if (!mappers.containsKey(clazz)) {
+            if (LocalDateTime.class.isAssignableFrom(clazz)) {
+                return new LocalDateTimeMapper(getKeyTimeEncoding(type));
+            } else if (LocalDate.class.isAssignableFrom(clazz)) {
+                return new LocalDateMapper(getKeyTimeEncoding(type));
+            } else if (LocalTime.class.isAssignableFrom(clazz)) {
+                return new LocalTimeMapper(getKeyTimeEncoding(type));
+            } else if (Instant.class.isAssignableFrom(clazz)) {
+                return new InstantMapper(getKeyTimeEncoding(type));
+            } else if (BigInteger.class.isAssignableFrom(clazz)) {
+                return new BigIntegerMapper(getKeyBigNumberEncoding(type));
+            } else if (BigDecimal.class.isAssignableFrom(clazz)) {
+                return new BigDecimalMapper(getKeyBigNumberEncoding(type));
+            }
+        }
+        return getMapper(clazz, type, mapper, false);
+    }
+
+    private static AerospikeBigNumber.Encoding getKeyBigNumberEncoding(AnnotatedType type) {
+        AerospikeBigNumber.Encoding encoding = getBigNumberEncoding(type);
+        return encoding == null ? AerospikeBigNumber.Encoding.STRING : encoding;
+    }
+
+    private static AerospikeTime.Encoding getKeyTimeEncoding(AnnotatedType type) {
+        AerospikeTime.Encoding encoding = getTimeEncoding(type);
+        return encoding == null ? AerospikeTime.Encoding.DEFAULT : encoding;
+    }
+
     public static boolean isByteType(Class<?> clazz) {
         return Byte.class.equals(clazz) ||
                 Byte.TYPE.equals(clazz);
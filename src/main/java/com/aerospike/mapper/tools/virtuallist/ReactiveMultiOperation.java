@@ -4,8 +4,13 @@ import com.aerospike.client.AerospikeException;
 import com.aerospike.client.Key;
 import com.aerospike.client.Operation;
 import com.aerospike.client.policy.WritePolicy;
+import com.aerospike.client.query.KeyRecord;
 import com.aerospike.mapper.tools.ClassCache;
+import com.aerospike.mapper.tools.ClassCacheEntry;
+import com.aerospike.mapper.tools.DeferredObjectLoader;
+import com.aerospike.mapper.tools.DeferredObjectLoader.DeferredObjectSetter;
 import com.aerospike.mapper.tools.IReactiveAeroMapper;
+import com.aerospike.mapper.tools.MappingContext;
 import com.aerospike.mapper.tools.mappers.ListMapper;
 import reactor.core.publisher.Mono;
 
@@ -13,6 +18,7 @@ import javax.validation.constraints.NotNull;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ReactiveMultiOperation<E> {
     final List<Interactor> interactions;
@@ -233,34 +239,55 @@ public class ReactiveMultiOperation<E> {
         int finalCount = count;
         return reactiveAeroMapper.getReactorClient()
                 .operate(writePolicy, key, operations)
-                .map(keyRecord -> {
+                .flatMap(keyRecord -> {
                     T result;
-                    if (finalCount == 1) {
-                        result = (T) this.interactions.get(0).getResult(keyRecord.record.getValue(binName));
-                    } else {
-                        List<?> resultList = keyRecord.record.getList(binName);
-                        if (indexToReturn < 0) {
-                            indexToReturn = listSize - 1;
-                            // Determine the last GET operation
-                            for (int i = listSize - 1; i >= 0; i--) {
-                                if (!this.interactions.get(i).isWriteOperation()) {
-                                    indexToReturn = i;
-                                    break;
-                                }
-                            }
-                        }
-                        result = (T) this.interactions.get(indexToReturn).getResult(resultList.get(indexToReturn));
+                    List<DeferredObjectSetter> deferredObjects;
+                    MappingContext context = MappingContext.forCurrentThread();
+                    boolean deferAllReferences = context.isDeferAllReferences();
+                    context.setDeferAllReferences(true);
+                    try {
+                        result = getResult(keyRecord, finalCount, listSize);
+                        deferredObjects = DeferredObjectLoader.getAndClear();
+                    } catch (RuntimeException e) {
+                        DeferredObjectLoader.clear();
+                        return Mono.error(e);
+                    } finally {
+                        context.setDeferAllReferences(deferAllReferences);
                     }
-                    if (result != null) {
-                        Object object = result;
-                        if (result instanceof Collection) {
-                            Collection<T> collection = (Collection<T>) result;
-                            object = collection.isEmpty() ? null : collection.iterator().next();
-                        }
-                        assert object != null;
-                        reactiveAeroMapper.getMappingConverter().resolveDependencies(ClassCache.getInstance().loadClass(object.getClass(), reactiveAeroMapper));
+                    if (result == null || deferredObjects.isEmpty()) {
+                        return Mono.justOrEmpty(result);
                     }
-                    return result;
+                    Object object = result;
+                    if (result instanceof Collection) {
+                        Collection<T> collection = (Collection<T>) result;
+                        object = collection.isEmpty() ? null : collection.iterator().next();
+                    }
+                    ClassCacheEntry<?> entry = object == null ? null : ClassCache.getInstance().loadClass(object.getClass(), reactiveAeroMapper);
+                    return reactiveAeroMapper.getMappingConverter()
+                            .resolveDependenciesReactive(entry, deferredObjects, new ConcurrentHashMap<>(), reactiveAeroMapper.getReactorClient())
+                            .then(Mono.just(result));
                 });
     }
+
+    @SuppressWarnings("unchecked")
+    private <T> T getResult(KeyRecord keyRecord, int count, int listSize) {
+        T result;
+        if (count == 1) {
+            result = (T) this.interactions.get(0).getResult(keyRecord.record.getValue(binName));
+        } else {
+            List<?> resultList = keyRecord.record.getList(binName);
+            if (indexToReturn < 0) {
+                indexToReturn = listSize - 1;
+                // Determine the last GET operation
+                for (int i = listSize - 1; i >= 0; i--) {
+                    if (!this.interactions.get(i).isWriteOperation()) {
+                        indexToReturn = i;
+                        break;
+                    }
+                }
+            }
+            result = (T) this.interactions.get(indexToReturn).getResult(resultList.get(indexToReturn));
+        }
+        return result;
+    }
 }
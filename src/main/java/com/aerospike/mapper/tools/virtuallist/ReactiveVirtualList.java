@@ -7,11 +7,15 @@ import com.aerospike.client.policy.RecordExistsAction;
 import com.aerospike.client.policy.WritePolicy;
 import com.aerospike.client.query.KeyRecord;
 import com.aerospike.mapper.tools.ClassCache;
+import com.aerospike.mapper.tools.DeferredObjectLoader;
+import com.aerospike.mapper.tools.DeferredObjectLoader.DeferredObjectSetter;
 import com.aerospike.mapper.tools.IReactiveAeroMapper;
+import com.aerospike.mapper.tools.MappingContext;
 import reactor.core.publisher.Mono;
 
 import javax.validation.constraints.NotNull;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ReactiveVirtualList<E> extends BaseVirtualList<E> implements IReactiveVirtualList<E> {
 
@@ -63,7 +67,7 @@ public class ReactiveVirtualList<E> extends BaseVirtualList<E> implements IReact
 
         return reactiveAeroMapper.getReactorClient()
                 .operate(writePolicy, key, interactor.getOperation())
-                .map(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
+                .flatMap(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
     }
 
     @Override
@@ -82,7 +86,7 @@ public class ReactiveVirtualList<E> extends BaseVirtualList<E> implements IReact
 
         return reactiveAeroMapper.getReactorClient()
                 .operate(writePolicy, key, interactor.getOperation())
-                .map(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
+                .flatMap(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
     }
 
     @Override
@@ -101,7 +105,7 @@ public class ReactiveVirtualList<E> extends BaseVirtualList<E> implements IReact
 
         return reactiveAeroMapper.getReactorClient()
                 .operate(writePolicy, key, interactor.getOperation())
-                .map(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
+                .flatMap(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
     }
 
     @Override
@@ -120,7 +124,7 @@ public class ReactiveVirtualList<E> extends BaseVirtualList<E> implements IReact
 
         return reactiveAeroMapper.getReactorClient()
                 .operate(writePolicy, key, interactor.getOperation())
-                .map(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
+                .flatMap(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
     }
 
     @Override
@@ -139,7 +143,7 @@ public class ReactiveVirtualList<E> extends BaseVirtualList<E> implements IReact
 
         return reactiveAeroMapper.getReactorClient()
                 .operate(writePolicy, key, interactor.getOperation())
-                .map(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
+                .flatMap(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
     }
 
     @Override
@@ -158,7 +162,7 @@ public class ReactiveVirtualList<E> extends BaseVirtualList<E> implements IReact
 
         return reactiveAeroMapper.getReactorClient()
                 .operate(writePolicy, key, interactor.getOperation())
-                .map(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
+                .flatMap(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
     }
 
     @Override
@@ -177,7 +181,7 @@ public class ReactiveVirtualList<E> extends BaseVirtualList<E> implements IReact
 
         return reactiveAeroMapper.getReactorClient()
                 .operate(writePolicy, key, interactor.getOperation())
-                .map(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
+                .flatMap(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
     }
 
     @Override
@@ -196,7 +200,7 @@ public class ReactiveVirtualList<E> extends BaseVirtualList<E> implements IReact
 
         return reactiveAeroMapper.getReactorClient()
                 .operate(writePolicy, key, interactor.getOperation())
-                .map(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
+                .flatMap(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
     }
 
     @Override
@@ -215,7 +219,7 @@ public class ReactiveVirtualList<E> extends BaseVirtualList<E> implements IReact
 
         return reactiveAeroMapper.getReactorClient()
                 .operate(writePolicy, key, interactor.getOperation())
-                .map(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
+                .flatMap(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
     }
 
     @Override
@@ -234,7 +238,7 @@ public class ReactiveVirtualList<E> extends BaseVirtualList<E> implements IReact
 
         return reactiveAeroMapper.getReactorClient()
                 .operate(writePolicy, key, interactor.getOperation())
-                .map(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
+                .flatMap(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
     }
 
     @Override
@@ -253,7 +257,7 @@ public class ReactiveVirtualList<E> extends BaseVirtualList<E> implements IReact
 
         return reactiveAeroMapper.getReactorClient()
                 .operate(writePolicy, this.key, interactor.getOperation())
-                .map(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
+                .flatMap(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
     }
 
     @Override
@@ -272,7 +276,7 @@ public class ReactiveVirtualList<E> extends BaseVirtualList<E> implements IReact
 
         return reactiveAeroMapper.getReactorClient()
                 .operate(writePolicy, this.key, interactor.getOperation())
-                .map(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
+                .flatMap(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
     }
 
     @Override
@@ -291,7 +295,7 @@ public class ReactiveVirtualList<E> extends BaseVirtualList<E> implements IReact
 
         return reactiveAeroMapper.getReactorClient()
                 .operate(writePolicy, this.key, interactor.getOperation())
-                .map(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
+                .flatMap(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
     }
 
     @Override
@@ -310,7 +314,7 @@ public class ReactiveVirtualList<E> extends BaseVirtualList<E> implements IReact
 
         return reactiveAeroMapper.getReactorClient()
                 .operate(writePolicy, key, interactor.getOperation())
-                .map(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
+                .flatMap(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
     }
 
     @Override
@@ -329,7 +333,7 @@ public class ReactiveVirtualList<E> extends BaseVirtualList<E> implements IReact
 
         return reactiveAeroMapper.getReactorClient()
                 .operate(writePolicy, key, interactor.getOperation())
-                .map(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
+                .flatMap(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
     }
 
     @Override
@@ -348,7 +352,7 @@ public class ReactiveVirtualList<E> extends BaseVirtualList<E> implements IReact
 
         return reactiveAeroMapper.getReactorClient()
                 .operate(writePolicy, key, interactor.getOperation())
-                .map(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
+                .flatMap(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
     }
 
     @Override
@@ -367,7 +371,7 @@ public class ReactiveVirtualList<E> extends BaseVirtualList<E> implements IReact
 
         return reactiveAeroMapper.getReactorClient()
                 .operate(writePolicy, key, interactor.getOperation())
-                .map(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
+                .flatMap(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
     }
 
     @Override
@@ -386,7 +390,7 @@ public class ReactiveVirtualList<E> extends BaseVirtualList<E> implements IReact
 
         return reactiveAeroMapper.getReactorClient()
                 .operate(writePolicy, key, interactor.getOperation())
-                .map(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
+                .flatMap(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
     }
 
     @Override
@@ -405,7 +409,7 @@ public class ReactiveVirtualList<E> extends BaseVirtualList<E> implements IReact
 
         return reactiveAeroMapper.getReactorClient()
                 .operate(writePolicy, key, interactor.getOperation())
-                .map(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
+                .flatMap(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
     }
 
     @Override
@@ -424,7 +428,7 @@ public class ReactiveVirtualList<E> extends BaseVirtualList<E> implements IReact
 
         return reactiveAeroMapper.getReactorClient()
                 .operate(writePolicy, key, interactor.getOperation())
-                .map(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
+                .flatMap(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
     }
 
     @Override
@@ -443,7 +447,7 @@ public class ReactiveVirtualList<E> extends BaseVirtualList<E> implements IReact
 
         return reactiveAeroMapper.getReactorClient()
                 .operate(writePolicy, key, interactor.getOperation())
-                .map(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
+                .flatMap(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
     }
 
     @Override
@@ -462,7 +466,7 @@ public class ReactiveVirtualList<E> extends BaseVirtualList<E> implements IReact
 
         return reactiveAeroMapper.getReactorClient()
                 .operate(writePolicy, key, interactor.getOperation())
-                .map(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
+                .flatMap(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
     }
 
     @Override
@@ -481,7 +485,7 @@ public class ReactiveVirtualList<E> extends BaseVirtualList<E> implements IReact
 
         return reactiveAeroMapper.getReactorClient()
                 .operate(writePolicy, key, interactor.getOperation())
-                .map(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
+                .flatMap(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
     }
 
     @Override
@@ -500,7 +504,7 @@ public class ReactiveVirtualList<E> extends BaseVirtualList<E> implements IReact
 
         return reactiveAeroMapper.getReactorClient()
                 .operate(writePolicy, key, interactor.getOperation())
-                .map(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
+                .flatMap(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
     }
 
     @Override
@@ -519,7 +523,7 @@ public class ReactiveVirtualList<E> extends BaseVirtualList<E> implements IReact
 
         return reactiveAeroMapper.getReactorClient()
                 .operate(writePolicy, key, interactor.getOperation())
-                .map(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
+                .flatMap(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
     }
 
     @Override
@@ -549,7 +553,7 @@ public class ReactiveVirtualList<E> extends BaseVirtualList<E> implements IReact
         Interactor interactor = virtualListInteractors.getByIndexInteractor(index);
         return reactiveAeroMapper.getReactorClient()
                 .operate(getWritePolicy(policy), key, interactor.getOperation())
-                .map(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
+                .flatMap(keyRecord -> getResultsWithDependencies(keyRecord, interactor));
     }
 
     @Override
@@ -567,12 +571,32 @@ public class ReactiveVirtualList<E> extends BaseVirtualList<E> implements IReact
                 .operate(null, key, interactor.getOperation()).then();
     }
 
+    /**
+     * Map the result of the operation, then load the objects the elements reference with the reactor client. The references
+     * deferred by the mapping are taken from this thread before anything else can run on it.
+     */
     @SuppressWarnings("unchecked")
-    private E getResultsWithDependencies(KeyRecord keyRecord, Interactor interactor) {
-        E result = keyRecord == null ? null : (E) interactor.getResult(keyRecord.record.getList(binName));
-        if (result != null) {
-            reactiveAeroMapper.getMappingConverter().resolveDependencies(ClassCache.getInstance().loadClass(result.getClass(), reactiveAeroMapper));
+    private Mono<E> getResultsWithDependencies(KeyRecord keyRecord, Interactor interactor) {
+        E result;
+        List<DeferredObjectSetter> deferredObjects;
+        MappingContext context = MappingContext.forCurrentThread();
+        boolean deferAllReferences = context.isDeferAllReferences();
+        context.setDeferAllReferences(true);
+        try {
+            result = keyRecord == null ? null : (E) interactor.getResult(keyRecord.record.getList(binName));
+            deferredObjects = DeferredObjectLoader.getAndClear();
+        } catch (RuntimeException e) {
+            DeferredObjectLoader.clear();
+            return Mono.error(e);
+        } finally {
+            context.setDeferAllReferences(deferAllReferences);
         }
-        return result;
+        if (result == null || deferredObjects.isEmpty()) {
+            return Mono.justOrEmpty(result);
+        }
+        return reactiveAeroMapper.getMappingConverter()
+                .resolveDependenciesReactive(ClassCache.getInstance().loadClass(result.getClass(), reactiveAeroMapper),
+                        deferredObjects, new ConcurrentHashMap<>(), reactiveAeroMapper.getReactorClient())
+                .then(Mono.just(result));
     }
 }
@@ -0,0 +1,77 @@
+package com.aerospike.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.Test;
+
+import com.aerospike.mapper.tools.AccessorFactory;
+
+public class AccessorFactoryTest {
+
+    private static class Target {
+        private int primitive;
+        private String name;
+        private final String finalName = "initial";
+        private long property;
+        private long wide;
+
+        private long getProperty() {
+            return property;
+        }
+
+        private Target setProperty(long property) {
+            this.property = property;
+            return this;
+        }
+    }
+
+    private static Field field(String name) throws NoSuchFieldException {
+        Field field = Target.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return field;
+    }
+
+    @Test
+    public void testFieldAccessors() throws Exception {
+        Target target = new Target();
+        AccessorFactory.setter(field("primitive")).set(target, 12);
+        AccessorFactory.setter(field("name")).set(target, "bob");
+        assertEquals(12, target.primitive);
+        assertEquals("bob", target.name);
+        assertEquals(12, AccessorFactory.getter(field("primitive")).get(target));
+        assertEquals("bob", AccessorFactory.getter(field("name")).get(target));
+    }
+
+    @Test
+    public void testFieldSetterConvertsLikeReflection() throws Exception {
+        Target target = new Target();
+        // An Integer is widened to a long field, as Field.set does
+        AccessorFactory.setter(field("wide")).set(target, 12);
+        assertEquals(12L, target.wide);
+        assertThrows(IllegalArgumentException.class, () -> AccessorFactory.setter(field("primitive")).set(target, null));
+    }
+
+    @Test
+    public void testFinalFieldAccessors() throws Exception {
+        Target target = new Target();
+        AccessorFactory.setter(field("finalName")).set(target, "changed");
+        assertEquals("changed", AccessorFactory.getter(field("finalName")).get(target));
+    }
+
+    @Test
+    public void testMethodAccessors() throws Exception {
+        Target target = new Target();
+        Method getter = Target.class.getDeclaredMethod("getProperty");
+        Method setter = Target.class.getDeclaredMethod("setProperty", long.class);
+        getter.setAccessible(true);
+        setter.setAccessible(true);
+
+        AccessorFactory.setter(setter).set(target, 99L);
+        assertEquals(99L, target.property);
+        assertEquals(99L, AccessorFactory.getter(getter).get(target));
+    }
+}
@@ -1,11 +1,18 @@
 package com.aerospike.mapper;
 
+import com.aerospike.client.Bin;
+import com.aerospike.client.Key;
+import com.aerospike.client.Record;
 import com.aerospike.mapper.annotations.AerospikeEnum;
+import com.aerospike.mapper.annotations.AerospikeEnum.EnumType;
 import com.aerospike.mapper.annotations.AerospikeKey;
 import com.aerospike.mapper.annotations.AerospikeRecord;
 import com.aerospike.mapper.tools.AeroMapper;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class AeroMapperEnumTest extends AeroMapperBaseTest {
@@ -45,6 +52,41 @@ public class AeroMapperEnumTest extends AeroMapperBaseTest {
         assertEquals(a4.countryAnno, a14.countryAnno);
     }
 
+    @Test
+    public void testIntegerStorage() {
+        B b = new B();
+        b.id = 1;
+        b.status = Status.SINGLE;
+        b.history = Arrays.asList(Status.SINGLE, Status.MARRIED, Status.COMPLICATED);
+        b.priority = Priority.HIGH;
+
+        AeroMapper mapper = new AeroMapper.Builder(client).build();
+        mapper.save(b);
+
+        Record record = client.get(null, new Key(NAMESPACE, "B", 1));
+        assertEquals(1L, record.getValue("status"));
+        assertEquals(Arrays.asList(1L, 0L, 2L), record.getList("history"));
+        assertEquals(30L, record.getValue("priority"));
+
+        B b1 = mapper.read(B.class, 1);
+        assertEquals(b.status, b1.status);
+        assertEquals(b.history, b1.history);
+        assertEquals(b.priority, b1.priority);
+    }
+
+    @Test
+    public void testIntegerStorageReadsStrings() {
+        // Data written before the fields were changed to ordinals and codes
+        client.put(null, new Key(NAMESPACE, "B", 2), new Bin("id", 2), new Bin("status", "COMPLICATED"),
+                new Bin("history", Arrays.asList("MARRIED", "SINGLE")), new Bin("priority", "LOW"));
+
+        AeroMapper mapper = new AeroMapper.Builder(client).build();
+        B b = mapper.read(B.class, 2);
+        assertEquals(Status.COMPLICATED, b.status);
+        assertEquals(Arrays.asList(Status.MARRIED, Status.SINGLE), b.history);
+        assertEquals(Priority.LOW, b.priority);
+    }
+
     enum Status {
         MARRIED,
         SINGLE,
@@ -68,6 +110,30 @@ public class AeroMapperEnumTest extends AeroMapperBaseTest {
         }
     }
 
+    enum Priority {
+        LOW(10),
+        MEDIUM(20),
+        HIGH(30);
+
+        private final int code;
+
+        Priority(int code) {
+            this.code = code;
+        }
+    }
+
+    @AerospikeRecord(namespace = "test", set = "B")
+    public static class B {
+        @AerospikeKey
+        public int id;
+        @AerospikeEnum(type = EnumType.ORDINAL)
+        public Status status;
+        @AerospikeEnum(type = EnumType.ORDINAL)
+        public List<Status> history;
+        @AerospikeEnum(enumField = "code", type = EnumType.CODE)
+        public Priority priority;
+    }
+
     @AerospikeRecord(namespace = "test", set = "A")
     public static class A {
         @AerospikeKey
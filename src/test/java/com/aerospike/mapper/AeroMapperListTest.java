@@ -1,7 +1,11 @@
 package com.aerospike.mapper;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
@@ -89,6 +93,25 @@ public class AeroMapperListTest extends AeroMapperBaseTest {
         public TestV3 value;
     }
 
+    // A superclass whose version 2 added createdAt
+    @AerospikeRecord(namespace = NAMESPACE, set = "testSet", version = 2)
+    public static class TestBase {
+        public String createdBy;
+        @AerospikeVersion(min = 2)
+        public long createdAt;
+    }
+
+    @AerospikeRecord(namespace = NAMESPACE, set = "testSet", version = 3)
+    public static class TestSubclass extends TestBase {
+        @AerospikeOrdinal()
+        public String account;
+        @AerospikeVersion(max = 1)
+        public String legacyCode;
+        public long quantity;
+        @AerospikeVersion(min = 3)
+        public String currency;
+    }
+
     @Test
     public void testSave() {
         TestV1Container container = new TestV1Container();
@@ -235,4 +258,68 @@ public class AeroMapperListTest extends AeroMapperBaseTest {
         assertEquals(value.c, value2.c);
         assertEquals(value.d, value2.d);
     }
+
+    @Test
+    public void testMixedVersionsWithSuperclass() {
+        // As written by version 1 of both classes: account, legacyCode, quantity then createdBy
+        List<Object> version1 = Arrays.asList("A1", "X1", 10L, "loader");
+        // As written by version 2 of both classes: account, quantity, then createdAt, createdBy
+        List<Object> version2 = Arrays.asList("A2", 20L, 1000L, "loader", "@V2", "@V2");
+        // As written by version 3 of the subclass on version 1 of the superclass
+        List<Object> version3 = Arrays.asList("A3", "USD", 30L, "loader", "@V3");
+
+        List<TestSubclass> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            for (List<Object> list : Arrays.asList(version1, version2, version3)) {
+                results.add(mapper.getMappingConverter().convertToObject(TestSubclass.class, list));
+            }
+        }
+        for (int i = 0; i < results.size(); i += 3) {
+            TestSubclass value1 = results.get(i);
+            assertEquals("A1", value1.account);
+            assertNull(value1.legacyCode);
+            assertEquals(10, value1.quantity);
+            assertNull(value1.currency);
+            assertEquals("loader", value1.createdBy);
+            assertEquals(0, value1.createdAt);
+
+            TestSubclass value2 = results.get(i + 1);
+            assertEquals("A2", value2.account);
+            assertEquals(20, value2.quantity);
+            assertNull(value2.currency);
+            assertEquals("loader", value2.createdBy);
+            assertEquals(1000, value2.createdAt);
+
+            TestSubclass value3 = results.get(i + 2);
+            assertEquals("A3", value3.account);
+            assertEquals(30, value3.quantity);
+            assertEquals("USD", value3.currency);
+            assertEquals("loader", value3.createdBy);
+            assertEquals(0, value3.createdAt);
+        }
+
+        TestSubclass value = new TestSubclass();
+        value.account = "A4";
+        value.quantity = 40;
+        value.currency = "EUR";
+        value.createdBy = "writer";
+        value.createdAt = 2000;
+        List<Object> list = mapper.getMappingConverter().convertToList(value);
+        assertEquals("@V3", list.get(list.size() - 1));
+        compare(value, mapper.getMappingConverter().convertToObject(TestSubclass.class, list));
+    }
+
+    @Test
+    public void testShortLists() {
+        TestSubclass value = mapper.getMappingConverter().convertToObject(TestSubclass.class, Collections.emptyList());
+        assertNull(value.account);
+        assertNull(value.createdBy);
+
+        // Values missing from the end of the list are left at their defaults
+        value = mapper.getMappingConverter().convertToObject(TestSubclass.class, Arrays.asList("A1", "USD", "@V3"));
+        assertEquals("A1", value.account);
+        assertEquals("USD", value.currency);
+        assertEquals(0, value.quantity);
+        assertNull(value.createdBy);
+    }
 }
@@ -0,0 +1,118 @@
+package com.aerospike.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import com.aerospike.mapper.annotations.AerospikeKey;
+import com.aerospike.mapper.annotations.AerospikeRecord;
+import com.aerospike.mapper.annotations.AerospikeReference;
+import com.aerospike.mapper.tools.AsyncAeroMapper;
+
+public class AsyncAeroMapperTest extends AeroMapperBaseTest {
+
+    @AerospikeRecord(namespace = "test", set = "asyncOwner")
+    public static class Owner {
+        @AerospikeKey
+        public int id;
+        public String name;
+        @AerospikeReference
+        public List<Pet> pets = new ArrayList<>();
+        @AerospikeReference
+        public Owner partner;
+    }
+
+    @AerospikeRecord(namespace = "test", set = "asyncPet")
+    public static class Pet {
+        @AerospikeKey
+        public String name;
+        public int age;
+        @AerospikeReference
+        public Owner owner;
+    }
+
+    private Owner owner(int id) {
+        Owner owner = new Owner();
+        owner.id = id;
+        owner.name = "Owner " + id;
+        for (int i = 0; i < 3; i++) {
+            Pet pet = new Pet();
+            pet.name = "pet" + id + "-" + i;
+            pet.age = i;
+            pet.owner = owner;
+            owner.pets.add(pet);
+        }
+        return owner;
+    }
+
+    private CompletableFuture<Void> saveAll(AsyncAeroMapper mapper, Owner owner) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        futures.add(mapper.save(owner));
+        for (Pet pet : owner.pets) {
+            futures.add(mapper.save(pet));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    @Test
+    public void testReadResolvesReferences() {
+        AsyncAeroMapper mapper = new AsyncAeroMapper.Builder(client).build();
+        Owner owner1 = owner(1);
+        Owner owner2 = owner(2);
+        owner1.partner = owner2;
+        owner2.partner = owner1;
+        CompletableFuture.allOf(saveAll(mapper, owner1), saveAll(mapper, owner2)).join();
+
+        Owner read = mapper.read(Owner.class, 1).join();
+        assertEquals("Owner 1", read.name);
+        assertEquals(3, read.pets.size());
+        assertEquals("pet1-2", read.pets.get(2).name);
+        // Cycles resolve to the objects already loaded by this read
+        assertSame(read, read.pets.get(0).owner);
+        assertSame(read, read.partner.partner);
+        assertEquals("pet2-0", read.partner.pets.get(0).name);
+
+        Owner unresolved = mapper.read(Owner.class, 1, false).join();
+        assertEquals("Owner 1", unresolved.name);
+        assertNull(unresolved.partner);
+    }
+
+    @Test
+    public void testBatchReadAndDelete() {
+        AsyncAeroMapper mapper = new AsyncAeroMapper.Builder(client).build();
+        CompletableFuture.allOf(saveAll(mapper, owner(3)), saveAll(mapper, owner(4))).join();
+
+        Owner[] owners = mapper.read(Owner.class, new Object[] {3, 5, 4}).join();
+        assertEquals(3, owners.length);
+        assertEquals("Owner 3", owners[0].name);
+        assertNull(owners[1]);
+        assertEquals("pet4-1", owners[2].pets.get(1).name);
+        assertSame(owners[2], owners[2].pets.get(1).owner);
+
+        assertTrue(mapper.delete(Owner.class, 3).join());
+        assertFalse(mapper.delete(Owner.class, 3).join());
+        assertArrayEquals(new boolean[] {true, false}, mapper.deleteAll(null, Owner.class, new Object[] {4, 3}).join());
+        assertNull(mapper.read(Owner.class, 4).join());
+    }
+
+    @Test
+    public void testScan() {
+        client.truncate(null, NAMESPACE, "asyncOwner", null);
+        AsyncAeroMapper mapper = new AsyncAeroMapper.Builder(client).build();
+        saveAll(mapper, owner(6)).join();
+
+        List<Owner> owners = mapper.scan(null, Owner.class).join();
+        assertEquals(1, owners.size());
+        assertEquals("Owner 6", owners.get(0).name);
+        assertEquals("pet6-0", owners.get(0).pets.get(0).name);
+    }
+}
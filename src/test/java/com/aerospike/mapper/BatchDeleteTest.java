@@ -0,0 +1,71 @@
+package com.aerospike.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import com.aerospike.mapper.annotations.AerospikeKey;
+import com.aerospike.mapper.annotations.AerospikeRecord;
+import com.aerospike.mapper.tools.AeroMapper;
+
+public class BatchDeleteTest extends AeroMapperBaseTest {
+
+    @AerospikeRecord(namespace = "test", set = "bdCust")
+    public static class Customer {
+        @AerospikeKey
+        public int id;
+        public String name;
+
+        public Customer() {
+        }
+
+        public Customer(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    @AerospikeRecord(namespace = "test", set = "bdAcct")
+    public static class Account {
+        @AerospikeKey
+        public String id;
+        public long balance;
+
+        public Account() {
+        }
+
+        public Account(String id, long balance) {
+            this.id = id;
+            this.balance = balance;
+        }
+    }
+
+    @Test
+    public void testDeleteAllByKeys() {
+        AeroMapper mapper = new AeroMapper.Builder(client).build();
+        mapper.save(new Customer(1, "one"), new Customer(2, "two"), new Customer(3, "three"));
+        mapper.delete(Customer.class, 4);
+
+        boolean[] existed = mapper.deleteAll(Customer.class, new Object[] {1, 4, 3});
+        assertArrayEquals(new boolean[] {true, false, true}, existed);
+        assertNull(mapper.read(Customer.class, 1));
+        assertNull(mapper.read(Customer.class, 3));
+        assertArrayEquals(new boolean[] {true}, mapper.deleteAll(Customer.class, new Object[] {2}));
+    }
+
+    @Test
+    public void testDeleteAllMixedObjects() {
+        AeroMapper mapper = new AeroMapper.Builder(client).build();
+        Customer customer = new Customer(10, "ten");
+        Account account = new Account("acct10", 100);
+        Account missing = new Account("missing", 0);
+        mapper.save(customer, account);
+        mapper.delete(missing);
+
+        boolean[] existed = mapper.deleteAll(customer, missing, account);
+        assertArrayEquals(new boolean[] {true, false, true}, existed);
+        assertNull(mapper.read(Customer.class, 10));
+        assertNull(mapper.read(Account.class, "acct10"));
+    }
+}
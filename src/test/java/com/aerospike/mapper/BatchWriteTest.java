@@ -0,0 +1,151 @@
+package com.aerospike.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.IAerospikeClient;
+import com.aerospike.client.ResultCode;
+import com.aerospike.client.policy.BatchPolicy;
+import com.aerospike.mapper.annotations.AerospikeKey;
+import com.aerospike.mapper.annotations.AerospikeRecord;
+import com.aerospike.mapper.exceptions.BatchWriteException;
+import com.aerospike.mapper.tools.AeroMapper;
+
+public class BatchWriteTest extends AeroMapperBaseTest {
+
+    @AerospikeRecord(namespace = "test", set = "bwCust")
+    public static class Customer {
+        @AerospikeKey
+        public int id;
+        public String name;
+        public String email;
+
+        public Customer() {
+        }
+
+        public Customer(int id, String name, String email) {
+            this.id = id;
+            this.name = name;
+            this.email = email;
+        }
+    }
+
+    @AerospikeRecord(namespace = "test", set = "bwAcct")
+    public static class Account {
+        @AerospikeKey
+        public String id;
+        public long balance;
+
+        public Account() {
+        }
+
+        public Account(String id, long balance) {
+            this.id = id;
+            this.balance = balance;
+        }
+    }
+
+    @Test
+    public void testSaveAllMixedClasses() {
+        AeroMapper mapper = new AeroMapper.Builder(client).withBatchWriteSize(3).build();
+        List<Object> objects = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            objects.add(new Customer(i, "Customer " + i, "cust" + i + "@example.com"));
+            objects.add(new Account("acct" + i, 100L * i));
+        }
+        int[] resultCodes = mapper.saveAll(objects);
+        assertEquals(objects.size(), resultCodes.length);
+        for (int resultCode : resultCodes) {
+            assertEquals(ResultCode.OK, resultCode);
+        }
+
+        for (int i = 0; i < 10; i++) {
+            compare(objects.get(2 * i), mapper.read(Customer.class, i));
+            compare(objects.get(2 * i + 1), mapper.read(Account.class, "acct" + i));
+        }
+    }
+
+    @Test
+    public void testSaveAllReplacesAndUpdateAllMerges() {
+        AeroMapper mapper = new AeroMapper.Builder(client).build();
+        mapper.saveAll(Collections.singletonList(new Customer(20, "Original", "original@example.com")));
+
+        mapper.updateAll(Collections.singletonList(new Customer(20, "Updated", null)));
+        Customer read = mapper.read(Customer.class, 20);
+        assertEquals("Updated", read.name);
+        assertEquals("original@example.com", read.email);
+
+        mapper.saveAll(Collections.singletonList(new Customer(20, "Replaced", null)));
+        read = mapper.read(Customer.class, 20);
+        assertEquals("Replaced", read.name);
+        assertNull(read.email);
+    }
+
+    @Test
+    public void testSaveAllWithBatchPolicy() {
+        AeroMapper mapper = new AeroMapper.Builder(client).build();
+        BatchPolicy batchPolicy = new BatchPolicy(client.getBatchParentPolicyWriteDefault());
+        batchPolicy.maxConcurrentThreads = 1;
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            accounts.add(new Account("policy" + i, i));
+        }
+        int[] resultCodes = mapper.updateAll(batchPolicy, accounts);
+        assertEquals(5, resultCodes.length);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(ResultCode.OK, resultCodes[i]);
+            assertEquals(i, mapper.read(Account.class, "policy" + i).balance);
+        }
+    }
+
+    @Test
+    public void testFailedBatchCallStopsTheWrite() {
+        client.truncate(null, NAMESPACE, "bwCust", null);
+        // A client whose second batch call fails as a whole, as it would on a timeout
+        AtomicInteger batchCalls = new AtomicInteger();
+        IAerospikeClient failingClient = (IAerospikeClient) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {IAerospikeClient.class}, (proxy, method, args) -> {
+                    if ("operate".equals(method.getName()) && batchCalls.incrementAndGet() == 2) {
+                        throw new AerospikeException.Timeout(1000, false);
+                    }
+                    try {
+                        return method.invoke(client, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        AeroMapper mapper = new AeroMapper.Builder(failingClient).withBatchWriteSize(2).build();
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            customers.add(new Customer(30 + i, "Customer " + i, null));
+        }
+        BatchWriteException exception = assertThrows(BatchWriteException.class, () -> mapper.saveAll(customers));
+        assertEquals(ResultCode.TIMEOUT, exception.getResultCode());
+        assertEquals(2, batchCalls.get());
+
+        int[] resultCodes = exception.getResultCodes();
+        assertEquals(6, resultCodes.length);
+        assertEquals(ResultCode.OK, resultCodes[0]);
+        assertEquals(ResultCode.OK, resultCodes[1]);
+        for (int i = 2; i < 6; i++) {
+            assertEquals(ResultCode.NO_RESPONSE, resultCodes[i]);
+        }
+        assertNull(mapper.read(Customer.class, 34));
+    }
+
+    @Test
+    public void testInvalidBatchWriteSize() {
+        assertThrows(AerospikeException.class, () -> new AeroMapper.Builder(client).withBatchWriteSize(0));
+    }
+}
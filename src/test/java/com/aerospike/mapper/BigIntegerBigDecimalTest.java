@@ -1,8 +1,14 @@
 package com.aerospike.mapper;
 
+import com.aerospike.client.Bin;
+import com.aerospike.client.Key;
+import com.aerospike.client.Record;
+import com.aerospike.mapper.annotations.AerospikeBigNumber;
+import com.aerospike.mapper.annotations.AerospikeBigNumber.Encoding;
 import com.aerospike.mapper.annotations.AerospikeKey;
 import com.aerospike.mapper.annotations.AerospikeRecord;
 import com.aerospike.mapper.tools.AeroMapper;
+import com.aerospike.mapper.tools.ClassCache;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,8 +16,11 @@ import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class BigIntegerBigDecimalTest extends AeroMapperBaseTest {
 
@@ -27,6 +36,33 @@ public class BigIntegerBigDecimalTest extends AeroMapperBaseTest {
         public BigInteger bigI;
     }
 
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @AerospikeRecord(namespace = "test", set = "bigType")
+    public static class CompactBigTypes {
+        @AerospikeKey
+        public int id;
+        @AerospikeBigNumber(encoding = Encoding.COMPACT)
+        public BigDecimal bigD;
+        @AerospikeBigNumber(encoding = Encoding.COMPACT)
+        public BigInteger bigI;
+        @AerospikeBigNumber(encoding = Encoding.COMPACT)
+        public List<BigDecimal> amounts;
+        @AerospikeBigNumber(encoding = Encoding.STRING)
+        public BigDecimal asString;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @AerospikeRecord(namespace = "test", set = "bigKey")
+    public static class BigKey {
+        @AerospikeKey
+        public BigInteger id;
+        public BigDecimal amount;
+    }
+
     @Test
     public void runTest() {
         AeroMapper mapper = new AeroMapper.Builder(client).build();
@@ -35,4 +71,63 @@ public class BigIntegerBigDecimalTest extends AeroMapperBaseTest {
         BigTypes readTypes = mapper.read(BigTypes.class, 1);
         assertEquals(types, readTypes);
     }
+
+    @Test
+    public void testCompactEncoding() {
+        AeroMapper mapper = new AeroMapper.Builder(client).build();
+        CompactBigTypes types = new CompactBigTypes(2, new BigDecimal("-123456789012345678901234567890.12345"),
+                new BigInteger("42"), Arrays.asList(new BigDecimal("12.50"), new BigDecimal("100"), new BigDecimal("-0.001")),
+                new BigDecimal("1.10"));
+        mapper.save(types);
+
+        Record record = client.get(null, new Key(NAMESPACE, "bigType", 2));
+        assertTrue(record.getValue("bigD") instanceof byte[]);
+        assertEquals(42L, record.getValue("bigI"));
+        assertEquals(100L, record.getList("amounts").get(1));
+        assertEquals("1.10", record.getValue("asString"));
+
+        assertEquals(types, mapper.read(CompactBigTypes.class, 2));
+    }
+
+    @Test
+    public void testEncodingFromBuilder() {
+        AeroMapper mapper = new AeroMapper.Builder(client).withBigNumberEncoding(Encoding.COMPACT).build();
+        BigTypes types = new BigTypes(3, "test", new BigDecimal("123456789.123456789"), new BigInteger("12345678901234567890"));
+        mapper.save(types);
+
+        Record record = client.get(null, new Key(NAMESPACE, "bigType", 3));
+        assertTrue(record.getValue("bigD") instanceof byte[]);
+        assertTrue(record.getValue("bigI") instanceof byte[]);
+        assertEquals(types, mapper.read(BigTypes.class, 3));
+    }
+
+    @Test
+    public void testCompactReadsStrings() {
+        // Data written before the fields were changed to the compact encoding
+        client.put(null, new Key(NAMESPACE, "bigType", 4), new Bin("id", 4), new Bin("bigD", "-0.50"),
+                new Bin("bigI", "98765432109876543210"), new Bin("amounts", Arrays.asList("1.5", "2")), new Bin("asString", "7"));
+
+        AeroMapper mapper = new AeroMapper.Builder(client).build();
+        CompactBigTypes types = mapper.read(CompactBigTypes.class, 4);
+        assertEquals(new BigDecimal("-0.50"), types.bigD);
+        assertEquals(new BigInteger("98765432109876543210"), types.bigI);
+        assertEquals(Arrays.asList(new BigDecimal("1.5"), new BigDecimal("2")), types.amounts);
+        assertEquals(new BigDecimal("7"), types.asString);
+    }
+
+    @Test
+    public void testEncodingFromBuilderIsNotAppliedToKeys() {
+        BigKey bigKey = new BigKey(new BigInteger("12345678901234567890"), new BigDecimal("1.25"));
+        new AeroMapper.Builder(client).build().save(bigKey);
+
+        ClassCache.getInstance().clear();
+        AeroMapper compactMapper = new AeroMapper.Builder(client).withBigNumberEncoding(Encoding.COMPACT).build();
+        // The record must still be found: the key, and so the digest, does not change with the encoding
+        assertEquals(bigKey, compactMapper.read(BigKey.class, bigKey.id));
+        compactMapper.save(bigKey);
+
+        Record record = client.get(null, new Key(NAMESPACE, "bigKey", "12345678901234567890"));
+        assertEquals("12345678901234567890", record.getValue("id"));
+        assertTrue(record.getValue("amount") instanceof byte[]);
+    }
 }
@@ -0,0 +1,354 @@
+package com.aerospike.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.Bin;
+import com.aerospike.client.IAerospikeClient;
+import com.aerospike.client.Key;
+import com.aerospike.client.Record;
+import com.aerospike.client.Value;
+import com.aerospike.mapper.annotations.AerospikeBin;
+import com.aerospike.mapper.annotations.AerospikeConstructor;
+import com.aerospike.mapper.annotations.AerospikeKey;
+import com.aerospike.mapper.annotations.AerospikeRecord;
+import com.aerospike.mapper.annotations.ParamFrom;
+import com.aerospike.mapper.tools.AeroMapper;
+import com.aerospike.mapper.tools.BinProjection;
+import com.aerospike.mapper.tools.ClassCache;
+import com.aerospike.mapper.tools.ClassCacheEntry;
+import com.aerospike.mapper.tools.RecordCompleter;
+import com.aerospike.mapper.tools.configuration.ClassConfig;
+
+public class BinProjectionTest extends AeroMapperBaseTest {
+
+    @AerospikeRecord(namespace = "test", set = "projBase")
+    public static class Party {
+        @AerospikeKey
+        public int id;
+        public String region;
+    }
+
+    @AerospikeRecord(namespace = "test", set = "projCust")
+    public static class Customer extends Party {
+        @AerospikeBin(name = "nm")
+        public String name;
+        public int age = -1;
+        public List<String> history;
+    }
+
+    @AerospikeRecord(namespace = "test", set = "projCtor")
+    public static class Account {
+        @AerospikeKey
+        public final int id;
+        public final String owner;
+        public long balance = -1;
+
+        @AerospikeConstructor
+        public Account(@ParamFrom("id") int id, @ParamFrom("owner") String owner) {
+            this.id = id;
+            this.owner = owner;
+        }
+    }
+
+    private Customer customer(int id) {
+        Customer customer = new Customer();
+        customer.id = id;
+        customer.region = "west";
+        customer.name = "Customer " + id;
+        customer.age = 30 + id;
+        customer.history = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            customer.history.add("entry " + i);
+        }
+        return customer;
+    }
+
+    @Test
+    public void testReadByBinAndFieldNames() {
+        AeroMapper mapper = new AeroMapper.Builder(client).build();
+        mapper.save(customer(1));
+
+        Customer read = mapper.read(Customer.class, 1, "nm", "age");
+        assertEquals("Customer 1", read.name);
+        assertEquals(31, read.age);
+        assertEquals(0, read.id);
+        assertNull(read.region);
+        assertNull(read.history);
+
+        // Java field names are translated to their bin names, superclass fields can be selected too
+        read = mapper.read(Customer.class, 1, "name", "id", "region");
+        assertEquals("Customer 1", read.name);
+        assertEquals(1, read.id);
+        assertEquals("west", read.region);
+        assertEquals(-1, read.age);
+        assertNull(read.history);
+
+        read = mapper.read(Customer.class, 1, new String[0]);
+        compare(customer(1), read);
+    }
+
+    @Test
+    public void testUnknownName() {
+        AeroMapper mapper = new AeroMapper.Builder(client).build();
+        mapper.save(customer(1));
+        assertThrows(AerospikeException.class, () -> mapper.read(Customer.class, 1, "name", "notABin"));
+    }
+
+    @Test
+    public void testConstructorParameters() {
+        AeroMapper mapper = new AeroMapper.Builder(client).build();
+        Account account = new Account(1, "Bob");
+        account.balance = 100;
+        mapper.save(account);
+
+        Account read = mapper.read(Account.class, 1, "balance");
+        assertEquals(0, read.id);
+        assertNull(read.owner);
+        assertEquals(100, read.balance);
+
+        read = mapper.read(Account.class, 1, "id", "owner");
+        assertEquals(1, read.id);
+        assertEquals("Bob", read.owner);
+        assertEquals(-1, read.balance);
+    }
+
+    @Test
+    public void testBatchScanAndQuery() {
+        AeroMapper mapper = new AeroMapper.Builder(client).build();
+        client.truncate(null, NAMESPACE, "projCust", null);
+        Object[] keys = new Object[5];
+        for (int i = 0; i < keys.length; i++) {
+            mapper.save(customer(i));
+            keys[i] = i;
+        }
+
+        Customer[] customers = mapper.read(Customer.class, keys, "id", "name");
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(i, customers[i].id);
+            assertEquals("Customer " + i, customers[i].name);
+            assertEquals(-1, customers[i].age);
+            assertNull(customers[i].history);
+        }
+
+        List<Customer> scanned = mapper.scan(null, Customer.class, "age");
+        assertEquals(keys.length, scanned.size());
+        for (Customer customer : scanned) {
+            assertNull(customer.name);
+            assertNull(customer.history);
+        }
+
+        List<Customer> queried = mapper.query(null, Customer.class, null, "nm");
+        assertEquals(keys.length, queried.size());
+        for (Customer customer : queried) {
+            assertEquals(-1, customer.age);
+            assertNull(customer.history);
+        }
+    }
+
+    @Test
+    public void testSelectedBinsOfSubclassRecordByName() {
+        AeroMapper mapper = new AeroMapper.Builder(client).build();
+        client.put(null, new Key(NAMESPACE, "projBase", 1), new Bin("id", 1), new Bin("region", "west"),
+                new Bin("nm", "Customer 1"), new Bin(ClassCacheEntry.TYPE_NAME, Customer.class.getName()));
+
+        // The type bin is read with the selected bins, so the record is still created as a Customer
+        Party read = mapper.read(Party.class, 1, "region");
+        assertTrue(read instanceof Customer);
+        assertEquals("west", read.region);
+        assertEquals(0, read.id);
+        assertNull(((Customer) read).name);
+
+        Party[] batch = mapper.read(Party.class, new Object[] {1}, "id");
+        assertTrue(batch[0] instanceof Customer);
+        assertEquals(1, batch[0].id);
+        assertNull(batch[0].region);
+    }
+
+    @AerospikeRecord(namespace = "test", set = "projVehicle")
+    public static class Vehicle {
+        @AerospikeKey
+        public int id;
+        public String make;
+    }
+
+    @AerospikeRecord(namespace = "test", set = "projVehicle")
+    public static class Car extends Vehicle {
+        public int seats;
+    }
+
+    @Test
+    public void testScansReadOnlyMappedBins() {
+        AeroMapper mapper = new AeroMapper.Builder(client).build();
+        client.truncate(null, NAMESPACE, "projVehicle", null);
+        for (int i = 0; i < 5; i++) {
+            // Another application stores a large bin in the same set
+            client.put(null, new Key(NAMESPACE, "projVehicle", i), new Bin("id", i), new Bin("make", "make " + i),
+                    new Bin("blob", new byte[10000]));
+        }
+
+        ClassCacheEntry<Vehicle> entry = ClassCache.getInstance().loadClass(Vehicle.class, mapper);
+        List<String> binNames = Arrays.asList(entry.getBinProjection(null).getBinNames());
+        assertTrue(binNames.containsAll(Arrays.asList("id", "make", ClassCacheEntry.TYPE_NAME)));
+        assertFalse(binNames.contains("blob"));
+
+        List<Vehicle> scanned = mapper.scan(Vehicle.class);
+        assertEquals(5, scanned.size());
+        for (Vehicle vehicle : scanned) {
+            assertEquals("make " + vehicle.id, vehicle.make);
+        }
+        assertEquals(5, mapper.query(Vehicle.class, null).size());
+
+        // Bins passed by the caller narrow the projection further
+        BinProjection narrowed = entry.getBinProjection(entry.toBinNames(new String[] {"make"}));
+        assertEquals(Arrays.asList("make", ClassCacheEntry.TYPE_NAME), Arrays.asList(narrowed.getBinNames()));
+    }
+
+    @Test
+    public void testSelectedBinsOfSubclassRecord() {
+        AeroMapper mapper = new AeroMapper.Builder(client).build();
+        client.truncate(null, NAMESPACE, "projVehicle", null);
+        ClassCacheEntry<Car> carEntry = ClassCache.getInstance().loadClass(Car.class, mapper);
+        client.put(null, new Key(NAMESPACE, "projVehicle", 1), new Bin("id", 1), new Bin("make", "make 1"),
+                new Bin("seats", 4), new Bin(ClassCacheEntry.TYPE_NAME, Value.get(carEntry.getTypeDiscriminator())));
+
+        // The type bin is read with the selected bins, so the record is still created as a Car
+        Vehicle read = mapper.read(Vehicle.class, 1, "make");
+        assertTrue(read instanceof Car);
+        assertEquals("make 1", read.make);
+        assertEquals(0, read.id);
+        assertEquals(0, ((Car) read).seats);
+
+        Vehicle[] batch = mapper.read(Vehicle.class, new Object[] {1}, "id");
+        assertTrue(batch[0] instanceof Car);
+        assertEquals(1, batch[0].id);
+        assertNull(batch[0].make);
+
+        List<Vehicle> scanned = mapper.scan(null, Vehicle.class, "make");
+        assertEquals(1, scanned.size());
+        assertTrue(scanned.get(0) instanceof Car);
+        assertEquals("make 1", scanned.get(0).make);
+    }
+
+    @Test
+    public void testSubclassRecordsOutsideTheProjection() {
+        AeroMapper mapper = new AeroMapper.Builder(client).build();
+        ClassCacheEntry<Vehicle> entry = ClassCache.getInstance().loadClass(Vehicle.class, mapper);
+        BinProjection beforeCarLoaded = entry.getBinProjection(null);
+
+        ClassCacheEntry<Car> carEntry = ClassCache.getInstance().loadClass(Car.class, mapper);
+        Map<String, Object> bins = new HashMap<>();
+        bins.put(ClassCacheEntry.TYPE_NAME, carEntry.getTypeDiscriminator());
+        bins.put("id", 1);
+        Record carRecord = new Record(bins, 1, 0);
+
+        // The record must be read again for its seats bin
+        assertFalse(beforeCarLoaded.isComplete(carRecord));
+        BinProjection afterCarLoaded = entry.getBinProjection(null);
+        assertTrue(Arrays.asList(afterCarLoaded.getBinNames()).contains("seats"));
+        assertTrue(afterCarLoaded.isComplete(carRecord));
+    }
+
+    @AerospikeRecord(namespace = "test", set = "projVehicle")
+    public static class Bus extends Vehicle {
+        public int passengers;
+    }
+
+    @Test
+    public void testSubclassRecordsOutsideTheProjectionAreReadInBatches() {
+        client.truncate(null, NAMESPACE, "projVehicle", null);
+        int buses = RecordCompleter.BATCH_SIZE + 50;
+        for (int i = 0; i < buses; i++) {
+            // Records of a subclass written by another application, which this mapper has not loaded
+            client.put(null, new Key(NAMESPACE, "projVehicle", i), new Bin("id", i), new Bin("make", "make " + i),
+                    new Bin("passengers", i), new Bin(ClassCacheEntry.TYPE_NAME, Bus.class.getName()));
+        }
+        AtomicInteger singleReads = new AtomicInteger();
+        AtomicInteger batchReads = new AtomicInteger();
+        IAerospikeClient countingClient = (IAerospikeClient) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {IAerospikeClient.class}, (proxy, method, args) -> {
+                    if ("get".equals(method.getName()) && args.length > 1) {
+                        (args[1] instanceof Key[] ? batchReads : singleReads).incrementAndGet();
+                    }
+                    try {
+                        return method.invoke(client, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+
+        List<Supplier<List<Vehicle>>> reads = Arrays.asList(
+                () -> new AeroMapper.Builder(countingClient).build().scan(Vehicle.class),
+                () -> new AeroMapper.Builder(countingClient).build().query(Vehicle.class, null),
+                () -> new AeroMapper.Builder(countingClient).build().streamScan(Vehicle.class).collect(Collectors.toList()));
+        for (Supplier<List<Vehicle>> read : reads) {
+            // Forget Bus, which the previous read loaded
+            ClassCache.getInstance().clear();
+            List<Vehicle> vehicles = read.get();
+            assertEquals(buses, vehicles.size());
+            for (Vehicle vehicle : vehicles) {
+                assertEquals(vehicle.id, ((Bus) vehicle).passengers);
+            }
+        }
+        assertEquals(0, singleReads.get());
+        // At least two batch reads for each of the three reads, but far fewer than one per record
+        assertTrue(batchReads.get() >= 6 && batchReads.get() < buses);
+    }
+
+    @AerospikeRecord(namespace = "test", set = "projVehicle")
+    public static class Truck extends Vehicle {
+        public int payload;
+    }
+
+    @Test
+    public void testConfiguredSubclassesAreProjected() {
+        AeroMapper mapper = new AeroMapper.Builder(client)
+                .withClassConfigurations(new ClassConfig.Builder(Truck.class).withTypeId(4100).build())
+                .build();
+        ClassCacheEntry<Vehicle> entry = ClassCache.getInstance().loadClass(Vehicle.class, mapper);
+
+        // Truck has not been used yet, but the mapper knows of it so its bins are requested from the start
+        BinProjection projection = entry.getBinProjection(null);
+        assertTrue(Arrays.asList(projection.getBinNames()).contains("payload"));
+
+        Map<String, Object> bins = new HashMap<>();
+        bins.put(ClassCacheEntry.TYPE_NAME, 4100);
+        bins.put("id", 1);
+        bins.put("payload", 10);
+        assertTrue(projection.isComplete(new Record(bins, 1, 0)));
+    }
+
+    @Test
+    public void testSelectedBinsIncludeTheType() {
+        AeroMapper mapper = new AeroMapper.Builder(client).build();
+        ClassCacheEntry<Vehicle> entry = ClassCache.getInstance().loadClass(Vehicle.class, mapper);
+        BinProjection projection = entry.getBinProjection(new String[] {"make"});
+        assertEquals(Arrays.asList("make", ClassCacheEntry.TYPE_NAME), Arrays.asList(projection.getBinNames()));
+    }
+
+    @Test
+    public void testProjectionTurnedOff() {
+        AeroMapper mapper = new AeroMapper.Builder(client)
+                .withBinProjection(false)
+                .build();
+        ClassCacheEntry<Vehicle> entry = ClassCache.getInstance().loadClass(Vehicle.class, mapper);
+        assertNull(entry.getBinProjection(null).getBinNames());
+    }
+}
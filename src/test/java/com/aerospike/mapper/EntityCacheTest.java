@@ -0,0 +1,135 @@
+package com.aerospike.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.aerospike.client.Bin;
+import com.aerospike.client.Key;
+import com.aerospike.mapper.annotations.AerospikeCache;
+import com.aerospike.mapper.annotations.AerospikeKey;
+import com.aerospike.mapper.annotations.AerospikeRecord;
+import com.aerospike.mapper.tools.AeroMapper;
+import com.aerospike.mapper.tools.cache.CacheStats;
+
+public class EntityCacheTest extends AeroMapperBaseTest {
+
+    @AerospikeRecord(namespace = "test", set = "cachedProduct")
+    @AerospikeCache(maxSize = 100)
+    public static class Product {
+        @AerospikeKey
+        public int id;
+        public String name;
+        public List<String> tags = new ArrayList<>();
+
+        public Product() {
+        }
+
+        public Product(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    @AerospikeRecord(namespace = "test", set = "cachedSetting")
+    public static class Setting {
+        @AerospikeKey
+        public int id;
+        public String value;
+    }
+
+    @Test
+    public void testReadsAreServedFromTheCache() {
+        AeroMapper mapper = new AeroMapper.Builder(client).build();
+        Product product = new Product(1, "widget");
+        product.tags.add("blue");
+        mapper.save(product);
+
+        Product first = mapper.read(Product.class, 1);
+        // Written behind the mapper's back, so the cached record is still returned
+        client.put(null, new Key("test", "cachedProduct", 1), new Bin("name", "gadget"));
+        Product second = mapper.read(Product.class, 1);
+        assertEquals("widget", second.name);
+        assertNotSame(first, second);
+
+        CacheStats stats = mapper.getCacheStats(Product.class);
+        assertEquals(1, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    public void testReturnedObjectsAreCopies() {
+        AeroMapper mapper = new AeroMapper.Builder(client).build();
+        Product product = new Product(2, "widget");
+        product.tags.add("blue");
+        mapper.save(product);
+
+        Product first = mapper.read(Product.class, 2);
+        first.name = "changed";
+        first.tags.add("red");
+
+        Product second = mapper.read(Product.class, 2);
+        assertEquals("widget", second.name);
+        assertEquals(1, second.tags.size());
+    }
+
+    @Test
+    public void testWritesInvalidate() {
+        AeroMapper mapper = new AeroMapper.Builder(client).build();
+        mapper.save(new Product(3, "widget"));
+        mapper.read(Product.class, 3);
+
+        mapper.save(new Product(3, "gadget"));
+        assertEquals("gadget", mapper.read(Product.class, 3).name);
+
+        List<Product> products = new ArrayList<>();
+        products.add(new Product(3, "doohickey"));
+        mapper.saveAll(products);
+        assertEquals("doohickey", mapper.read(Product.class, 3).name);
+
+        mapper.delete(Product.class, 3);
+        assertNull(mapper.read(Product.class, 3));
+        assertEquals(3, mapper.getCacheStats(Product.class).getInvalidationCount());
+    }
+
+    @Test
+    public void testBatchReadsOnlyReadMissingRecords() {
+        AeroMapper mapper = new AeroMapper.Builder(client).build();
+        mapper.save(new Product(4, "four"), new Product(5, "five"));
+        mapper.delete(Product.class, 6);
+        mapper.read(Product.class, 4);
+
+        Product[] products = mapper.read(Product.class, new Object[] {4, 5, 6});
+        assertEquals("four", products[0].name);
+        assertEquals("five", products[1].name);
+        assertNull(products[2]);
+
+        CacheStats stats = mapper.getCacheStats(Product.class);
+        assertEquals(1, stats.getHitCount());
+        assertEquals(2, stats.getSize());
+    }
+
+    @Test
+    public void testCacheSetOnBuilder() {
+        AeroMapper mapper = new AeroMapper.Builder(client)
+                .withEntityCache(Setting.class, 10, 0, AerospikeCache.AdmissionPolicy.SECOND_READ)
+                .build();
+        Setting setting = new Setting();
+        setting.id = 1;
+        setting.value = "on";
+        mapper.save(setting);
+
+        mapper.read(Setting.class, 1);
+        assertEquals(0, mapper.getCacheStats(Setting.class).getSize());
+        mapper.read(Setting.class, 1);
+        assertEquals(1, mapper.getCacheStats(Setting.class).getSize());
+        mapper.read(Setting.class, 1);
+        assertEquals(1, mapper.getCacheStats(Setting.class).getHitCount());
+    }
+}
@@ -0,0 +1,68 @@
+package com.aerospike.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.aerospike.mapper.annotations.AerospikeRecord;
+import com.aerospike.mapper.tools.ClassCache;
+import com.aerospike.mapper.tools.GeneratedMapper;
+import com.aerospike.mapper.tools.ValueType;
+
+/**
+ * Checks that mappers registered in <code>META-INF/services/com.aerospike.mapper.tools.GeneratedMapper</code> are
+ * found by the <code>ClassCache</code> and used in place of the runtime accessors. The mapper here is written by hand
+ * in the form the annotation processor generates, and registered in the test resources.
+ */
+public class GeneratedMapperTest {
+
+    @AerospikeRecord(namespace = "test", set = "generated")
+    public static class Sample {
+        int id;
+        String name;
+    }
+
+    static final AtomicInteger generatedReads = new AtomicInteger();
+    static final AtomicInteger generatedWrites = new AtomicInteger();
+
+    public static final class Sample_AerospikeMapper extends GeneratedMapper<Sample> {
+        public Sample_AerospikeMapper() {
+            super(Sample.class, Sample::new);
+            addField("id", instance -> ((Sample) instance).id, (instance, value) -> ((Sample) instance).id = (Integer) value);
+            addField("name", instance -> {
+                generatedReads.incrementAndGet();
+                return ((Sample) instance).name;
+            }, (instance, value) -> {
+                generatedWrites.incrementAndGet();
+                ((Sample) instance).name = (String) value;
+            });
+        }
+    }
+
+    @Test
+    public void testGeneratedMapperIsDiscovered() {
+        GeneratedMapper<Sample> generatedMapper = ClassCache.getInstance().getGeneratedMapper(Sample.class);
+        assertEquals(Sample_AerospikeMapper.class, generatedMapper.getClass());
+        assertSame(generatedMapper, ClassCache.getInstance().getGeneratedMapper(Sample.class));
+        assertEquals(Sample.class, generatedMapper.getInstantiator().get().getClass());
+        assertNull(ClassCache.getInstance().getGeneratedMapper(GeneratedMapperTest.class));
+    }
+
+    @Test
+    public void testGeneratedAccessorsAreUsed() throws Exception {
+        GeneratedMapper<Sample> generatedMapper = ClassCache.getInstance().getGeneratedMapper(Sample.class);
+        ValueType.FieldValue value = new ValueType.FieldValue(Sample.class.getDeclaredField("name"), null, null, generatedMapper);
+        int reads = generatedReads.get();
+        int writes = generatedWrites.get();
+
+        Sample sample = new Sample();
+        value.set(sample, "bob");
+        assertEquals("bob", value.get(sample));
+        assertEquals(reads + 1, generatedReads.get());
+        assertEquals(writes + 1, generatedWrites.get());
+    }
+}
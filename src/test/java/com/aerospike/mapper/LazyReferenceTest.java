@@ -0,0 +1,134 @@
+package com.aerospike.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.aerospike.mapper.annotations.AerospikeKey;
+import com.aerospike.mapper.annotations.AerospikeRecord;
+import com.aerospike.mapper.annotations.AerospikeReference;
+import com.aerospike.mapper.tools.AeroMapper;
+import com.aerospike.mapper.tools.lazy.LazyReferenceGroup;
+import com.aerospike.mapper.tools.lazy.LazyReferenceList;
+
+public class LazyReferenceTest extends AeroMapperBaseTest {
+
+    @AerospikeRecord(namespace = "test", set = "lazyItem")
+    public interface Item {
+        int getId();
+
+        String getName();
+    }
+
+    @AerospikeRecord(namespace = "test", set = "lazyItem")
+    public static class Product implements Item {
+        @AerospikeKey
+        public int id;
+        public String name;
+
+        public Product() {
+        }
+
+        public Product(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        @Override
+        public int getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+
+    @AerospikeRecord(namespace = "test", set = "lazyOrder")
+    public static class Order {
+        @AerospikeKey
+        public int id;
+        @AerospikeReference(lazy = true)
+        public Item favourite;
+        @AerospikeReference(lazy = true)
+        public List<Product> products;
+        @AerospikeReference(lazy = true)
+        public Item[] items;
+    }
+
+    private AeroMapper populate() {
+        AeroMapper mapper = new AeroMapper.Builder(client).build();
+        Order order = new Order();
+        order.id = 1;
+        order.products = new ArrayList<>();
+        order.items = new Item[3];
+        for (int i = 0; i < 3; i++) {
+            Product product = new Product(10 + i, "product-" + i);
+            mapper.save(product);
+            order.products.add(product);
+            order.items[i] = product;
+        }
+        order.favourite = order.items[1];
+        mapper.save(order);
+        return mapper;
+    }
+
+    @Test
+    public void testInterfaceReferenceLoadsOnFirstUse() {
+        AeroMapper mapper = populate();
+        Order order = mapper.read(Order.class, 1);
+
+        // The key is known without loading the object
+        assertEquals(11, order.favourite.getId());
+        assertNull(((Product) LazyReferenceGroup.unwrap(order.favourite)).name);
+
+        assertEquals("product-1", order.favourite.getName());
+        assertEquals("product-1", ((Product) LazyReferenceGroup.unwrap(order.favourite)).name);
+    }
+
+    @Test
+    public void testListLoadsEveryElementTogether() {
+        AeroMapper mapper = populate();
+        Order order = mapper.read(Order.class, 1);
+
+        LazyReferenceList products = (LazyReferenceList) (List<?>) order.products;
+        assertEquals(3, products.size());
+        assertFalse(products.isLoaded());
+
+        assertEquals("product-0", order.products.get(0).name);
+        assertTrue(products.isLoaded());
+        assertEquals("product-2", order.products.get(2).name);
+    }
+
+    @Test
+    public void testArrayOfProxiesLoadsTogether() {
+        AeroMapper mapper = populate();
+        Order order = mapper.read(Order.class, 1);
+
+        assertEquals(12, order.items[2].getId());
+        assertEquals("product-0", order.items[0].getName());
+        // Loading one element loaded its siblings too
+        assertEquals("product-2", ((Product) LazyReferenceGroup.unwrap(order.items[2])).name);
+    }
+
+    @Test
+    public void testSavingUnloadedReferences() {
+        AeroMapper mapper = populate();
+        Order order = mapper.read(Order.class, 1);
+        mapper.save(order);
+
+        Order reread = mapper.read(Order.class, 1);
+        assertEquals(11, reread.favourite.getId());
+        assertEquals(3, reread.products.size());
+        assertEquals("product-1", reread.products.get(1).name);
+        assertSame(reread.products.get(1), reread.products.get(1));
+    }
+}
@@ -1,16 +1,22 @@
 package com.aerospike.mapper;
 
+import com.aerospike.client.Bin;
 import com.aerospike.client.Key;
 import com.aerospike.mapper.annotations.AerospikeEmbed;
 import com.aerospike.mapper.annotations.AerospikeKey;
 import com.aerospike.mapper.annotations.AerospikeRecord;
+import com.aerospike.mapper.annotations.AerospikeTime;
+import com.aerospike.mapper.annotations.AerospikeTime.Encoding;
 import com.aerospike.mapper.tools.AeroMapper;
+import com.aerospike.mapper.tools.ClassCache;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -72,6 +78,110 @@ public class LocalDateConverterTest extends AeroMapperBaseTest {
         assertEquals(tester.contList.get(0).localDateTime, readTester.contList.get(0).localDateTime);
     }
 
+    @Test
+    public void testPackedEncodings() {
+        AeroMapper mapper = new AeroMapper.Builder(client).build();
+
+        PackedTimes times = new PackedTimes();
+        times.id = 1;
+        times.nanos = LocalDateTime.of(2024, 2, 29, 13, 45, 10, 123456789);
+        times.micros = LocalDateTime.of(1969, 7, 20, 20, 17, 40, 987654000);
+        times.millisList = Arrays.asList(LocalDateTime.of(2024, 1, 1, 0, 0, 0, 1_000_000), LocalDateTime.of(9999, 12, 31, 23, 59));
+        times.instant = Instant.ofEpochSecond(1_700_000_000L, 5_000);
+        times.time = LocalTime.of(23, 59, 59, 999_000_000);
+        mapper.save(times);
+
+        com.aerospike.client.Record record = client.get(null, new Key("test", "packed", 1));
+        assertEquals(1709214310123456789L, record.getLong("nanos"));
+        assertEquals(-14182939012346L, record.getLong("micros"));
+        assertEquals(1704067200001L, record.getList("millisList").get(0));
+        assertEquals(1700000000000005L, record.getLong("instant"));
+        assertEquals(86399999L, record.getLong("time"));
+
+        PackedTimes readTimes = mapper.read(PackedTimes.class, 1);
+        assertEquals(times.nanos, readTimes.nanos);
+        assertEquals(times.micros, readTimes.micros);
+        assertEquals(times.millisList, readTimes.millisList);
+        assertEquals(times.instant, readTimes.instant);
+        assertEquals(times.time, readTimes.time);
+    }
+
+    @Test
+    public void testPackedEncodingReadsLists() {
+        // Data written before the field was changed to a packed encoding
+        LocalDateTime dateTime = LocalDateTime.of(2024, 2, 29, 13, 45, 10, 123456789);
+        client.put(null, new Key("test", "packed", 2), new Bin("id", 2),
+                new Bin("nanos", Arrays.asList(dateTime.toLocalDate().toEpochDay(), dateTime.toLocalTime().toNanoOfDay())));
+
+        AeroMapper mapper = new AeroMapper.Builder(client).build();
+        assertEquals(dateTime, mapper.read(PackedTimes.class, 2).nanos);
+    }
+
+    @Test
+    public void testEncodingFromBuilder() {
+        AeroMapper mapper = new AeroMapper.Builder(client)
+                .withTimeEncoding(LocalDateTime.class, Encoding.NANOS)
+                .build();
+
+        LocalDateTimeContainer container = new LocalDateTimeContainer();
+        container.id = 3;
+        container.localDate = LocalDate.of(2024, 3, 1);
+        container.localDateTime = LocalDateTime.of(2024, 3, 1, 12, 0, 0, 1);
+        container.localTime = LocalTime.NOON;
+        mapper.save(container);
+
+        com.aerospike.client.Record record = client.get(null, new Key("test", "local", 3));
+        assertEquals(1709294400000000001L, record.getLong("localDateTime"));
+        // Other types keep their own encoding
+        assertEquals(container.localDate.toEpochDay(), record.getLong("localDate"));
+
+        LocalDateTimeContainer readContainer = mapper.read(LocalDateTimeContainer.class, 3);
+        assertEquals(container.localDateTime, readContainer.localDateTime);
+        assertEquals(container.localDate, readContainer.localDate);
+        assertEquals(container.localTime, readContainer.localTime);
+    }
+
+    @Test
+    public void testEncodingFromBuilderIsNotAppliedToKeys() {
+        InstantKey instantKey = new InstantKey();
+        instantKey.id = Instant.ofEpochSecond(1709294400L, 123456789);
+        instantKey.at = instantKey.id;
+        new AeroMapper.Builder(client).build().save(instantKey);
+
+        ClassCache.getInstance().clear();
+        AeroMapper millisMapper = new AeroMapper.Builder(client).withTimeEncoding(Instant.class, Encoding.MILLIS).build();
+        // The key keeps nanoseconds, so the record is still found after changing the encoding
+        InstantKey read = millisMapper.read(InstantKey.class, instantKey.id);
+        assertEquals(instantKey.id, read.id);
+        millisMapper.save(instantKey);
+
+        com.aerospike.client.Record record = client.get(null, new Key("test", "instantKey", 1709294400123456789L));
+        assertEquals(1709294400123L, record.getLong("at"));
+    }
+
+    @AerospikeRecord(namespace = "test", set = "packed")
+    public static class PackedTimes {
+        @AerospikeKey
+        public int id;
+        @AerospikeTime(encoding = Encoding.NANOS)
+        public LocalDateTime nanos;
+        @AerospikeTime(encoding = Encoding.MICROS)
+        public LocalDateTime micros;
+        @AerospikeTime(encoding = Encoding.MILLIS)
+        public List<LocalDateTime> millisList;
+        @AerospikeTime(encoding = Encoding.MICROS)
+        public Instant instant;
+        @AerospikeTime(encoding = Encoding.MILLIS)
+        public LocalTime time;
+    }
+
+    @AerospikeRecord(namespace = "test", set = "instantKey")
+    public static class InstantKey {
+        @AerospikeKey
+        public Instant id;
+        public Instant at;
+    }
+
     @AerospikeRecord(namespace = "test", set = "local")
     public static class LocalDateTimeContainer {
         @AerospikeKey
@@ -0,0 +1,93 @@
+package com.aerospike.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import com.aerospike.client.Key;
+import com.aerospike.client.Record;
+import com.aerospike.mapper.annotations.AerospikeKey;
+import com.aerospike.mapper.annotations.AerospikeRecord;
+import com.aerospike.mapper.annotations.AerospikeReference;
+import com.aerospike.mapper.tools.AeroMapper;
+import com.aerospike.mapper.tools.ClassCache;
+import com.aerospike.mapper.tools.ClassCacheEntry;
+import com.aerospike.mapper.tools.DeferredObjectLoader;
+import com.aerospike.mapper.tools.MappingContext;
+import com.aerospike.mapper.tools.ThreadLocalKeySaver;
+
+public class MappingContextTest extends AeroMapperBaseTest {
+
+    @AerospikeRecord(namespace = "test", set = "mcParent")
+    public static class Parent {
+        @AerospikeKey
+        public int id;
+        @AerospikeReference
+        public Child child;
+        @AerospikeReference(batchLoad = false)
+        public Child favourite;
+    }
+
+    @AerospikeRecord(namespace = "test", set = "mcChild")
+    public static class Child {
+        @AerospikeKey
+        public int id;
+        @AerospikeReference
+        public Parent parent;
+    }
+
+    private AeroMapper save() {
+        AeroMapper mapper = new AeroMapper.Builder(client).build();
+        Parent parent = new Parent();
+        parent.id = 1;
+        Child child = new Child();
+        child.id = 2;
+        child.parent = parent;
+        Child favourite = new Child();
+        favourite.id = 3;
+        favourite.parent = parent;
+        parent.child = child;
+        parent.favourite = favourite;
+        mapper.save(parent, child, favourite);
+        return mapper;
+    }
+
+    @Test
+    public void testReadLeavesNoThreadState() {
+        AeroMapper mapper = save();
+
+        Parent parent = mapper.read(Parent.class, 1);
+        assertNotNull(parent);
+        assertSame(parent, parent.child.parent);
+        assertSame(parent, parent.favourite.parent);
+        assertTrue(DeferredObjectLoader.get().isEmpty());
+        assertNull(ThreadLocalKeySaver.get());
+    }
+
+    @Test
+    public void testResolveOnAnotherThread() throws Exception {
+        AeroMapper mapper = save();
+        ClassCacheEntry<Parent> entry = ClassCache.getInstance().loadClass(Parent.class, mapper);
+        Key key = new Key("test", "mcParent", 1);
+        Record record = client.get(null, key);
+
+        MappingContext context = new MappingContext();
+        Parent parent = mapper.getMappingConverter().convertToObject(Parent.class, key, record, entry, null, context);
+        // The favourite is read straight away, but its parent and the child are left to be loaded in a batch
+        assertNull(parent.child);
+        assertEquals(3, parent.favourite.id);
+        assertEquals(2, context.getDeferredObjects().size());
+
+        CompletableFuture.runAsync(() -> mapper.getMappingConverter().resolveDependencies(entry, context)).get();
+        assertEquals(2, parent.child.id);
+        assertSame(parent, parent.child.parent);
+        assertSame(parent, parent.favourite.parent);
+        assertTrue(context.getDeferredObjects().isEmpty());
+    }
+}
@@ -0,0 +1,132 @@
+package com.aerospike.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.aerospike.mapper.annotations.AerospikeKey;
+import com.aerospike.mapper.annotations.AerospikeRecord;
+import com.aerospike.mapper.tools.AeroMapper;
+import com.aerospike.mapper.tools.scan.ScanCheckpoint;
+import com.aerospike.mapper.tools.scan.ScanProgress;
+
+public class ParallelScanTest extends AeroMapperBaseTest {
+
+    @AerospikeRecord(namespace = "test", set = "parallelScan")
+    public static class Event {
+        @AerospikeKey
+        public int id;
+        public String name;
+    }
+
+    private static final int EVENTS = 500;
+
+    private AeroMapper populate() {
+        client.truncate(null, NAMESPACE, "parallelScan", null);
+        AeroMapper mapper = new AeroMapper.Builder(client).build();
+        for (int i = 0; i < EVENTS; i++) {
+            Event event = new Event();
+            event.id = i;
+            event.name = "event-" + i;
+            mapper.save(event);
+        }
+        return mapper;
+    }
+
+    @Test
+    public void testEveryRecordIsProcessedOnce() {
+        AeroMapper mapper = populate();
+        Set<Integer> seen = ConcurrentHashMap.newKeySet();
+        AtomicInteger count = new AtomicInteger();
+
+        ScanCheckpoint checkpoint = mapper.parallelScan(Event.class)
+                .withWorkers(4)
+                .withPartitionRanges(8)
+                .withQueueSize(10)
+                .run(event -> {
+                    assertEquals("event-" + event.id, event.name);
+                    seen.add(event.id);
+                    count.incrementAndGet();
+                    return true;
+                });
+
+        assertEquals(EVENTS, count.get());
+        assertEquals(EVENTS, seen.size());
+        assertTrue(checkpoint.isComplete());
+    }
+
+    @Test
+    public void testProgressIsReported() {
+        AeroMapper mapper = populate();
+        List<ScanProgress> reports = new CopyOnWriteArrayList<>();
+
+        mapper.parallelScan(Event.class)
+                .withWorkers(2)
+                .withProgressListener(reports::add, 1000)
+                .run(event -> true);
+
+        ScanProgress last = reports.get(reports.size() - 1);
+        assertEquals(EVENTS, last.getRecordsProcessed());
+        assertEquals(EVENTS, last.getRecordsReceived());
+        assertEquals(last.getPartitionCount(), last.getPartitionsComplete());
+        long perPartition = 0;
+        for (int i = 0; i < last.getPartitionCount(); i++) {
+            perPartition += last.getRecordsProcessed(i);
+        }
+        assertEquals(EVENTS, perPartition);
+    }
+
+    @Test
+    public void testResumeFromCheckpoint() throws IOException, ClassNotFoundException {
+        AeroMapper mapper = populate();
+        Set<Integer> seen = ConcurrentHashMap.newKeySet();
+        AtomicInteger count = new AtomicInteger();
+
+        ScanCheckpoint checkpoint = mapper.parallelScan(Event.class)
+                .withWorkers(2)
+                .withQueueSize(5)
+                .run(event -> {
+                    seen.add(event.id);
+                    return count.incrementAndGet() < 100;
+                });
+        assertFalse(checkpoint.isComplete());
+
+        // Persist and restore the checkpoint as a long running scan would
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(checkpoint);
+        }
+        ScanCheckpoint restored;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            restored = (ScanCheckpoint) in.readObject();
+        }
+
+        AtomicInteger resumedCount = new AtomicInteger();
+        ScanCheckpoint finished = mapper.parallelScan(Event.class)
+                .withWorkers(2)
+                .resumeFrom(restored)
+                .run(event -> {
+                    seen.add(event.id);
+                    resumedCount.incrementAndGet();
+                    return true;
+                });
+
+        assertTrue(finished.isComplete());
+        assertEquals(EVENTS, seen.size());
+        // Only records in flight when the first run stopped can be processed twice
+        assertTrue(count.get() + resumedCount.get() < EVENTS + 10);
+    }
+}
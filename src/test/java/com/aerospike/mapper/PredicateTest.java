@@ -0,0 +1,157 @@
+package com.aerospike.mapper;
+
+import static com.aerospike.mapper.tools.query.Predicate.where;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.exp.Exp;
+import com.aerospike.client.policy.Policy;
+import com.aerospike.client.policy.QueryPolicy;
+import com.aerospike.client.query.IndexType;
+import com.aerospike.mapper.annotations.AerospikeBin;
+import com.aerospike.mapper.annotations.AerospikeKey;
+import com.aerospike.mapper.annotations.AerospikeRecord;
+import com.aerospike.mapper.tools.AeroMapper;
+import com.aerospike.mapper.tools.query.Predicate;
+import com.aerospike.mapper.tools.query.QueryPlan;
+
+public class PredicateTest extends AeroMapperBaseTest {
+
+    public enum Status {
+        ACTIVE, SUSPENDED, CLOSED
+    }
+
+    @AerospikeRecord(namespace = "test", set = "predMember")
+    public static class Member {
+        @AerospikeKey
+        public int id;
+        @AerospikeBin(name = "nm")
+        public String name;
+        public int age;
+        public Status status;
+
+        public Member() {
+        }
+
+        public Member(int id, String name, int age, Status status) {
+            this.id = id;
+            this.name = name;
+            this.age = age;
+            this.status = status;
+        }
+    }
+
+    private final List<Member> members = new ArrayList<>();
+
+    private AeroMapper populate() {
+        client.truncate(null, NAMESPACE, "predMember", null);
+        AeroMapper mapper = new AeroMapper.Builder(client).build();
+        Status[] statuses = Status.values();
+        for (int i = 0; i < 60; i++) {
+            Member member = new Member(i, "member-" + (i % 10), 20 + i, statuses[i % statuses.length]);
+            members.add(member);
+            mapper.save(member);
+        }
+        try {
+            client.createIndex(null, NAMESPACE, "predMember", "predMember_age_idx", "age", IndexType.NUMERIC).waitTillComplete();
+        } catch (AerospikeException ae) {
+            // The index already exists
+        }
+        try {
+            client.createIndex(null, NAMESPACE, "predMember", "predMember_nm_idx", "nm", IndexType.STRING).waitTillComplete();
+        } catch (AerospikeException ae) {
+            // The index already exists
+        }
+        mapper.getIndexCatalog().refresh();
+        return mapper;
+    }
+
+    private List<Integer> ids(List<Member> found) {
+        return found.stream().map(member -> member.id).sorted().collect(toList());
+    }
+
+    private List<Integer> expected(java.util.function.Predicate<Member> test) {
+        return members.stream().filter(test).map(member -> member.id).sorted().collect(toList());
+    }
+
+    @Test
+    public void testIndexedRangeWithEnumCondition() {
+        AeroMapper mapper = populate();
+        Predicate predicate = where("age").gt(30).and("status").eq(Status.ACTIVE);
+
+        QueryPlan plan = mapper.plan(Member.class, predicate);
+        assertEquals("age", plan.getIndex().getBinName());
+        assertNotNull(plan.getFilterExpression());
+
+        List<Member> found = mapper.find(Member.class, predicate);
+        assertEquals(expected(m -> m.age > 30 && m.status == Status.ACTIVE), ids(found));
+    }
+
+    @Test
+    public void testEqualityIsPreferredOverRange() {
+        AeroMapper mapper = populate();
+        // Field names are translated to their bins, so "name" uses the index on "nm"
+        Predicate predicate = where("age").between(25, 60).and("name").eq("member-3");
+
+        QueryPlan plan = mapper.plan(Member.class, predicate);
+        assertEquals("nm", plan.getIndex().getBinName());
+
+        List<Member> found = mapper.find(Member.class, predicate);
+        assertEquals(expected(m -> m.age >= 25 && m.age <= 60 && "member-3".equals(m.name)), ids(found));
+    }
+
+    @Test
+    public void testPredicateWithoutIndexIsScanned() {
+        AeroMapper mapper = populate();
+        Predicate predicate = where("status").in(Status.SUSPENDED, Status.CLOSED).or("age").lt(22);
+
+        QueryPlan plan = mapper.plan(Member.class, predicate);
+        assertNull(plan.getFilter());
+
+        try (Stream<Member> stream = mapper.streamFind(null, Member.class, predicate)) {
+            List<Member> found = stream.collect(toList());
+            assertEquals(expected(m -> m.status != Status.ACTIVE || m.age < 22), ids(found));
+        }
+    }
+
+    @Test
+    public void testExpressionOnReadPolicy() {
+        AeroMapper mapper = populate();
+        Policy policy = new Policy(mapper.getReadPolicy(Member.class));
+        policy.filterExp = mapper.toFilterExpression(Member.class, where("status").eq(Status.CLOSED));
+
+        // Member 2 is closed, member 1 is not so the read is filtered out
+        assertEquals(2, mapper.read(policy, Member.class, 2).id);
+        assertNull(mapper.read(policy, Member.class, 1));
+    }
+
+    @Test
+    public void testPolicyExpressionCannotBeCombined() {
+        AeroMapper mapper = populate();
+        QueryPolicy policy = new QueryPolicy(mapper.getQueryPolicy(Member.class));
+        policy.filterExp = Exp.build(Exp.gt(Exp.intBin("age"), Exp.val(40)));
+
+        assertThrows(AerospikeException.class,
+                () -> mapper.find(policy, Member.class, where("age").gt(30).and("status").eq(Status.ACTIVE)));
+        // Raw expressions belong in the predicate instead
+        List<Member> found = mapper.find(Member.class,
+                where("status").eq(Status.ACTIVE).and(Predicate.exp(Exp.gt(Exp.intBin("age"), Exp.val(40)))));
+        assertEquals(expected(m -> m.age > 40 && m.status == Status.ACTIVE), ids(found));
+    }
+
+    @Test
+    public void testUnknownField() {
+        AeroMapper mapper = populate();
+        assertThrows(AerospikeException.class, () -> mapper.find(Member.class, where("height").gt(2)));
+    }
+}
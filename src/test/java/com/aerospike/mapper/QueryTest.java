@@ -8,12 +8,14 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 
 import com.aerospike.client.AerospikeException;
 import com.aerospike.client.exp.Exp;
 import com.aerospike.client.policy.QueryPolicy;
+import com.aerospike.client.policy.ScanPolicy;
 import com.aerospike.client.query.Filter;
 import com.aerospike.client.query.IndexType;
 import com.aerospike.mapper.annotations.AerospikeKey;
@@ -161,4 +163,50 @@ public class QueryTest extends AeroMapperBaseTest {
         assertEquals(2, result.size());
         assertEquals(expected, result.stream().sorted(comparing(A::getId)).collect(toList()));
     }
+
+    @Test
+    public void streamQueryTest() {
+        AeroMapper mapper = populate();
+
+        List<A> result;
+        try (Stream<A> stream = mapper.streamQuery(A.class, Filter.range("age", 30, 54))) {
+            result = stream.sorted(comparing(A::getId)).collect(toList());
+        }
+
+        List<A> expected = data.stream()
+                               .filter(d -> d.age >= 30 && d.age <= 54)
+                               .sorted(comparing(A::getId))
+                               .collect(toList());
+        assertEquals(expected, result);
+    }
+
+    @Test
+    public void streamScanTest() {
+        AeroMapper mapper = populate();
+
+        try (Stream<A> stream = mapper.streamScan(A.class)) {
+            assertEquals(data.size(), stream.count());
+        }
+        // Closing a stream which has not been read to the end stops the scan
+        try (Stream<A> stream = mapper.streamScan(A.class)) {
+            assertEquals(3, stream.limit(3).count());
+        }
+    }
+
+    @Test
+    public void streamScanUsesScanPolicyOfClass() {
+        client.truncate(null, "test", "testScan", null);
+        ScanPolicy scanPolicy = new ScanPolicy();
+        scanPolicy.filterExp = Exp.build(Exp.gt(Exp.intBin("age"), Exp.val(50)));
+        AeroMapper mapper = new AeroMapper.Builder(client)
+                .withScanPolicy(scanPolicy).forClasses(A.class)
+                .build();
+        mapper.save(data.toArray());
+
+        long expected = data.stream().filter(a -> a.age > 50).count();
+        try (Stream<A> stream = mapper.streamScan(A.class)) {
+            assertEquals(expected, stream.count());
+        }
+        assertEquals(expected, mapper.scan(A.class).size());
+    }
 }
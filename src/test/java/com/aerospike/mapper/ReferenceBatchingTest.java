@@ -0,0 +1,158 @@
+package com.aerospike.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import com.aerospike.mapper.annotations.AerospikeKey;
+import com.aerospike.mapper.annotations.AerospikeRecord;
+import com.aerospike.mapper.annotations.AerospikeReference;
+import com.aerospike.mapper.tools.AeroMapper;
+import com.aerospike.mapper.tools.ClassCache;
+import com.aerospike.mapper.tools.MappingContext;
+
+public class ReferenceBatchingTest extends AeroMapperBaseTest {
+
+    @AerospikeRecord(namespace = "test", set = "rbSupplier")
+    public static class Supplier {
+        @AerospikeKey
+        public int id;
+        public String name;
+    }
+
+    @AerospikeRecord(namespace = "test", set = "rbProduct")
+    public static class Product {
+        @AerospikeKey
+        public int id;
+        @AerospikeReference
+        public Supplier supplier;
+    }
+
+    @AerospikeRecord(namespace = "test", set = "rbLine")
+    public static class OrderLine {
+        @AerospikeKey
+        public int id;
+        @AerospikeReference
+        public Product product;
+    }
+
+    private static final int LINES = 50;
+    private static final int PRODUCTS = 5;
+
+    private void populate(AeroMapper mapper) {
+        Supplier supplier = new Supplier();
+        supplier.id = 1;
+        supplier.name = "Acme";
+        mapper.save(supplier);
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = new Product();
+            product.id = i;
+            product.supplier = supplier;
+            mapper.save(product);
+        }
+        for (int i = 0; i < LINES; i++) {
+            OrderLine line = new OrderLine();
+            line.id = i;
+            line.product = new Product();
+            line.product.id = i % PRODUCTS;
+            mapper.save(line);
+        }
+    }
+
+    private Object[] lineIds() {
+        Object[] ids = new Object[LINES];
+        for (int i = 0; i < LINES; i++) {
+            ids[i] = i;
+        }
+        return ids;
+    }
+
+    @Test
+    public void testKeysAreReadOnceInChunks() {
+        AeroMapper mapper = new AeroMapper.Builder(client)
+                .withReferenceBatchSize(2)
+                .build();
+        populate(mapper);
+
+        MappingContext context = new MappingContext();
+        OrderLine[] lines = mapper.read(null, OrderLine.class, lineIds(), context);
+
+        // 5 products in 3 chunks of at most 2, then the one supplier they share
+        assertEquals(PRODUCTS + 1, context.getReferenceKeysLoaded());
+        assertEquals(4, context.getReferenceRoundTrips());
+        for (int i = 0; i < LINES; i++) {
+            assertEquals(i % PRODUCTS, lines[i].product.id);
+            assertSame(lines[i % PRODUCTS].product, lines[i].product);
+            assertSame(lines[0].product.supplier, lines[i].product.supplier);
+        }
+        // The extra chunks are not read on the pool shared with non-blocking work
+        assertNotSame(ForkJoinPool.commonPool(), ClassCache.getInstance().getReferenceLoadExecutor());
+    }
+
+    @Test
+    public void testReadReportsReferenceLoads() {
+        AeroMapper mapper = new AeroMapper.Builder(client).build();
+        populate(mapper);
+
+        MappingContext context = new MappingContext();
+        OrderLine line = mapper.read(null, OrderLine.class, 7, context);
+        assertEquals("Acme", line.product.supplier.name);
+        // The product, then its supplier
+        assertEquals(2, context.getReferenceRoundTrips());
+        assertEquals(2, context.getReferenceKeysLoaded());
+
+        // Objects loaded through the same context are not read again
+        OrderLine other = mapper.read(null, OrderLine.class, 12, context);
+        assertSame(line.product, other.product);
+        assertEquals(2, context.getReferenceRoundTrips());
+    }
+
+    @Test
+    public void testBatchReadSharesReferencedObjects() {
+        AeroMapper mapper = new AeroMapper.Builder(client).build();
+        populate(mapper);
+
+        OrderLine[] lines = mapper.read(OrderLine.class, lineIds());
+        for (int i = 0; i < LINES; i++) {
+            assertSame(lines[i % PRODUCTS].product, lines[i].product);
+            assertEquals("Acme", lines[i].product.supplier.name);
+        }
+    }
+
+    @Test
+    public void testMaxReferenceDepth() {
+        AeroMapper mapper = new AeroMapper.Builder(client)
+                .withMaxReferenceDepth(1)
+                .build();
+        populate(mapper);
+
+        OrderLine line = mapper.read(OrderLine.class, 7);
+        assertNotNull(line.product);
+        assertEquals(2, line.product.id);
+        assertNull(line.product.supplier);
+    }
+
+    @Test
+    public void testDefaultReferenceLoadExecutorIsShutDown() {
+        Executor executor = ClassCache.getInstance().getReferenceLoadExecutor();
+        assertSame(executor, ClassCache.getInstance().getReferenceLoadExecutor());
+
+        ClassCache.getInstance().shutdownReferenceLoadExecutor();
+        assertTrue(((ExecutorService) executor).isShutdown());
+        // A later read which needs the pool gets a new one
+        Executor next = ClassCache.getInstance().getReferenceLoadExecutor();
+        assertNotSame(executor, next);
+
+        ClassCache.getInstance().clear();
+        assertTrue(((ExecutorService) next).isShutdown());
+    }
+}
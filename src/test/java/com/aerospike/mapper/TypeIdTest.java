@@ -0,0 +1,158 @@
+package com.aerospike.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.client.Key;
+import com.aerospike.client.Record;
+import com.aerospike.mapper.annotations.AerospikeEmbed;
+import com.aerospike.mapper.annotations.AerospikeEmbed.EmbedType;
+import com.aerospike.mapper.annotations.AerospikeKey;
+import com.aerospike.mapper.annotations.AerospikeRecord;
+import com.aerospike.mapper.annotations.AerospikeReference;
+import com.aerospike.mapper.tools.AeroMapper;
+import com.aerospike.mapper.tools.ClassCache;
+import com.aerospike.mapper.tools.ClassCache.TypeIdMode;
+import com.aerospike.mapper.tools.configuration.ClassConfig;
+
+public class TypeIdTest extends AeroMapperBaseTest {
+
+    @AerospikeRecord(namespace = "test", set = "typeIdPet")
+    public static class Pet {
+        @AerospikeKey
+        public int id;
+        public String name;
+    }
+
+    @AerospikeRecord(namespace = "test", set = "typeIdPet", typeId = 1)
+    public static class Dog extends Pet {
+        public int barkVolume;
+    }
+
+    @AerospikeRecord(namespace = "test", set = "typeIdPet", typeId = 2)
+    public static class Cat extends Pet {
+        public boolean indoor;
+    }
+
+    @AerospikeRecord(namespace = "test", set = "typeIdPet", typeId = 1)
+    public static class Parrot extends Pet {
+        public int words;
+    }
+
+    @AerospikeRecord(namespace = "test", set = "typeIdOwner")
+    public static class Owner {
+        @AerospikeKey
+        public int id;
+        @AerospikeEmbed(type = EmbedType.MAP)
+        public Pet favourite;
+        @AerospikeEmbed(type = EmbedType.LIST, elementType = EmbedType.LIST)
+        public List<Pet> pets;
+        @AerospikeReference
+        public Pet walked;
+    }
+
+    private Dog dog(int id) {
+        Dog dog = new Dog();
+        dog.id = id;
+        dog.name = "Rex";
+        dog.barkVolume = 11;
+        return dog;
+    }
+
+    private Cat cat(int id) {
+        Cat cat = new Cat();
+        cat.id = id;
+        cat.name = "Tom";
+        cat.indoor = true;
+        return cat;
+    }
+
+    private Owner owner(AeroMapper mapper) {
+        Owner owner = new Owner();
+        owner.id = 1;
+        owner.favourite = dog(1);
+        owner.pets = new ArrayList<>(Arrays.asList(dog(1), cat(2)));
+        owner.walked = cat(2);
+        mapper.save(owner.walked);
+        mapper.save(owner);
+        return owner;
+    }
+
+    private void checkOwner(Owner original, Owner read) {
+        assertTrue(read.favourite instanceof Dog);
+        assertTrue(read.pets.get(0) instanceof Dog);
+        assertTrue(read.pets.get(1) instanceof Cat);
+        assertTrue(read.walked instanceof Cat);
+        compare(original, read);
+    }
+
+    @Test
+    public void testIdsAreStored() {
+        AeroMapper mapper = new AeroMapper.Builder(client).build();
+        Owner owner = owner(mapper);
+
+        Record record = client.get(null, new Key(NAMESPACE, "typeIdOwner", 1));
+        assertEquals(1L, ((Map<?, ?>) record.getValue("favourite")).get(".type"));
+        List<?> firstPet = (List<?>) record.getList("pets").get(0);
+        assertEquals("@#1", firstPet.get(firstPet.size() - 1));
+        assertEquals(2L, record.getList("walked").get(1));
+
+        checkOwner(owner, mapper.read(Owner.class, 1));
+    }
+
+    @Test
+    public void testNamesModeAndMigration() {
+        AeroMapper mapper = new AeroMapper.Builder(client).withTypeIdMode(TypeIdMode.NAMES).build();
+        Owner owner = owner(mapper);
+
+        Record record = client.get(null, new Key(NAMESPACE, "typeIdOwner", 1));
+        assertEquals("Dog", ((Map<?, ?>) record.getValue("favourite")).get(".type"));
+        List<?> firstPet = (List<?>) record.getList("pets").get(0);
+        assertEquals("@T:Dog", firstPet.get(firstPet.size() - 1));
+        assertEquals("Cat", record.getList("walked").get(1));
+
+        // Data written with names must still be readable once ids are being written
+        ClassCache.getInstance().clear();
+        mapper = new AeroMapper.Builder(client).preLoadClasses(Dog.class, Cat.class)
+                .withTypeIdMode(TypeIdMode.IDS).build();
+        checkOwner(owner, mapper.read(Owner.class, 1));
+
+        // Likewise data written with ids can be read by a mapper still writing names
+        mapper.save(owner);
+        ClassCache.getInstance().clear();
+        mapper = new AeroMapper.Builder(client).preLoadClasses(Dog.class, Cat.class)
+                .withTypeIdMode(TypeIdMode.NAMES).build();
+        checkOwner(owner, mapper.read(Owner.class, 1));
+    }
+
+    @Test
+    public void testIdFromConfiguration() {
+        ClassConfig config = new ClassConfig.Builder(Cat.class).withTypeId(300).build();
+        AeroMapper mapper = new AeroMapper.Builder(client).withClassConfigurations(config).build();
+        Owner owner = owner(mapper);
+
+        Record record = client.get(null, new Key(NAMESPACE, "typeIdOwner", 1));
+        assertEquals(300L, record.getList("walked").get(1));
+        checkOwner(owner, mapper.read(Owner.class, 1));
+    }
+
+    @Test
+    public void testDuplicateId() {
+        AeroMapper mapper = new AeroMapper.Builder(client).build();
+        mapper.save(dog(1));
+        assertThrows(AerospikeException.class, () -> {
+            Parrot parrot = new Parrot();
+            parrot.id = 3;
+            mapper.save(parrot);
+        });
+    }
+}
@@ -0,0 +1,163 @@
+package com.aerospike.mapper.benchmarks;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.aerospike.client.Value;
+import com.aerospike.mapper.annotations.AerospikeBigNumber.Encoding;
+import com.aerospike.mapper.tools.TypeMapper;
+import com.aerospike.mapper.tools.mappers.BigDecimalMapper;
+import com.aerospike.mapper.tools.mappers.BigIntegerMapper;
+
+/**
+ * Compare the <code>STRING</code> and <code>COMPACT</code> encodings of BigDecimal and BigInteger values. Each
+ * invocation encodes or decodes a ledger of 1,000 amounts with 2 decimal places, most of which fit in a long, and a
+ * few larger values. Before the benchmarks run, <code>main</code> prints the size of the ledger packed as a list, as it
+ * would be stored in a bin. No database is needed to run this:
+ * <pre>
+ * mvn test-compile
+ * java -cp target/test-classes:target/classes:&lt;test classpath&gt; com.aerospike.mapper.benchmarks.BigNumberEncodingBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BigNumberEncodingBenchmark {
+
+    private static final int LEDGER_SIZE = 1_000;
+
+    private final BigDecimalMapper stringDecimals = new BigDecimalMapper(Encoding.STRING);
+    private final BigDecimalMapper compactDecimals = new BigDecimalMapper(Encoding.COMPACT);
+    private final BigIntegerMapper stringIntegers = new BigIntegerMapper(Encoding.STRING);
+    private final BigIntegerMapper compactIntegers = new BigIntegerMapper(Encoding.COMPACT);
+
+    private List<BigDecimal> decimals;
+    private List<BigInteger> integers;
+    private List<Object> stringDecimalValues;
+    private List<Object> compactDecimalValues;
+    private List<Object> stringIntegerValues;
+    private List<Object> compactIntegerValues;
+
+    static List<BigDecimal> ledger() {
+        Random random = new Random(42);
+        List<BigDecimal> result = new ArrayList<>(LEDGER_SIZE);
+        for (int i = 0; i < LEDGER_SIZE; i++) {
+            if (i % 100 == 0) {
+                result.add(new BigDecimal(new BigInteger(100, random), 2));
+            } else {
+                result.add(BigDecimal.valueOf(random.nextInt(10_000_000) - 5_000_000, 2));
+            }
+        }
+        return result;
+    }
+
+    private static List<Object> encode(List<?> values, TypeMapper mapper) {
+        List<Object> result = new ArrayList<>(values.size());
+        for (Object value : values) {
+            result.add(mapper.toAerospikeFormat(value));
+        }
+        return result;
+    }
+
+    @Setup
+    public void setup() {
+        decimals = ledger();
+        integers = new ArrayList<>(LEDGER_SIZE);
+        for (BigDecimal decimal : decimals) {
+            integers.add(decimal.unscaledValue());
+        }
+        stringDecimalValues = encode(decimals, stringDecimals);
+        compactDecimalValues = encode(decimals, compactDecimals);
+        stringIntegerValues = encode(integers, stringIntegers);
+        compactIntegerValues = encode(integers, compactIntegers);
+    }
+
+    private static void encodeAll(List<?> values, TypeMapper mapper, Blackhole blackhole) {
+        for (Object value : values) {
+            blackhole.consume(mapper.toAerospikeFormat(value));
+        }
+    }
+
+    private static void decodeAll(List<Object> values, TypeMapper mapper, Blackhole blackhole) {
+        for (Object value : values) {
+            blackhole.consume(mapper.fromAerospikeFormat(value));
+        }
+    }
+
+    @Benchmark
+    public void encodeDecimalString(Blackhole blackhole) {
+        encodeAll(decimals, stringDecimals, blackhole);
+    }
+
+    @Benchmark
+    public void encodeDecimalCompact(Blackhole blackhole) {
+        encodeAll(decimals, compactDecimals, blackhole);
+    }
+
+    @Benchmark
+    public void decodeDecimalString(Blackhole blackhole) {
+        decodeAll(stringDecimalValues, stringDecimals, blackhole);
+    }
+
+    @Benchmark
+    public void decodeDecimalCompact(Blackhole blackhole) {
+        decodeAll(compactDecimalValues, compactDecimals, blackhole);
+    }
+
+    @Benchmark
+    public void encodeIntegerString(Blackhole blackhole) {
+        encodeAll(integers, stringIntegers, blackhole);
+    }
+
+    @Benchmark
+    public void encodeIntegerCompact(Blackhole blackhole) {
+        encodeAll(integers, compactIntegers, blackhole);
+    }
+
+    @Benchmark
+    public void decodeIntegerString(Blackhole blackhole) {
+        decodeAll(stringIntegerValues, stringIntegers, blackhole);
+    }
+
+    @Benchmark
+    public void decodeIntegerCompact(Blackhole blackhole) {
+        decodeAll(compactIntegerValues, compactIntegers, blackhole);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        BigNumberEncodingBenchmark sizes = new BigNumberEncodingBenchmark();
+        sizes.setup();
+        System.out.printf("Packed size of %d BigDecimals: STRING %d bytes, COMPACT %d bytes%n", LEDGER_SIZE,
+                Value.get(sizes.stringDecimalValues).estimateSize(), Value.get(sizes.compactDecimalValues).estimateSize());
+        System.out.printf("Packed size of %d BigIntegers: STRING %d bytes, COMPACT %d bytes%n", LEDGER_SIZE,
+                Value.get(sizes.stringIntegerValues).estimateSize(), Value.get(sizes.compactIntegerValues).estimateSize());
+
+        new Runner(new OptionsBuilder()
+                .include(BigNumberEncodingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,184 @@
+package com.aerospike.mapper.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.aerospike.mapper.annotations.AerospikeKey;
+import com.aerospike.mapper.annotations.AerospikeRecord;
+import com.aerospike.mapper.annotations.AerospikeReference;
+import com.aerospike.mapper.tools.ClassCache;
+import com.aerospike.mapper.tools.ClassCacheEntry;
+
+/**
+ * Stress the <code>ClassCache</code> when many threads touch unloaded classes at the same time, as happens when a
+ * freshly started service takes traffic. Each invocation clears the cache, then releases a number of threads at once,
+ * each of which loads every model class starting from a different one. The classes refer to each other (and to
+ * themselves) so construction crosses between threads. A second benchmark measures lookups of classes which are
+ * already loaded. No database is needed to run this:
+ * <pre>
+ * mvn test-compile
+ * java -cp target/test-classes:target/classes:&lt;test classpath&gt; com.aerospike.mapper.benchmarks.ClassCacheFirstTouchBenchmark
+ * </pre>
+ */
+@Fork(1)
+public class ClassCacheFirstTouchBenchmark {
+
+    @AerospikeRecord(namespace = "test", set = "customer")
+    public static class Customer {
+        @AerospikeKey
+        public int id;
+        public String name;
+        @AerospikeReference
+        public List<Account> accounts;
+        @AerospikeReference
+        public Customer referredBy;
+    }
+
+    @AerospikeRecord(namespace = "test", set = "account")
+    public static class Account {
+        @AerospikeKey
+        public String id;
+        public long balance;
+        @AerospikeReference
+        public Customer owner;
+        @AerospikeReference
+        public Branch branch;
+    }
+
+    @AerospikeRecord(namespace = "test", set = "branch")
+    public static class Branch {
+        @AerospikeKey
+        public int id;
+        public String address;
+        @AerospikeReference
+        public Account operatingAccount;
+        public Map<String, Integer> hours;
+    }
+
+    @AerospikeRecord(namespace = "test", set = "txn")
+    public static class Transaction {
+        @AerospikeKey
+        public String id;
+        public long amount;
+        @AerospikeReference
+        public Account from;
+        @AerospikeReference
+        public Account to;
+    }
+
+    @AerospikeRecord(namespace = "test", set = "statement")
+    public static class Statement {
+        @AerospikeKey
+        public String id;
+        @AerospikeReference
+        public Account account;
+        @AerospikeReference
+        public List<Transaction> transactions;
+    }
+
+    private static final Class<?>[] MODEL_CLASSES = {Customer.class, Account.class, Branch.class, Transaction.class, Statement.class};
+
+    @State(Scope.Benchmark)
+    public static class FirstTouchState {
+        @Param({"1", "4", "16"})
+        public int threads;
+
+        ExecutorService executor;
+
+        @Setup(Level.Trial)
+        public void startThreads() {
+            executor = Executors.newFixedThreadPool(threads);
+        }
+
+        @Setup(Level.Invocation)
+        public void clearCache() {
+            ClassCache.getInstance().clear();
+        }
+
+        @TearDown(Level.Trial)
+        public void stopThreads() {
+            executor.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 200, batchSize = 1)
+    @Measurement(iterations = 1000, batchSize = 1)
+    public int firstTouchConcurrent(FirstTouchState state) throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(state.threads);
+        List<Future<Integer>> results = new ArrayList<>(state.threads);
+        for (int i = 0; i < state.threads; i++) {
+            final int start = i;
+            results.add(state.executor.submit(() -> {
+                barrier.await();
+                int loaded = 0;
+                for (int j = 0; j < MODEL_CLASSES.length; j++) {
+                    ClassCacheEntry<?> entry = ClassCache.getInstance().loadClass(MODEL_CLASSES[(start + j) % MODEL_CLASSES.length], null);
+                    if (entry == null || entry.isNotConstructed()) {
+                        throw new IllegalStateException("Class " + MODEL_CLASSES[(start + j) % MODEL_CLASSES.length] + " was not fully loaded");
+                    }
+                    loaded++;
+                }
+                return loaded;
+            }));
+        }
+        int total = 0;
+        for (Future<Integer> result : results) {
+            total += result.get();
+        }
+        return total;
+    }
+
+    @State(Scope.Benchmark)
+    public static class LoadedState {
+        @Setup(Level.Trial)
+        public void loadClasses() {
+            ClassCache.getInstance().clear();
+            for (Class<?> clazz : MODEL_CLASSES) {
+                ClassCache.getInstance().loadClass(clazz, null);
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Threads(8)
+    public ClassCacheEntry<?> loadedLookup(LoadedState state) {
+        return ClassCache.getInstance().loadClass(Account.class, null);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ClassCacheFirstTouchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
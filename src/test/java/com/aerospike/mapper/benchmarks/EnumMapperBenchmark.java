@@ -0,0 +1,112 @@
+package com.aerospike.mapper.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.aerospike.mapper.annotations.AerospikeEnum.EnumType;
+import com.aerospike.mapper.tools.mappers.EnumMapper;
+
+/**
+ * Measure decoding enum values stored by name, by the value of an enum field, by ordinal and by code. Each invocation
+ * decodes every constant of a 20 constant enum, so values near the end of the enum are included. No database is
+ * needed to run this:
+ * <pre>
+ * mvn test-compile
+ * java -cp target/test-classes:target/classes:&lt;test classpath&gt; com.aerospike.mapper.benchmarks.EnumMapperBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EnumMapperBenchmark {
+
+    public enum Region {
+        R00(100), R01(101), R02(102), R03(103), R04(104), R05(105), R06(106), R07(107), R08(108), R09(109),
+        R10(110), R11(111), R12(112), R13(113), R14(114), R15(115), R16(116), R17(117), R18(118), R19(119);
+
+        private final int code;
+        private final String label;
+
+        Region(int code) {
+            this.code = code;
+            this.label = "region-" + code;
+        }
+    }
+
+    private EnumMapper byName;
+    private EnumMapper byField;
+    private EnumMapper byOrdinal;
+    private EnumMapper byCode;
+    private Object[] names;
+    private Object[] labels;
+    private Object[] ordinals;
+    private Object[] codes;
+
+    @Setup
+    public void setup() {
+        byName = new EnumMapper(Region.class, "");
+        byField = new EnumMapper(Region.class, "label");
+        byOrdinal = new EnumMapper(Region.class, "", EnumType.ORDINAL);
+        byCode = new EnumMapper(Region.class, "code", EnumType.CODE);
+        Region[] regions = Region.values();
+        names = new Object[regions.length];
+        labels = new Object[regions.length];
+        ordinals = new Object[regions.length];
+        codes = new Object[regions.length];
+        for (int i = 0; i < regions.length; i++) {
+            names[i] = byName.toAerospikeFormat(regions[i]);
+            labels[i] = byField.toAerospikeFormat(regions[i]);
+            ordinals[i] = byOrdinal.toAerospikeFormat(regions[i]);
+            codes[i] = byCode.toAerospikeFormat(regions[i]);
+        }
+    }
+
+    private static void decodeAll(EnumMapper mapper, Object[] values, Blackhole blackhole) {
+        for (Object value : values) {
+            blackhole.consume(mapper.fromAerospikeFormat(value));
+        }
+    }
+
+    @Benchmark
+    public void decodeName(Blackhole blackhole) {
+        decodeAll(byName, names, blackhole);
+    }
+
+    @Benchmark
+    public void decodeEnumField(Blackhole blackhole) {
+        decodeAll(byField, labels, blackhole);
+    }
+
+    @Benchmark
+    public void decodeOrdinal(Blackhole blackhole) {
+        decodeAll(byOrdinal, ordinals, blackhole);
+    }
+
+    @Benchmark
+    public void decodeCode(Blackhole blackhole) {
+        decodeAll(byCode, codes, blackhole);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EnumMapperBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,139 @@
+package com.aerospike.mapper.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.aerospike.client.Record;
+import com.aerospike.mapper.annotations.AerospikeConstructor;
+import com.aerospike.mapper.annotations.AerospikeKey;
+import com.aerospike.mapper.annotations.AerospikeRecord;
+import com.aerospike.mapper.annotations.ParamFrom;
+import com.aerospike.mapper.tools.AeroMapper;
+import com.aerospike.mapper.tools.ClassCache;
+import com.aerospike.mapper.tools.ClassCacheEntry;
+
+/**
+ * Measure the time and allocations of creating objects from records, as done for every record of a read, batch read,
+ * scan or query. Run with the GC profiler to see the bytes allocated per object (<code>gc.alloc.rate.norm</code>).
+ * No database is needed to run this:
+ * <pre>
+ * mvn test-compile
+ * java -cp target/test-classes:target/classes:&lt;test classpath&gt; com.aerospike.mapper.benchmarks.HydrationBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HydrationBenchmark {
+
+    @AerospikeRecord(namespace = "test", set = "base")
+    public static class Base {
+        @AerospikeKey
+        public long id;
+        public String createdBy;
+        public long createdAt;
+    }
+
+    @AerospikeRecord(namespace = "test", set = "noarg")
+    public static class NoArg extends Base {
+        public String firstName;
+        public String lastName;
+        public int age;
+        public long balance;
+        public String email;
+    }
+
+    @AerospikeRecord(namespace = "test", set = "ctor")
+    public static class WithConstructor {
+        @AerospikeKey
+        public final long id;
+        public final String firstName;
+        public final String lastName;
+        public int age;
+        public long balance;
+        public String email;
+
+        @AerospikeConstructor
+        public WithConstructor(@ParamFrom("id") long id, @ParamFrom("firstName") String firstName,
+                               @ParamFrom("lastName") String lastName) {
+            this.id = id;
+            this.firstName = firstName;
+            this.lastName = lastName;
+        }
+    }
+
+    private ClassCacheEntry<NoArg> noArgEntry;
+    private ClassCacheEntry<WithConstructor> constructorEntry;
+    private Record record;
+    private Record projectedRecord;
+    private String[] projection;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        ClassCache.getInstance().clear();
+        AeroMapper mapper = new AeroMapper.Builder(SaveAllocationBenchmark.noopClient(blackhole)).build();
+        noArgEntry = ClassCache.getInstance().loadClass(NoArg.class, mapper);
+        constructorEntry = ClassCache.getInstance().loadClass(WithConstructor.class, mapper);
+
+        Map<String, Object> bins = new HashMap<>();
+        bins.put("id", 1234L);
+        bins.put("createdBy", "system");
+        bins.put("createdAt", 1700000000000L);
+        bins.put("firstName", "Tim");
+        bins.put("lastName", "Smith");
+        bins.put("age", 42L);
+        bins.put("balance", 100_000L);
+        bins.put("email", "tim@example.com");
+        record = new Record(bins, 1, 0);
+
+        // A read of only some bins returns a record holding just these bins
+        projection = new String[]{"firstName", "age", "email"};
+        Map<String, Object> projectedBins = new HashMap<>();
+        for (String bin : projection) {
+            projectedBins.put(bin, bins.get(bin));
+        }
+        projectedRecord = new Record(projectedBins, 1, 0);
+    }
+
+    @Benchmark
+    public NoArg noArgConstructorWithSuperclass() {
+        return noArgEntry.constructAndHydrate(record);
+    }
+
+    @Benchmark
+    public NoArg noArgConstructorProjected() {
+        return noArgEntry.constructAndHydrate(projectedRecord, projection);
+    }
+
+    @Benchmark
+    public WithConstructor aerospikeConstructor() {
+        return constructorEntry.constructAndHydrate(record);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(HydrationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
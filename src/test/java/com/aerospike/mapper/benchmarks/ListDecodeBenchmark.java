@@ -0,0 +1,123 @@
+package com.aerospike.mapper.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.aerospike.mapper.annotations.AerospikeOrdinal;
+import com.aerospike.mapper.annotations.AerospikeRecord;
+import com.aerospike.mapper.annotations.AerospikeVersion;
+import com.aerospike.mapper.tools.AeroMapper;
+import com.aerospike.mapper.tools.ClassCache;
+import com.aerospike.mapper.tools.ClassCacheEntry;
+
+/**
+ * Measure creating objects embedded as lists, as done for every element of a list of list-embedded objects. The
+ * class is at version 3, and the 10,000 lists decoded by each invocation were written by versions 1, 2 and 3 of the
+ * class in turn, so the values to map and skip differ from one element to the next. No database is needed to run this:
+ * <pre>
+ * mvn test-compile
+ * java -cp target/test-classes:target/classes:&lt;test classpath&gt; com.aerospike.mapper.benchmarks.ListDecodeBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ListDecodeBenchmark {
+
+    private static final int ELEMENTS = 10_000;
+
+    @AerospikeRecord(namespace = "test", set = "base", version = 2)
+    public static class Base {
+        public String createdBy;
+        @AerospikeVersion(min = 2)
+        public long createdAt;
+    }
+
+    @AerospikeRecord(namespace = "test", set = "position", version = 3)
+    public static class Position extends Base {
+        @AerospikeOrdinal
+        public String account;
+        @AerospikeVersion(max = 1)
+        public String legacyCode;
+        public long quantity;
+        @AerospikeVersion(min = 2, max = 2)
+        public double price;
+        @AerospikeVersion(min = 3)
+        public long priceInCents;
+        @AerospikeVersion(min = 3)
+        public String currency;
+    }
+
+    private ClassCacheEntry<Position> entry;
+    private List<List<Object>> mixedVersions;
+    private List<List<Object>> currentVersion;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        ClassCache.getInstance().clear();
+        AeroMapper mapper = new AeroMapper.Builder(SaveAllocationBenchmark.noopClient(blackhole)).build();
+        entry = ClassCache.getInstance().loadClass(Position.class, mapper);
+
+        Position position = new Position();
+        position.createdBy = "loader";
+        position.createdAt = 1700000000000L;
+        position.account = "ACC-1";
+        position.quantity = 100;
+        position.priceInCents = 12_345;
+        position.currency = "USD";
+        List<Object> version3 = entry.getList(position, false, false);
+        // As written by earlier versions of the classes: Position (account, legacyCode, quantity) and Base (createdBy)
+        List<Object> version1 = Arrays.asList("ACC-1", "X1", 100L, "loader");
+        // Position (account, price, quantity) with Base (createdAt, createdBy) at version 2
+        List<Object> version2 = Arrays.asList("ACC-1", 123.45, 100L, 1700000000000L, "loader", "@V2", "@V2");
+
+        mixedVersions = new ArrayList<>(ELEMENTS);
+        currentVersion = new ArrayList<>(ELEMENTS);
+        for (int i = 0; i < ELEMENTS; i++) {
+            mixedVersions.add(i % 3 == 0 ? version1 : i % 3 == 1 ? version2 : version3);
+            currentVersion.add(version3);
+        }
+    }
+
+    @Benchmark
+    public void decodeMixedVersions(Blackhole blackhole) {
+        for (List<Object> list : mixedVersions) {
+            blackhole.consume(entry.constructAndHydrate(list, false));
+        }
+    }
+
+    @Benchmark
+    public void decodeCurrentVersion(Blackhole blackhole) {
+        for (List<Object> list : currentVersion) {
+            blackhole.consume(entry.constructAndHydrate(list, false));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ListDecodeBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
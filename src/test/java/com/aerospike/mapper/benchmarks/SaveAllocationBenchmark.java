@@ -0,0 +1,160 @@
+package com.aerospike.mapper.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.aerospike.client.Bin;
+import com.aerospike.client.IAerospikeClient;
+import com.aerospike.client.Key;
+import com.aerospike.client.policy.BatchPolicy;
+import com.aerospike.client.policy.Policy;
+import com.aerospike.client.policy.QueryPolicy;
+import com.aerospike.client.policy.ScanPolicy;
+import com.aerospike.client.policy.WritePolicy;
+import com.aerospike.mapper.annotations.AerospikeKey;
+import com.aerospike.mapper.annotations.AerospikeRecord;
+import com.aerospike.mapper.tools.AeroMapper;
+import com.aerospike.mapper.tools.ClassCache;
+
+/**
+ * Measure the time and, more importantly, the allocations of <code>AeroMapper.save</code> and
+ * <code>AeroMapper.update</code>. The mapper is given a client whose <code>put</code> does nothing, so the numbers are
+ * those of the mapper alone: everything allocated is either the <code>Key</code>, <code>Bin</code>s and
+ * <code>Value</code>s the client needs or overhead of the mapper. Run with the GC profiler to see the bytes allocated
+ * per operation (<code>gc.alloc.rate.norm</code>). No database is needed to run this:
+ * <pre>
+ * mvn test-compile
+ * java -cp target/test-classes:target/classes:&lt;test classpath&gt; com.aerospike.mapper.benchmarks.SaveAllocationBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SaveAllocationBenchmark {
+
+    @AerospikeRecord(namespace = "test", set = "person", ttl = 3600, sendKey = true)
+    public static class Person {
+        @AerospikeKey
+        public long id;
+        public String firstName;
+        public String lastName;
+        public int age;
+        public long balance;
+        public boolean active;
+        public String email;
+        public String phone;
+        public List<String> tags;
+        public String nickname;
+    }
+
+    private AeroMapper mapper;
+    private Person person;
+    private String[] partialBins;
+
+    /**
+     * A client which returns default policies and ignores everything else.
+     */
+    static IAerospikeClient noopClient(Blackhole blackhole) {
+        WritePolicy writePolicy = new WritePolicy();
+        return (IAerospikeClient) Proxy.newProxyInstance(SaveAllocationBenchmark.class.getClassLoader(),
+                new Class<?>[]{IAerospikeClient.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getReadPolicyDefault":
+                            return new Policy();
+                        case "getWritePolicyDefault":
+                            return writePolicy;
+                        case "getBatchPolicyDefault":
+                            return new BatchPolicy();
+                        case "getQueryPolicyDefault":
+                            return new QueryPolicy();
+                        case "getScanPolicyDefault":
+                            return new ScanPolicy();
+                        case "put":
+                            blackhole.consume(args[1]);
+                            blackhole.consume(args[2]);
+                            return null;
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        ClassCache.getInstance().clear();
+        mapper = new AeroMapper.Builder(noopClient(blackhole)).build();
+
+        person = new Person();
+        person.id = 1234;
+        person.firstName = "Tim";
+        person.lastName = "Smith";
+        person.age = 42;
+        person.balance = 100_000L;
+        person.active = true;
+        person.email = "tim@example.com";
+        person.tags = Arrays.asList("a", "b");
+        // phone and nickname left null so REPLACE has bins to omit
+        partialBins = new String[]{"balance", "active"};
+
+        mapper.save(person);
+    }
+
+    @Benchmark
+    public Person saveAllBins() {
+        mapper.save(person);
+        return person;
+    }
+
+    @Benchmark
+    public Person updateAllBins() {
+        mapper.update(person);
+        return person;
+    }
+
+    @Benchmark
+    public Person updatePartialBins() {
+        mapper.update(person, partialBins);
+        return person;
+    }
+
+    /**
+     * The minimum a save has to allocate for the client: the key, the bins and their values.
+     */
+    @Benchmark
+    public Bin[] clientObjectsOnly(Blackhole blackhole) {
+        blackhole.consume(new Key("test", "person", person.id));
+        return new Bin[]{
+                new Bin("firstName", person.firstName), new Bin("lastName", person.lastName),
+                new Bin("age", person.age), new Bin("balance", person.balance), new Bin("active", person.active),
+                new Bin("email", person.email), new Bin("tags", person.tags)
+        };
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SaveAllocationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
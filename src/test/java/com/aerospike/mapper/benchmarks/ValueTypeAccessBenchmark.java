@@ -0,0 +1,191 @@
+package com.aerospike.mapper.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.aerospike.mapper.tools.AccessorFactory;
+
+/**
+ * Compare the reflective accessors (<code>Field.get/set</code>, <code>Method.invoke</code>) which <code>ValueType</code>
+ * used to use with the accessors from <code>AccessorFactory</code>. Methods are bound by the factory through
+ * <code>LambdaMetafactory</code>. Fields are still accessed reflectively by the factory, so the field benchmarks
+ * compare reflection with field accessors bound through method handles, which the factory does not use as they
+ * measured no faster. No database is needed to run this:
+ * <pre>
+ * mvn test-compile
+ * java -cp target/test-classes:target/classes:&lt;test classpath&gt; com.aerospike.mapper.benchmarks.ValueTypeAccessBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ValueTypeAccessBenchmark {
+
+    public static class Pojo {
+        private int intValue = 17;
+        private String stringValue = "value";
+        private long longProperty = 42;
+
+        public long getLongProperty() {
+            return longProperty;
+        }
+
+        public void setLongProperty(long longProperty) {
+            this.longProperty = longProperty;
+        }
+    }
+
+    private Pojo pojo;
+    private Integer intToSet;
+    private Long longToSet;
+
+    private AccessorFactory.Getter reflectiveIntGetter;
+    private AccessorFactory.Setter reflectiveIntSetter;
+    private AccessorFactory.Getter reflectiveStringGetter;
+    private AccessorFactory.Getter reflectivePropertyGetter;
+    private AccessorFactory.Setter reflectivePropertySetter;
+
+    private AccessorFactory.Getter methodHandleIntGetter;
+    private AccessorFactory.Setter methodHandleIntSetter;
+    private AccessorFactory.Getter methodHandleStringGetter;
+    private AccessorFactory.Getter generatedPropertyGetter;
+    private AccessorFactory.Setter generatedPropertySetter;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        pojo = new Pojo();
+        intToSet = 1234;
+        longToSet = 5678L;
+
+        Field intField = Pojo.class.getDeclaredField("intValue");
+        Field stringField = Pojo.class.getDeclaredField("stringValue");
+        Method getter = Pojo.class.getMethod("getLongProperty");
+        Method setter = Pojo.class.getMethod("setLongProperty", long.class);
+        intField.setAccessible(true);
+        stringField.setAccessible(true);
+        getter.setAccessible(true);
+        setter.setAccessible(true);
+
+        reflectiveIntGetter = AccessorFactory.reflectiveGetter(intField);
+        reflectiveIntSetter = AccessorFactory.reflectiveSetter(intField);
+        reflectiveStringGetter = AccessorFactory.reflectiveGetter(stringField);
+        reflectivePropertyGetter = AccessorFactory.reflectiveGetter(getter);
+        reflectivePropertySetter = AccessorFactory.reflectiveSetter(setter);
+
+        methodHandleIntGetter = methodHandleGetter(intField);
+        methodHandleIntSetter = methodHandleSetter(intField);
+        methodHandleStringGetter = methodHandleGetter(stringField);
+        generatedPropertyGetter = AccessorFactory.getter(getter);
+        generatedPropertySetter = AccessorFactory.setter(setter);
+    }
+
+    private static AccessorFactory.Getter methodHandleGetter(Field field) throws IllegalAccessException {
+        MethodHandle getter = MethodHandles.lookup().unreflectGetter(field)
+                .asType(MethodType.methodType(Object.class, Object.class));
+        return instance -> {
+            try {
+                return (Object) getter.invokeExact(instance);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t);
+            }
+        };
+    }
+
+    private static AccessorFactory.Setter methodHandleSetter(Field field) throws IllegalAccessException {
+        MethodHandle setter = MethodHandles.lookup().unreflectSetter(field)
+                .asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return (instance, value) -> {
+            try {
+                setter.invokeExact(instance, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t);
+            }
+        };
+    }
+
+    @Benchmark
+    public Object reflectiveFieldGetPrimitive() throws ReflectiveOperationException {
+        return reflectiveIntGetter.get(pojo);
+    }
+
+    @Benchmark
+    public Object methodHandleFieldGetPrimitive() throws ReflectiveOperationException {
+        return methodHandleIntGetter.get(pojo);
+    }
+
+    @Benchmark
+    public Object reflectiveFieldGetObject() throws ReflectiveOperationException {
+        return reflectiveStringGetter.get(pojo);
+    }
+
+    @Benchmark
+    public Object methodHandleFieldGetObject() throws ReflectiveOperationException {
+        return methodHandleStringGetter.get(pojo);
+    }
+
+    @Benchmark
+    public Pojo reflectiveFieldSetPrimitive() throws ReflectiveOperationException {
+        reflectiveIntSetter.set(pojo, intToSet);
+        return pojo;
+    }
+
+    @Benchmark
+    public Pojo methodHandleFieldSetPrimitive() throws ReflectiveOperationException {
+        methodHandleIntSetter.set(pojo, intToSet);
+        return pojo;
+    }
+
+    @Benchmark
+    public Object reflectiveMethodGet() throws ReflectiveOperationException {
+        return reflectivePropertyGetter.get(pojo);
+    }
+
+    @Benchmark
+    public Object generatedMethodGet() throws ReflectiveOperationException {
+        return generatedPropertyGetter.get(pojo);
+    }
+
+    @Benchmark
+    public Pojo reflectiveMethodSet() throws ReflectiveOperationException {
+        reflectivePropertySetter.set(pojo, longToSet);
+        return pojo;
+    }
+
+    @Benchmark
+    public Pojo generatedMethodSet() throws ReflectiveOperationException {
+        generatedPropertySetter.set(pojo, longToSet);
+        return pojo;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ValueTypeAccessBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
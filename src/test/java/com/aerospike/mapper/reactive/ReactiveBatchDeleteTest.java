@@ -0,0 +1,71 @@
+package com.aerospike.mapper.reactive;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import com.aerospike.mapper.annotations.AerospikeKey;
+import com.aerospike.mapper.annotations.AerospikeRecord;
+import com.aerospike.mapper.tools.ReactiveAeroMapper;
+
+import reactor.core.scheduler.Schedulers;
+
+public class ReactiveBatchDeleteTest extends ReactiveAeroMapperBaseTest {
+
+    @AerospikeRecord(namespace = "test", set = "rbdCust")
+    public static class Customer {
+        @AerospikeKey
+        public int id;
+        public String name;
+
+        public Customer() {
+        }
+
+        public Customer(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    @AerospikeRecord(namespace = "test", set = "rbdAcct")
+    public static class Account {
+        @AerospikeKey
+        public String id;
+        public long balance;
+
+        public Account() {
+        }
+
+        public Account(String id, long balance) {
+            this.id = id;
+            this.balance = balance;
+        }
+    }
+
+    @Test
+    public void testDeleteAllByKeys() {
+        ReactiveAeroMapper reactiveMapper = new ReactiveAeroMapper.Builder(reactorClient).build();
+        reactiveMapper.save(new Customer(1, "one"), new Customer(2, "two")).subscribeOn(Schedulers.parallel()).collectList().block();
+        reactiveMapper.delete(Customer.class, 3).subscribeOn(Schedulers.parallel()).block();
+
+        boolean[] existed = reactiveMapper.deleteAll(Customer.class, new Object[] {1, 3, 2}).subscribeOn(Schedulers.parallel()).block();
+        assertArrayEquals(new boolean[] {true, false, true}, existed);
+        assertNull(reactiveMapper.read(Customer.class, 1).subscribeOn(Schedulers.parallel()).block());
+    }
+
+    @Test
+    public void testDeleteAllMixedObjects() {
+        ReactiveAeroMapper reactiveMapper = new ReactiveAeroMapper.Builder(reactorClient).build();
+        Customer customer = new Customer(10, "ten");
+        Account account = new Account("acct10", 100);
+        Account missing = new Account("missing", 0);
+        reactiveMapper.save(customer).subscribeOn(Schedulers.parallel()).block();
+        reactiveMapper.save(account).subscribeOn(Schedulers.parallel()).block();
+        reactiveMapper.delete(missing).subscribeOn(Schedulers.parallel()).block();
+
+        boolean[] existed = reactiveMapper.deleteAll(customer, missing, account).subscribeOn(Schedulers.parallel()).block();
+        assertArrayEquals(new boolean[] {true, false, true}, existed);
+        assertNull(reactiveMapper.read(Account.class, "acct10").subscribeOn(Schedulers.parallel()).block());
+    }
+}
@@ -0,0 +1,199 @@
+package com.aerospike.mapper.reactive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import com.aerospike.client.IAerospikeClient;
+import com.aerospike.client.async.EventLoop;
+import com.aerospike.client.reactor.IAerospikeReactorClient;
+import com.aerospike.mapper.annotations.AerospikeKey;
+import com.aerospike.mapper.annotations.AerospikeRecord;
+import com.aerospike.mapper.annotations.AerospikeReference;
+import com.aerospike.mapper.tools.ReactiveAeroMapper;
+
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+public class ReactiveReferenceResolutionTest extends ReactiveAeroMapperBaseTest {
+
+    @AerospikeRecord(namespace = "test", set = "rrrCompany")
+    public static class Company {
+        @AerospikeKey
+        public int id;
+        public String name;
+        @AerospikeReference
+        public List<Department> departments = new ArrayList<>();
+    }
+
+    @AerospikeRecord(namespace = "test", set = "rrrDept")
+    public static class Department {
+        @AerospikeKey
+        public String id;
+        @AerospikeReference
+        public Company company;
+        @AerospikeReference
+        public List<Employee> employees = new ArrayList<>();
+    }
+
+    @AerospikeRecord(namespace = "test", set = "rrrEmp")
+    public static class Employee {
+        @AerospikeKey
+        public String id;
+        public String name;
+        @AerospikeReference
+        public Department department;
+    }
+
+    private Company company(int id) {
+        Company company = new Company();
+        company.id = id;
+        company.name = "Company " + id;
+        for (int d = 0; d < 2; d++) {
+            Department department = new Department();
+            department.id = id + "-" + d;
+            department.company = company;
+            for (int e = 0; e < 3; e++) {
+                Employee employee = new Employee();
+                employee.id = department.id + "-" + e;
+                employee.name = "Employee " + employee.id;
+                employee.department = department;
+                department.employees.add(employee);
+            }
+            company.departments.add(department);
+        }
+        return company;
+    }
+
+    private void save(ReactiveAeroMapper reactiveMapper, Company company) {
+        List<Object> objects = new ArrayList<>();
+        objects.add(company);
+        for (Department department : company.departments) {
+            objects.add(department);
+            objects.addAll(department.employees);
+        }
+        Flux.fromIterable(objects).flatMap(reactiveMapper::save).subscribeOn(Schedulers.parallel()).collectList().block();
+    }
+
+    @Test
+    public void testReadResolvesEveryLevel() {
+        ReactiveAeroMapper reactiveMapper = new ReactiveAeroMapper.Builder(reactorClient).build();
+        save(reactiveMapper, company(1));
+
+        Company read = reactiveMapper.read(Company.class, 1).subscribeOn(Schedulers.parallel()).block();
+        assertNotNull(read);
+        assertEquals(2, read.departments.size());
+        Department department = read.departments.get(1);
+        assertEquals("1-1", department.id);
+        assertSame(read, department.company);
+        assertEquals(3, department.employees.size());
+        assertEquals("Employee 1-1-2", department.employees.get(2).name);
+        assertSame(department, department.employees.get(2).department);
+    }
+
+    @AerospikeRecord(namespace = "test", set = "rrrOwner")
+    public static class Owner {
+        @AerospikeKey
+        public int id;
+        @AerospikeReference(batchLoad = false)
+        public Pet favourite;
+        @AerospikeReference(batchLoad = false)
+        public List<Pet> pets = new ArrayList<>();
+        @AerospikeReference(batchLoad = false)
+        public Pet[] formerPets;
+    }
+
+    @AerospikeRecord(namespace = "test", set = "rrrPet")
+    public static class Pet {
+        @AerospikeKey
+        public String name;
+        @AerospikeReference(batchLoad = false)
+        public Owner owner;
+    }
+
+    /**
+     * Return a reactor client whose blocking client records the blocking reads made through it.
+     */
+    private static IAerospikeReactorClient recordingBlockingReads(List<String> blockingReads) {
+        IAerospikeClient blockingClient = (IAerospikeClient) Proxy.newProxyInstance(IAerospikeClient.class.getClassLoader(),
+                new Class<?>[] {IAerospikeClient.class}, (proxy, method, args) -> {
+                    Class<?>[] types = method.getParameterTypes();
+                    if (("get".equals(method.getName()) || "exists".equals(method.getName()))
+                            && (types.length == 0 || types[0] != EventLoop.class)) {
+                        blockingReads.add(method.getName() + Arrays.toString(types));
+                    }
+                    return invoke(method, client, args);
+                });
+        return (IAerospikeReactorClient) Proxy.newProxyInstance(IAerospikeReactorClient.class.getClassLoader(),
+                new Class<?>[] {IAerospikeReactorClient.class}, (proxy, method, args) ->
+                        "getAerospikeClient".equals(method.getName()) ? blockingClient : invoke(method, reactorClient, args));
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ite) {
+            throw ite.getCause();
+        }
+    }
+
+    @Test
+    public void testUnbatchedReferencesDoNotBlock() {
+        ReactiveAeroMapper saveMapper = new ReactiveAeroMapper.Builder(reactorClient).build();
+        Owner owner = new Owner();
+        owner.id = 1;
+        for (int i = 0; i < 3; i++) {
+            Pet pet = new Pet();
+            pet.name = "pet " + i;
+            pet.owner = owner;
+            owner.pets.add(pet);
+        }
+        owner.favourite = owner.pets.get(1);
+        owner.formerPets = new Pet[] {owner.pets.get(2)};
+        List<Object> objects = new ArrayList<>(owner.pets);
+        objects.add(owner);
+        Flux.fromIterable(objects).flatMap(saveMapper::save).subscribeOn(Schedulers.parallel()).collectList().block();
+
+        List<String> blockingReads = new CopyOnWriteArrayList<>();
+        ReactiveAeroMapper reactiveMapper = new ReactiveAeroMapper.Builder(recordingBlockingReads(blockingReads)).build();
+        Owner read = reactiveMapper.read(Owner.class, 1).subscribeOn(Schedulers.parallel()).block();
+        assertNotNull(read);
+        assertEquals("pet 1", read.favourite.name);
+        assertEquals(3, read.pets.size());
+        assertEquals("pet 2", read.pets.get(2).name);
+        assertSame(read, read.pets.get(0).owner);
+        assertEquals("pet 2", read.formerPets[0].name);
+
+        List<Pet> pets = reactiveMapper.scan(Pet.class).subscribeOn(Schedulers.parallel()).collectList().block();
+        assertNotNull(pets);
+        assertEquals(3, pets.size());
+        assertEquals(1, pets.get(0).owner.id);
+
+        assertEquals(Collections.emptyList(), blockingReads);
+    }
+
+    @Test
+    public void testBatchReadResolvesReferencesInOrder() {
+        ReactiveAeroMapper reactiveMapper = new ReactiveAeroMapper.Builder(reactorClient).build();
+        save(reactiveMapper, company(2));
+        save(reactiveMapper, company(3));
+
+        List<Company> companies = reactiveMapper.read(Company.class, new Object[] {3, 2})
+                .subscribeOn(Schedulers.parallel()).collectList().block();
+        assertNotNull(companies);
+        assertEquals(2, companies.size());
+        assertEquals("Company 3", companies.get(0).name);
+        assertEquals("Employee 2-0-1", companies.get(1).departments.get(0).employees.get(1).name);
+    }
+}
@@ -0,0 +1,101 @@
+package com.aerospike.mapper.reactive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.aerospike.client.AerospikeException;
+import com.aerospike.mapper.annotations.AerospikeKey;
+import com.aerospike.mapper.annotations.AerospikeRecord;
+import com.aerospike.mapper.annotations.AerospikeReference;
+import com.aerospike.mapper.tools.ReactiveAeroMapper;
+
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+public class ReactiveReferenceWindowTest extends ReactiveAeroMapperBaseTest {
+
+    @AerospikeRecord(namespace = "test", set = "rrwOrder")
+    public static class Order {
+        @AerospikeKey
+        public int id;
+        @AerospikeReference
+        public Customer customer;
+    }
+
+    @AerospikeRecord(namespace = "test", set = "rrwCust")
+    public static class Customer {
+        @AerospikeKey
+        public String id;
+        public String name;
+    }
+
+    private void save(ReactiveAeroMapper reactiveMapper, int orders) {
+        List<Object> objects = new ArrayList<>();
+        Customer[] customers = new Customer[2];
+        for (int i = 0; i < customers.length; i++) {
+            customers[i] = new Customer();
+            customers[i].id = "cust" + i;
+            customers[i].name = "Customer " + i;
+            objects.add(customers[i]);
+        }
+        for (int i = 0; i < orders; i++) {
+            Order order = new Order();
+            order.id = i;
+            order.customer = customers[i % customers.length];
+            objects.add(order);
+        }
+        Flux.fromIterable(objects).flatMap(reactiveMapper::save).subscribeOn(Schedulers.parallel()).collectList().block();
+    }
+
+    @Test
+    public void testBatchReadSharesReferencesWithinWindow() {
+        ReactiveAeroMapper reactiveMapper = new ReactiveAeroMapper.Builder(reactorClient)
+                .withReferenceWindow(4, null)
+                .build();
+        save(reactiveMapper, 8);
+
+        Object[] keys = new Object[8];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = i;
+        }
+        List<Order> orders = reactiveMapper.read(Order.class, keys).subscribeOn(Schedulers.parallel()).collectList().block();
+        assertNotNull(orders);
+        assertEquals(8, orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            assertEquals(i, orders.get(i).id);
+            assertEquals("Customer " + (i % 2), orders.get(i).customer.name);
+        }
+        // Orders in the same window reference the same loaded customer
+        assertSame(orders.get(0).customer, orders.get(2).customer);
+        assertSame(orders.get(5).customer, orders.get(7).customer);
+    }
+
+    @Test
+    public void testScanWithTimedWindow() {
+        ReactiveAeroMapper reactiveMapper = new ReactiveAeroMapper.Builder(reactorClient)
+                .withReferenceWindow(100, Duration.ofMillis(50))
+                .build();
+        save(reactiveMapper, 10);
+
+        List<Order> orders = reactiveMapper.scan(Order.class).subscribeOn(Schedulers.parallel()).collectList().block();
+        assertNotNull(orders);
+        assertEquals(10, orders.size());
+        for (Order order : orders) {
+            assertEquals("Customer " + (order.id % 2), order.customer.name);
+        }
+    }
+
+    @Test
+    public void testInvalidReferenceWindow() {
+        assertThrows(AerospikeException.class, () -> new ReactiveAeroMapper.Builder(reactorClient).withReferenceWindow(0, null));
+        assertThrows(AerospikeException.class, () -> new ReactiveAeroMapper.Builder(reactorClient).withReferenceWindow(10, Duration.ZERO));
+    }
+}